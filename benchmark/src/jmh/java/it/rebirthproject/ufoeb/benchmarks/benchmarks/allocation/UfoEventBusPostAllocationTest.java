@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2021/2026-2022 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.benchmarks.benchmarks.allocation;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.benchmarks.baseclasses.events.EventToListen1;
+import it.rebirthproject.ufoeb.benchmarks.baseclasses.listeners.post.ListenerToTenEventsWithNoLatency;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the memory allocated by the bus for each post. The same event
+ * instance is posted every time, so the allocation rate reported by the GC
+ * profiler is only the bus one. Run it with the GC profiler, for example:
+ * <pre>
+ * java -jar benchmark-jmh.jar UfoEventBusPostAllocationTest -prof gc
+ * </pre>
+ * and compare the gc.alloc.rate.norm (B/op) of the two configurations.
+ */
+public class UfoEventBusPostAllocationTest {
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({"false", "true"})
+        private boolean postObjectsPooling;
+
+        private EventBus ufoEventBus;
+        private EventToListen1 event;
+
+        @Setup(Level.Iteration)
+        public void setupTest() throws EventBusException {
+            EventBusBuilder eventBusBuilder = new EventBusBuilder().setQueuesLength(1024).setNumberOfWorkers(1).setRingBufferQueue();
+            if (postObjectsPooling) {
+                eventBusBuilder.setPostObjectsPooling();
+            }
+            ufoEventBus = eventBusBuilder.build();
+            ufoEventBus.register(new ListenerToTenEventsWithNoLatency(new CountDownLatch(Integer.MAX_VALUE)));
+            event = new EventToListen1();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            ufoEventBus.shutdownBus();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void benchmarkPostAllocation(BenchmarkState state) throws Exception {
+        state.ufoEventBus.post(state.event);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.benchmarks.benchmarks.workers;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.benchmarks.baseclasses.events.EventToListen1;
+import it.rebirthproject.ufoeb.benchmarks.baseclasses.listeners.post.ListenerToTenEventsWithNoLatency;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the workers pools delivering many short events: the fixed thread
+ * pool sharing a single queue, the per worker queues and the work stealing
+ * pool. Each benchmark posts all the events and waits until every listener
+ * got them, for example:
+ * <pre>
+ * java -jar benchmark-jmh.jar UfoEventBusWorkersPoolTest
+ * </pre>
+ */
+public class UfoEventBusWorkersPoolTest {
+
+    private static final int NUMBER_OF_LISTENERS = 5;
+    private static final int NUMBER_OF_WORKERS = 4;
+    private static final int NUMBER_OF_TOTAL_POST = 500000;
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+
+        @Param({"FIXED_THREAD_POOL", "PER_WORKER_QUEUES", "WORK_STEALING_POOL"})
+        private String workersPool;
+
+        private EventBus ufoEventBus;
+        private CountDownLatch countDownLatch;
+        private EventToListen1 event;
+
+        @Setup(Level.Iteration)
+        public void setupTest() throws EventBusException {
+            EventBusBuilder eventBusBuilder = new EventBusBuilder().setQueuesLength(10000).setNumberOfWorkers(NUMBER_OF_WORKERS);
+            switch (workersPool) {
+                case "PER_WORKER_QUEUES":
+                    eventBusBuilder.setPerWorkerQueuesWorkers();
+                    break;
+                case "WORK_STEALING_POOL":
+                    eventBusBuilder.setWorkStealingWorkers();
+                    break;
+                default:
+                    eventBusBuilder.setFixedThreadPoolWorkers();
+                    break;
+            }
+            ufoEventBus = eventBusBuilder.build();
+
+            countDownLatch = new CountDownLatch(NUMBER_OF_TOTAL_POST * NUMBER_OF_LISTENERS);
+            for (int i = 1; i <= NUMBER_OF_LISTENERS; i++) {
+                ListenerToTenEventsWithNoLatency listener = new ListenerToTenEventsWithNoLatency(countDownLatch);
+                listener.setListenerNumber(i);
+                ufoEventBus.register(listener);
+            }
+            event = new EventToListen1();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            ufoEventBus.shutdownBus();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchmarkWorkersPool(BenchmarkState state) throws Exception {
+        for (int i = 0; i < NUMBER_OF_TOTAL_POST; i++) {
+            state.ufoEventBus.post(state.event);
+        }
+        state.countDownLatch.await();
+    }
+}
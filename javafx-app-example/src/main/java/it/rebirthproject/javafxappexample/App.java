@@ -21,9 +21,10 @@ import it.rebirthproject.javafxappexample.eventemitters.EventEmitterRunnable;
 import it.rebirthproject.javafxappexample.events.EventMessage;
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatchers;
 import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -48,6 +49,7 @@ public class App extends Application {
     public void init() {
         eventBus = new EventBusBuilder()
                 .setNumberOfWorkers(1)
+                .setMainThreadDispatcher(MainThreadDispatchers.javaFx())
                 .build();
         eventBus.register(this);
         eventEmitterRunnable = new EventEmitterRunnable(eventBus);
@@ -82,9 +84,9 @@ public class App extends Application {
         stage.show();
     }
 
-    @Listen
+    @Listen(threadMode = ThreadMode.MAIN)
     public void onEvent(EventMessage event) {
-        Platform.runLater(() -> listViewOutput.getItems().add(event.getMessage()));
+        listViewOutput.getItems().add(event.getMessage());
     }
 
     @Override
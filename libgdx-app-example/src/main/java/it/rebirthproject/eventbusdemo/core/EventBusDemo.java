@@ -22,15 +22,18 @@ import it.rebirthproject.eventbusdemo.core.screen.MainWindowScreen;
 import it.rebirthproject.eventbusdemo.core.eventemitter.EventEmitterRunnable;
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.mainthread.TickMainThreadDispatcher;
 
 public class EventBusDemo extends Game implements Disposable {
 
     private EventBus eventBus;
+    private final TickMainThreadDispatcher mainThreadDispatcher = new TickMainThreadDispatcher();
 
     @Override
     public void create() {
         eventBus = new EventBusBuilder()
                 .setNumberOfWorkers(1)
+                .setMainThreadDispatcher(mainThreadDispatcher)
                 .build();
         EventEmitterRunnable eventEmitterRunnable = new EventEmitterRunnable(eventBus);
         setScreen(new MainWindowScreen(eventBus, eventEmitterRunnable));
@@ -40,6 +43,7 @@ public class EventBusDemo extends Game implements Disposable {
 
     @Override
     public void render() {
+        mainThreadDispatcher.runFrames();
         super.render();
     }
 
@@ -18,6 +18,7 @@ package it.rebirthproject.eventbusdemo.core.listener;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import it.rebirthproject.eventbusdemo.core.events.EventMessage;
 import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 
 public class LabelListener extends Label {
     
@@ -25,7 +26,7 @@ public class LabelListener extends Label {
         super(text, style);
     }
     
-    @Listen
+    @Listen(threadMode = ThreadMode.MAIN)
     public void printEvent(EventMessage event) {
         setText("Received message number: " + event.getMessage());
     }
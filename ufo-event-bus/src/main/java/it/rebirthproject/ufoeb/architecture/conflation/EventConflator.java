@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.conflation;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ConflatedPostEventMessage;
+import it.rebirthproject.ufoeb.eventannotation.Conflating;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The component that conflates the posted events of the conflating classes. An
+ * event class is conflating if it is annotated with {@link Conflating} or if it
+ * was set as conflating with the {@link EventBusBuilder}, optionally with a key
+ * extractor.
+ *
+ * <p>
+ * For each class and key at most one {@link ConflatedPostEventMessage} is
+ * pending, in the bus queue or in the workers queue, until a worker delivers
+ * its event. A newly posted event replaces the event of the pending message,
+ * which keeps its place in the queue, instead of being queued behind it.
+ * </p>
+ *
+ * @see Conflating
+ * @see ConflatedPostEventMessage
+ */
+public class EventConflator {
+
+    /**
+     * The key extractor used by classes conflated only by their class
+     */
+    private static final Function<Object, ?> CLASS_KEY_EXTRACTOR = event -> null;
+    /**
+     * The key extractor cached for classes which are not conflating
+     */
+    private static final Function<Object, ?> NOT_CONFLATING = event -> null;
+    /**
+     * The key used in place of a null key, not allowed by concurrent maps
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The key extractors of the event classes set as conflating by the
+     * {@link EventBusBuilder}
+     */
+    private final Map<Class<?>, Function<Object, ?>> configuredKeyExtractors;
+    /**
+     * A cache of the key extractor of each posted event class, or
+     * {@link #NOT_CONFLATING} for non conflating classes
+     */
+    private final ConcurrentHashMap<Class<?>, Function<Object, ?>> keyExtractorsCache = new ConcurrentHashMap<>();
+    /**
+     * The pending messages of each conflating class, by conflation key
+     */
+    private final ConcurrentHashMap<Class<?>, ConcurrentMap<Object, ConflatedPostEventMessage>> pendingMessagesByClass = new ConcurrentHashMap<>();
+    /**
+     * The number of posted events which replaced a pending event
+     */
+    private final LongAdder conflatedEventsCounter = new LongAdder();
+
+    /**
+     * The constructor used to build an {@link EventConflator}
+     *
+     * @param configuredKeyExtractors The key extractors of the event classes
+     * set as conflating by the {@link EventBusBuilder}. A key extractor
+     * returning null conflates all the events of its class together.
+     */
+    public EventConflator(Map<Class<?>, Function<Object, ?>> configuredKeyExtractors) {
+        this.configuredKeyExtractors = configuredKeyExtractors;
+    }
+
+    /**
+     * Checks if an event class is conflating
+     *
+     * @param eventClass The event class to check
+     * @return True if the events of the class must be conflated
+     */
+    public boolean isConflating(Class<?> eventClass) {
+        return getKeyExtractor(eventClass) != NOT_CONFLATING;
+    }
+
+    /**
+     * Conflates a posted event with the pending event of the same class and
+     * key, if any
+     *
+     * @param eventToPost The posted event of a conflating class
+     * @return The new {@link ConflatedPostEventMessage} to send to the bus
+     * queue, or null if the event replaced a pending one
+     */
+    public ConflatedPostEventMessage conflate(Object eventToPost) {
+        Object conflationKey = getKeyExtractor(eventToPost.getClass()).apply(eventToPost);
+        if (conflationKey == null) {
+            conflationKey = NULL_KEY;
+        }
+        ConcurrentMap<Object, ConflatedPostEventMessage> pendingMessages = pendingMessagesByClass.computeIfAbsent(eventToPost.getClass(), eventClass -> new ConcurrentHashMap<>());
+        ConflatedPostEventMessage[] createdMessage = new ConflatedPostEventMessage[1];
+        pendingMessages.compute(conflationKey, (key, pendingMessage) -> {
+            if (pendingMessage == null) {
+                createdMessage[0] = new ConflatedPostEventMessage(pendingMessages, key, eventToPost);
+                return createdMessage[0];
+            }
+            pendingMessage.replaceEventToPost(eventToPost);
+            return pendingMessage;
+        });
+        if (createdMessage[0] == null) {
+            conflatedEventsCounter.increment();
+        }
+        return createdMessage[0];
+    }
+
+    /**
+     * Gets the number of posted events which replaced a pending event
+     *
+     * @return The number of conflated events
+     */
+    public long getConflatedEventsCount() {
+        return conflatedEventsCounter.sum();
+    }
+
+    /**
+     * Private method used to get the key extractor of an event class
+     *
+     * @param eventClass The event class
+     * @return The key extractor of the class, or {@link #NOT_CONFLATING}
+     */
+    private Function<Object, ?> getKeyExtractor(Class<?> eventClass) {
+        Function<Object, ?> keyExtractor = keyExtractorsCache.get(eventClass);
+        if (keyExtractor == null) {
+            keyExtractor = configuredKeyExtractors.get(eventClass);
+            if (keyExtractor == null) {
+                keyExtractor = eventClass.isAnnotationPresent(Conflating.class) ? CLASS_KEY_EXTRACTOR : NOT_CONFLATING;
+            }
+            keyExtractorsCache.put(eventClass, keyExtractor);
+        }
+        return keyExtractor;
+    }
+}
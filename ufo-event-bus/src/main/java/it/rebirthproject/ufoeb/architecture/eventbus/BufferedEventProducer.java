@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The concrete implementation of the {@link EventProducer} interface. Events
+ * are buffered in an array and flushed to the {@link UfoEventBus} as a single
+ * batch message.
+ *
+ * <p>
+ * When the first event of a batch is buffered, a flush is scheduled on the
+ * scheduler of the bus after the maximum delay, so the last events are sent
+ * even if the thread stops posting. The scheduled flush never waits for a
+ * free slot of the bus queue, since it would stall the scheduler: the events
+ * it cannot post are rejected and logged. While some events are buffered the
+ * bus keeps the producer, so they are flushed when the bus shuts down even if
+ * the producer was not closed. The methods are synchronized, since the
+ * scheduled flush runs on the scheduler thread.
+ * </p>
+ */
+final class BufferedEventProducer implements EventProducer {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(BufferedEventProducer.class);
+
+    /**
+     * The eventbus receiving the flushed events
+     */
+    private final UfoEventBus eventBus;
+    /**
+     * The buffer of the events not flushed yet
+     */
+    private final Object[] bufferedEvents;
+    /**
+     * The maximum time in nanoseconds an event stays in the buffer
+     */
+    private final long maxDelayNanos;
+    /**
+     * The number of events in the buffer
+     */
+    private int bufferedEventsCount = 0;
+    /**
+     * The {@link System#nanoTime()} at which the first buffered event was
+     * posted
+     */
+    private long firstBufferedEventNanos;
+    /**
+     * True if the producer was closed
+     */
+    private boolean closed = false;
+    /**
+     * The flush scheduled when the first event of the buffer was posted, null
+     * if no flush is scheduled
+     */
+    private ScheduledFuture<?> scheduledFlush;
+    /**
+     * The number of batches flushed so far, used by a scheduled flush to
+     * check that its batch is still buffered
+     */
+    private long flushedBatches = 0L;
+
+    /**
+     * The constructor used to build the {@link BufferedEventProducer}
+     *
+     * @param eventBus The eventbus receiving the flushed events
+     * @param maxBufferedEvents The number of buffered events which triggers a
+     * flush
+     * @param maxDelayNanos The maximum time in nanoseconds an event stays in
+     * the buffer
+     */
+    BufferedEventProducer(UfoEventBus eventBus, int maxBufferedEvents, long maxDelayNanos) {
+        this.eventBus = eventBus;
+        this.bufferedEvents = new Object[maxBufferedEvents];
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    @Override
+    public synchronized void post(Object event) throws EventBusException {
+        if (event == null) {
+            throw new EventBusException("The event to post is null");
+        }
+        if (closed) {
+            throw new EventBusException("The producer is closed");
+        }
+        long now = System.nanoTime();
+        if (bufferedEventsCount == 0) {
+            firstBufferedEventNanos = now;
+            long batch = flushedBatches;
+            scheduledFlush = eventBus.scheduleProducerFlush(this, () -> flushExpiredBatch(batch), maxDelayNanos);
+        }
+        bufferedEvents[bufferedEventsCount++] = event;
+        if (bufferedEventsCount == bufferedEvents.length || now - firstBufferedEventNanos >= maxDelayNanos) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws EventBusException {
+        if (bufferedEventsCount > 0) {
+            eventBus.postBatch(takeBufferedEvents());
+        }
+    }
+
+    @Override
+    public synchronized int getBufferedEventsCount() {
+        return bufferedEventsCount;
+    }
+
+    @Override
+    public synchronized void close() throws EventBusException {
+        if (!closed) {
+            closed = true;
+            flush();
+        }
+    }
+
+    /**
+     * Private method used by the scheduler of the bus to flush a batch once
+     * its maximum delay has elapsed, unless it was already flushed
+     *
+     * @param batch The number of batches flushed when the batch was started
+     */
+    private synchronized void flushExpiredBatch(long batch) {
+        if (batch != flushedBatches) {
+            return;
+        }
+        Object[] eventsToPost = takeBufferedEvents();
+        try {
+            if (!eventBus.tryPostBatch(eventsToPost)) {
+                logger.error("The bus queue is full: some of the {} events buffered by a producer were rejected after their maximum delay.", eventsToPost.length);
+            }
+        } catch (EventBusException ex) {
+            logger.error("The events buffered by a producer cannot be flushed after their maximum delay.", ex);
+        }
+    }
+
+    /**
+     * Private method used to take the buffered events to flush, emptying the
+     * buffer
+     *
+     * @return The buffered events, in posting order
+     */
+    private Object[] takeBufferedEvents() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        flushedBatches++;
+        // The batch message keeps the array until it is processed, so the buffer cannot be handed over
+        Object[] eventsToPost = Arrays.copyOf(bufferedEvents, bufferedEventsCount);
+        Arrays.fill(bufferedEvents, 0, bufferedEventsCount, null);
+        bufferedEventsCount = 0;
+        eventBus.producerFlushed(this);
+        return eventsToPost;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.function.Consumer;
+
+/**
+ * The report of the delivery of an event posted with
+ * {@link EventBus#postAndAwait(Object)}. It counts the registrations which
+ * received the event and the ones whose listener method threw an exception.
+ * The reports given to the callbacks of {@link EventBus#post(Object, Consumer)}
+ * can also tell that the event was never delivered.
+ */
+public final class DeliveryReport {
+
+    /**
+     * The number of registrations which received the event without errors
+     */
+    private final int succeededDeliveries;
+    /**
+     * The number of registrations whose listener method threw an exception
+     */
+    private final int failedDeliveries;
+    /**
+     * The reason why the event was never delivered, null if it was delivered
+     */
+    private final EventBusException discardCause;
+
+    /**
+     * The constructor used to build a {@link DeliveryReport}
+     *
+     * @param succeededDeliveries The number of registrations which received
+     * the event without errors
+     * @param failedDeliveries The number of registrations whose listener
+     * method threw an exception
+     */
+    public DeliveryReport(int succeededDeliveries, int failedDeliveries) {
+        this.succeededDeliveries = succeededDeliveries;
+        this.failedDeliveries = failedDeliveries;
+        this.discardCause = null;
+    }
+
+    /**
+     * The constructor used to build the {@link DeliveryReport} of an event
+     * which was never delivered, for example because it was dropped by the
+     * overflow policy
+     *
+     * @param discardCause The reason why the event was never delivered
+     */
+    public DeliveryReport(EventBusException discardCause) {
+        this.succeededDeliveries = 0;
+        this.failedDeliveries = 0;
+        this.discardCause = discardCause;
+    }
+
+    /**
+     * Gets the number of registrations which received the event without
+     * errors
+     *
+     * @return The number of succeeded deliveries
+     */
+    public int getSucceededDeliveries() {
+        return succeededDeliveries;
+    }
+
+    /**
+     * Gets the number of registrations whose listener method threw an
+     * exception
+     *
+     * @return The number of failed deliveries
+     */
+    public int getFailedDeliveries() {
+        return failedDeliveries;
+    }
+
+    /**
+     * Gets the number of registrations the event was delivered to. It is
+     * zero if no listener was registered for the event.
+     *
+     * @return The number of deliveries
+     */
+    public int getTotalDeliveries() {
+        return succeededDeliveries + failedDeliveries;
+    }
+
+    /**
+     * Checks if every registration received the event without errors
+     *
+     * @return True if the event was delivered and no listener method threw an
+     * exception
+     */
+    public boolean isSuccessful() {
+        return discardCause == null && failedDeliveries == 0;
+    }
+
+    /**
+     * Checks if the event was never delivered, for example because it was
+     * dropped by the overflow policy
+     *
+     * @return True if the event was never delivered
+     */
+    public boolean isDiscarded() {
+        return discardCause != null;
+    }
+
+    /**
+     * Gets the reason why the event was never delivered
+     *
+     * @return The reason why the event was never delivered, null if it was
+     * delivered
+     */
+    public EventBusException getDiscardCause() {
+        return discardCause;
+    }
+
+    @Override
+    public String toString() {
+        return "DeliveryReport{" + "succeededDeliveries=" + succeededDeliveries + ", failedDeliveries=" + failedDeliveries + ", discardCause=" + discardCause + '}';
+    }
+}
@@ -18,7 +18,13 @@ package it.rebirthproject.ufoeb.architecture.eventbus;
 
 import it.rebirthproject.ufoeb.eventannotation.Listen;
 import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * UFO EventBus is a publish/subscribe event system.
@@ -83,7 +89,8 @@ public interface EventBus {
      * Listeners event handling methods must be annotated with the {@link Listen} annotation.
      *
      * @param listenerToRegister The listener to register
-     * @throws EventBusException If the listener is null or something fails while registering
+     * @throws EventBusException If the listener is null, it has {@link it.rebirthproject.ufoeb.eventannotation.ThreadMode#MAIN}
+     * methods and no main thread dispatcher is set, or something fails while registering
      */
     public void register(Object listenerToRegister) throws EventBusException;
 
@@ -107,6 +114,144 @@ public interface EventBus {
      */
     public void post(Object event) throws EventBusException;
 
+    /**
+     * Posts the given event to the eventbus like {@link #post(Object)}, returning a future completed with a {@link DeliveryReport}
+     * once every listener method getting the event has run, whatever its thread mode. The report counts the listener methods
+     * which ran without errors and the ones which threw an exception. If the event will never be delivered, for example because
+     * it was dropped by the overflow policy, the future is completed exceptionally with an {@link EventBusException}.
+     * Events posted with this method are never conflated.
+     *
+     * @param event The event to post
+     * @return The future completed with the {@link DeliveryReport} of the event
+     * @throws EventBusException If the event is null or some internal error occurs while posting the event
+     * @see #post(Object, Consumer)
+     */
+    public CompletableFuture<DeliveryReport> postAndAwait(Object event) throws EventBusException;
+
+    /**
+     * Posts the given event to the eventbus like {@link #postAndAwait(Object)}, calling the given callback with the
+     * {@link DeliveryReport} once every listener method getting the event has run. The callback runs on the thread completing
+     * the last delivery, so it should be short. The callback is called also if the event will never be delivered, for example
+     * because it was dropped by the overflow policy, with a report telling it through {@link DeliveryReport#isDiscarded()}.
+     *
+     * @param event The event to post
+     * @param deliveryCallback The callback getting the {@link DeliveryReport} of the event
+     * @throws EventBusException If the event or the callback is null or some internal error occurs while posting the event
+     * @see #postAndAwait(Object)
+     */
+    public void post(Object event, Consumer<DeliveryReport> deliveryCallback) throws EventBusException;
+
+    /**
+     * Posts the given event to the eventbus as a request, collecting the values returned by the listener methods getting it.
+     * Listener methods answering requests are {@link Listen} annotated methods returning a value instead of void. Only the
+     * returned values which are instances of the given result type are collected, in the order they are returned; null values
+     * are ignored. The future is completed with the collected results once every listener method has run, or with the results
+     * collected so far once the timeout has elapsed. This saves the reply events and their correlation.
+     *
+     * @param <R> The type of the requested results
+     * @param event The event to post
+     * @param resultType The type of the requested results. It must not be primitive: use its wrapper class
+     * @param timeout The maximum time to wait for the results, must be greater than zero
+     * @param unit The time unit of the timeout
+     * @return The future completed with the collected results
+     * @throws EventBusException If the event, the result type or the unit are null, the timeout is not valid or some
+     * internal error occurs while posting the event
+     * @see #requestFirst(Object, Class, long, TimeUnit)
+     */
+    public <R> CompletableFuture<List<R>> request(Object event, Class<R> resultType, long timeout, TimeUnit unit) throws EventBusException;
+
+    /**
+     * Posts the given event to the eventbus as a request like {@link #request(Object, Class, long, TimeUnit)}, completing the
+     * future with the first value of the given result type returned by a listener method, without waiting for the others.
+     * If no listener method returns such a value before every listener method has run or the timeout has elapsed, the
+     * future is completed with null.
+     *
+     * @param <R> The type of the requested result
+     * @param event The event to post
+     * @param resultType The type of the requested result. It must not be primitive: use its wrapper class
+     * @param timeout The maximum time to wait for the result, must be greater than zero
+     * @param unit The time unit of the timeout
+     * @return The future completed with the first result, or with null if no result was returned
+     * @throws EventBusException If the event, the result type or the unit are null, the timeout is not valid or some
+     * internal error occurs while posting the event
+     * @see #request(Object, Class, long, TimeUnit)
+     */
+    public <R> CompletableFuture<R> requestFirst(Object event, Class<R> resultType, long timeout, TimeUnit unit) throws EventBusException;
+
+    /**
+     * Tries to post the given event to the eventbus without waiting. If the bus message queue is full the event is
+     * rejected and the method returns false, whatever overflow policy is configured in the {@link EventBusBuilder}.
+     *
+     * @param event The event to post
+     * @return True if the event was accepted by the bus, false if it was rejected
+     * @throws EventBusException If the event is null or some internal error occurs while posting the event
+     * @see #post(Object)
+     * @see #getRejectedEventsCount()
+     */
+    public boolean tryPost(Object event) throws EventBusException;
+
+    /**
+     * Tries to post the given event to the eventbus, waiting up to the given timeout if the bus message queue is full.
+     * If the queue is still full after the timeout the event is rejected and the method returns false, whatever
+     * overflow policy is configured in the {@link EventBusBuilder}.
+     *
+     * @param event The event to post
+     * @param timeout The maximum time to wait for the bus to accept the event
+     * @param unit The time unit of the timeout
+     * @return True if the event was accepted by the bus, false if it was rejected
+     * @throws EventBusException If the event or the unit are null, the thread is interrupted or some internal error
+     * occurs while posting the event
+     * @see #tryPost(Object)
+     */
+    public boolean tryPost(Object event, long timeout, TimeUnit unit) throws EventBusException;
+
+    /**
+     * Posts all the given events to the eventbus with a single internal message. Events are resolved together and
+     * delivered to the workers in coalesced batches: each listener gets the events in the posting order, while listeners
+     * sharing no events of the collection can be delivered in parallel. Using this method is cheaper than calling {@link #post(Object)}
+     * for each event when many events are produced at once.
+     *
+     * @param events The events to post, in posting order
+     * @throws EventBusException If the collection or one of its events is null or some internal error occurs while
+     * posting the events
+     * @see #post(Object)
+     */
+    public void postAll(Collection<?> events) throws EventBusException;
+
+    /**
+     * Posts all the given events to the eventbus with a single internal message.
+     *
+     * @param events The events to post, in posting order
+     * @throws EventBusException If the array or one of its events is null or some internal error occurs while posting
+     * the events
+     * @see #postAll(Collection)
+     */
+    public void postAll(Object... events) throws EventBusException;
+
+    /**
+     * Creates a new {@link EventProducer} which buffers the events posted by a thread and sends them to the eventbus
+     * as a single batch every 64 events or 1 millisecond after the first buffered event. Each posting thread should use
+     * its own producer.
+     *
+     * @return A new {@link EventProducer} with the default thresholds
+     * @see #newProducer(int, long, TimeUnit)
+     */
+    public EventProducer newProducer();
+
+    /**
+     * Creates a new {@link EventProducer} which buffers the events posted by a thread and sends them to the eventbus
+     * as a single batch when the given number of events is buffered or when the given delay since the first buffered
+     * event has elapsed. The delayed events are flushed by the scheduler of the bus, even if no other event is posted.
+     *
+     * @param maxBufferedEvents The number of buffered events which triggers a flush
+     * @param maxDelay The maximum time an event stays in the buffer
+     * @param unit The time unit of the delay
+     * @return A new {@link EventProducer} with the given thresholds
+     * @throws EventBusException If a threshold is not positive or the unit is null
+     * @see #postAll(Object...)
+     */
+    public EventProducer newProducer(int maxBufferedEvents, long maxDelay, TimeUnit unit) throws EventBusException;
+
     /**
      * Posts the given event to the eventbus that saves it (because it's sticky). Once new listeners register to
      * the same sticky event they will be notified about the sticky event on registration. In this way it's possible to not lose
@@ -148,16 +293,74 @@ public interface EventBus {
      * @throws EventBusException 
      */
     public void printBusState() throws EventBusException;
+
+    /**
+     * Runs the queued deliveries on the calling thread, in dispatch order, until {@code maxEvents} deliveries have run,
+     * the time budget is used up or no delivery is left. A delivery is an event handed to all the listener methods
+     * resolved for it, in priority order, or to a single listener method when {@link EventBusBuilder#setListenerMailboxes()}
+     * or {@link EventBusBuilder#setRoutingKeyLanes()} are used. Without {@link EventBusBuilder#setMergedDispatchPlan()} an event listened by more
+     * classes of its hierarchy counts once for each class. Each event of {@link #postAll(java.util.Collection)} is a delivery
+     * of its own. The budget is checked after each delivery, so a slow listener can exceed it, but no other delivery starts
+     * after it is used up. Usable only if the bus is in pump mode, where no workers run the deliveries, for example once per
+     * frame of a game loop.
+     *
+     * @param maxEvents The maximum number of deliveries to run
+     * @param timeBudgetNanos The time budget in nanoseconds
+     * @return The number of deliveries run
+     * @throws EventBusException If the bus is not in pump mode or the limits are not positive
+     * @see EventBusBuilder#setPumpMode()
+     */
+    public int drain(int maxEvents, long timeBudgetNanos) throws EventBusException;
     
     /**
      * Shutdown the eventbus infrastructure. This is needed to free memory and to stop background workers behind the scenes.
      * Note: Make sure to call this method when there is no more need for an eventbus in your application, so this can be
-     * usually done before the application shutdown.
+     * usually done before the application shutdown. The futures of the events posted with {@link #postAndAwait(Object)}
+     * and of the requests still waiting for some deliveries are completed exceptionally with an {@link EventBusException}.
      */
     public void shutdownBus();
 
     // Queries
 
+    /**
+     * Gets the number of posted events rejected because the bus message queue was full. Events are rejected by
+     * {@link #tryPost(Object)} or by the fail fast and timed block overflow policies.
+     *
+     * @return The number of rejected events since the bus was built
+     * @see EventBusBuilder#setFailFastOverflowPolicy()
+     * @see EventBusBuilder#setTimedBlockOverflowPolicy(long, TimeUnit)
+     */
+    public long getRejectedEventsCount();
+
+    /**
+     * Gets the number of posted events dropped because the bus message queue was full, using the drop newest or drop
+     * oldest overflow policies.
+     *
+     * @return The number of dropped events since the bus was built
+     * @see EventBusBuilder#setDropNewestOverflowPolicy()
+     * @see EventBusBuilder#setDropOldestOverflowPolicy()
+     */
+    public long getDroppedEventsCount();
+
+    /**
+     * Gets the number of posted events of conflating classes which replaced an older event of the same class and key
+     * still waiting in the bus message queue.
+     *
+     * @return The number of conflated events since the bus was built
+     * @see EventBusBuilder#setConflatingEvent(Class)
+     * @see EventBusBuilder#setConflatingEvent(Class, Function)
+     */
+    public long getConflatedEventsCount();
+
+    /**
+     * Gets the last resize decisions taken by the adaptive workers pool, with the queue depth, listener service time,
+     * workers utilization and processors load they were taken on. At most the last 64 decisions are kept.
+     *
+     * @return The last resize decisions, oldest first, or an empty list if the bus does not use the adaptive workers pool
+     * @see EventBusBuilder#setAdaptiveWorkers(Integer, Integer)
+     */
+    public List<WorkersPoolDecision> getWorkersPoolDecisions();
+
     /**
      * Checks if the passed object is already registered in the eventbus for listening to events.
      *
@@ -16,6 +16,20 @@
  */
 package it.rebirthproject.ufoeb.architecture.eventbus;
 
+import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
+import it.rebirthproject.ufoeb.architecture.executor.VirtualThreadExecutors;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.WorkersPoolType;
+import it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatcher;
+import it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatchers;
+import it.rebirthproject.ufoeb.architecture.mainthread.TickMainThreadDispatcher;
+import it.rebirthproject.ufoeb.architecture.queue.RingBufferBlockingQueue;
+import it.rebirthproject.ufoeb.architecture.queue.overflowpolicy.OverflowPolicyType;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BlockingWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BusySpinWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.SpinThenParkWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.YieldingWaitStrategy;
 import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
 import it.rebirthproject.ufoeb.dto.registrations.Registration;
 import it.rebirthproject.ufoeb.eventannotation.Listen;
@@ -30,6 +44,18 @@ import it.rebirthproject.ufoeb.services.ListenerMethodFinder;
 import static it.rebirthproject.ufoeb.eventinheritancepolicy.base.InheritancePolicyType.INTERFACE_EVENT_INHERITANCE;
 import it.rebirthproject.ufoeb.services.ClassProcessableService;
 import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolicy;
+import it.rebirthproject.ufoeb.eventannotation.Conflating;
+import it.rebirthproject.ufoeb.eventannotation.RoutedEvent;
+import it.rebirthproject.ufoeb.eventannotation.RoutingKey;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * A builder which can be used to create an {@link EventBus}
@@ -53,6 +79,136 @@ public final class EventBusBuilder {
      * of workers is 1.
      */
     private Integer numberOfWorkers = 1;
+    /**
+     * The length of the queue of the tasks waiting for a free worker. When the
+     * queue is full the {@link BusMemoryStateManager} runs the task by itself,
+     * so the bus message queue fills up and the overflow policy is applied to
+     * the posting threads. The default value (zero) is an unbounded queue.
+     */
+    private int workersQueueLength = 0;
+    /**
+     * If set, each registered listener has its own mailbox drained by at most
+     * one worker at a time (or by the {@link Listen#maxConcurrency()} of its
+     * methods), so a listener receives its events in order and never
+     * concurrently, while different listeners are still delivered in
+     * parallel. The default value is to deliver each event with a worker task
+     * running all its registrations.
+     */
+    private boolean listenerMailboxes = false;
+    /**
+     * The {@link WorkersPoolType} of the pool running the worker tasks. The
+     * default value is a fixed pool of {@link #numberOfWorkers} platform
+     * threads sharing a single queue.
+     */
+    private WorkersPoolType workersPoolType = WorkersPoolType.FIXED_THREAD_POOL;
+    /**
+     * The {@link WorkersPoolType}s set on this builder, used to reject the
+     * configurations asking for more than one workers pool instead of keeping
+     * only the last one.
+     */
+    private final Set<WorkersPoolType> requestedWorkersPoolTypes = EnumSet.noneOf(WorkersPoolType.class);
+    /**
+     * The minimum number of workers of the adaptive workers pool, which grows
+     * up to {@link #numberOfWorkers}. Ignored by the other workers pools.
+     */
+    private int minNumberOfWorkers = 1;
+    /**
+     * If set, the events having a routing key are delivered through a fixed
+     * set of ordered lanes, one for each worker, chosen by the hash of the
+     * key. So the events with the same key are delivered in posting order,
+     * one at a time, while different keys are delivered in parallel. The
+     * default value is to deliver every event with no ordering among workers.
+     */
+    private boolean routingKeyLanes = false;
+    /**
+     * The minimum number of registrations of a chunk when a single event is
+     * delivered in parallel by many workers. Zero (the default value) means
+     * that every event is delivered to all its registrations by one worker.
+     */
+    private int fanOutMinChunkSize = 0;
+    /**
+     * If set, each event is delivered to the registrations of its whole
+     * hierarchy with a single worker task, following a dispatch plan cached
+     * for its class and sorted by priority. The default value is to deliver
+     * the registrations of each class of the hierarchy with a separate task.
+     */
+    private boolean mergedDispatchPlan = false;
+    /**
+     * The number of {@link BusMemoryStateManager} shards. Each shard has its
+     * own internal queue, thread and memory state: registrations are
+     * replicated to every shard, while events are routed to a shard by their
+     * class, so the events of the same class keep their order. The default
+     * number of shards is 1.
+     */
+    private Integer numberOfStateManagerShards = 1;
+    /**
+     * If set, registrations, sticky events, queries and the shutdown are sent
+     * to the {@link BusMemoryStateManager} on a separate control queue, which
+     * is always drained before the posts queue. So they never wait behind the
+     * queued posts. The default value is to use a single queue for every
+     * message.
+     */
+    private boolean controlLane = false;
+    /**
+     * If set, the commandQueryMessageQueue of the {@link BusMemoryStateManager}
+     * is a preallocated lock-free {@link RingBufferBlockingQueue} instead of a
+     * linked blocking queue. Posting threads don't contend on a lock and no
+     * node is allocated for each internal message. The default value is to use
+     * the linked blocking queue.
+     */
+    private boolean useRingBufferQueue = false;
+    /**
+     * The {@link WaitStrategyType} used by threads waiting on the
+     * {@link RingBufferBlockingQueue}. This parameter is useful only when the
+     * ring buffer queue is enabled. The default value is
+     * {@link BlockingWaitStrategy}.
+     *
+     * @see #setRingBufferQueue()
+     */
+    private WaitStrategyType waitStrategyType = WaitStrategyType.BLOCKING_WAIT_STRATEGY;
+    /**
+     * If set, posting threads resolve the registrations of an event by
+     * themselves, using an immutable snapshot published by the
+     * {@link BusMemoryStateManager} after each register or unregister, and
+     * submit the event straight to the workers. Posts skip the
+     * {@link BusMemoryStateManager} thread, while registrations and sticky
+     * events are still serialized by it. The default value is to pass every
+     * post through the {@link BusMemoryStateManager}.
+     */
+    private boolean directDispatch = false;
+    /**
+     * If set, the internal post messages and the workers tasks are taken from
+     * preallocated pools and given back after the delivery, instead of being
+     * created for each posted event. The pools size depends on the queues
+     * length. The default value is to create them for each post.
+     */
+    private boolean postObjectsPooling = false;
+    /**
+     * The {@link OverflowPolicyType} applied when an event is posted and the
+     * message queue is full. The default value is to block the posting thread
+     * until the queue has a free slot.
+     */
+    private OverflowPolicyType overflowPolicyType = OverflowPolicyType.BLOCK;
+    /**
+     * The maximum time in nanoseconds a posting thread waits for a free slot
+     * when the {@link OverflowPolicyType#TIMED_BLOCK} policy is set.
+     */
+    private long overflowTimeoutNanos = 0L;
+    /**
+     * The key extractors of the conflating event classes set on the builder.
+     * A posted event of a conflating class replaces the event with the same
+     * class and key still waiting to be delivered, so only the latest value is
+     * delivered. Classes annotated with {@link Conflating} are
+     * conflating even if not set here. The default is to not conflate events.
+     */
+    private final Map<Class<?>, Function<Object, ?>> conflatingEvents = new HashMap<>();
+    /**
+     * The dispatcher running on the main thread the frames of events for the
+     * listener methods with the {@link ThreadMode#MAIN} thread mode, usually
+     * the event loop of a UI toolkit. The default value is null, so those
+     * methods are delivered by the workers.
+     */
+    private MainThreadDispatcher mainThreadDispatcher = null;
     /**
      * This parameter should be used when you want to use inheritance over a
      * listener and all its superclasses. Enabling it will let the bus look for
@@ -334,6 +490,308 @@ public final class EventBusBuilder {
         return this;
     }
 
+    /**
+     * Sets the length of the queue of the tasks waiting for a free worker. By
+     * default this queue is unbounded, so with slow listeners the tasks can
+     * pile up without limit even if the message queue is bounded. With a
+     * bounded workers queue, when the queue is full the
+     * {@link BusMemoryStateManager} runs the task by itself and stops
+     * consuming the message queue meanwhile, so the pressure reaches the
+     * posting threads through the configured overflow policy. The state
+     * manager never waits for the workers, since listeners posting events
+     * from a worker can be waiting for the state manager to free a slot of
+     * the message queue. The posted events in flight are then bounded by the
+     * message queues lengths, plus the workers queue length, plus one running
+     * task per worker and one task per state manager. A task delivers a
+     * single event, or a chunk of a batch posted with
+     * {@link EventBus#postAll(Object...)}. Listeners run by the state manager
+     * follow the rules of {@link #setInlineDispatch()}: an event they post
+     * with the blocking overflow policy while the message queue is full is
+     * rejected instead of waiting. With {@link #setDirectDispatch()} the
+     * posting threads wait for a free slot themselves, so listeners posting
+     * events from a worker thread can block it, and if every worker does so
+     * the bus stops.
+     *
+     * @param workersQueueLength The length of the workers queue
+     * @return The {@link EventBusBuilder} instance configured with the updated
+     * workers queue length
+     * @throws EventBusException if {@code workersQueueLength} is null or not
+     * positive
+     */
+    public EventBusBuilder setWorkersQueueLength(final Integer workersQueueLength) {
+        if (workersQueueLength == null) {
+            throw new EventBusException("Invalid workersQueueLength: value cannot be null.");
+        }
+        if (workersQueueLength <= 0) {
+            throw new EventBusException("Invalid workersQueueLength: value must be > 0 but was " + workersQueueLength + ".");
+        }
+        this.workersQueueLength = workersQueueLength;
+        return this;
+    }
+
+    /**
+     * Sets the bus to run each worker task on a new virtual thread instead of
+     * a fixed pool of platform threads. Listeners doing blocking I/O then park
+     * their virtual thread instead of holding a worker, so the in flight
+     * deliveries are no longer bounded by the number of workers. The number
+     * of workers is still used to split batches, fanned out events and
+     * routing key lanes among parallel tasks. Virtual threads require Java 21
+     * or later: the bus is still built for Java 8 and looks them up at
+     * runtime, so {@link #build()} fails on older JVMs. It cannot be used with
+     * {@link #setWorkersQueueLength(Integer)}, since there is no workers queue
+     * to bound.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use virtual
+     * thread workers
+     */
+    public EventBusBuilder setVirtualThreadWorkers() {
+        setWorkersPoolType(WorkersPoolType.VIRTUAL_THREADS);
+        return this;
+    }
+
+    /**
+     * Sets the bus to run the worker tasks on a work stealing
+     * {@link ForkJoinPool} in async mode, with {@link #numberOfWorkers}
+     * threads. Instead of sharing a single queue, each worker has its own
+     * deque: the tasks submitted from a worker, like the events posted by a
+     * listener, the chunks of a fanned out event and the rescheduled
+     * mailboxes, stay in its deque, while idle workers steal from the others.
+     * This reduces the contention among many workers. It cannot be used with
+     * {@link #setWorkersQueueLength(Integer)}, since the deques are not
+     * bounded.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use a work
+     * stealing workers pool
+     */
+    public EventBusBuilder setWorkStealingWorkers() {
+        setWorkersPoolType(WorkersPoolType.WORK_STEALING_POOL);
+        return this;
+    }
+
+    /**
+     * Sets the bus to run the worker tasks on {@link #numberOfWorkers}
+     * threads each one with its own lock free queue, instead of a single
+     * locked queue shared by all the workers. Tasks are spread over the
+     * worker queues in round robin, each worker drains its whole queue on
+     * each wake up and steals from the other queues before parking, so at
+     * high event rates the workers are rarely parked and unparked. It cannot
+     * be used with {@link #setWorkersQueueLength(Integer)}, since the worker
+     * queues are not bounded.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use per
+     * worker queues
+     */
+    public EventBusBuilder setPerWorkerQueuesWorkers() {
+        setWorkersPoolType(WorkersPoolType.PER_WORKER_QUEUES);
+        return this;
+    }
+
+    /**
+     * Sets the bus to run the worker tasks on a fixed pool of
+     * {@link #numberOfWorkers} platform threads sharing a single queue. This
+     * is the default workers pool.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use a fixed
+     * thread workers pool
+     */
+    public EventBusBuilder setFixedThreadPoolWorkers() {
+        setWorkersPoolType(WorkersPoolType.FIXED_THREAD_POOL);
+        return this;
+    }
+
+    /**
+     * Sets the bus to run the worker tasks on an adaptive pool of platform
+     * threads, instead of a fixed number of workers. The pool starts with
+     * {@code minWorkers} workers and follows the load up to
+     * {@code maxWorkers}: it grows when tasks wait in the workers queue while
+     * the workers are busy, unless the processors are already saturated, and
+     * shrinks slowly once the workers are mostly idle. The number of workers
+     * is set to {@code maxWorkers}, so batches, fanned out events and routing
+     * key lanes are split as for a pool of the maximum size. The resize
+     * decisions are returned by {@link EventBus#getWorkersPoolDecisions()}.
+     * The saturation of the processors is read from the system load average
+     * of the optional {@code java.management} module. Without it, or on
+     * platforms without a load average like Windows, the pool grows on the
+     * waiting tasks alone, up to {@code maxWorkers}.
+     *
+     * @param minWorkers The minimum number of workers
+     * @param maxWorkers The maximum number of workers
+     * @return The {@link EventBusBuilder} instance configured to use an
+     * adaptive workers pool
+     * @throws EventBusException if a bound is null or not positive, or
+     * {@code minWorkers} is greater than {@code maxWorkers}
+     */
+    public EventBusBuilder setAdaptiveWorkers(final Integer minWorkers, final Integer maxWorkers) {
+        if (minWorkers == null || maxWorkers == null) {
+            throw new EventBusException("Invalid adaptive workers: the bounds cannot be null.");
+        }
+        if (minWorkers <= 0) {
+            throw new EventBusException("Invalid minWorkers: value must be > 0 but was " + minWorkers + ".");
+        }
+        if (maxWorkers < minWorkers) {
+            throw new EventBusException("Invalid maxWorkers: value must be >= minWorkers (" + minWorkers + ") but was " + maxWorkers + ".");
+        }
+        setWorkersPoolType(WorkersPoolType.ADAPTIVE);
+        this.minNumberOfWorkers = minWorkers;
+        this.numberOfWorkers = maxWorkers;
+        return this;
+    }
+
+    /**
+     * Sets the bus in pump mode, without workers: the deliveries are queued
+     * until the owner of the bus runs them on its own thread with
+     * {@link EventBus#drain(int, long)}, for example at a known point of each
+     * frame of a game loop, within a maximum number of events and a time
+     * budget. The deliveries left when the bus is shut down run on the thread
+     * calling {@link EventBus#shutdownBus()}. It cannot be used with more than
+     * one worker, with {@link #setWorkersQueueLength(Integer)} nor with
+     * {@link #setParallelFanOut(Integer)}.
+     *
+     * @return The {@link EventBusBuilder} instance configured in pump mode
+     */
+    public EventBusBuilder setPumpMode() {
+        setWorkersPoolType(WorkersPoolType.PUMP);
+        return this;
+    }
+
+    /**
+     * Sets the bus to invoke the registrations directly on the
+     * {@link BusMemoryStateManager} thread, without workers. It fits fully in
+     * memory listeners taking microseconds: each post saves the handoff to a
+     * worker, its queue and the creation of an {@link EventExecutor}, and the
+     * events are delivered one at a time in strict posting order. A slow
+     * listener delays every following event. It cannot be used with more than
+     * one worker, with {@link #setWorkersQueueLength(Integer)}, with
+     * {@link #setListenerMailboxes()}, {@link #setRoutingKeyLanes()},
+     * {@link #setParallelFanOut(Integer)}, {@link #setDirectDispatch()},
+     * {@link #setCallerRunsOverflowPolicy()} nor with more than one state
+     * manager shard, which would deliver the events outside of the state
+     * manager thread or out of order.
+     * <p>
+     * Since the listeners run on the state manager thread, they cannot wait for
+     * the bus: {@link EventBus#isRegistered(Object)} and the events posted
+     * with {@link EventBus#postAndAwait(Object)} or
+     * {@link EventBus#request(Object, Class, long, TimeUnit)} are handled at
+     * once by the listener's thread, so their futures can be waited for.
+     * Events posted with the blocking overflow policy, or any other message
+     * sent by a listener while the bus queue is full, throw an
+     * {@link EventBusException} instead of waiting for a free slot that only
+     * the state manager thread could free. Listeners whose methods delivered
+     * by the workers, or by the posting threads, return a
+     * {@link java.util.concurrent.CompletionStage} cannot be registered, since
+     * the lower priorities would be delivered by the thread completing the
+     * stage.
+     * </p>
+     *
+     * @return The {@link EventBusBuilder} instance configured to dispatch the
+     * events inline
+     */
+    public EventBusBuilder setInlineDispatch() {
+        setWorkersPoolType(WorkersPoolType.INLINE);
+        return this;
+    }
+
+    /**
+     * Sets the bus to deliver events through a mailbox for each registered
+     * listener. Events are queued in the mailbox of every listener receiving
+     * them, and each mailbox is drained by at most one worker at a time, so
+     * with more than one worker a listener still receives its events one at a
+     * time and in the order they are dispatched, without being synchronized.
+     * Different listeners are delivered in parallel, so the priority only
+     * orders the registrations inside the same listener. A thread safe
+     * listener can allow more workers at a time with
+     * {@link Listen#maxConcurrency()}, losing the ordering. It cannot be used
+     * with {@link #setWorkersQueueLength(Integer)}, since mailboxes are not
+     * bounded, nor with {@link #setCallerRunsOverflowPolicy()}, which would
+     * deliver events outside of the mailboxes.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use listener
+     * mailboxes
+     */
+    public EventBusBuilder setListenerMailboxes() {
+        this.listenerMailboxes = true;
+        return this;
+    }
+
+    /**
+     * Sets the bus to deliver the events having a routing key through ordered
+     * lanes. An event declares its routing key implementing
+     * {@link RoutedEvent} or with a getter annotated with {@link RoutingKey}.
+     * There is a lane for each worker, and the key hash chooses the lane: a
+     * lane is drained by one worker at a time, so the events with the same key
+     * (for example all the events of an order) are delivered in posting order,
+     * while events of different lanes are delivered in parallel. Events
+     * without a routing key are delivered as usual. The posting order is the
+     * order in which the {@link BusMemoryStateManager} processes the events,
+     * so with state manager shards it holds only for events of the same class.
+     * It cannot be used with {@link #setListenerMailboxes()},
+     * {@link #setWorkersQueueLength(Integer)}, since lanes are not bounded,
+     * nor with {@link #setCallerRunsOverflowPolicy()}, which would deliver
+     * events outside of the lanes.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use routing
+     * key lanes
+     */
+    public EventBusBuilder setRoutingKeyLanes() {
+        this.routingKeyLanes = true;
+        return this;
+    }
+
+    /**
+     * Sets the bus to deliver an event with many registrations in parallel.
+     * By default a worker notifies all the registrations of an event one
+     * after the other. With parallel fan out, the registrations of an event
+     * with at least twice {@code minRegistrationsPerChunk} registrations are
+     * split into contiguous chunks, at most one for each worker, delivered in
+     * parallel. The registrations with the same priority form a band: bands
+     * are delivered one after the other, so the order between priority levels
+     * is still respected, while the order inside a band is not. The batches
+     * posted with {@link EventBus#postAll(Object...)} are not fanned out,
+     * since they are already split among the workers. It has effect only with
+     * more than one worker, and it cannot be used with
+     * {@link #setListenerMailboxes()}, {@link #setRoutingKeyLanes()}, which
+     * deliver the events in order, nor with
+     * {@link #setWorkersQueueLength(Integer)}, since a worker waiting for a
+     * free slot could wait forever.
+     *
+     * @param minRegistrationsPerChunk The minimum number of registrations of a
+     * chunk
+     * @return The {@link EventBusBuilder} instance configured to fan out
+     * events in parallel
+     * @throws EventBusException if {@code minRegistrationsPerChunk} is null or
+     * not positive
+     */
+    public EventBusBuilder setParallelFanOut(final Integer minRegistrationsPerChunk) {
+        if (minRegistrationsPerChunk == null) {
+            throw new EventBusException("Invalid minRegistrationsPerChunk: value cannot be null.");
+        }
+        if (minRegistrationsPerChunk <= 0) {
+            throw new EventBusException("Invalid minRegistrationsPerChunk: value must be > 0 but was " + minRegistrationsPerChunk + ".");
+        }
+        this.fanOutMinChunkSize = minRegistrationsPerChunk;
+        return this;
+    }
+
+    /**
+     * Sets the bus to deliver an event to all the registrations of its
+     * hierarchy with a single dispatch plan. By default, with an event
+     * inheritance policy, an event is delivered with a separate worker task
+     * for each superclass and interface having registrations, so the
+     * priorities are respected only among the listeners of the same class.
+     * With merged dispatch plans the registrations of the whole hierarchy are
+     * merged into one array sorted by priority, cached for each event class
+     * and rebuilt only when a registration of a class of its hierarchy
+     * changes. So an event is delivered with a single task and the priorities
+     * are respected across the whole hierarchy.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use merged
+     * dispatch plans
+     */
+    public EventBusBuilder setMergedDispatchPlan() {
+        this.mergedDispatchPlan = true;
+        return this;
+    }
+
     /**
      * Sets the number of internal workers used by the eventbus equal to the
      * available processors of current device.
@@ -347,6 +805,361 @@ public final class EventBusBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of {@link BusMemoryStateManager} shards used by the
+     * eventbus to process internal messages. Each shard has its own queue,
+     * thread and memory state, so posts of different event classes are
+     * processed in parallel, while posts of the same event class are always
+     * processed in order by the same shard. Registrations are replicated to
+     * every shard. Each shard queue has the length set by
+     * {@link #setQueuesLength(Integer)}. It cannot be used with
+     * {@link #setDirectDispatch()}, which already skips the state manager.
+     *
+     * @param numberOfStateManagerShards The number of state manager shards
+     * used by the eventbus
+     * @return The {@link EventBusBuilder} instance configured with the updated
+     * number of state manager shards
+     * @throws EventBusException if {@code numberOfStateManagerShards} is null
+     * or not positive
+     */
+    public EventBusBuilder setNumberOfStateManagerShards(final Integer numberOfStateManagerShards) {
+        if (numberOfStateManagerShards == null) {
+            throw new EventBusException("Invalid numberOfStateManagerShards: value cannot be null.");
+        }
+        if (numberOfStateManagerShards <= 0) {
+            throw new EventBusException("Invalid numberOfStateManagerShards: value must be > 0 but was " + numberOfStateManagerShards + ".");
+        }
+        this.numberOfStateManagerShards = numberOfStateManagerShards;
+        return this;
+    }
+
+    /**
+     * Sets the bus to use a separate high priority control queue for
+     * registrations, unregistrations, sticky events, queries and the shutdown.
+     * The {@link BusMemoryStateManager} always drains the control queue before
+     * taking the next post, so control messages are not delayed by the queued
+     * posts during bursts. Control messages keep their order among them, and
+     * posts keep their order among them, but a control message can overtake
+     * the posts sent before it: for example a listener registered after a post
+     * can receive that post, and a listener unregistered after a post can miss
+     * it. On shutdown the posts already queued are still delivered. The
+     * control queue has the length set by {@link #setQueuesLength(Integer)}.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use the
+     * control lane
+     */
+    public EventBusBuilder setControlLane() {
+        this.controlLane = true;
+        return this;
+    }
+
+    /**
+     * Sets the bus to use a preallocated lock-free
+     * {@link RingBufferBlockingQueue} as internal message queue. The ring buffer
+     * length is the queue length set by {@link #setQueuesLength(Integer)}
+     * rounded up to the next power of two.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use the ring
+     * buffer queue
+     * @see #setBlockingWaitStrategy()
+     * @see #setYieldingWaitStrategy()
+     * @see #setSpinThenParkWaitStrategy()
+     * @see #setBusySpinWaitStrategy()
+     */
+    public EventBusBuilder setRingBufferQueue() {
+        this.useRingBufferQueue = true;
+        return this;
+    }
+
+    /**
+     * Sets the {@link #waitStrategyType} to {@link BlockingWaitStrategy}. This
+     * is the default value and it is useful only when the ring buffer queue is
+     * enabled.
+     *
+     * @return The {@link EventBusBuilder} configured with the
+     * {@link BlockingWaitStrategy}
+     * @see WaitStrategy
+     * @see #setRingBufferQueue()
+     */
+    public EventBusBuilder setBlockingWaitStrategy() {
+        this.waitStrategyType = WaitStrategyType.BLOCKING_WAIT_STRATEGY;
+        return this;
+    }
+
+    /**
+     * Sets the {@link #waitStrategyType} to {@link YieldingWaitStrategy}. It
+     * is useful only when the ring buffer queue is enabled.
+     *
+     * @return The {@link EventBusBuilder} configured with the
+     * {@link YieldingWaitStrategy}
+     * @see WaitStrategy
+     * @see #setRingBufferQueue()
+     */
+    public EventBusBuilder setYieldingWaitStrategy() {
+        this.waitStrategyType = WaitStrategyType.YIELDING_WAIT_STRATEGY;
+        return this;
+    }
+
+    /**
+     * Sets the {@link #waitStrategyType} to {@link SpinThenParkWaitStrategy}.
+     * It is useful only when the ring buffer queue is enabled.
+     *
+     * @return The {@link EventBusBuilder} configured with the
+     * {@link SpinThenParkWaitStrategy}
+     * @see WaitStrategy
+     * @see #setRingBufferQueue()
+     */
+    public EventBusBuilder setSpinThenParkWaitStrategy() {
+        this.waitStrategyType = WaitStrategyType.SPIN_THEN_PARK_WAIT_STRATEGY;
+        return this;
+    }
+
+    /**
+     * Sets the {@link #waitStrategyType} to {@link BusySpinWaitStrategy}. It
+     * is useful only when the ring buffer queue is enabled. Beware that the
+     * bus state manager thread will keep a core always busy.
+     *
+     * @return The {@link EventBusBuilder} configured with the
+     * {@link BusySpinWaitStrategy}
+     * @see WaitStrategy
+     * @see #setRingBufferQueue()
+     */
+    public EventBusBuilder setBusySpinWaitStrategy() {
+        this.waitStrategyType = WaitStrategyType.BUSY_SPIN_WAIT_STRATEGY;
+        return this;
+    }
+
+    /**
+     * Sets the bus to dispatch posted events directly from the posting
+     * threads to the workers, without passing through the
+     * {@link BusMemoryStateManager} thread. With this option register and
+     * unregister calls return only when the change is visible to posting
+     * threads. Sticky events are still delivered by the
+     * {@link BusMemoryStateManager}, so their order is not guaranteed with
+     * respect to events posted directly.
+     *
+     * @return The {@link EventBusBuilder} instance configured to use direct
+     * dispatch
+     */
+    public EventBusBuilder setDirectDispatch() {
+        this.directDispatch = true;
+        return this;
+    }
+
+    /**
+     * Sets the bus to reuse its internal post messages and workers tasks,
+     * taking them from preallocated pools sized on the queues length. Used
+     * together with {@link #setRingBufferQueue()}, a post does not allocate
+     * any internal object on the bus side, apart from the node of the workers
+     * queue. Useful for latency sensitive applications that want to avoid
+     * garbage collection pressure.
+     *
+     * @return The {@link EventBusBuilder} instance configured to pool post
+     * objects
+     * @see #setQueuesLength(Integer)
+     */
+    public EventBusBuilder setPostObjectsPooling() {
+        this.postObjectsPooling = true;
+        return this;
+    }
+
+    /**
+     * Sets the given event class as conflating (latest value wins): when an
+     * event of this class is posted while another one is still waiting in the
+     * message queue or for a free worker, the waiting event is replaced by the
+     * new one, which keeps its place in the queue. Useful for state updates
+     * like prices or positions, where only the latest value matters and a
+     * slow listener should not receive a backlog of stale ones. With
+     * {@link #setListenerMailboxes()}, {@link #setRoutingKeyLanes()} or
+     * {@link #setParallelFanOut(Integer)} the events are conflated only while
+     * they wait in the message queue, since they then wait in their own
+     * queues. Only events of exactly this class are conflated, while the
+     * events posted with {@link EventBus#postAll(java.util.Collection)} or
+     * sticky events are never conflated.
+     *
+     * @param eventClass The event class to conflate
+     * @return The {@link EventBusBuilder} instance configured to conflate the
+     * events of the given class
+     * @throws EventBusException if {@code eventClass} is null
+     * @see #setConflatingEvent(Class, Function)
+     * @see Conflating
+     */
+    public EventBusBuilder setConflatingEvent(final Class<?> eventClass) {
+        if (eventClass == null) {
+            throw new EventBusException("Invalid conflating event: the event class cannot be null.");
+        }
+        this.conflatingEvents.put(eventClass, event -> null);
+        return this;
+    }
+
+    /**
+     * Sets the given event class as conflating by key: a posted event of this
+     * class replaces only the waiting event of the same class having the same
+     * key, for example the latest price of each instrument. The key is
+     * compared with equals and may be null.
+     *
+     * @param <T> The type of the conflating events
+     * @param eventClass The event class to conflate
+     * @param keyExtractor The function returning the conflation key of an
+     * event
+     * @return The {@link EventBusBuilder} instance configured to conflate the
+     * events of the given class by key
+     * @throws EventBusException if {@code eventClass} or {@code keyExtractor}
+     * is null
+     * @see #setConflatingEvent(Class)
+     */
+    public <T> EventBusBuilder setConflatingEvent(final Class<T> eventClass, final Function<? super T, ?> keyExtractor) {
+        if (eventClass == null) {
+            throw new EventBusException("Invalid conflating event: the event class cannot be null.");
+        }
+        if (keyExtractor == null) {
+            throw new EventBusException("Invalid conflating event: the key extractor cannot be null.");
+        }
+        this.conflatingEvents.put(eventClass, event -> keyExtractor.apply(eventClass.cast(event)));
+        return this;
+    }
+
+    /**
+     * Sets the executor delivering the events to the listener methods
+     * annotated with the {@link ThreadMode#MAIN} thread mode, for example
+     * {@code SwingUtilities::invokeLater}. It is a shortcut for
+     * {@link #setMainThreadDispatcher(MainThreadDispatcher)} with
+     * {@link MainThreadDispatchers#fromExecutor(Executor)}.
+     *
+     * @param mainThreadExecutor The executor of the main thread
+     * @return The {@link EventBusBuilder} instance configured with the main
+     * thread executor
+     * @throws EventBusException if {@code mainThreadExecutor} is null
+     * @see Listen#threadMode()
+     */
+    public EventBusBuilder setMainThreadExecutor(final Executor mainThreadExecutor) {
+        return setMainThreadDispatcher(MainThreadDispatchers.fromExecutor(mainThreadExecutor));
+    }
+
+    /**
+     * Sets the {@link MainThreadDispatcher} delivering the events to the
+     * listener methods annotated with the {@link ThreadMode#MAIN} thread mode.
+     * The events waiting for the main thread are coalesced in frames: the bus
+     * asks the dispatcher for a new frame only when the previous one has run,
+     * and each frame delivers all the waiting events, in delivery order, up to
+     * a limit keeping the main thread responsive.
+     *
+     * @param mainThreadDispatcher The {@link MainThreadDispatcher} of the main
+     * thread, for example {@link MainThreadDispatchers#javaFx()} or a
+     * {@link TickMainThreadDispatcher}
+     * @return The {@link EventBusBuilder} instance configured with the main
+     * thread dispatcher
+     * @throws EventBusException if {@code mainThreadDispatcher} is null
+     * @see Listen#threadMode()
+     */
+    public EventBusBuilder setMainThreadDispatcher(final MainThreadDispatcher mainThreadDispatcher) {
+        if (mainThreadDispatcher == null) {
+            throw new EventBusException("Invalid main thread dispatcher: the dispatcher cannot be null.");
+        }
+        this.mainThreadDispatcher = mainThreadDispatcher;
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to block the posting thread until the message
+     * queue has a free slot. This is the default value.
+     *
+     * @return The {@link EventBusBuilder} instance configured with the block
+     * overflow policy
+     * @see OverflowPolicyType#BLOCK
+     */
+    public EventBusBuilder setBlockingOverflowPolicy() {
+        this.overflowPolicyType = OverflowPolicyType.BLOCK;
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to block the posting thread up to a timeout
+     * when the message queue is full. If the queue is still full after the
+     * timeout, the post throws an {@link EventBusException} and the event is
+     * counted as rejected.
+     *
+     * @param timeout The maximum time to wait for a free slot
+     * @param unit The time unit of the timeout
+     * @return The {@link EventBusBuilder} instance configured with the timed
+     * block overflow policy
+     * @throws EventBusException if {@code timeout} is not positive or
+     * {@code unit} is null
+     * @see OverflowPolicyType#TIMED_BLOCK
+     */
+    public EventBusBuilder setTimedBlockOverflowPolicy(final long timeout, final TimeUnit unit) {
+        if (unit == null) {
+            throw new EventBusException("Invalid overflow timeout unit: value cannot be null.");
+        }
+        if (timeout <= 0) {
+            throw new EventBusException("Invalid overflow timeout: value must be > 0 but was " + timeout + ".");
+        }
+        this.overflowPolicyType = OverflowPolicyType.TIMED_BLOCK;
+        this.overflowTimeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to reject immediately a posted event when the
+     * message queue is full. The post throws an {@link EventBusException} and
+     * the event is counted as rejected.
+     *
+     * @return The {@link EventBusBuilder} instance configured with the fail
+     * fast overflow policy
+     * @see OverflowPolicyType#FAIL_FAST
+     */
+    public EventBusBuilder setFailFastOverflowPolicy() {
+        this.overflowPolicyType = OverflowPolicyType.FAIL_FAST;
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to silently drop a posted event when the
+     * message queue is full. The event is counted as dropped.
+     *
+     * @return The {@link EventBusBuilder} instance configured with the drop
+     * newest overflow policy
+     * @see OverflowPolicyType#DROP_NEWEST
+     */
+    public EventBusBuilder setDropNewestOverflowPolicy() {
+        this.overflowPolicyType = OverflowPolicyType.DROP_NEWEST;
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to drop the oldest posted event waiting in the
+     * message queue to make room for the new one. The removed event is counted
+     * as dropped. Registrations and sticky events waiting in the queue are
+     * never dropped. This policy can be used with the ring buffer queue only
+     * if the control lane is enabled, since then the posts queue holds only
+     * posts and the oldest one is always at its head.
+     *
+     * @return The {@link EventBusBuilder} instance configured with the drop
+     * oldest overflow policy
+     * @see OverflowPolicyType#DROP_OLDEST
+     * @see #setControlLane()
+     */
+    public EventBusBuilder setDropOldestOverflowPolicy() {
+        this.overflowPolicyType = OverflowPolicyType.DROP_OLDEST;
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy to let the posting thread deliver the event to
+     * the listeners by itself when the message queue is full. This slows down
+     * the producers instead of blocking them, but events delivered by the
+     * posting thread skip the queue and so are not ordered with the queued
+     * ones.
+     *
+     * @return The {@link EventBusBuilder} instance configured with the caller
+     * runs overflow policy
+     * @see OverflowPolicyType#CALLER_RUNS
+     */
+    public EventBusBuilder setCallerRunsOverflowPolicy() {
+        this.overflowPolicyType = OverflowPolicyType.CALLER_RUNS;
+        return this;
+    }
+
     /**
      * Sets the package used to stop the iteration over classes while using
      * event inheritance. If a class belongs to the set package then the
@@ -395,21 +1208,278 @@ public final class EventBusBuilder {
      * eventbus
      */
     public EventBus build() throws EventBusException {
+        validateConfiguration();
         try {
             final ClassProcessableService ClassProcessableService = new ClassProcessableService(inheritancePackageFrontierPath);
             final EventInheritancePolicy eventInheritancePolicy = FactoryInheritancePolicy.createInheritancePolicy(eventInheritancePolicyType, ClassProcessableService);
-            final EventBusInfrastructure eventBusInfrastructure = new EventBusInfrastructure(
-                    new ListenerMethodFinder(listenerSuperclassInheritance, throwNotValidMethodException, throwNoListenerAnnotationException, useLambdaFactoryInsteadOfStandardReflection, ClassProcessableService),
-                    eventInheritancePolicy,
-                    queueLength,
-                    numberOfWorkers,
-                    throwNoRegistrationsWarning,
-                    verboseLogging
-            );
+            final ListenerMethodFinder listenerMethodFinder = new ListenerMethodFinder(listenerSuperclassInheritance, throwNotValidMethodException, throwNoListenerAnnotationException, useLambdaFactoryInsteadOfStandardReflection, ClassProcessableService);
+            final EventBusInfrastructure eventBusInfrastructure = new EventBusInfrastructure(listenerMethodFinder, eventInheritancePolicy, this);
             eventBusInfrastructure.startup();
             return new UfoEventBus(eventBusInfrastructure);
         } catch (Exception ex) {
             throw new EventBusException("Error building the eventbus", ex);
         }
     }
+
+    /**
+     * Private method used to set the {@link WorkersPoolType} of the pool
+     * running the worker tasks, remembering each requested type
+     *
+     * @param workersPoolType The {@link WorkersPoolType} to set
+     */
+    private void setWorkersPoolType(WorkersPoolType workersPoolType) {
+        this.workersPoolType = workersPoolType;
+        requestedWorkersPoolTypes.add(workersPoolType);
+    }
+
+    /**
+     * Private method used to check that the set options can be used together
+     *
+     * @throws EventBusException If some set options cannot be used together
+     */
+    private void validateConfiguration() throws EventBusException {
+        if (requestedWorkersPoolTypes.size() > 1) {
+            throw new EventBusException("Invalid configuration: only one workers pool can be set, but " + requestedWorkersPoolTypes + " were set.");
+        }
+        if (useRingBufferQueue && !controlLane && overflowPolicyType == OverflowPolicyType.DROP_OLDEST) {
+            throw new EventBusException("Invalid configuration: the drop oldest overflow policy can be used with the ring buffer queue only if the control lane is enabled.");
+        }
+        if (workersPoolType == WorkersPoolType.VIRTUAL_THREADS && !VirtualThreadExecutors.isSupported()) {
+            throw new EventBusException("Invalid configuration: virtual thread workers require Java 21 or later.");
+        }
+        if (workersPoolType != WorkersPoolType.FIXED_THREAD_POOL && workersPoolType != WorkersPoolType.ADAPTIVE && workersQueueLength > 0) {
+            throw new EventBusException("Invalid configuration: a bounded workers queue can be used only with the fixed thread pool or the adaptive workers.");
+        }
+        if (workersPoolType == WorkersPoolType.ADAPTIVE && minNumberOfWorkers > numberOfWorkers) {
+            throw new EventBusException("Invalid configuration: the adaptive workers pool cannot have less workers (" + numberOfWorkers + ") than its minimum (" + minNumberOfWorkers + ").");
+        }
+        if (workersPoolType == WorkersPoolType.PUMP && numberOfWorkers > 1) {
+            throw new EventBusException("Invalid configuration: the pump mode has no workers, so it cannot be used with more than one worker.");
+        }
+        if (workersPoolType == WorkersPoolType.PUMP && fanOutMinChunkSize > 0) {
+            throw new EventBusException("Invalid configuration: the pump mode cannot be used with parallel fan out.");
+        }
+        if (workersPoolType == WorkersPoolType.INLINE && numberOfWorkers > 1) {
+            throw new EventBusException("Invalid configuration: the inline dispatch has no workers, so it cannot be used with more than one worker.");
+        }
+        if (workersPoolType == WorkersPoolType.INLINE && (listenerMailboxes || routingKeyLanes || fanOutMinChunkSize > 0)) {
+            throw new EventBusException("Invalid configuration: the inline dispatch cannot be used with listener mailboxes, routing key lanes or parallel fan out.");
+        }
+        if (workersPoolType == WorkersPoolType.INLINE && (directDispatch || overflowPolicyType == OverflowPolicyType.CALLER_RUNS || numberOfStateManagerShards > 1)) {
+            throw new EventBusException("Invalid configuration: the inline dispatch cannot be used with direct dispatch, the caller runs overflow policy or state manager shards.");
+        }
+        if (listenerMailboxes && workersQueueLength > 0) {
+            throw new EventBusException("Invalid configuration: listener mailboxes cannot be used with a bounded workers queue.");
+        }
+        if (listenerMailboxes && overflowPolicyType == OverflowPolicyType.CALLER_RUNS) {
+            throw new EventBusException("Invalid configuration: listener mailboxes cannot be used with the caller runs overflow policy.");
+        }
+        if (routingKeyLanes && listenerMailboxes) {
+            throw new EventBusException("Invalid configuration: routing key lanes cannot be used with listener mailboxes.");
+        }
+        if (routingKeyLanes && workersQueueLength > 0) {
+            throw new EventBusException("Invalid configuration: routing key lanes cannot be used with a bounded workers queue.");
+        }
+        if (routingKeyLanes && overflowPolicyType == OverflowPolicyType.CALLER_RUNS) {
+            throw new EventBusException("Invalid configuration: routing key lanes cannot be used with the caller runs overflow policy.");
+        }
+        if (fanOutMinChunkSize > 0 && (listenerMailboxes || routingKeyLanes)) {
+            throw new EventBusException("Invalid configuration: parallel fan out cannot be used with listener mailboxes or routing key lanes.");
+        }
+        if (fanOutMinChunkSize > 0 && workersQueueLength > 0) {
+            throw new EventBusException("Invalid configuration: parallel fan out cannot be used with a bounded workers queue.");
+        }
+        if (numberOfStateManagerShards > 1 && directDispatch) {
+            throw new EventBusException("Invalid configuration: state manager shards cannot be used with direct dispatch.");
+        }
+    }
+
+    /**
+     * Getter for the length of the internal message queue
+     *
+     * @return The length of the internal message queue
+     */
+    int getQueueLength() {
+        return queueLength;
+    }
+
+    /**
+     * Getter for the ring buffer queue option
+     *
+     * @return True if the internal message queue is a ring buffer
+     */
+    boolean isUseRingBufferQueue() {
+        return useRingBufferQueue;
+    }
+
+    /**
+     * Getter for the wait strategy of the ring buffer queue
+     *
+     * @return The wait strategy of the ring buffer queue
+     */
+    WaitStrategyType getWaitStrategyType() {
+        return waitStrategyType;
+    }
+
+    /**
+     * Getter for the minimum number of workers of the adaptive workers pool
+     *
+     * @return The minimum number of workers of the adaptive workers pool
+     */
+    int getMinNumberOfWorkers() {
+        return minNumberOfWorkers;
+    }
+
+    /**
+     * Getter for the number of workers
+     *
+     * @return The number of workers, or the maximum number of the adaptive workers pool
+     */
+    int getNumberOfWorkers() {
+        return numberOfWorkers;
+    }
+
+    /**
+     * Getter for the length of the workers pool queue
+     *
+     * @return The length of the workers pool queue, or zero for an unbounded queue
+     */
+    int getWorkersQueueLength() {
+        return workersQueueLength;
+    }
+
+    /**
+     * Getter for the type of the workers pool
+     *
+     * @return The type of the workers pool
+     */
+    WorkersPoolType getWorkersPoolType() {
+        return workersPoolType;
+    }
+
+    /**
+     * Getter for the listener mailboxes option
+     *
+     * @return True if each registered listener gets a mailbox
+     */
+    boolean isListenerMailboxes() {
+        return listenerMailboxes;
+    }
+
+    /**
+     * Getter for the routing key lanes option
+     *
+     * @return True if the events having a routing key are delivered through lanes
+     */
+    boolean isRoutingKeyLanes() {
+        return routingKeyLanes;
+    }
+
+    /**
+     * Getter for the minimum chunk size of the parallel fan out
+     *
+     * @return The minimum number of registrations of a parallel fan out chunk, or zero
+     */
+    int getFanOutMinChunkSize() {
+        return fanOutMinChunkSize;
+    }
+
+    /**
+     * Getter for the merged dispatch plan option
+     *
+     * @return True if each event is delivered with a merged dispatch plan
+     */
+    boolean isMergedDispatchPlan() {
+        return mergedDispatchPlan;
+    }
+
+    /**
+     * Getter for the number of state manager shards
+     *
+     * @return The number of state manager shards
+     */
+    int getNumberOfStateManagerShards() {
+        return numberOfStateManagerShards;
+    }
+
+    /**
+     * Getter for the control lane option
+     *
+     * @return True if the state manager shards have a control queue
+     */
+    boolean isControlLane() {
+        return controlLane;
+    }
+
+    /**
+     * Getter for the direct dispatch option
+     *
+     * @return True if posting threads dispatch events directly to the workers
+     */
+    boolean isDirectDispatch() {
+        return directDispatch;
+    }
+
+    /**
+     * Getter for the post objects pooling option
+     *
+     * @return True if the post messages and the event executors are reused
+     */
+    boolean isPostObjectsPooling() {
+        return postObjectsPooling;
+    }
+
+    /**
+     * Getter for the overflow policy applied when the message queue is full
+     *
+     * @return The overflow policy applied when the message queue is full
+     */
+    OverflowPolicyType getOverflowPolicyType() {
+        return overflowPolicyType;
+    }
+
+    /**
+     * Getter for the timeout of the timed block overflow policy
+     *
+     * @return The timeout in nanoseconds of the timed block overflow policy
+     */
+    long getOverflowTimeoutNanos() {
+        return overflowTimeoutNanos;
+    }
+
+    /**
+     * Getter for the event classes set as conflating
+     *
+     * @return The key extractors of the event classes set as conflating
+     */
+    Map<Class<?>, Function<Object, ?>> getConflatingEvents() {
+        return conflatingEvents;
+    }
+
+    /**
+     * Getter for the main thread dispatcher
+     *
+     * @return The main thread dispatcher, or null if not set
+     */
+    MainThreadDispatcher getMainThreadDispatcher() {
+        return mainThreadDispatcher;
+    }
+
+    /**
+     * Getter for the no registrations warning option
+     *
+     * @return True if a warning is logged for events without registrations
+     */
+    boolean isThrowNoRegistrationsWarning() {
+        return throwNoRegistrationsWarning;
+    }
+
+    /**
+     * Getter for the verbose logging option
+     *
+     * @return True if the verbose logging is enabled
+     */
+    boolean isVerboseLogging() {
+        return verboseLogging;
+    }
 }
@@ -15,21 +15,76 @@
  */
 package it.rebirthproject.ufoeb.architecture.eventbus;
 
+import it.rebirthproject.ufoeb.architecture.conflation.EventConflator;
+import it.rebirthproject.ufoeb.architecture.executor.BlockingRejectedExecutionHandler;
+import it.rebirthproject.ufoeb.architecture.executor.DeliveryTracker;
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
 import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
+import it.rebirthproject.ufoeb.architecture.executor.RequestTracker;
+import it.rebirthproject.ufoeb.architecture.executor.RoutingKeyLanes;
+import it.rebirthproject.ufoeb.architecture.executor.ThreadModeMailboxes;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.AdaptiveWorkersPool;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.FactoryWorkersPool;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.PumpExecutor;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.WorkersPoolType;
+import it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatcher;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ConflatedPostEventMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventsBatchMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostStickyEventMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.RemoveStickyEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.ShutdownStateManagerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.WakeUpStateManagerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractAwaitableCommandMessage;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.Message;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
+import it.rebirthproject.ufoeb.architecture.pool.ObjectPool;
+import it.rebirthproject.ufoeb.architecture.queue.RingBufferBlockingQueue;
+import it.rebirthproject.ufoeb.architecture.queue.overflowpolicy.OverflowPolicyType;
 import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
+import it.rebirthproject.ufoeb.architecture.state.RegistrySnapshot;
 import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 import it.rebirthproject.ufoeb.exceptions.EventBusException;
 import it.rebirthproject.ufoeb.services.ListenerMethodFinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolicy;
 
 /**
  * The data structures composing the infrastructure of the {@link EventBus}.
+ *
+ * <p>
+ * The infrastructure can start more than one {@link BusMemoryStateManager}
+ * (the state manager shards), each one with its own message queue and
+ * {@link MemoryState}. Registrations are replicated to every shard, while
+ * posted and sticky events are routed to a shard by the hash of their class,
+ * so the events of the same class are always handled in order by the same
+ * shard.
+ * </p>
+ *
+ * <p>
+ * If the control lane is enabled, each shard also has a control queue for
+ * registrations, sticky events, queries and the shutdown. The
+ * {@link BusMemoryStateManager} always drains its control queue before taking
+ * the next post, so control messages never wait behind queued posts. Each
+ * queue keeps its FIFO order, but a control message can overtake the posts
+ * sent before it.
+ * </p>
  */
 final class EventBusInfrastructure {
 
@@ -42,26 +97,155 @@ final class EventBusInfrastructure {
      * The logger used by this class.
      */
     private static final Logger logger = LoggerFactory.getLogger(EventBusInfrastructure.class);
+    /**
+     * The message put in a posts queue to wake up its
+     * {@link BusMemoryStateManager} after sending a control message. It is
+     * immutable, so a single instance is shared.
+     */
+    private static final Message WAKE_UP_STATE_MANAGER_MESSAGE = new WakeUpStateManagerMessage();
     /**
      * An {@link ExecutorService} used as a thread pool of {@link EventExecutor}
      * workers.
      */
     private final ExecutorService workersPoolExecutor;
     /**
-     * A {@link Thread} used by the {@link BusMemoryStateManager} to work
-     * asynchronously.
+     * The workers pool without threads pumped by the owner of the bus. It is
+     * null if the bus is not in pump mode.
      */
-    private final Thread busMemoryStateManagerThread;    
+    private final PumpExecutor pumpExecutor;
     /**
-     * A blocking queue used to communicate internal messages to other
-     * {@link EventBus}'s components.
+     * The {@link Thread}s used by the {@link BusMemoryStateManager} shards to
+     * work asynchronously.
      */
-    private final BlockingQueue<Message> messageQueue;
+    private final List<Thread> busMemoryStateManagerThreads;
+    /**
+     * The {@link BusMemoryStateManager} shards, in the same order of their
+     * {@link #busMemoryStateManagerThreads}
+     */
+    private final List<BusMemoryStateManager> busMemoryStateManagers;
+    /**
+     * The blocking queues used to communicate internal messages to other
+     * {@link EventBus}'s components, one for each
+     * {@link BusMemoryStateManager} shard.
+     */
+    private final List<BlockingQueue<Message>> messageQueues;
+    /**
+     * The control queues of the {@link BusMemoryStateManager} shards, used
+     * for every message except posts. It is null if the control lane is not
+     * enabled.
+     */
+    private final List<BlockingQueue<Message>> controlMessageQueues;
     /**
      * The number of workers ({@link EventExecutor}s) used by the bus behind the
      * scenes to deliver events.
      */
     private final int numberOfWorkers;
+    /**
+     * True if posting threads dispatch events directly to the workers
+     */
+    private final boolean directDispatch;
+    /**
+     * True if each registered listener gets a {@link ListenerMailbox}
+     */
+    private final boolean listenerMailboxes;
+    /**
+     * True if the registrations are invoked directly on the
+     * {@link BusMemoryStateManager} thread, without workers
+     */
+    private final boolean inlineDispatch;
+    /**
+     * The {@link OverflowPolicyType} applied to posted events when the
+     * message queue is full
+     */
+    private final OverflowPolicyType overflowPolicyType;
+    /**
+     * The maximum time in nanoseconds a posting thread waits for a free slot
+     * with the {@link OverflowPolicyType#TIMED_BLOCK} policy
+     */
+    private final long overflowTimeoutNanos;
+    /**
+     * The last {@link RegistrySnapshot} published by the
+     * {@link BusMemoryStateManager}. It is null if posting threads never need
+     * to resolve registrations by themselves.
+     */
+    private final AtomicReference<RegistrySnapshot> registrySnapshot;
+    /**
+     * The last {@link RegistrySnapshot} of the registrations with the
+     * {@link ThreadMode#POSTING} thread mode, delivered by the posting
+     * threads. It holds null while there are no posting registrations.
+     */
+    private final AtomicReference<RegistrySnapshot> postingRegistrySnapshot = new AtomicReference<>();
+    /**
+     * The {@link ListenerMethodFinder} used by the
+     * {@link BusMemoryStateManager}s, also used to check the listeners on the
+     * registering threads
+     */
+    private final ListenerMethodFinder listenerMethodFinder;
+    /**
+     * The {@link Listen} annotated methods to register of each listener class
+     * already checked
+     */
+    private final Map<Class<?>, List<Method>> listenerClassesMethods = new ConcurrentHashMap<>();
+    /**
+     * The single thread executor delivering the registrations with the
+     * {@link ThreadMode#BACKGROUND} thread mode. Its thread is started only
+     * when the first event is delivered to a background registration.
+     */
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+    /**
+     * The scheduler expiring the requests which are still waiting for results
+     * after their timeout and flushing the events buffered by the producers
+     * after their maximum delay. Its thread is started only when the first
+     * task is scheduled.
+     */
+    private final ScheduledThreadPoolExecutor busScheduler = new ScheduledThreadPoolExecutor(1);
+    /**
+     * The {@link DeliveryTracker}s of the tracked events and of the requests
+     * whose futures are not completed yet, discarded when the bus shuts down
+     */
+    private final Set<DeliveryTracker> pendingDeliveryTrackers = ConcurrentHashMap.newKeySet();
+    /**
+     * The {@link EventProducer}s having some buffered events, flushed when the
+     * bus shuts down. It is also the lock guarding
+     * {@link #producersFlushedForShutdown}.
+     */
+    private final Set<EventProducer> bufferingProducers = new HashSet<>();
+    /**
+     * True once the buffering producers have been flushed for the shutdown,
+     * so no producer can start buffering events anymore
+     */
+    private boolean producersFlushedForShutdown = false;
+    /**
+     * The mailboxes of the background thread and of the main thread, attached
+     * to the registrations with a dedicated thread mode
+     */
+    private final ThreadModeMailboxes threadModeMailboxes;
+    /**
+     * The {@link EventDispatcher} used to send posted events to the workers.
+     * It is shared by the {@link BusMemoryStateManager} and the posting
+     * threads.
+     */
+    private final EventDispatcher eventDispatcher;
+    /**
+     * The pool of reusable {@link PostEventMessage}s, null if post objects
+     * pooling is not enabled
+     */
+    private final ObjectPool<PostEventMessage> postEventMessagePool;
+    /**
+     * The {@link EventConflator} used to conflate the posted events of the
+     * conflating classes
+     */
+    private final EventConflator eventConflator;
+    /**
+     * The number of posted events rejected because the message queue
+     * was full
+     */
+    private final LongAdder rejectedEventsCounter = new LongAdder();
+    /**
+     * The number of posted events dropped because the message queue
+     * was full
+     */
+    private final LongAdder droppedEventsCounter = new LongAdder();
 
     /**
      * The constructor used to build the {@link EventBusInfrastructure}
@@ -71,23 +255,82 @@ final class EventBusInfrastructure {
      * {@link Listen} and to store them inside the {@link MemoryState}
      * @param inheritancePolicy The event {@link EventInheritancePolicy} used by the
      * bus
-     * @param numberOfWorkers The number of workers ({@link EventExecutor}s)
-     * used by the bus behind the scenes to deliver events.
-     * @param throwNoRegistrationsWarning A boolean which defines if it's needed
-     * to throw warnings when no registrations are found for a specific event
-     * @param verboseLogging Boolean parameter set to true if a more verbose
-     * logging is needed
+     * @param eventBusBuilder The already validated {@link EventBusBuilder}
+     * holding the configuration of the bus, read only while building the
+     * infrastructure
      * @see EventBusBuilder
      * @see ListenerMethodFinder
      * @see EventInheritancePolicy
      */
-    EventBusInfrastructure(ListenerMethodFinder listenerMethodFinder, EventInheritancePolicy inheritancePolicy, int queueLength, int numberOfWorkers, boolean throwNoRegistrationsWarning, boolean verboseLogging) {
-        this.messageQueue = new LinkedBlockingQueue<>(queueLength);
+    EventBusInfrastructure(ListenerMethodFinder listenerMethodFinder, EventInheritancePolicy inheritancePolicy, EventBusBuilder eventBusBuilder) {
+        int queueLength = eventBusBuilder.getQueueLength();
+        int numberOfWorkers = eventBusBuilder.getNumberOfWorkers();
+        int numberOfStateManagerShards = eventBusBuilder.getNumberOfStateManagerShards();
+        WorkersPoolType workersPoolType = eventBusBuilder.getWorkersPoolType();
+        boolean throwNoRegistrationsWarning = eventBusBuilder.isThrowNoRegistrationsWarning();
+        boolean listenerMailboxes = eventBusBuilder.isListenerMailboxes();
+        boolean directDispatch = eventBusBuilder.isDirectDispatch();
+        boolean controlLane = eventBusBuilder.isControlLane();
+        OverflowPolicyType overflowPolicyType = eventBusBuilder.getOverflowPolicyType();
         this.numberOfWorkers = numberOfWorkers;
-        this.workersPoolExecutor = Executors.newFixedThreadPool(numberOfWorkers);
-        MemoryState memoryState = new MemoryState(inheritancePolicy, verboseLogging);
-        BusMemoryStateManager busMemoryStateManager = new BusMemoryStateManager(messageQueue, workersPoolExecutor, memoryState, listenerMethodFinder, throwNoRegistrationsWarning);
-        this.busMemoryStateManagerThread = new Thread(busMemoryStateManager);
+        this.listenerMethodFinder = listenerMethodFinder;
+        this.workersPoolExecutor = FactoryWorkersPool.createWorkersPool(workersPoolType, eventBusBuilder.getMinNumberOfWorkers(), numberOfWorkers, eventBusBuilder.getWorkersQueueLength());
+        this.pumpExecutor = workersPoolType == WorkersPoolType.PUMP ? (PumpExecutor) workersPoolExecutor : null;
+        this.directDispatch = directDispatch;
+        this.listenerMailboxes = listenerMailboxes;
+        this.inlineDispatch = workersPoolType == WorkersPoolType.INLINE;
+        this.overflowPolicyType = overflowPolicyType;
+        this.overflowTimeoutNanos = eventBusBuilder.getOverflowTimeoutNanos();
+        this.eventConflator = new EventConflator(new HashMap<>(eventBusBuilder.getConflatingEvents()));
+        this.threadModeMailboxes = new ThreadModeMailboxes(backgroundExecutor, eventBusBuilder.getMainThreadDispatcher());
+        // Most requests are answered before expiring, so their cancelled expirations are removed at once
+        this.busScheduler.setRemoveOnCancelPolicy(true);
+        if (directDispatch || overflowPolicyType == OverflowPolicyType.CALLER_RUNS) {
+            this.registrySnapshot = new AtomicReference<>();
+        } else {
+            this.registrySnapshot = null;
+        }
+        RoutingKeyLanes lanes = eventBusBuilder.isRoutingKeyLanes() ? new RoutingKeyLanes(workersPoolExecutor, numberOfWorkers) : null;
+        int fanOutMinChunkSize = eventBusBuilder.getFanOutMinChunkSize();
+        boolean mergedDispatchPlan = eventBusBuilder.isMergedDispatchPlan();
+        if (eventBusBuilder.isPostObjectsPooling()) {
+            // The queue length bounds the post messages waiting together, an empty pool just creates new objects
+            this.postEventMessagePool = new ObjectPool<>(queueLength * numberOfStateManagerShards, PostEventMessage::new);
+            this.eventDispatcher = new EventDispatcher(workersPoolExecutor, numberOfWorkers, throwNoRegistrationsWarning, new ObjectPool<>(queueLength + numberOfWorkers, pool -> new EventExecutor(pool, workersPoolExecutor)), listenerMailboxes, lanes, fanOutMinChunkSize, mergedDispatchPlan);
+        } else {
+            this.postEventMessagePool = null;
+            this.eventDispatcher = new EventDispatcher(workersPoolExecutor, numberOfWorkers, throwNoRegistrationsWarning, null, listenerMailboxes, lanes, fanOutMinChunkSize, mergedDispatchPlan);
+        }
+        this.messageQueues = new ArrayList<>(numberOfStateManagerShards);
+        this.busMemoryStateManagerThreads = new ArrayList<>(numberOfStateManagerShards);
+        this.busMemoryStateManagers = new ArrayList<>(numberOfStateManagerShards);
+        this.controlMessageQueues = controlLane ? new ArrayList<>(numberOfStateManagerShards) : null;
+        for (int shard = 0; shard < numberOfStateManagerShards; shard++) {
+            BlockingQueue<Message> messageQueue;
+            if (eventBusBuilder.isUseRingBufferQueue()) {
+                messageQueue = new RingBufferBlockingQueue<>(queueLength, eventBusBuilder.getWaitStrategyType());
+            } else {
+                messageQueue = new LinkedBlockingQueue<>(queueLength);
+            }
+            BlockingQueue<Message> controlMessageQueue = null;
+            if (controlLane) {
+                controlMessageQueue = new LinkedBlockingQueue<>(queueLength);
+                controlMessageQueues.add(controlMessageQueue);
+            }
+            MemoryState memoryState = new MemoryState(inheritancePolicy, eventBusBuilder.isVerboseLogging());
+            // Every shard has all the registrations, so the first one is enough to publish the snapshot
+            BusMemoryStateManager busMemoryStateManager = new BusMemoryStateManager(messageQueue, controlMessageQueue, workersPoolExecutor, memoryState, listenerMethodFinder, eventDispatcher, shard == 0 ? registrySnapshot : null, shard == 0 ? postingRegistrySnapshot : null);
+            messageQueues.add(messageQueue);
+            busMemoryStateManagers.add(busMemoryStateManager);
+            busMemoryStateManagerThreads.add(new Thread(busMemoryStateManager));
+        }
+        if (workersPoolExecutor instanceof ThreadPoolExecutor && ((ThreadPoolExecutor) workersPoolExecutor).getRejectedExecutionHandler() instanceof BlockingRejectedExecutionHandler) {
+            // Workers posting events may wait for the state managers, so these must never wait for the workers
+            BlockingRejectedExecutionHandler rejectedExecutionHandler = (BlockingRejectedExecutionHandler) ((ThreadPoolExecutor) workersPoolExecutor).getRejectedExecutionHandler();
+            for (Thread busMemoryStateManagerThread : busMemoryStateManagerThreads) {
+                rejectedExecutionHandler.addCallerRunsThread(busMemoryStateManagerThread);
+            }
+        }
     }
 
     /**
@@ -95,11 +338,17 @@ final class EventBusInfrastructure {
      */
     void startup() {
         logger.debug("nr workers {}", numberOfWorkers);
-        busMemoryStateManagerThread.start();
+        logger.debug("nr state manager shards {}", busMemoryStateManagerThreads.size());
+        for (Thread busMemoryStateManagerThread : busMemoryStateManagerThreads) {
+            busMemoryStateManagerThread.start();
+        }
     }
 
     /**
-     * The method used to send messages to other internal components
+     * The method used to send messages to other internal components. Messages
+     * changing the registrations (and the ones involving every shard) are sent
+     * to all the {@link BusMemoryStateManager} shards, sticky events messages
+     * to the shard owning their class and queries to the first shard.
      *
      * @param message The command/query message to send to other internal
      * components
@@ -108,13 +357,1026 @@ final class EventBusInfrastructure {
      */
     void sendMessage(Message message) throws EventBusException {
         try {
+            switch (message.getMessageType()) {
+                case REGISTER_LISTENER_MESSAGE:
+                case UNREGISTER_LISTENER_MESSAGE:
+                case CLEAR_ALL_STICKY_EVENTS_MESSAGE:
+                case PRINT_STATE: {
+                    broadcastMessage(message);
+                    break;
+                }
+                case POST_STICKY_EVENT_MESSAGE: {
+                    putMessage(getShardIndex(((PostStickyEventMessage) message).getEventToPost().getClass()), message);
+                    break;
+                }
+                case REMOVE_STICKY_EVENT_MESSAGE: {
+                    putMessage(getShardIndex(((RemoveStickyEventMessage) message).getEventClass()), message);
+                    break;
+                }
+                case POST_EVENT_MESSAGE:
+                case POST_CONFLATED_EVENT_MESSAGE: {
+                    putMessage(getShardIndex(getPostedEventClass(message)), message);
+                    break;
+                }
+                default: {
+                    putMessage(0, message);
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EventBusException("Error", ex);
+        }
+    }
+
+    /**
+     * Private method used to send a message to every
+     * {@link BusMemoryStateManager} shard. Once a shard has the message the
+     * other ones must get it too, or the shards would keep different
+     * registrations: an interrupted sender keeps waiting for the remaining
+     * shards and is interrupted again at the end. A state manager thread,
+     * which cannot wait, checks that every shard has a free slot before
+     * sending the message. If a shard refuses it anyway, the awaitable
+     * message is failed, so its sender does not wait forever.
+     *
+     * @param message The message to send to every shard
+     * @throws InterruptedException if the thread is interrupted before the
+     * first shard gets the message
+     * @throws EventBusException if a state manager thread finds a queue full
+     */
+    private void broadcastMessage(Message message) throws InterruptedException {
+        if (message instanceof AbstractAwaitableCommandMessage) {
+            // The sender waits until every shard has applied the command
+            ((AbstractAwaitableCommandMessage) message).setAppliers(messageQueues.size());
+        }
+        if (isBusMemoryStateManagerThread()) {
+            for (int shard = 0; shard < messageQueues.size(); shard++) {
+                if (getMessageQueue(shard, message).remainingCapacity() == 0) {
+                    throw new EventBusException("The bus queue is full and the bus state manager thread cannot wait for a free slot of its own queue");
+                }
+            }
+        }
+        boolean interrupted = false;
+        try {
+            int shard = 0;
+            while (shard < messageQueues.size()) {
+                try {
+                    putMessage(shard, message);
+                    shard++;
+                } catch (InterruptedException ex) {
+                    if (shard == 0) {
+                        throw ex;
+                    }
+                    interrupted = true;
+                } catch (EventBusException ex) {
+                    if (shard > 0 && message instanceof AbstractAwaitableCommandMessage) {
+                        ((AbstractAwaitableCommandMessage) message).markFailed(new EventBusException(message + " was sent only to " + shard + " of the " + messageQueues.size() + " state manager shards", ex));
+                    }
+                    throw ex;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The method used to send a query message. If called by a
+     * {@link BusMemoryStateManager} thread, like a listener invoked with inline
+     * dispatch, the query is answered at once by that manager, since the
+     * thread could never take the queued query while its caller waits for the
+     * answer.
+     *
+     * @param message The query message to send
+     * @throws EventBusException if something goes wrong sending the message
+     */
+    void sendQueryMessage(Message message) throws EventBusException {
+        BusMemoryStateManager currentBusMemoryStateManager = getCurrentBusMemoryStateManager();
+        if (currentBusMemoryStateManager != null) {
+            currentBusMemoryStateManager.processMessageInPlace(message);
+        } else {
+            sendMessage(message);
+        }
+    }
+
+    /**
+     * Private method used to put a message in the right queue of a
+     * {@link BusMemoryStateManager} shard. If the control lane is enabled,
+     * every message except posts goes to the control queue, and the posts
+     * queue gets a {@link WakeUpStateManagerMessage} in case the shard is
+     * waiting for posts. The wake up message is sent only if the posts queue
+     * is empty, so it never takes the slot of a post: otherwise the shard is
+     * not waiting, and it reads the control queue before taking the next
+     * post.
+     *
+     * @param shard The index of the shard
+     * @param message The message to put
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * for a free slot
+     */
+    private void putMessage(int shard, Message message) throws InterruptedException {
+        putMessage(getMessageQueue(shard, message), message);
+        if (controlMessageQueues != null && !isPostMessage(message) && messageQueues.get(shard).isEmpty()) {
+            messageQueues.get(shard).offer(WAKE_UP_STATE_MANAGER_MESSAGE);
+        }
+    }
+
+    /**
+     * Private method used to get the queue of a {@link BusMemoryStateManager}
+     * shard a message goes to
+     *
+     * @param shard The index of the shard
+     * @param message The message to send
+     * @return The control queue of the shard if the control lane is enabled
+     * and the message is not a post, the posts queue otherwise
+     */
+    private BlockingQueue<Message> getMessageQueue(int shard, Message message) {
+        if (controlMessageQueues == null || isPostMessage(message)) {
+            return messageQueues.get(shard);
+        }
+        return controlMessageQueues.get(shard);
+    }
+
+    /**
+     * Private method used to put a message in a queue of a
+     * {@link BusMemoryStateManager} shard. A state manager thread, like a
+     * listener invoked with inline dispatch, never waits for a free slot, since
+     * only the state manager threads free the queues: if the queue is full the
+     * message is refused.
+     *
+     * @param messageQueue The queue of the shard
+     * @param message The message to put
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * for a free slot
+     * @throws EventBusException if a state manager thread finds the queue full
+     */
+    private void putMessage(BlockingQueue<Message> messageQueue, Message message) throws InterruptedException {
+        if (!isBusMemoryStateManagerThread()) {
+            messageQueue.put(message);
+        } else if (!messageQueue.offer(message)) {
+            throw new EventBusException("The bus queue is full and the bus state manager thread cannot wait for a free slot of its own queue");
+        }
+    }
+
+    /**
+     * Private method used to check if the current thread is the thread of a
+     * {@link BusMemoryStateManager} shard
+     *
+     * @return True if the current thread is a state manager thread
+     */
+    private boolean isBusMemoryStateManagerThread() {
+        return busMemoryStateManagerThreads.contains(Thread.currentThread());
+    }
+
+    /**
+     * Private method used to get the {@link BusMemoryStateManager} shard
+     * running on the current thread
+     *
+     * @return The state manager of the current thread, or null if the current
+     * thread is not a state manager thread
+     */
+    private BusMemoryStateManager getCurrentBusMemoryStateManager() {
+        int shard = busMemoryStateManagerThreads.indexOf(Thread.currentThread());
+        return shard < 0 ? null : busMemoryStateManagers.get(shard);
+    }
+
+    /**
+     * Private method used to check if a message is a post message (a
+     * {@link PostEventMessage}, a {@link ConflatedPostEventMessage} or a
+     * {@link PostEventsBatchMessage})
+     *
+     * @param message The message to check
+     * @return True if the message is a post message, false otherwise
+     */
+    private static boolean isPostMessage(Message message) {
+        MessageType messageType = message.getMessageType();
+        return messageType == MessageType.POST_EVENT_MESSAGE || messageType == MessageType.POST_CONFLATED_EVENT_MESSAGE || messageType == MessageType.POST_EVENTS_BATCH_MESSAGE;
+    }
+
+    /**
+     * Private method used to get the class of the event wrapped in a single
+     * event post message
+     *
+     * @param message A {@link PostEventMessage} or a
+     * {@link ConflatedPostEventMessage}
+     * @return The class of the posted event
+     */
+    private static Class<?> getPostedEventClass(Message message) {
+        if (message.getMessageType() == MessageType.POST_CONFLATED_EVENT_MESSAGE) {
+            return ((ConflatedPostEventMessage) message).getEventToPost().getClass();
+        }
+        return ((PostEventMessage) message).getEventToPost().getClass();
+    }
+
+    /**
+     * Private method used to get the message queue of the
+     * {@link BusMemoryStateManager} shard owning an event class
+     *
+     * @param eventClass The event class
+     * @return The message queue of the shard owning the event class
+     */
+    private BlockingQueue<Message> getMessageQueue(Class<?> eventClass) {
+        return messageQueues.get(getShardIndex(eventClass));
+    }
+
+    /**
+     * Private method used to compute the index of the
+     * {@link BusMemoryStateManager} shard owning an event class
+     *
+     * @param eventClass The event class
+     * @return The index of the shard owning the event class
+     */
+    private int getShardIndex(Class<?> eventClass) {
+        return getShardIndex(eventClass, messageQueues.size());
+    }
+
+    /**
+     * Computes the index of the {@link BusMemoryStateManager} shard owning an
+     * event class among a number of shards
+     *
+     * @param eventClass The event class
+     * @param numberOfShards The number of state manager shards
+     * @return The index of the shard owning the event class
+     */
+    static int getShardIndex(Class<?> eventClass, int numberOfShards) {
+        if (numberOfShards == 1) {
+            return 0;
+        }
+        int hash = eventClass.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), numberOfShards);
+    }
+
+    /**
+     * The method used to create the {@link RegisterMessage} of a listener. If
+     * listener mailboxes are enabled the message carries a new
+     * {@link ListenerMailbox} for the listener.
+     *
+     * @param listenerToRegister The listener to register
+     * @return The {@link RegisterMessage} of the listener
+     */
+    RegisterMessage createRegisterMessage(Object listenerToRegister) {
+        if (listenerMailboxes) {
+            return new RegisterMessage(listenerToRegister, new ListenerMailbox(workersPoolExecutor), threadModeMailboxes);
+        }
+        return new RegisterMessage(listenerToRegister, null, threadModeMailboxes);
+    }
+
+    /**
+     * The method used to post an event through the message queue applying the
+     * configured {@link OverflowPolicyType}. If the event class is conflating
+     * and an event with the same class and key is still pending, the pending
+     * event is replaced and nothing is sent.
+     *
+     * @param event The event to post
+     * @return True if the event was accepted, false if it was dropped
+     * @throws EventBusException if the posted event is rejected or something
+     * goes wrong sending the message
+     */
+    boolean postEvent(Object event) throws EventBusException {
+        if (eventConflator.isConflating(event.getClass())) {
+            ConflatedPostEventMessage conflatedMessage = eventConflator.conflate(event);
+            return conflatedMessage == null || sendPostMessage(conflatedMessage);
+        }
+        return sendPostMessage(createPostEventMessage(event));
+    }
+
+    /**
+     * The method used to post an event whose deliveries are reported to a
+     * {@link DeliveryTracker}. With direct dispatch the event is dispatched
+     * by the calling thread, otherwise it is sent through the message queue
+     * applying the configured {@link OverflowPolicyType}, holding the tracker
+     * until the {@link BusMemoryStateManager} has dispatched it. If called by
+     * a state manager thread, like a listener invoked with inline dispatch,
+     * the event is dispatched at once by that thread. A tracked event is never
+     * conflated.
+     *
+     * @param event The event to post
+     * @param deliveryTracker The tracker of the deliveries of the event
+     * @return True if the event was accepted, false if it was dropped
+     * @throws EventBusException if the posted event is rejected or something
+     * goes wrong sending the message
+     */
+    boolean postTrackedEvent(Object event, DeliveryTracker deliveryTracker) throws EventBusException {
+        if (directDispatch) {
+            try {
+                eventDispatcher.dispatchTracked(registrySnapshot.get(), event, deliveryTracker);
+            } catch (RejectedExecutionException ex) {
+                throw new EventBusException("The event cannot be dispatched since the bus is shut down", ex);
+            }
+            return true;
+        }
+        deliveryTracker.hold();
+        BusMemoryStateManager currentBusMemoryStateManager = getCurrentBusMemoryStateManager();
+        if (currentBusMemoryStateManager != null) {
+            // A listener invoked inline waiting for the report would never let its thread take the queued post
+            currentBusMemoryStateManager.processMessageInPlace(new PostEventMessage(event, deliveryTracker));
+            return true;
+        }
+        return sendPostMessage(new PostEventMessage(event, deliveryTracker));
+    }
+
+    /**
+     * The method used to flush the events buffered by an
+     * {@link EventProducer} once their maximum delay has elapsed. The
+     * producer is kept until {@link #producerFlushed(EventProducer)} is
+     * called, so its buffered events are flushed when the bus shuts down.
+     *
+     * @param producer The producer which started buffering a batch
+     * @param flush The task flushing the buffered events
+     * @param delayNanos The maximum delay of the buffered events in
+     * nanoseconds
+     * @return The scheduled flush
+     * @throws EventBusException if the bus is shut down
+     */
+    ScheduledFuture<?> scheduleProducerFlush(EventProducer producer, Runnable flush, long delayNanos) throws EventBusException {
+        synchronized (bufferingProducers) {
+            if (producersFlushedForShutdown) {
+                throw new EventBusException("The producer cannot buffer events since the bus is shut down");
+            }
+            bufferingProducers.add(producer);
+        }
+        return busScheduler.schedule(flush, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The method used by an {@link EventProducer} once its buffered events
+     * have been flushed
+     *
+     * @param producer The producer which flushed its buffered events
+     */
+    void producerFlushed(EventProducer producer) {
+        synchronized (bufferingProducers) {
+            bufferingProducers.remove(producer);
+        }
+    }
+
+    /**
+     * The method used to keep a {@link DeliveryTracker} until its future is
+     * completed, so that the bus can complete it exceptionally if it shuts
+     * down before. The future of a {@link RequestTracker} is the one of its
+     * results.
+     *
+     * @param deliveryTracker The tracker of the posted event
+     */
+    void trackPendingDeliveries(DeliveryTracker deliveryTracker) {
+        pendingDeliveryTrackers.add(deliveryTracker);
+        CompletableFuture<?> trackedFuture = deliveryTracker instanceof RequestTracker ? ((RequestTracker<?>) deliveryTracker).getResultsFuture() : deliveryTracker.getDeliveryReportFuture();
+        trackedFuture.whenComplete((result, cause) -> pendingDeliveryTrackers.remove(deliveryTracker));
+    }
+
+    /**
+     * The method used to expire a request once its timeout has elapsed, if
+     * its results are not completed yet. The expiration is cancelled as soon
+     * as the results are completed.
+     *
+     * @param requestTracker The tracker of the request
+     * @param timeoutNanos The timeout of the request in nanoseconds
+     * @throws EventBusException if the bus is shut down
+     */
+    void scheduleRequestExpiration(RequestTracker<?> requestTracker, long timeoutNanos) throws EventBusException {
+        ScheduledFuture<?> expiration;
+        try {
+            expiration = busScheduler.schedule(requestTracker::expire, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            throw new EventBusException("The request cannot be sent since the bus is shut down", ex);
+        }
+        requestTracker.getResultsFuture().whenComplete((results, cause) -> expiration.cancel(false));
+    }
+
+    /**
+     * The method used to try to post an event through the message queue
+     * without applying the {@link OverflowPolicyType}. An event replacing a
+     * pending conflated event is always accepted.
+     *
+     * @param event The event to post
+     * @param timeoutNanos The maximum time in nanoseconds to wait for a free
+     * slot, zero to not wait at all
+     * @return True if the event was accepted, false if it was rejected
+     * @throws EventBusException if the thread is interrupted while waiting
+     */
+    boolean tryPostEvent(Object event, long timeoutNanos) throws EventBusException {
+        if (eventConflator.isConflating(event.getClass())) {
+            ConflatedPostEventMessage conflatedMessage = eventConflator.conflate(event);
+            return conflatedMessage == null || trySendPostMessage(conflatedMessage, timeoutNanos);
+        }
+        return trySendPostMessage(createPostEventMessage(event), timeoutNanos);
+    }
+
+    /**
+     * Gets the number of posted events which replaced a pending event of a
+     * conflating class
+     *
+     * @return The number of conflated events
+     */
+    long getConflatedEventsCount() {
+        return eventConflator.getConflatedEventsCount();
+    }
+
+    /**
+     * Gets the last resize decisions of the workers pool
+     *
+     * @return The last decisions of the {@link AdaptiveWorkersPool}, or an
+     * empty list if the workers pool is not adaptive
+     */
+    List<WorkersPoolDecision> getWorkersPoolDecisions() {
+        if (workersPoolExecutor instanceof AdaptiveWorkersPool) {
+            return ((AdaptiveWorkersPool) workersPoolExecutor).getDecisions();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * The method used by the owner of the bus to run the queued deliveries on
+     * its own thread. Usable only if the bus is in pump mode.
+     *
+     * @param maxEvents The maximum number of deliveries to run
+     * @param timeBudgetNanos The time budget in nanoseconds
+     * @return The number of deliveries run
+     * @throws EventBusException if the bus is not in pump mode
+     */
+    int drain(int maxEvents, long timeBudgetNanos) throws EventBusException {
+        if (pumpExecutor == null) {
+            throw new EventBusException("The bus is not in pump mode, its deliveries are run by the workers");
+        }
+        return pumpExecutor.drain(maxEvents, timeBudgetNanos);
+    }
+
+    /**
+     * Private method used to get a {@link PostEventMessage} wrapping an event.
+     * If post objects pooling is enabled the message is taken from the pool,
+     * otherwise a new one is created.
+     *
+     * @param event The event to post
+     * @return The {@link PostEventMessage} wrapping the event
+     */
+    private PostEventMessage createPostEventMessage(Object event) {
+        if (postEventMessagePool != null) {
+            return postEventMessagePool.acquire().setEventToPost(event);
+        }
+        return new PostEventMessage(event);
+    }
+
+    /**
+     * The method used to post a batch of events through the message queue
+     * with a {@link PostEventsBatchMessage}, applying the configured
+     * {@link OverflowPolicyType} if the message queue is full. With more than
+     * one {@link BusMemoryStateManager} shard, the batch is split into one
+     * batch for each shard owning some of its events, keeping the posting
+     * order.
+     *
+     * @param events The events to post, in posting order
+     * @return The accepted events in posting order, without the ones dropped
+     * @throws EventBusException if the posted events are rejected or something
+     * goes wrong sending the message
+     */
+    Object[] postEvents(Object[] events) throws EventBusException {
+        return postEvents(events, false);
+    }
+
+    /**
+     * The method used to try to post a batch of events through the message
+     * queue without applying the {@link OverflowPolicyType} nor waiting for a
+     * free slot. With more than one {@link BusMemoryStateManager} shard, each
+     * shard accepts or rejects its own part of the batch.
+     *
+     * @param events The events to post, in posting order
+     * @return The accepted events in posting order, without the ones rejected
+     * @throws EventBusException if something goes wrong sending the message
+     */
+    Object[] tryPostEvents(Object[] events) throws EventBusException {
+        return postEvents(events, true);
+    }
+
+    /**
+     * Private method used to post a batch of events, split by shard if there
+     * is more than one {@link BusMemoryStateManager} shard
+     *
+     * @param events The events to post, in posting order
+     * @param withoutWaiting True to reject the events of a full message queue
+     * instead of applying the {@link OverflowPolicyType}
+     * @return The accepted events in posting order
+     * @throws EventBusException if the posted events are rejected or something
+     * goes wrong sending the message
+     */
+    private Object[] postEvents(Object[] events, boolean withoutWaiting) throws EventBusException {
+        if (messageQueues.size() == 1) {
+            return sendPostEventsBatchMessage(messageQueues.get(0), events, withoutWaiting) ? events : new Object[0];
+        }
+        Object[][] shardsEvents = splitEventsByShard(events);
+        boolean allAccepted = true;
+        for (int shard = 0; shard < shardsEvents.length; shard++) {
+            if (shardsEvents[shard] != null && !sendPostEventsBatchMessage(messageQueues.get(shard), shardsEvents[shard], withoutWaiting)) {
+                shardsEvents[shard] = null;
+                allAccepted = false;
+            }
+        }
+        if (allAccepted) {
+            return events;
+        }
+        List<Object> acceptedEvents = new ArrayList<>(events.length);
+        for (Object event : events) {
+            if (shardsEvents[getShardIndex(event.getClass())] != null) {
+                acceptedEvents.add(event);
+            }
+        }
+        return acceptedEvents.toArray();
+    }
+
+    /**
+     * Private method used to send the {@link PostEventsBatchMessage} of a
+     * shard
+     *
+     * @param messageQueue The message queue of the shard
+     * @param events The events of the shard to post
+     * @param withoutWaiting True to reject the events if the message queue is
+     * full instead of applying the {@link OverflowPolicyType}
+     * @return True if the message was accepted
+     * @throws EventBusException if the posted events are rejected or something
+     * goes wrong sending the message
+     */
+    private boolean sendPostEventsBatchMessage(BlockingQueue<Message> messageQueue, Object[] events, boolean withoutWaiting) throws EventBusException {
+        PostEventsBatchMessage message = new PostEventsBatchMessage(events);
+        return withoutWaiting ? trySendPostMessage(messageQueue, message, 0L) : sendPostMessage(messageQueue, message);
+    }
+
+    /**
+     * Private method used to send a post message (a {@link PostEventMessage}
+     * or a {@link ConflatedPostEventMessage}) to the shard owning the class of
+     * its event, applying the configured {@link OverflowPolicyType} if the
+     * message queue is full.
+     *
+     * @param message The post message to send
+     * @return True if the message was accepted, false if it was dropped
+     * @throws EventBusException if the posted event is rejected or something
+     * goes wrong sending the message
+     */
+    private boolean sendPostMessage(Message message) throws EventBusException {
+        return sendPostMessage(getMessageQueue(getPostedEventClass(message)), message);
+    }
+
+    /**
+     * Private method used to split a batch of events by the
+     * {@link BusMemoryStateManager} shard owning their classes
+     *
+     * @param events The events to split, in posting order
+     * @return The events of each shard in posting order, or null for the
+     * shards not owning any event of the batch
+     */
+    private Object[][] splitEventsByShard(Object[] events) {
+        int[] eventsShard = new int[events.length];
+        int[] shardsEventsCount = new int[messageQueues.size()];
+        for (int i = 0; i < events.length; i++) {
+            eventsShard[i] = getShardIndex(events[i].getClass());
+            shardsEventsCount[eventsShard[i]]++;
+        }
+        Object[][] shardsEvents = new Object[messageQueues.size()][];
+        for (int shard = 0; shard < shardsEvents.length; shard++) {
+            if (shardsEventsCount[shard] > 0) {
+                shardsEvents[shard] = new Object[shardsEventsCount[shard]];
+                shardsEventsCount[shard] = 0;
+            }
+        }
+        for (int i = 0; i < events.length; i++) {
+            shardsEvents[eventsShard[i]][shardsEventsCount[eventsShard[i]]++] = events[i];
+        }
+        return shardsEvents;
+    }
+
+    /**
+     * Private method used to send a post message to the message queue of a
+     * {@link BusMemoryStateManager} shard applying the configured
+     * {@link OverflowPolicyType} if the message queue is full.
+     *
+     * @param messageQueue The message queue of the shard
+     * @param message The post message to send
+     * @return True if the message was accepted, false if it was dropped with
+     * the {@link OverflowPolicyType#DROP_NEWEST} policy
+     * @throws EventBusException if the posted events are rejected or something
+     * goes wrong sending the message
+     */
+    private boolean sendPostMessage(BlockingQueue<Message> messageQueue, Message message) throws EventBusException {
+        try {
+            switch (overflowPolicyType) {
+                case TIMED_BLOCK: {
+                    if (!messageQueue.offer(message, overflowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                        rejectedEventsCounter.add(countEvents(message));
+                        recycle(message);
+                        throw new EventBusException("The bus queue is still full after " + overflowTimeoutNanos + " nanoseconds: posted events rejected");
+                    }
+                    break;
+                }
+                case FAIL_FAST: {
+                    if (!messageQueue.offer(message)) {
+                        rejectedEventsCounter.add(countEvents(message));
+                        recycle(message);
+                        throw new EventBusException("The bus queue is full: posted events rejected");
+                    }
+                    break;
+                }
+                case DROP_NEWEST: {
+                    if (!messageQueue.offer(message)) {
+                        droppedEventsCounter.add(countEvents(message));
+                        recycle(message);
+                        logger.debug("The bus queue is full: dropped the posted events");
+                        return false;
+                    }
+                    break;
+                }
+                case DROP_OLDEST: {
+                    while (!messageQueue.offer(message)) {
+                        if (!dropOldestPostMessage(messageQueue)) {
+                            // only internal messages are waiting, they cannot be dropped
+                            putPostMessage(messageQueue, message);
+                            break;
+                        }
+                    }
+                    break;
+                }
+                case CALLER_RUNS: {
+                    if (!messageQueue.offer(message)) {
+                        try {
+                            runPostMessageInCaller(message);
+                        } finally {
+                            recycle(message);
+                        }
+                    }
+                    break;
+                }
+                case BLOCK:
+                default: {
+                    putPostMessage(messageQueue, message);
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EventBusException("Error", ex);
+        }
+        return true;
+    }
+
+    /**
+     * Private method used to wait for a free slot of the message queue to
+     * send a post message. A state manager thread, like a listener invoked
+     * with inline dispatch, cannot wait for its own queue to be freed, so if
+     * the queue is full the posted events are rejected.
+     *
+     * @param messageQueue The message queue of the shard
+     * @param message The post message to send
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws EventBusException if a state manager thread finds the queue full
+     */
+    private void putPostMessage(BlockingQueue<Message> messageQueue, Message message) throws InterruptedException {
+        if (!isBusMemoryStateManagerThread()) {
             messageQueue.put(message);
+        } else if (!messageQueue.offer(message)) {
+            rejectedEventsCounter.add(countEvents(message));
+            recycle(message);
+            throw new EventBusException("The bus queue is full and the bus state manager thread cannot wait for a free slot of its own queue: posted events rejected");
+        }
+    }
+
+    /**
+     * Private method used to try to send a post message without applying the
+     * {@link OverflowPolicyType}. If the message queue is still full after the
+     * timeout, the message is rejected.
+     *
+     * @param message The post message to send
+     * @param timeoutNanos The maximum time in nanoseconds to wait for a free
+     * slot, zero to not wait at all
+     * @return True if the message was accepted, false if it was rejected
+     * @throws EventBusException if the thread is interrupted while waiting
+     */
+    private boolean trySendPostMessage(Message message, long timeoutNanos) throws EventBusException {
+        return trySendPostMessage(getMessageQueue(getPostedEventClass(message)), message, timeoutNanos);
+    }
+
+    /**
+     * Private method used to try to send a post message to the message queue
+     * of a shard without applying the {@link OverflowPolicyType}
+     *
+     * @param messageQueue The message queue of the shard
+     * @param message The post message to send
+     * @param timeoutNanos The maximum time in nanoseconds to wait for a free
+     * slot, zero to not wait at all
+     * @return True if the message was accepted, false if it was rejected
+     * @throws EventBusException if the thread is interrupted while waiting
+     */
+    private boolean trySendPostMessage(BlockingQueue<Message> messageQueue, Message message, long timeoutNanos) throws EventBusException {
+        try {
+            boolean accepted = timeoutNanos > 0L ? messageQueue.offer(message, timeoutNanos, TimeUnit.NANOSECONDS) : messageQueue.offer(message);
+            if (!accepted) {
+                rejectedEventsCounter.add(countEvents(message));
+                recycle(message);
+            }
+            return accepted;
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new EventBusException("Error", ex);
         }
     }
 
+    /**
+     * Gets the number of posted events rejected because the message queue was
+     * full
+     *
+     * @return The number of rejected events
+     */
+    long getRejectedEventsCount() {
+        return rejectedEventsCounter.sum();
+    }
+
+    /**
+     * Gets the number of posted events dropped because the message queue was
+     * full
+     *
+     * @return The number of dropped events
+     */
+    long getDroppedEventsCount() {
+        return droppedEventsCounter.sum();
+    }
+
+    /**
+     * Private method used to remove the oldest post message waiting in a
+     * message queue. Other internal messages are never removed.
+     *
+     * @param messageQueue The message queue of the shard
+     * @return True if a post message was removed, false if no post message was
+     * found
+     */
+    private boolean dropOldestPostMessage(BlockingQueue<Message> messageQueue) {
+        if (controlMessageQueues != null) {
+            // The posts queue holds only posts and wake up messages, so the oldest post is at the head
+            Message queuedMessage;
+            while ((queuedMessage = messageQueue.poll()) != null) {
+                if (isPostMessage(queuedMessage)) {
+                    dropPostMessage(queuedMessage);
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Message queuedMessage : messageQueue) {
+            // The state manager may take the message meanwhile, then it must be neither counted nor recycled
+            if (isPostMessage(queuedMessage) && messageQueue.remove(queuedMessage)) {
+                dropPostMessage(queuedMessage);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Private method used to count and recycle a post message removed from a
+     * message queue
+     *
+     * @param queuedMessage The removed post message
+     */
+    private void dropPostMessage(Message queuedMessage) {
+        droppedEventsCounter.add(countEvents(queuedMessage));
+        recycle(queuedMessage);
+        logger.debug("The bus queue is full: dropped the oldest posted events");
+    }
+
+    /**
+     * Private method used to deliver the events of a post message using the
+     * posting thread
+     *
+     * @param message The post message to run
+     */
+    private void runPostMessageInCaller(Message message) {
+        RegistrySnapshot currentRegistrySnapshot = registrySnapshot.get();
+        if (message.getMessageType() == MessageType.POST_EVENTS_BATCH_MESSAGE) {
+            for (Object event : ((PostEventsBatchMessage) message).getEventsToPost()) {
+                eventDispatcher.dispatchInCaller(currentRegistrySnapshot, event);
+            }
+        } else if (message.getMessageType() == MessageType.POST_CONFLATED_EVENT_MESSAGE) {
+            eventDispatcher.dispatchInCaller(currentRegistrySnapshot, ((ConflatedPostEventMessage) message).takeEventToPost());
+        } else {
+            PostEventMessage postEventMessage = (PostEventMessage) message;
+            DeliveryTracker deliveryTracker = postEventMessage.takeDeliveryTracker();
+            if (deliveryTracker == null) {
+                eventDispatcher.dispatchInCaller(currentRegistrySnapshot, postEventMessage.getEventToPost());
+            } else {
+                try {
+                    eventDispatcher.dispatchInCaller(currentRegistrySnapshot, postEventMessage.getEventToPost(), deliveryTracker);
+                } finally {
+                    deliveryTracker.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Private method used to count the events wrapped in a post message
+     *
+     * @param message The post message
+     * @return The number of events wrapped in the message
+     */
+    private static int countEvents(Message message) {
+        if (message.getMessageType() == MessageType.POST_EVENTS_BATCH_MESSAGE) {
+            return ((PostEventsBatchMessage) message).getEventsToPost().length;
+        }
+        return 1;
+    }
+
+    /**
+     * Private method used to release a post message that will never be
+     * consumed. A pooled {@link PostEventMessage} is given back to its pool,
+     * the {@link DeliveryTracker} of a tracked one is discarded, and a
+     * {@link ConflatedPostEventMessage} is removed from the pending ones,
+     * so the next event of its class and key is sent again.
+     *
+     * @param message The post message not sent to the
+     * {@link BusMemoryStateManager}
+     */
+    private static void recycle(Message message) {
+        if (message.getMessageType() == MessageType.POST_EVENT_MESSAGE) {
+            PostEventMessage postEventMessage = (PostEventMessage) message;
+            DeliveryTracker deliveryTracker = postEventMessage.takeDeliveryTracker();
+            if (deliveryTracker != null) {
+                deliveryTracker.discard(new EventBusException("The event " + postEventMessage.getEventToPost().getClass().getName() + " was not delivered since the bus queue was full"));
+            }
+            postEventMessage.recycle();
+        } else if (message.getMessageType() == MessageType.POST_CONFLATED_EVENT_MESSAGE) {
+            ((ConflatedPostEventMessage) message).takeEventToPost();
+        }
+    }
+
+    /**
+     * The method used to send a command message and wait until the
+     * {@link BusMemoryStateManager} has applied it. If called by the
+     * {@link BusMemoryStateManager} thread itself it does not wait, since the
+     * command could never be consumed.
+     *
+     * @param message The command message to send and wait for
+     * @throws EventBusException if something goes wrong sending the message or
+     * applying the command
+     */
+    void sendMessageAndAwait(AbstractAwaitableCommandMessage message) throws EventBusException {
+        sendMessage(message);
+        if (isBusMemoryStateManagerThread()) {
+            return;
+        }
+        try {
+            message.getAppliedFuture().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EventBusException("Interrupted while waiting for the bus to apply " + message, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof EventBusException) {
+                throw (EventBusException) ex.getCause();
+            }
+            throw new EventBusException("Error applying " + message, ex.getCause());
+        }
+    }
+
+    /**
+     * Check if posting threads dispatch events directly to the workers
+     *
+     * @return True if direct dispatch is enabled, false otherwise
+     */
+    boolean isDirectDispatch() {
+        return directDispatch;
+    }
+
+    /**
+     * Check if a listener has some {@link Listen} annotated methods to register
+     * with the {@link ThreadMode#POSTING} thread mode. Those methods are
+     * delivered by the posting threads, which read the posting
+     * {@link RegistrySnapshot}, so their registration must be visible before
+     * returning. A listener whose class was never checked by
+     * {@link #checkListenerMethods(Object)} cannot be registered, so it has no
+     * posting methods.
+     *
+     * @param listener The listener to check
+     * @return True if the listener has some posting methods
+     */
+    boolean hasPostingListenerMethods(Object listener) {
+        List<Method> listenerMethods = listenerClassesMethods.get(listener.getClass());
+        if (listenerMethods != null) {
+            for (Method method : listenerMethods) {
+                if (method.getAnnotation(Listen.class).threadMode() == ThreadMode.POSTING) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks on the registering thread that the bus can register a listener.
+     * Its {@link Listen} annotated methods are looked up by the
+     * {@link ListenerMethodFinder} with the same rules used by the
+     * {@link BusMemoryStateManager}, once for each listener class, and each
+     * one must be deliverable in its thread mode: the {@link ThreadMode#MAIN}
+     * methods need the {@link MainThreadDispatcher} set in the builder. If
+     * listener mailboxes are enabled, the maximum concurrency of each method
+     * must be positive. With inline dispatch, the methods delivered without a
+     * dedicated thread cannot return a {@link CompletionStage}, since the
+     * lower priorities would then be delivered by the thread completing the
+     * stage, together with the {@link BusMemoryStateManager} thread.
+     *
+     * @param listener The listener to check
+     * @throws EventBusException if the listener is not valid, has some
+     * {@link ThreadMode#MAIN} methods and no main thread dispatcher is set,
+     * has some methods without a positive maximum concurrency while listener
+     * mailboxes are enabled, or has some asynchronous methods delivered
+     * inline
+     */
+    void checkListenerMethods(Object listener) throws EventBusException {
+        List<Method> listenerMethods = listenerClassesMethods.computeIfAbsent(listener.getClass(), listenerMethodFinder::findMethodsToRegister);
+        for (Method method : listenerMethods) {
+            Listen listen = method.getAnnotation(Listen.class);
+            if (listen.threadMode() == ThreadMode.MAIN && threadModeMailboxes.getMailbox(ThreadMode.MAIN) == null) {
+                throw new EventBusException("Listener " + listener.getClass().getName() + " has @Listen annotated methods with the MAIN thread mode but no main thread dispatcher is set in the bus builder.");
+            }
+            if (listenerMailboxes && listen.maxConcurrency() <= 0) {
+                throw new EventBusException("Listener " + listener.getClass().getName() + " has @Listen annotated methods with maxConcurrency " + listen.maxConcurrency() + " but it must be > 0.");
+            }
+            if (inlineDispatch && (listen.threadMode() == ThreadMode.ASYNC || listen.threadMode() == ThreadMode.POSTING) && CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+                throw new EventBusException("Listener " + listener.getClass().getName() + " has the @Listen annotated method " + method.getName() + " returning a CompletionStage, which cannot be used with inline dispatch.");
+            }
+        }
+    }
+
+    /**
+     * The method used by posting threads to dispatch an event directly to the
+     * workers, using the last {@link RegistrySnapshot} published by the
+     * {@link BusMemoryStateManager}. Usable only if direct dispatch is enabled.
+     * If the event class is conflating and an event with the same class and
+     * key is still waiting for a worker, the waiting event is replaced and
+     * nothing is dispatched.
+     *
+     * @param event The event to dispatch
+     * @throws EventBusException if the bus is shut down or the event cannot be
+     * dispatched
+     */
+    void dispatchEvent(Object event) throws EventBusException {
+        try {
+            if (eventConflator.isConflating(event.getClass())) {
+                ConflatedPostEventMessage conflatedMessage = eventConflator.conflate(event);
+                if (conflatedMessage != null) {
+                    eventDispatcher.dispatchConflated(registrySnapshot.get(), conflatedMessage);
+                }
+            } else {
+                eventDispatcher.dispatch(registrySnapshot.get(), event);
+            }
+        } catch (RejectedExecutionException ex) {
+            throw new EventBusException("The event cannot be dispatched since the bus is shut down", ex);
+        }
+    }
+
+    /**
+     * The method used by posting threads to dispatch a batch of events
+     * directly to the workers, using the last {@link RegistrySnapshot}
+     * published by the {@link BusMemoryStateManager}. Usable only if direct
+     * dispatch is enabled.
+     *
+     * @param events The events to dispatch, in posting order
+     * @throws EventBusException if the bus is shut down or the events cannot
+     * be dispatched
+     */
+    void dispatchEvents(Object[] events) throws EventBusException {
+        try {
+            eventDispatcher.dispatchBatch(registrySnapshot.get(), events);
+        } catch (RejectedExecutionException ex) {
+            throw new EventBusException("The events cannot be dispatched since the bus is shut down", ex);
+        }
+    }
+
+    /**
+     * The method used by posting threads to deliver an event to the
+     * registrations with the {@link ThreadMode#POSTING} thread mode, using the
+     * last posting {@link RegistrySnapshot} published by the
+     * {@link BusMemoryStateManager}. The listeners run on the calling thread.
+     *
+     * @param event The posted event
+     */
+    void deliverToPostingListeners(Object event) {
+        RegistrySnapshot currentPostingRegistrySnapshot = postingRegistrySnapshot.get();
+        if (currentPostingRegistrySnapshot != null) {
+            eventDispatcher.dispatchInCaller(currentPostingRegistrySnapshot, event);
+        }
+    }
+
+    /**
+     * The method used by posting threads to deliver a tracked event to the
+     * registrations with the {@link ThreadMode#POSTING} thread mode, reporting
+     * each delivery to the {@link DeliveryTracker} of the event
+     *
+     * @param event The posted event
+     * @param deliveryTracker The tracker of the deliveries of the event
+     */
+    void deliverToPostingListeners(Object event, DeliveryTracker deliveryTracker) {
+        RegistrySnapshot currentPostingRegistrySnapshot = postingRegistrySnapshot.get();
+        if (currentPostingRegistrySnapshot != null) {
+            eventDispatcher.dispatchInCaller(currentPostingRegistrySnapshot, event, deliveryTracker);
+        }
+    }
+
     /**
      * The method used to shut down the {@link EventBus}. The
      * {@link EventBusInfrastructure} will dispose his data structures and send
@@ -124,31 +1386,83 @@ final class EventBusInfrastructure {
      */
     void shutdown() {
         logger.debug("Shutting down command for the bus system");
+        flushBufferingProducers();
         try {
-            sendShutdownStateManagerMessage();
-            busMemoryStateManagerThread.join();
+            sendShutdownStateManagerMessages();
+            for (Thread busMemoryStateManagerThread : busMemoryStateManagerThreads) {
+                busMemoryStateManagerThread.join();
+            }
             workersPoolExecutor.shutdown();
+            if (pumpExecutor != null) {
+                // Nobody else pumps the deliveries left, so they run on the thread shutting down the bus
+                pumpExecutor.drain(Integer.MAX_VALUE, Long.MAX_VALUE);
+            }
             if (!workersPoolExecutor.awaitTermination(WORKERS_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                 logger.warn("Workers did not terminate in {} seconds, forcing shutdown.", WORKERS_SHUTDOWN_TIMEOUT_SECONDS);
                 workersPoolExecutor.shutdownNow();
             }
+            // The workers hand events to the background thread, so it is stopped after them
+            backgroundExecutor.shutdown();
+            if (!backgroundExecutor.awaitTermination(WORKERS_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Background thread did not terminate in {} seconds, forcing shutdown.", WORKERS_SHUTDOWN_TIMEOUT_SECONDS);
+                backgroundExecutor.shutdownNow();
+            }
+            busScheduler.shutdownNow();
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             workersPoolExecutor.shutdownNow();
+            backgroundExecutor.shutdownNow();
+            busScheduler.shutdownNow();
             logger.error("Error during the shutdown", ex);
         }
+        discardPendingDeliveryTrackers();
+    }
 
+    /**
+     * Private method used to flush the events buffered by the producers which
+     * were not closed, while the {@link BusMemoryStateManager}s still take the
+     * posted events
+     */
+    private void flushBufferingProducers() {
+        List<EventProducer> producersToFlush;
+        synchronized (bufferingProducers) {
+            producersFlushedForShutdown = true;
+            producersToFlush = new ArrayList<>(bufferingProducers);
+        }
+        for (EventProducer producer : producersToFlush) {
+            try {
+                producer.flush();
+            } catch (EventBusException ex) {
+                logger.error("The events buffered by a producer cannot be flushed while shutting down the bus.", ex);
+            }
+        }
+    }
+
+    /**
+     * Private method used to complete exceptionally the futures of the tracked
+     * events and of the requests still waiting once the bus is shut down. Some
+     * deliveries may never run, like the ones waiting for a pending
+     * {@link CompletionStage} or for a frame of the main thread, and the
+     * expirations of the requests are cancelled with the scheduler.
+     */
+    private void discardPendingDeliveryTrackers() {
+        for (DeliveryTracker deliveryTracker : pendingDeliveryTrackers) {
+            deliveryTracker.discard(new EventBusException("The bus is shut down before all the deliveries of the event have run"));
+        }
+        pendingDeliveryTrackers.clear();
     }
 
     /**
      * Private utility method to send a {@link ShutdownStateManagerMessage} to
-     * the {@link BusMemoryStateManager}
+     * every {@link BusMemoryStateManager} shard
      */
-    private void sendShutdownStateManagerMessage() {
+    private void sendShutdownStateManagerMessages() {
         try {
-            ShutdownStateManagerMessage message = new ShutdownStateManagerMessage();
-            messageQueue.put(message);
-            logger.debug("Put into eventsQueue: {}", message);
+            for (int shard = 0; shard < messageQueues.size(); shard++) {
+                ShutdownStateManagerMessage message = new ShutdownStateManagerMessage();
+                putMessage(shard, message);
+                logger.debug("Put into eventsQueue: {}", message);
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.error("Error", e);
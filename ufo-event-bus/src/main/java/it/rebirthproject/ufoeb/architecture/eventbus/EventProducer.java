@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+
+/**
+ * A producer handle which buffers the events posted by a single thread and
+ * sends them to the {@link EventBus} as a single batch, like
+ * {@link EventBus#postAll(Object...)} does. A producer is created with
+ * {@link EventBus#newProducer()} and it is useful for threads posting events in
+ * tight loops, which pay the bus handoff once per batch instead of once per
+ * event.
+ *
+ * <p>
+ * The buffered events are flushed when the size threshold is reached, when
+ * the time threshold is elapsed, or when {@link #flush()} or {@link #close()}
+ * are called. When the time threshold elapses the buffered events are flushed
+ * by the scheduler of the bus, even if the thread has stopped posting, and
+ * their {@link it.rebirthproject.ufoeb.eventannotation.ThreadMode#POSTING}
+ * listener methods run on the scheduler thread. The scheduler never waits
+ * for a free slot of the bus queue: if it is full, the buffered events are
+ * rejected. The events still buffered when the bus shuts down are flushed
+ * before it stops, even if the producer was not closed. A
+ * producer keeps the posting order of a single thread: each posting thread
+ * should use its own one.
+ * </p>
+ *
+ * @see EventBus#newProducer()
+ * @see EventBus#newProducer(int, long, java.util.concurrent.TimeUnit)
+ */
+public interface EventProducer extends AutoCloseable {
+
+    /**
+     * Buffers the given event, flushing the buffered events if a threshold is
+     * reached. Buffered events are delivered in posting order.
+     *
+     * @param event The event to post
+     * @throws EventBusException If the event is null, the producer is closed,
+     * the bus is shut down or some internal error occurs while flushing the
+     * events
+     */
+    public void post(Object event) throws EventBusException;
+
+    /**
+     * Sends the buffered events to the eventbus as a single batch. Does
+     * nothing if no event is buffered.
+     *
+     * @throws EventBusException If some internal error occurs while posting the
+     * events
+     */
+    public void flush() throws EventBusException;
+
+    /**
+     * Gets the number of events buffered and not flushed yet
+     *
+     * @return The number of buffered events
+     */
+    public int getBufferedEventsCount();
+
+    /**
+     * Flushes the buffered events and closes the producer. Further posts throw
+     * an {@link EventBusException}.
+     *
+     * @throws EventBusException If some internal error occurs while posting the
+     * buffered events
+     */
+    @Override
+    public void close() throws EventBusException;
+}
@@ -16,7 +16,8 @@
  */
 package it.rebirthproject.ufoeb.architecture.eventbus;
 
-import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
+import it.rebirthproject.ufoeb.architecture.executor.DeliveryTracker;
+import it.rebirthproject.ufoeb.architecture.executor.RequestTracker;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RemoveStickyEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostStickyEventMessage;
@@ -27,7 +28,13 @@ import it.rebirthproject.ufoeb.architecture.messages.query.IsListenerRegisteredM
 import it.rebirthproject.ufoeb.exceptions.EventBusException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The concrete implementation of the {@link EventBus} interface
@@ -38,6 +45,16 @@ final class UfoEventBus implements EventBus {
      * The logger used by this class
      */
     private static final Logger logger = LoggerFactory.getLogger(UfoEventBus.class);
+    /**
+     * The number of buffered events which triggers the flush of a producer
+     * created with the default thresholds
+     */
+    private static final int DEFAULT_PRODUCER_MAX_BUFFERED_EVENTS = 64;
+    /**
+     * The maximum time in nanoseconds an event stays in the buffer of a
+     * producer created with the default thresholds
+     */
+    private static final long DEFAULT_PRODUCER_MAX_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
 
     /**
      * The {@link EventBusInfrastructure} is a class that manage the internal
@@ -60,7 +77,14 @@ final class UfoEventBus implements EventBus {
         if (listenerToRegister == null) {
             throw new EventBusException("The listener to register is null");
         }
-        eventBusInfrastructure.sendMessage(new RegisterMessage(listenerToRegister));
+        eventBusInfrastructure.checkListenerMethods(listenerToRegister);
+        RegisterMessage registerMessage = eventBusInfrastructure.createRegisterMessage(listenerToRegister);
+        if (eventBusInfrastructure.isDirectDispatch() || eventBusInfrastructure.hasPostingListenerMethods(listenerToRegister)) {
+            // Posting threads read the published snapshots, so the registration must be visible before returning
+            eventBusInfrastructure.sendMessageAndAwait(registerMessage);
+        } else {
+            eventBusInfrastructure.sendMessage(registerMessage);
+        }
     }
 
     @Override
@@ -68,7 +92,12 @@ final class UfoEventBus implements EventBus {
         if (listenerToUnregister == null) {
             throw new EventBusException("The listener to unregister is null");
         }
-        eventBusInfrastructure.sendMessage(new UnregisterListenerMessage(listenerToUnregister));
+        UnregisterListenerMessage unregisterMessage = new UnregisterListenerMessage(listenerToUnregister);
+        if (eventBusInfrastructure.isDirectDispatch() || eventBusInfrastructure.hasPostingListenerMethods(listenerToUnregister)) {
+            eventBusInfrastructure.sendMessageAndAwait(unregisterMessage);
+        } else {
+            eventBusInfrastructure.sendMessage(unregisterMessage);
+        }
     }
 
     @Override
@@ -76,7 +105,106 @@ final class UfoEventBus implements EventBus {
         if (event == null) {
             throw new EventBusException("The event to post is null");
         }
-        eventBusInfrastructure.sendMessage(new PostEventMessage(event));
+        if (eventBusInfrastructure.isDirectDispatch()) {
+            eventBusInfrastructure.dispatchEvent(event);
+        } else if (!eventBusInfrastructure.postEvent(event)) {
+            // A dropped event is not delivered to any listener
+            return;
+        }
+        eventBusInfrastructure.deliverToPostingListeners(event);
+    }
+
+    @Override
+    public CompletableFuture<DeliveryReport> postAndAwait(Object event) throws EventBusException {
+        if (event == null) {
+            throw new EventBusException("The event to post is null");
+        }
+        DeliveryTracker deliveryTracker = new DeliveryTracker();
+        postTrackedEvent(event, deliveryTracker);
+        return deliveryTracker.getDeliveryReportFuture();
+    }
+
+    @Override
+    public void post(Object event, Consumer<DeliveryReport> deliveryCallback) throws EventBusException {
+        if (deliveryCallback == null) {
+            throw new EventBusException("The delivery callback is null");
+        }
+        postAndAwait(event).whenComplete((deliveryReport, throwable) -> {
+            if (throwable == null) {
+                deliveryCallback.accept(deliveryReport);
+            } else if (throwable instanceof EventBusException) {
+                deliveryCallback.accept(new DeliveryReport((EventBusException) throwable));
+            } else {
+                deliveryCallback.accept(new DeliveryReport(new EventBusException("The event " + event.getClass().getName() + " was not delivered", throwable)));
+            }
+        });
+    }
+
+    @Override
+    public <R> CompletableFuture<List<R>> request(Object event, Class<R> resultType, long timeout, TimeUnit unit) throws EventBusException {
+        return sendRequest(event, resultType, false, timeout, unit);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> requestFirst(Object event, Class<R> resultType, long timeout, TimeUnit unit) throws EventBusException {
+        return sendRequest(event, resultType, true, timeout, unit).thenApply(results -> results.isEmpty() ? null : results.get(0));
+    }
+
+    @Override
+    public boolean tryPost(Object event) throws EventBusException {
+        return tryPost(event, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryPost(Object event, long timeout, TimeUnit unit) throws EventBusException {
+        if (event == null) {
+            throw new EventBusException("The event to post is null");
+        }
+        if (unit == null) {
+            throw new EventBusException("The timeout unit is null");
+        }
+        if (eventBusInfrastructure.isDirectDispatch()) {
+            eventBusInfrastructure.dispatchEvent(event);
+        } else if (!eventBusInfrastructure.tryPostEvent(event, unit.toNanos(timeout))) {
+            return false;
+        }
+        eventBusInfrastructure.deliverToPostingListeners(event);
+        return true;
+    }
+
+    @Override
+    public void postAll(Collection<?> events) throws EventBusException {
+        if (events == null) {
+            throw new EventBusException("The events to post are null");
+        }
+        postBatch(events.toArray());
+    }
+
+    @Override
+    public void postAll(Object... events) throws EventBusException {
+        if (events == null) {
+            throw new EventBusException("The events to post are null");
+        }
+        postBatch(events.clone());
+    }
+
+    @Override
+    public EventProducer newProducer() {
+        return new BufferedEventProducer(this, DEFAULT_PRODUCER_MAX_BUFFERED_EVENTS, DEFAULT_PRODUCER_MAX_DELAY_NANOS);
+    }
+
+    @Override
+    public EventProducer newProducer(int maxBufferedEvents, long maxDelay, TimeUnit unit) throws EventBusException {
+        if (maxBufferedEvents <= 0) {
+            throw new EventBusException("Invalid maxBufferedEvents: value must be > 0 but was " + maxBufferedEvents + ".");
+        }
+        if (maxDelay <= 0L) {
+            throw new EventBusException("Invalid maxDelay: value must be > 0 but was " + maxDelay + ".");
+        }
+        if (unit == null) {
+            throw new EventBusException("The max delay unit is null");
+        }
+        return new BufferedEventProducer(this, maxBufferedEvents, unit.toNanos(maxDelay));
     }
 
     @Override
@@ -85,6 +213,7 @@ final class UfoEventBus implements EventBus {
             throw new EventBusException("The event to post is null");
         }
         eventBusInfrastructure.sendMessage(new PostStickyEventMessage(event));
+        eventBusInfrastructure.deliverToPostingListeners(event);
     }
 
     @Override
@@ -114,7 +243,7 @@ final class UfoEventBus implements EventBus {
             throw new EventBusException("The listener to check is null");
         }
         IsListenerRegisteredMessage isObjectRegisteredMessage = new IsListenerRegisteredMessage(possibleRegisteredListener);
-        eventBusInfrastructure.sendMessage(isObjectRegisteredMessage);
+        eventBusInfrastructure.sendQueryMessage(isObjectRegisteredMessage);
         return isObjectRegisteredMessage.getResponse();
     }
 
@@ -123,11 +252,197 @@ final class UfoEventBus implements EventBus {
         eventBusInfrastructure.sendMessage(new PrintStateMessage());
     }
 
+    @Override
+    public long getRejectedEventsCount() {
+        return eventBusInfrastructure.getRejectedEventsCount();
+    }
+
+    @Override
+    public long getDroppedEventsCount() {
+        return eventBusInfrastructure.getDroppedEventsCount();
+    }
+
+    @Override
+    public long getConflatedEventsCount() {
+        return eventBusInfrastructure.getConflatedEventsCount();
+    }
+
+    @Override
+    public List<WorkersPoolDecision> getWorkersPoolDecisions() {
+        return eventBusInfrastructure.getWorkersPoolDecisions();
+    }
+
+    @Override
+    public int drain(int maxEvents, long timeBudgetNanos) throws EventBusException {
+        if (maxEvents <= 0) {
+            throw new EventBusException("Invalid maxEvents: value must be > 0 but was " + maxEvents + ".");
+        }
+        if (timeBudgetNanos <= 0L) {
+            throw new EventBusException("Invalid timeBudgetNanos: value must be > 0 but was " + timeBudgetNanos + ".");
+        }
+        return eventBusInfrastructure.drain(maxEvents, timeBudgetNanos);
+    }
+
     @Override
     public void shutdownBus() {
         eventBusInfrastructure.shutdown();
     }
 
+    /**
+     * The method used to flush the events buffered by an
+     * {@link EventProducer} once their maximum delay has elapsed, on the
+     * scheduler of the bus. The producer is flushed also when the bus shuts
+     * down, until {@link #producerFlushed(EventProducer)} is called.
+     *
+     * @param producer The producer which started buffering a batch
+     * @param flush The task flushing the buffered events
+     * @param delayNanos The maximum delay of the buffered events in
+     * nanoseconds
+     * @return The scheduled flush
+     * @throws EventBusException If the bus is shut down
+     */
+    ScheduledFuture<?> scheduleProducerFlush(EventProducer producer, Runnable flush, long delayNanos) throws EventBusException {
+        return eventBusInfrastructure.scheduleProducerFlush(producer, flush, delayNanos);
+    }
+
+    /**
+     * The method used by an {@link EventProducer} once its buffered events
+     * have been flushed
+     *
+     * @param producer The producer which flushed its buffered events
+     */
+    void producerFlushed(EventProducer producer) {
+        eventBusInfrastructure.producerFlushed(producer);
+    }
+
+    /**
+     * The method used to post a batch of events with a single internal
+     * message
+     *
+     * @param events The events to post. The array must not be shared with the
+     * caller.
+     * @throws EventBusException If one of the events is null or some internal
+     * error occurs while posting the events
+     */
+    void postBatch(Object[] events) throws EventBusException {
+        postBatch(events, false);
+    }
+
+    /**
+     * The method used to try to post a batch of events with a single internal
+     * message, without applying the overflow policy nor waiting for a free
+     * slot of the bus queue
+     *
+     * @param events The events to post. The array must not be shared with the
+     * caller.
+     * @return True if all the events were accepted, false if some of them
+     * were rejected since the bus queue is full
+     * @throws EventBusException If one of the events is null or some internal
+     * error occurs while posting the events
+     */
+    boolean tryPostBatch(Object[] events) throws EventBusException {
+        return postBatch(events, true);
+    }
+
+    /**
+     * Private method used to post a batch of events with a single internal
+     * message, delivering the accepted ones to the listeners with the posting
+     * thread mode
+     *
+     * @param events The events to post. The array must not be shared with the
+     * caller.
+     * @param withoutWaiting True to reject the events if the bus queue is full
+     * instead of applying the overflow policy
+     * @return True if all the events were accepted
+     * @throws EventBusException If one of the events is null or some internal
+     * error occurs while posting the events
+     */
+    private boolean postBatch(Object[] events, boolean withoutWaiting) throws EventBusException {
+        for (Object event : events) {
+            if (event == null) {
+                throw new EventBusException("One of the events to post is null");
+            }
+        }
+        if (events.length == 0) {
+            return true;
+        }
+        Object[] acceptedEvents = events;
+        if (eventBusInfrastructure.isDirectDispatch()) {
+            eventBusInfrastructure.dispatchEvents(events);
+        } else if (withoutWaiting) {
+            acceptedEvents = eventBusInfrastructure.tryPostEvents(events);
+        } else {
+            acceptedEvents = eventBusInfrastructure.postEvents(events);
+        }
+        for (Object event : acceptedEvents) {
+            eventBusInfrastructure.deliverToPostingListeners(event);
+        }
+        return acceptedEvents.length == events.length;
+    }
+
+    /**
+     * Private method used to post an event whose deliveries are reported to a
+     * {@link DeliveryTracker}, releasing the hold of the tracker once all the
+     * deliveries are expected. A dropped event is not delivered to the
+     * listeners with the posting thread mode. The future of the tracker is
+     * completed exceptionally if the bus shuts down before it completes.
+     *
+     * @param event The event to post
+     * @param deliveryTracker The tracker of the deliveries of the event
+     * @throws EventBusException If some internal error occurs while posting
+     * the event
+     */
+    private void postTrackedEvent(Object event, DeliveryTracker deliveryTracker) throws EventBusException {
+        eventBusInfrastructure.trackPendingDeliveries(deliveryTracker);
+        try {
+            if (eventBusInfrastructure.postTrackedEvent(event, deliveryTracker)) {
+                eventBusInfrastructure.deliverToPostingListeners(event, deliveryTracker);
+            }
+        } catch (EventBusException ex) {
+            // The caller never gets the future, which is completed only to stop tracking it
+            deliveryTracker.discard(ex);
+            throw ex;
+        }
+        deliveryTracker.release();
+    }
+
+    /**
+     * Private method used to post an event as a request collecting the values
+     * returned by the listener methods
+     *
+     * @param <R> The type of the requested results
+     * @param event The event to post
+     * @param resultType The type of the requested results
+     * @param firstResultOnly True to complete the request with the first
+     * result
+     * @param timeout The maximum time to wait for the results
+     * @param unit The time unit of the timeout
+     * @return The future completed with the collected results
+     * @throws EventBusException If a parameter is not valid or some internal
+     * error occurs while posting the event
+     */
+    private <R> CompletableFuture<List<R>> sendRequest(Object event, Class<R> resultType, boolean firstResultOnly, long timeout, TimeUnit unit) throws EventBusException {
+        if (event == null) {
+            throw new EventBusException("The event to post is null");
+        }
+        if (resultType == null) {
+            throw new EventBusException("The result type is null");
+        }
+        if (resultType.isPrimitive()) {
+            throw new EventBusException("Invalid result type: " + resultType.getName() + " is primitive, use its wrapper class.");
+        }
+        if (timeout <= 0L) {
+            throw new EventBusException("Invalid timeout: value must be > 0 but was " + timeout + ".");
+        }
+        if (unit == null) {
+            throw new EventBusException("The timeout unit is null");
+        }
+        RequestTracker<R> requestTracker = new RequestTracker<>(resultType, firstResultOnly);
+        eventBusInfrastructure.scheduleRequestExpiration(requestTracker, unit.toNanos(timeout));
+        postTrackedEvent(event, requestTracker);
+        return requestTracker.getResultsFuture();
+    }
+
     /**
      * Prints basic information about the used Java VM and the UfoEventBus
      * version
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+/**
+ * A resize decision taken by the adaptive workers pool, with the observations
+ * it was taken on. The decisions are returned by
+ * {@link EventBus#getWorkersPoolDecisions()}.
+ *
+ * @see EventBusBuilder#setAdaptiveWorkers(Integer, Integer)
+ */
+public final class WorkersPoolDecision {
+
+    /**
+     * The time of the decision, in milliseconds since the epoch
+     */
+    private final long timestampMillis;
+    /**
+     * The number of workers before the decision
+     */
+    private final int previousWorkers;
+    /**
+     * The number of workers after the decision
+     */
+    private final int workers;
+    /**
+     * The number of tasks waiting for a free worker
+     */
+    private final int queueDepth;
+    /**
+     * The average time spent by a worker on a task in the last sample, in
+     * nanoseconds
+     */
+    private final long averageServiceTimeNanos;
+    /**
+     * The fraction of time the workers were busy in the last sample
+     */
+    private final double utilization;
+    /**
+     * The system load average divided by the number of processors, or a
+     * negative value if it is not available
+     */
+    private final double cpuLoad;
+
+    /**
+     * The constructor used to build a {@link WorkersPoolDecision}
+     *
+     * @param timestampMillis The time of the decision, in milliseconds since
+     * the epoch
+     * @param previousWorkers The number of workers before the decision
+     * @param workers The number of workers after the decision
+     * @param queueDepth The number of tasks waiting for a free worker
+     * @param averageServiceTimeNanos The average time spent by a worker on a
+     * task in the last sample, in nanoseconds
+     * @param utilization The fraction of time the workers were busy in the
+     * last sample
+     * @param cpuLoad The system load average divided by the number of
+     * processors, or a negative value if it is not available
+     */
+    public WorkersPoolDecision(long timestampMillis, int previousWorkers, int workers, int queueDepth, long averageServiceTimeNanos, double utilization, double cpuLoad) {
+        this.timestampMillis = timestampMillis;
+        this.previousWorkers = previousWorkers;
+        this.workers = workers;
+        this.queueDepth = queueDepth;
+        this.averageServiceTimeNanos = averageServiceTimeNanos;
+        this.utilization = utilization;
+        this.cpuLoad = cpuLoad;
+    }
+
+    /**
+     * Gets the time of the decision
+     *
+     * @return The time of the decision, in milliseconds since the epoch
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Gets the number of workers before the decision
+     *
+     * @return The previous number of workers
+     */
+    public int getPreviousWorkers() {
+        return previousWorkers;
+    }
+
+    /**
+     * Gets the number of workers after the decision
+     *
+     * @return The new number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Checks if the decision added workers to the pool
+     *
+     * @return True if the pool grew, false if it shrank
+     */
+    public boolean isGrowth() {
+        return workers > previousWorkers;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a free worker when the decision
+     * was taken
+     *
+     * @return The depth of the workers queue
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the average time spent by a worker on a task in the last sample
+     *
+     * @return The average service time in nanoseconds, zero if no task was
+     * completed
+     */
+    public long getAverageServiceTimeNanos() {
+        return averageServiceTimeNanos;
+    }
+
+    /**
+     * Gets the fraction of time the workers were busy in the last sample
+     *
+     * @return The utilization of the workers, between zero and one
+     */
+    public double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * Gets the system load average divided by the number of processors. A
+     * value of one or more means the processors are saturated.
+     *
+     * @return The load of the processors, or a negative value if it is not
+     * available
+     */
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkersPoolDecision{" + "timestampMillis=" + timestampMillis + ", previousWorkers=" + previousWorkers + ", workers=" + workers + ", queueDepth=" + queueDepth + ", averageServiceTimeNanos=" + averageServiceTimeNanos + ", utilization=" + utilization + ", cpuLoad=" + cpuLoad + '}';
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A worker used by the bus to notify listeners about a chunk of a batch of
+ * events posted with {@link EventBus#postAll(java.util.Collection)}. A chunk
+ * holds all the events of the batch for each of its listeners.
+ * Events of the chunk are delivered one after the other in the posting order,
+ * so a single task replaces one {@link EventExecutor} for each event.
+ *
+ * @see EventExecutor
+ * @see EventDispatcher
+ */
+public class BatchEventExecutor implements Runnable {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(BatchEventExecutor.class);
+    /**
+     * The registrations of each resolved event of the whole batch
+     */
+    private final Registration[][] registrationLists;
+    /**
+     * The resolved events of the whole batch. An event appears once for each
+     * class of its hierarchy having registrations.
+     */
+    private final Object[] eventsToPost;
+    /**
+     * The index of the first event of the chunk, inclusive
+     */
+    private final int fromIndex;
+    /**
+     * The index of the last event of the chunk, exclusive
+     */
+    private final int toIndex;
+    /**
+     * The workers pool the lower priorities are resubmitted to when some
+     * asynchronous listener methods complete
+     */
+    private final Executor workersPoolExecutor;
+
+    /**
+     * The constructor used to build a BatchEventExecutor
+     *
+     * @param registrationLists The registrations of each resolved event of the
+     * whole batch
+     * @param eventsToPost The resolved events of the whole batch
+     * @param fromIndex The index of the first event of the chunk, inclusive
+     * @param toIndex The index of the last event of the chunk, exclusive
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    public BatchEventExecutor(Registration[][] registrationLists, Object[] eventsToPost, int fromIndex, int toIndex, Executor workersPoolExecutor) {
+        this.registrationLists = registrationLists;
+        this.eventsToPost = eventsToPost;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.workersPoolExecutor = workersPoolExecutor;
+    }
+
+    /**
+     * This is the main method of the {@link BatchEventExecutor}. It delivers
+     * each event of the chunk to its registrations, in order.
+     */
+    @Override
+    public void run() {
+        logger.debug("Execute batch of {} events", toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            EventExecutor.deliver(registrationLists[i], eventsToPost[i], workersPoolExecutor);
+        }
+        logger.debug("All batch messages are been delivered");
+    }
+
+    /**
+     * Get the events of the chunk to post to the various registrations
+     *
+     * @return The events of the chunk
+     */
+    public List<Object> getEventsToPost() {
+        return Collections.unmodifiableList(Arrays.asList(eventsToPost).subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Get the registrations list of each event of the chunk
+     *
+     * @return The registrations list of each event of the chunk
+     */
+    public List<List<Registration>> getRegistrationLists() {
+        List<List<Registration>> chunkRegistrationLists = new ArrayList<>(toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            chunkRegistrationLists.add(Collections.unmodifiableList(Arrays.asList(registrationLists[i])));
+        }
+        return chunkRegistrationLists;
+    }
+}
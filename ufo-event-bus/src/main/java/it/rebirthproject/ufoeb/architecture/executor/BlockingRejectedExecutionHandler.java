@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * The {@link RejectedExecutionHandler} used by a workers pool with a bounded
+ * queue. When the workers queue is full, the submitting thread waits for a
+ * free slot instead of failing, so the pressure of slow listeners is
+ * propagated back to the bus message queue and then to the posting threads,
+ * through the configured overflow policy.
+ *
+ * <p>
+ * The bus state manager threads never wait: they run the rejected task by
+ * themselves. Otherwise listeners posting events from the workers could wait
+ * for a free slot of the bus message queue, while the state manager consuming
+ * it waits for a free slot of the workers queue, and neither would go on.
+ * While the state manager runs the task it does not consume its queue, so the
+ * pressure still reaches the posting threads.
+ * </p>
+ */
+public class BlockingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    /**
+     * The threads running the rejected tasks by themselves instead of waiting
+     * for a free slot
+     */
+    private final Set<Thread> callerRunsThreads = new CopyOnWriteArraySet<>();
+
+    /**
+     * Adds a thread which runs its rejected tasks by itself instead of
+     * waiting for a free slot of the workers queue, like a bus state manager
+     * thread
+     *
+     * @param thread The thread running its rejected tasks
+     */
+    public void addCallerRunsThread(Thread thread) {
+        callerRunsThreads.add(thread);
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+        if (callerRunsThreads.contains(Thread.currentThread())) {
+            task.run();
+            return;
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a free slot in the workers queue", ex);
+        }
+    }
+}
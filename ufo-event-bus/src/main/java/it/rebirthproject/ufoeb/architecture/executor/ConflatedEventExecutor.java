@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.messages.commands.ConflatedPostEventMessage;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A worker used by the bus to notify listeners about an event of a conflating
+ * class. The {@link ConflatedPostEventMessage} is still pending while the
+ * executor waits for a free worker, so newer events with the same class and
+ * key keep replacing its event. The event is taken only when the executor
+ * runs, so the listeners get the newest value even when the backlog is in the
+ * workers queue because of slow listeners.
+ *
+ * @see ConflatedPostEventMessage
+ * @see EventDispatcher
+ */
+public class ConflatedEventExecutor implements Runnable {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConflatedEventExecutor.class);
+    /**
+     * The pending message holding the newest event to deliver
+     */
+    private final ConflatedPostEventMessage conflatedMessage;
+    /**
+     * The registrations of each class of the event hierarchy having
+     * registrations
+     */
+    private final Registration[][] registrationLists;
+    /**
+     * The workers pool the lower priorities are resubmitted to when some
+     * asynchronous listener methods complete
+     */
+    private final Executor workersPoolExecutor;
+
+    /**
+     * The constructor used to build a ConflatedEventExecutor
+     *
+     * @param conflatedMessage The pending message holding the newest event to
+     * deliver
+     * @param registrationLists The registrations of each class of the event
+     * hierarchy having registrations
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    public ConflatedEventExecutor(ConflatedPostEventMessage conflatedMessage, Registration[][] registrationLists, Executor workersPoolExecutor) {
+        this.conflatedMessage = conflatedMessage;
+        this.registrationLists = registrationLists;
+        this.workersPoolExecutor = workersPoolExecutor;
+    }
+
+    /**
+     * This is the main method of the {@link ConflatedEventExecutor}. It takes
+     * the newest event out of the pending message, so the events posted from
+     * now on are sent again, and delivers it to every registration.
+     */
+    @Override
+    public void run() {
+        Object eventToPost = conflatedMessage.takeEventToPost();
+        logger.debug("Execute conflated event message");
+        for (Registration[] registrations : registrationLists) {
+            EventExecutor.deliver(registrations, eventToPost, workersPoolExecutor);
+        }
+        logger.debug("All messages are been delivered");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.DeliveryReport;
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tracker of the deliveries of an event posted with
+ * {@link EventBus#postAndAwait(Object)}. It travels with the event through
+ * the bus, counting the deliveries still to run, and completes its future
+ * with a {@link DeliveryReport} when the last one has run.
+ *
+ * <p>
+ * Each component resolving registrations for the event, like the posting
+ * thread and the {@link EventDispatcher}, holds the tracker with
+ * {@link #hold()} and releases it with {@link #release()} once all its
+ * deliveries are expected, so the future cannot complete while some of them
+ * are still unknown. A new tracker is held by its creator.
+ * </p>
+ */
+public class DeliveryTracker {
+
+    /**
+     * The future completed with the report of the deliveries
+     */
+    private final CompletableFuture<DeliveryReport> deliveryReportFuture = new CompletableFuture<>();
+    /**
+     * The number of deliveries still to run plus the number of holders
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger(1);
+    /**
+     * The number of deliveries run without errors
+     */
+    private final AtomicInteger succeededDeliveries = new AtomicInteger(0);
+    /**
+     * The number of deliveries whose listener method threw an exception
+     */
+    private final AtomicInteger failedDeliveries = new AtomicInteger(0);
+
+    /**
+     * Holds the tracker until {@link #release()} is called, so the future is
+     * not completed meanwhile
+     */
+    public void hold() {
+        pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Releases a hold of the tracker, completing the future if no delivery is
+     * still to run
+     */
+    public void release() {
+        if (pendingCount.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    /**
+     * Adds some deliveries to the ones still to run. Called while holding the
+     * tracker.
+     *
+     * @param deliveries The number of deliveries to expect
+     */
+    public void expectDeliveries(int deliveries) {
+        pendingCount.addAndGet(deliveries);
+    }
+
+    /**
+     * Called with the value returned by a listener method, before its delivery
+     * is recorded. It does nothing, since only the trackers of requests
+     * collect the returned values.
+     *
+     * @param result The value returned by the listener method, never null
+     */
+    protected void resultReturned(Object result) {
+    }
+
+    /**
+     * Records a delivery which has run, completing the future if it was the
+     * last one
+     *
+     * @param succeeded True if the listener method ran without errors
+     */
+    public void deliveryCompleted(boolean succeeded) {
+        if (succeeded) {
+            succeededDeliveries.incrementAndGet();
+        } else {
+            failedDeliveries.incrementAndGet();
+        }
+        if (pendingCount.decrementAndGet() == 0) {
+            complete();
+        }
+    }
+
+    /**
+     * Completes the future exceptionally, since the event will never be
+     * delivered, for example because it was dropped by the overflow policy
+     *
+     * @param cause The reason why the event is not delivered
+     */
+    public void discard(EventBusException cause) {
+        deliveryReportFuture.completeExceptionally(cause);
+    }
+
+    /**
+     * Gets the future completed with the {@link DeliveryReport} once every
+     * delivery has run
+     *
+     * @return The future of the {@link DeliveryReport}
+     */
+    public CompletableFuture<DeliveryReport> getDeliveryReportFuture() {
+        return deliveryReportFuture;
+    }
+
+    /**
+     * Private method used to complete the future with the report of the
+     * deliveries
+     */
+    private void complete() {
+        deliveryReportFuture.complete(new DeliveryReport(succeededDeliveries.get(), failedDeliveries.get()));
+    }
+}
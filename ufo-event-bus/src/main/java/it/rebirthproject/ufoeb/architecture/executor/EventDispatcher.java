@@ -0,0 +1,598 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.InlineExecutor;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.PumpExecutor;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ConflatedPostEventMessage;
+import it.rebirthproject.ufoeb.architecture.pool.ObjectPool;
+import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
+import it.rebirthproject.ufoeb.architecture.state.RegistrationsLookup;
+import it.rebirthproject.ufoeb.dto.BusEventKey;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The component that resolves the registrations of a posted event and submits
+ * the {@link EventExecutor}s to the workers pool. It is used by the
+ * {@link BusMemoryStateManager} thread and, when direct dispatch is enabled,
+ * directly by the posting threads.
+ *
+ * @see RegistrationsLookup
+ */
+public class EventDispatcher {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EventDispatcher.class);
+
+    /**
+     * The workers pool used to run the {@link EventExecutor}s
+     */
+    private final Executor workersPoolExecutor;
+    /**
+     * The maximum number of {@link BatchEventExecutor}s a batch of events is
+     * split into. It is the number of workers, so every worker gets at most one
+     * chunk of the batch.
+     */
+    private final int maxBatchChunks;
+    /**
+     * A boolean flag used to determine if a warning should be raised when an
+     * event is posted and no listeners are registered to listen to that
+     * precise event.
+     */
+    private final boolean throwNoRegistrationsWarning;
+    /**
+     * The pool of reusable {@link EventExecutor}s, null if executors are
+     * created for each dispatched event
+     */
+    private final ObjectPool<EventExecutor> executorPool;
+    /**
+     * If true the events are posted to the {@link ListenerMailbox} of each
+     * registration instead of being submitted to the workers pool
+     */
+    private final boolean listenerMailboxes;
+    /**
+     * The lanes used to deliver in order the events having a routing key,
+     * null if routing key lanes are not enabled
+     */
+    private final RoutingKeyLanes routingKeyLanes;
+    /**
+     * The minimum number of registrations of a chunk when an event is fanned
+     * out in parallel with a {@link FanOutEventExecutor}, zero if parallel
+     * fan out is not enabled
+     */
+    private final int fanOutMinChunkSize;
+    /**
+     * If true each event is delivered with the cached dispatch plan of its
+     * class, merging the registrations of the whole event hierarchy by
+     * priority, instead of one delivery for each class of the hierarchy
+     */
+    private final boolean mergedDispatchPlan;
+    /**
+     * If true the workers pool is an {@link InlineExecutor}, so the
+     * registrations are invoked directly by the dispatching thread without
+     * creating an {@link EventExecutor} for each event
+     */
+    private final boolean inlineDispatch;
+    /**
+     * If true the workers pool is a {@link PumpExecutor}, which counts the
+     * tasks it drains, so every event of a batch is a task of its own
+     */
+    private final boolean pumpDispatch;
+
+    /**
+     * The constructor used to build an {@link EventDispatcher}
+     *
+     * @param workersPoolExecutor The workers pool used to run the
+     * {@link EventExecutor}s
+     * @param numberOfWorkers The number of workers of the pool, used to split
+     * batches of events
+     * @param throwNoRegistrationsWarning A boolean flag used to determine if a
+     * warning should be raised when an event is posted and no listeners are
+     * registered to listen to that precise event.
+     */
+    public EventDispatcher(Executor workersPoolExecutor, int numberOfWorkers, boolean throwNoRegistrationsWarning) {
+        this(workersPoolExecutor, numberOfWorkers, throwNoRegistrationsWarning, null);
+    }
+
+    /**
+     * The constructor used to build an {@link EventDispatcher} reusing the
+     * {@link EventExecutor}s of a pool
+     *
+     * @param workersPoolExecutor The workers pool used to run the
+     * {@link EventExecutor}s
+     * @param numberOfWorkers The number of workers of the pool, used to split
+     * batches of events
+     * @param throwNoRegistrationsWarning A boolean flag used to determine if a
+     * warning should be raised when an event is posted and no listeners are
+     * registered to listen to that precise event.
+     * @param executorPool The pool of reusable {@link EventExecutor}s, or null
+     * to create a new executor for each dispatched event
+     */
+    public EventDispatcher(Executor workersPoolExecutor, int numberOfWorkers, boolean throwNoRegistrationsWarning, ObjectPool<EventExecutor> executorPool) {
+        this(workersPoolExecutor, numberOfWorkers, throwNoRegistrationsWarning, executorPool, false, null, 0, false);
+    }
+
+    /**
+     * The constructor used to build an {@link EventDispatcher} which can post
+     * the events to the listeners mailboxes
+     *
+     * @param workersPoolExecutor The workers pool used to run the
+     * {@link EventExecutor}s
+     * @param numberOfWorkers The number of workers of the pool, used to split
+     * batches of events
+     * @param throwNoRegistrationsWarning A boolean flag used to determine if a
+     * warning should be raised when an event is posted and no listeners are
+     * registered to listen to that precise event.
+     * @param executorPool The pool of reusable {@link EventExecutor}s, or null
+     * to create a new executor for each dispatched event
+     * @param listenerMailboxes True to post the events to the
+     * {@link ListenerMailbox} of each registration
+     * @param routingKeyLanes The lanes used to deliver in order the events
+     * having a routing key, or null to deliver them in the usual way
+     * @param fanOutMinChunkSize The minimum number of registrations of a chunk
+     * when an event is fanned out in parallel, or zero to deliver every event
+     * with a single worker
+     * @param mergedDispatchPlan True to deliver each event with the dispatch
+     * plan of its class, merging the whole event hierarchy by priority
+     */
+    public EventDispatcher(Executor workersPoolExecutor, int numberOfWorkers, boolean throwNoRegistrationsWarning, ObjectPool<EventExecutor> executorPool, boolean listenerMailboxes, RoutingKeyLanes routingKeyLanes, int fanOutMinChunkSize, boolean mergedDispatchPlan) {
+        this.workersPoolExecutor = workersPoolExecutor;
+        this.maxBatchChunks = numberOfWorkers;
+        this.throwNoRegistrationsWarning = throwNoRegistrationsWarning;
+        this.executorPool = executorPool;
+        this.listenerMailboxes = listenerMailboxes;
+        this.routingKeyLanes = routingKeyLanes;
+        this.fanOutMinChunkSize = fanOutMinChunkSize;
+        this.mergedDispatchPlan = mergedDispatchPlan;
+        this.inlineDispatch = workersPoolExecutor instanceof InlineExecutor;
+        this.pumpDispatch = workersPoolExecutor instanceof PumpExecutor;
+    }
+
+    /**
+     * Sends an event to the {@link EventExecutor}s workers, one for each class
+     * of the event hierarchy having registrations, or a single one running the
+     * dispatch plan of the event class if merged dispatch plans are enabled.
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventObjectToPost The event to post to {@link EventExecutor}s
+     */
+    public void dispatch(RegistrationsLookup registrationsLookup, Object eventObjectToPost) {
+        if (mergedDispatchPlan) {
+            dispatch(registrationsLookup.getDispatchPlan(eventObjectToPost), eventObjectToPost, eventObjectToPost.getClass());
+            return;
+        }
+        for (BusEventKey eventKey : registrationsLookup.getEventKeys(eventObjectToPost)) {
+            dispatch(registrationsLookup.getRegistrationsSnapshot(eventKey), eventObjectToPost, eventKey.getEventClass());
+        }
+    }
+
+    /**
+     * Sends the event of a pending {@link ConflatedPostEventMessage} to the
+     * workers with a single {@link ConflatedEventExecutor}, which takes the
+     * newest event only when it runs. So the events posted while it waits for
+     * a free worker still replace the pending one. With listener mailboxes,
+     * routing key lanes or parallel fan out the events wait in their own
+     * queues, and inline dispatch delivers them at once, so the event is taken
+     * and dispatched as usual.
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param conflatedMessage The pending message holding the event to post
+     */
+    public void dispatchConflated(RegistrationsLookup registrationsLookup, ConflatedPostEventMessage conflatedMessage) {
+        if (inlineDispatch || listenerMailboxes || routingKeyLanes != null || fanOutMinChunkSize > 0) {
+            dispatch(registrationsLookup, conflatedMessage.takeEventToPost());
+            return;
+        }
+        // Only the exact class is conflating, so the registrations resolved now fit every newer event
+        Object eventObjectToPost = conflatedMessage.getEventToPost();
+        Registration[][] registrationLists;
+        if (mergedDispatchPlan) {
+            registrationLists = new Registration[][]{registrationsLookup.getDispatchPlan(eventObjectToPost)};
+        } else {
+            BusEventKey[] eventKeys = registrationsLookup.getEventKeys(eventObjectToPost);
+            registrationLists = new Registration[eventKeys.length][];
+            for (int i = 0; i < eventKeys.length; i++) {
+                registrationLists[i] = registrationsLookup.getRegistrationsSnapshot(eventKeys[i]);
+            }
+        }
+        int registrationsCount = 0;
+        for (Registration[] registrations : registrationLists) {
+            registrationsCount += registrations.length;
+        }
+        if (registrationsCount == 0) {
+            conflatedMessage.takeEventToPost();
+            if (throwNoRegistrationsWarning) {
+                logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventObjectToPost.getClass().getName());
+            }
+            return;
+        }
+        try {
+            workersPoolExecutor.execute(new ConflatedEventExecutor(conflatedMessage, registrationLists, workersPoolExecutor));
+        } catch (RejectedExecutionException ex) {
+            // The message will never run, so the next events of its class and key must be sent again
+            conflatedMessage.takeEventToPost();
+            throw ex;
+        }
+    }
+
+    /**
+     * Sends an event to the workers reporting each delivery to a
+     * {@link DeliveryTracker}. The tracker is held while the event is
+     * dispatched, so it can't complete before all the deliveries are known.
+     * Tracked events are never run by pooled or fan out executors.
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventObjectToPost The event to post to {@link EventExecutor}s
+     * @param deliveryTracker The tracker of the deliveries of the event
+     */
+    public void dispatchTracked(RegistrationsLookup registrationsLookup, Object eventObjectToPost, DeliveryTracker deliveryTracker) {
+        deliveryTracker.hold();
+        try {
+            if (mergedDispatchPlan) {
+                dispatchTracked(registrationsLookup.getDispatchPlan(eventObjectToPost), eventObjectToPost, eventObjectToPost.getClass(), deliveryTracker);
+                return;
+            }
+            for (BusEventKey eventKey : registrationsLookup.getEventKeys(eventObjectToPost)) {
+                dispatchTracked(registrationsLookup.getRegistrationsSnapshot(eventKey), eventObjectToPost, eventKey.getEventClass(), deliveryTracker);
+            }
+        } finally {
+            deliveryTracker.release();
+        }
+    }
+
+    /**
+     * Sends a batch of events to the workers. All the events are resolved in
+     * one pass, then the resolved events are split into at most one chunk per
+     * worker, each delivered in order by a {@link BatchEventExecutor}. The
+     * events sharing a listener, even through other events, always go to the
+     * same chunk, so every listener gets the events of the batch in posting
+     * order while listeners without events in common run in parallel. With
+     * listener mailboxes the resolved events are posted in order to the
+     * mailboxes of their listeners instead, and with routing key lanes the
+     * events having a routing key are posted in order to their lanes.
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventsToPost The events to post, in posting order
+     */
+    public void dispatchBatch(RegistrationsLookup registrationsLookup, Object[] eventsToPost) {
+        Registration[][] resolvedRegistrations = new Registration[eventsToPost.length][];
+        Object[] resolvedEvents = new Object[eventsToPost.length];
+        int resolvedCount = 0;
+        for (Object eventObjectToPost : eventsToPost) {
+            if (mergedDispatchPlan) {
+                Registration[] registrations = registrationsLookup.getDispatchPlan(eventObjectToPost);
+                if (registrations.length > 0) {
+                    resolvedRegistrations[resolvedCount] = registrations;
+                    resolvedEvents[resolvedCount] = eventObjectToPost;
+                    resolvedCount++;
+                } else if (throwNoRegistrationsWarning) {
+                    logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventObjectToPost.getClass().getName());
+                }
+                continue;
+            }
+            for (BusEventKey eventKey : registrationsLookup.getEventKeys(eventObjectToPost)) {
+                Registration[] registrations = registrationsLookup.getRegistrationsSnapshot(eventKey);
+                if (registrations.length > 0) {
+                    if (resolvedCount == resolvedEvents.length) {
+                        resolvedRegistrations = Arrays.copyOf(resolvedRegistrations, resolvedCount * 2);
+                        resolvedEvents = Arrays.copyOf(resolvedEvents, resolvedCount * 2);
+                    }
+                    resolvedRegistrations[resolvedCount] = registrations;
+                    resolvedEvents[resolvedCount] = eventObjectToPost;
+                    resolvedCount++;
+                } else if (throwNoRegistrationsWarning) {
+                    logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventKey.getEventClass().getName());
+                }
+            }
+        }
+        if (resolvedCount == 0) {
+            return;
+        }
+        if (inlineDispatch) {
+            for (int i = 0; i < resolvedCount; i++) {
+                EventExecutor.deliver(resolvedRegistrations[i], resolvedEvents[i], workersPoolExecutor);
+            }
+            return;
+        }
+        if (listenerMailboxes) {
+            for (int i = 0; i < resolvedCount; i++) {
+                postToMailboxes(resolvedRegistrations[i], resolvedEvents[i]);
+            }
+            return;
+        }
+        if (routingKeyLanes != null) {
+            // Keyed events go to their lanes, the others are compacted and split as usual
+            int unkeyedCount = 0;
+            for (int i = 0; i < resolvedCount; i++) {
+                if (!routingKeyLanes.post(resolvedRegistrations[i], resolvedEvents[i])) {
+                    resolvedRegistrations[unkeyedCount] = resolvedRegistrations[i];
+                    resolvedEvents[unkeyedCount] = resolvedEvents[i];
+                    unkeyedCount++;
+                }
+            }
+            resolvedCount = unkeyedCount;
+            if (resolvedCount == 0) {
+                return;
+            }
+        }
+        if (pumpDispatch) {
+            // The pump runs its tasks one at a time in submission order, so the events keep their order anyway
+            for (int i = 0; i < resolvedCount; i++) {
+                workersPoolExecutor.execute(new BatchEventExecutor(resolvedRegistrations, resolvedEvents, i, i + 1, workersPoolExecutor));
+            }
+            return;
+        }
+        int chunks = Math.min(maxBatchChunks, resolvedCount);
+        int[] chunkOfEvent = chunks == 1 ? null : assignBatchChunks(resolvedRegistrations, resolvedCount, chunks);
+        if (chunkOfEvent == null) {
+            workersPoolExecutor.execute(new BatchEventExecutor(resolvedRegistrations, resolvedEvents, 0, resolvedCount, workersPoolExecutor));
+            return;
+        }
+        int[] chunkSizes = new int[chunks];
+        for (int i = 0; i < resolvedCount; i++) {
+            chunkSizes[chunkOfEvent[i]]++;
+        }
+        Registration[][][] chunkRegistrations = new Registration[chunks][][];
+        Object[][] chunkEvents = new Object[chunks][];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkRegistrations[chunk] = new Registration[chunkSizes[chunk]][];
+            chunkEvents[chunk] = new Object[chunkSizes[chunk]];
+            chunkSizes[chunk] = 0;
+        }
+        for (int i = 0; i < resolvedCount; i++) {
+            int chunk = chunkOfEvent[i];
+            chunkRegistrations[chunk][chunkSizes[chunk]] = resolvedRegistrations[i];
+            chunkEvents[chunk][chunkSizes[chunk]] = resolvedEvents[i];
+            chunkSizes[chunk]++;
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            if (chunkSizes[chunk] > 0) {
+                workersPoolExecutor.execute(new BatchEventExecutor(chunkRegistrations[chunk], chunkEvents[chunk], 0, chunkSizes[chunk], workersPoolExecutor));
+            }
+        }
+    }
+
+    /**
+     * Private method used to assign the resolved events of a batch to its
+     * chunks. The events are grouped so that two events with a listener in
+     * common are in the same group, then each group, in order of its first
+     * event, goes to the chunk with the fewest events so far.
+     *
+     * @param resolvedRegistrations The registrations of each resolved event
+     * @param resolvedCount The number of resolved events
+     * @param chunks The number of chunks
+     * @return The chunk of each resolved event, or null if all the events are
+     * in the same group
+     */
+    private int[] assignBatchChunks(Registration[][] resolvedRegistrations, int resolvedCount, int chunks) {
+        int[] groupOfEvent = new int[resolvedCount];
+        Map<Object, Integer> lastEventOfListener = new IdentityHashMap<>();
+        int groups = resolvedCount;
+        for (int i = 0; i < resolvedCount; i++) {
+            groupOfEvent[i] = i;
+            for (Registration registration : resolvedRegistrations[i]) {
+                Integer previousEvent = lastEventOfListener.put(registration.getListener(), i);
+                if (previousEvent != null) {
+                    int previousGroup = findBatchGroup(groupOfEvent, previousEvent);
+                    int group = findBatchGroup(groupOfEvent, i);
+                    if (previousGroup != group) {
+                        // The group of the earlier event is kept as the root
+                        groupOfEvent[group] = previousGroup;
+                        groups--;
+                    }
+                }
+            }
+        }
+        if (groups == 1) {
+            return null;
+        }
+        int[] groupSizes = new int[resolvedCount];
+        for (int i = 0; i < resolvedCount; i++) {
+            groupOfEvent[i] = findBatchGroup(groupOfEvent, i);
+            groupSizes[groupOfEvent[i]]++;
+        }
+        int[] chunkOfGroup = new int[resolvedCount];
+        int[] chunkSizes = new int[chunks];
+        int[] chunkOfEvent = new int[resolvedCount];
+        for (int i = 0; i < resolvedCount; i++) {
+            int group = groupOfEvent[i];
+            if (group == i) {
+                int lightestChunk = 0;
+                for (int chunk = 1; chunk < chunks; chunk++) {
+                    if (chunkSizes[chunk] < chunkSizes[lightestChunk]) {
+                        lightestChunk = chunk;
+                    }
+                }
+                chunkOfGroup[group] = lightestChunk;
+                chunkSizes[lightestChunk] += groupSizes[group];
+            }
+            chunkOfEvent[i] = chunkOfGroup[group];
+        }
+        return chunkOfEvent;
+    }
+
+    /**
+     * Private method used to find the group of a resolved event of a batch,
+     * compressing the path to its root
+     *
+     * @param groupOfEvent The parent of each event in its group
+     * @param event The index of the event
+     * @return The index of the first event of the group
+     */
+    private static int findBatchGroup(int[] groupOfEvent, int event) {
+        int root = event;
+        while (groupOfEvent[root] != root) {
+            root = groupOfEvent[root];
+        }
+        while (groupOfEvent[event] != root) {
+            int parent = groupOfEvent[event];
+            groupOfEvent[event] = root;
+            event = parent;
+        }
+        return root;
+    }
+
+    /**
+     * Delivers an event to its listeners using the calling thread instead of
+     * the workers. Used when the posting thread must run the event by itself.
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventObjectToPost The event to deliver
+     */
+    public void dispatchInCaller(RegistrationsLookup registrationsLookup, Object eventObjectToPost) {
+        if (mergedDispatchPlan) {
+            EventExecutor.deliver(registrationsLookup.getDispatchPlan(eventObjectToPost), eventObjectToPost, workersPoolExecutor);
+            return;
+        }
+        for (BusEventKey eventKey : registrationsLookup.getEventKeys(eventObjectToPost)) {
+            EventExecutor.deliver(registrationsLookup.getRegistrationsSnapshot(eventKey), eventObjectToPost, workersPoolExecutor);
+        }
+    }
+
+    /**
+     * Delivers an event to its listeners using the calling thread instead of
+     * the workers, reporting each delivery to a {@link DeliveryTracker}
+     *
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventObjectToPost The event to deliver
+     * @param deliveryTracker The tracker of the deliveries of the event
+     */
+    public void dispatchInCaller(RegistrationsLookup registrationsLookup, Object eventObjectToPost, DeliveryTracker deliveryTracker) {
+        deliveryTracker.hold();
+        try {
+            if (mergedDispatchPlan) {
+                Registration[] registrations = registrationsLookup.getDispatchPlan(eventObjectToPost);
+                deliveryTracker.expectDeliveries(registrations.length);
+                EventExecutor.deliver(registrations, eventObjectToPost, deliveryTracker, workersPoolExecutor);
+                return;
+            }
+            for (BusEventKey eventKey : registrationsLookup.getEventKeys(eventObjectToPost)) {
+                Registration[] registrations = registrationsLookup.getRegistrationsSnapshot(eventKey);
+                deliveryTracker.expectDeliveries(registrations.length);
+                EventExecutor.deliver(registrations, eventObjectToPost, deliveryTracker, workersPoolExecutor);
+            }
+        } finally {
+            deliveryTracker.release();
+        }
+    }
+
+    /**
+     * Private method used to send an event to {@link EventExecutor}s workers
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post to {@link EventExecutor}s
+     * @param eventClass The event class the registrations were resolved for
+     */
+    private void dispatch(Registration[] registrations, Object eventObjectToPost, Class<?> eventClass) {
+        if (registrations.length > 0) {
+            if (inlineDispatch) {
+                EventExecutor.deliver(registrations, eventObjectToPost, workersPoolExecutor);
+            } else if (listenerMailboxes) {
+                postToMailboxes(registrations, eventObjectToPost);
+            } else if (routingKeyLanes != null && routingKeyLanes.post(registrations, eventObjectToPost)) {
+                logger.debug("Event posted to its routing key lane");
+            } else if (fanOutMinChunkSize > 0 && maxBatchChunks > 1 && registrations.length >= 2 * fanOutMinChunkSize) {
+                workersPoolExecutor.execute(new FanOutEventExecutor(registrations, eventObjectToPost, workersPoolExecutor, fanOutMinChunkSize, maxBatchChunks));
+            } else if (executorPool != null) {
+                workersPoolExecutor.execute(executorPool.acquire().setDelivery(registrations, eventObjectToPost));
+            } else {
+                workersPoolExecutor.execute(new EventExecutor(registrations, eventObjectToPost, workersPoolExecutor));
+            }
+        } else {
+            //we are in the case of a sticky event so if a sticky event is posted before any registrations we do nothing.
+            //We can also be in the case of inheritance where superclasses or interfaces are not listened by anyone
+            if (throwNoRegistrationsWarning) {
+                logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventClass.getName());
+            }
+        }
+    }
+
+    /**
+     * Private method used to send a tracked event to the workers. If the
+     * workers pool rejects the event the tracker is discarded, so the waiting
+     * posters are not left hanging.
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post
+     * @param eventClass The event class the registrations were resolved for
+     * @param deliveryTracker The tracker of the deliveries of the event
+     */
+    private void dispatchTracked(Registration[] registrations, Object eventObjectToPost, Class<?> eventClass, DeliveryTracker deliveryTracker) {
+        if (registrations.length == 0) {
+            if (throwNoRegistrationsWarning) {
+                logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventClass.getName());
+            }
+            return;
+        }
+        deliveryTracker.expectDeliveries(registrations.length);
+        if (inlineDispatch) {
+            EventExecutor.deliver(registrations, eventObjectToPost, deliveryTracker, workersPoolExecutor);
+        } else if (listenerMailboxes) {
+            postToMailboxes(registrations, eventObjectToPost, deliveryTracker);
+        } else if (routingKeyLanes != null && routingKeyLanes.post(registrations, eventObjectToPost, deliveryTracker)) {
+            logger.debug("Tracked event posted to its routing key lane");
+        } else {
+            try {
+                workersPoolExecutor.execute(new EventExecutor(registrations, eventObjectToPost, deliveryTracker, workersPoolExecutor));
+            } catch (RejectedExecutionException ex) {
+                deliveryTracker.discard(new EventBusException("The event " + eventClass.getName() + " was rejected by the workers pool", ex));
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Private method used to post an event to the {@link ListenerMailbox} of
+     * each registration
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post
+     */
+    private static void postToMailboxes(Registration[] registrations, Object eventObjectToPost) {
+        postToMailboxes(registrations, eventObjectToPost, null);
+    }
+
+    /**
+     * Private method used to post an event to the {@link ListenerMailbox} of
+     * each registration, reporting each delivery to a {@link DeliveryTracker}
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     */
+    private static void postToMailboxes(Registration[] registrations, Object eventObjectToPost, DeliveryTracker deliveryTracker) {
+        for (Registration registration : registrations) {
+            registration.getMailbox().post(registration, eventObjectToPost, deliveryTracker);
+        }
+    }
+}
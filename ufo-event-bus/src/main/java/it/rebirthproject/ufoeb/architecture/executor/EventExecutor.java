@@ -16,10 +16,17 @@
 package it.rebirthproject.ufoeb.architecture.executor;
 
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.pool.ObjectPool;
 import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +35,12 @@ import org.slf4j.LoggerFactory;
  * possible to use just one EventExecutor or more, depending on the bus
  * configuration specified using the {@link EventBusBuilder}
  *
+ * <p>
+ * An EventExecutor can be taken from an {@link ObjectPool}: in that case it is
+ * filled with {@link #setDelivery(Registration[], Object)} and gives itself
+ * back to the pool as soon as the event is delivered.
+ * </p>
+ *
  * @see EventBusBuilder#setNumberOfWorkers(Integer)
  * @see EventBusBuilder#setNumberOfWorkersAsAvailableProcessors()
  */
@@ -37,18 +50,79 @@ public class EventExecutor implements Runnable {
      * The logger used by this class
      */
     private static final Logger logger = LoggerFactory.getLogger(EventExecutor.class);
-    private final Registration[] registrationList;
-    private final Object eventToPost;
+    private Registration[] registrationList;
+    private Object eventToPost;
+    /**
+     * The tracker of the deliveries of the event, null if the event is not
+     * tracked
+     */
+    private DeliveryTracker deliveryTracker;
+    /**
+     * The pool this executor belongs to, null if the executor is not pooled
+     */
+    private final ObjectPool<EventExecutor> executorPool;
+    /**
+     * The workers pool the lower priorities are resubmitted to when some
+     * asynchronous listener methods complete
+     */
+    private final Executor workersPoolExecutor;
 
     /**
      * The constructor used to build an EventExecutor
      *
      * @param registrationList List of registrations that get the event
      * @param eventToPost The posted event to send to the registrations
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    public EventExecutor(Registration[] registrationList, Object eventToPost, Executor workersPoolExecutor) {
+        this(registrationList, eventToPost, null, workersPoolExecutor);
+    }
+
+    /**
+     * The constructor used to build an EventExecutor reporting each delivery
+     * to a {@link DeliveryTracker}
+     *
+     * @param registrationList List of registrations that get the event
+     * @param eventToPost The posted event to send to the registrations
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    public EventExecutor(Registration[] registrationList, Object eventToPost, DeliveryTracker deliveryTracker, Executor workersPoolExecutor) {
+        this.registrationList = registrationList;
+        this.eventToPost = eventToPost;
+        this.deliveryTracker = deliveryTracker;
+        this.executorPool = null;
+        this.workersPoolExecutor = workersPoolExecutor;
+    }
+
+    /**
+     * The constructor used to build an empty EventExecutor belonging to an
+     * {@link ObjectPool}
+     *
+     * @param executorPool The pool the executor is given back to after
+     * running
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    public EventExecutor(ObjectPool<EventExecutor> executorPool, Executor workersPoolExecutor) {
+        this.executorPool = executorPool;
+        this.workersPoolExecutor = workersPoolExecutor;
+    }
+
+    /**
+     * Sets the delivery done by a pooled executor
+     *
+     * @param registrationList List of registrations that get the event
+     * @param eventToPost The posted event to send to the registrations
+     * @return This executor
      */
-    public EventExecutor(Registration[] registrationList, Object eventToPost) {
+    public EventExecutor setDelivery(Registration[] registrationList, Object eventToPost) {
         this.registrationList = registrationList;
         this.eventToPost = eventToPost;
+        return this;
     }
 
     /**
@@ -58,14 +132,195 @@ public class EventExecutor implements Runnable {
     @Override
     public void run() {
         logger.debug("Execute event message");
-        for (Registration registration : registrationList) {
-            try {
-                registration.process(eventToPost);
-            } catch (Throwable ex) {
-                logger.error("Message " + eventToPost.getClass().getCanonicalName() + " cannot be delivered to Object " + registration.getListener().getClass().getCanonicalName() + ".", ex);
+        deliver(registrationList, eventToPost, deliveryTracker, workersPoolExecutor);
+        logger.debug("All messages are been delivered");
+        if (executorPool != null) {
+            // Pooled executors never deliver tracked events, so the tracker is always null here
+            registrationList = null;
+            eventToPost = null;
+            executorPool.release(this);
+        }
+    }
+
+    /**
+     * Delivers an event to every registration. An error thrown by a listener
+     * is logged and does not stop the delivery to the other registrations.
+     *
+     * @param registrations The registrations that get the event
+     * @param event The event to send to the registrations
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    static void deliver(Registration[] registrations, Object event, Executor workersPoolExecutor) {
+        deliver(registrations, event, null, workersPoolExecutor);
+    }
+
+    /**
+     * Delivers an event to every registration, reporting each delivery to the
+     * {@link DeliveryTracker} of the event. If some listener methods of a
+     * priority band return a {@link CompletionStage} not completed yet, the
+     * registrations of the lower priorities are delivered once all the stages
+     * of the band are completed, by a task submitted to the workers pool, so
+     * neither the current thread nor the thread completing the last stage,
+     * which may belong to an I/O library, runs the other listeners.
+     *
+     * @param registrations The registrations that get the event, sorted by
+     * priority
+     * @param event The event to send to the registrations
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    static void deliver(Registration[] registrations, Object event, DeliveryTracker deliveryTracker, Executor workersPoolExecutor) {
+        deliver(registrations, 0, event, deliveryTracker, workersPoolExecutor);
+    }
+
+    /**
+     * Private method used to deliver an event to the registrations starting
+     * from a given index, suspending the delivery at the end of a priority
+     * band still waiting for some asynchronous listener methods
+     *
+     * @param registrations The registrations that get the event, sorted by
+     * priority
+     * @param fromIndex The index of the first registration to deliver
+     * @param event The event to send to the registrations
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     * @param workersPoolExecutor The workers pool the lower priorities are
+     * resubmitted to when some asynchronous listener methods complete
+     */
+    private static void deliver(Registration[] registrations, int fromIndex, Object event, DeliveryTracker deliveryTracker, Executor workersPoolExecutor) {
+        List<CompletableFuture<Void>> pendingBandDeliveries = null;
+        for (int i = fromIndex; i < registrations.length; i++) {
+            if (pendingBandDeliveries != null && registrations[i].getPriority() != registrations[i - 1].getPriority()) {
+                int nextBandStart = i;
+                CompletableFuture.allOf(pendingBandDeliveries.toArray(new CompletableFuture<?>[0]))
+                        .whenComplete((ignored, cause) -> resumeDelivery(registrations, nextBandStart, event, deliveryTracker, workersPoolExecutor));
+                return;
+            }
+            CompletableFuture<Void> pendingDelivery = deliver(registrations[i], event, deliveryTracker);
+            if (pendingDelivery != null) {
+                if (pendingBandDeliveries == null) {
+                    pendingBandDeliveries = new ArrayList<>();
+                }
+                pendingBandDeliveries.add(pendingDelivery);
             }
         }
-        logger.debug("All messages are been delivered");
+    }
+
+    /**
+     * Private method used to go on delivering an event once the asynchronous
+     * listener methods of a priority band have completed, submitting the
+     * delivery of the lower priorities to the workers pool
+     *
+     * @param registrations The registrations that get the event, sorted by
+     * priority
+     * @param fromIndex The index of the first registration of the next band
+     * @param event The event to send to the registrations
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     * @param workersPoolExecutor The workers pool running the lower priorities
+     */
+    private static void resumeDelivery(Registration[] registrations, int fromIndex, Object event, DeliveryTracker deliveryTracker, Executor workersPoolExecutor) {
+        try {
+            workersPoolExecutor.execute(() -> deliver(registrations, fromIndex, event, deliveryTracker, workersPoolExecutor));
+        } catch (RejectedExecutionException ex) {
+            // The workers pool is shutting down, so the completing thread delivers the lower priorities
+            deliver(registrations, fromIndex, event, deliveryTracker, workersPoolExecutor);
+        }
+    }
+
+    /**
+     * Delivers an event to a single registration. If the registration has a
+     * thread mode mailbox the event is handed to the mailbox of its thread,
+     * otherwise it is delivered by the current thread.
+     *
+     * @param registration The registration that gets the event
+     * @param event The event to send to the registration
+     */
+    static void deliver(Registration registration, Object event) {
+        deliver(registration, event, null);
+    }
+
+    /**
+     * Delivers an event to a single registration reporting the delivery to the
+     * {@link DeliveryTracker} of the event. If the registration has a
+     * thread mode mailbox the event is handed to the mailbox of its thread,
+     * otherwise it is delivered by the current thread.
+     *
+     * @param registration The registration that gets the event
+     * @param event The event to send to the registration
+     * @param deliveryTracker The tracker the delivery is reported to, or null
+     * if the event is not tracked
+     * @return A future completed when the asynchronous listener method
+     * completes, or null if the delivery is not pending on the current thread
+     */
+    static CompletableFuture<Void> deliver(Registration registration, Object event, DeliveryTracker deliveryTracker) {
+        ListenerMailbox threadModeMailbox = registration.getThreadModeMailbox();
+        if (threadModeMailbox != null) {
+            threadModeMailbox.post(registration, event, deliveryTracker);
+            return null;
+        }
+        return process(registration, event, deliveryTracker);
+    }
+
+    /**
+     * Delivers an event to a single registration using the current thread.
+     * An error thrown by the listener is logged. If the listener method
+     * returns a {@link CompletionStage} the delivery is completed, and
+     * reported to the {@link DeliveryTracker}, only when the stage completes.
+     *
+     * @param registration The registration that gets the event
+     * @param event The event to send to the registration
+     * @param deliveryTracker The tracker the delivery is reported to, or null
+     * if the event is not tracked
+     * @return A future completed when the asynchronous listener method
+     * completes, or null if the delivery is already completed
+     */
+    static CompletableFuture<Void> process(Registration registration, Object event, DeliveryTracker deliveryTracker) {
+        Object result;
+        try {
+            result = registration.process(event);
+        } catch (Throwable ex) {
+            completeDelivery(registration, event, deliveryTracker, null, ex);
+            return null;
+        }
+        if (!(result instanceof CompletionStage)) {
+            completeDelivery(registration, event, deliveryTracker, result, null);
+            return null;
+        }
+        CompletableFuture<Void> pendingDelivery = new CompletableFuture<>();
+        ((CompletionStage<?>) result).whenComplete((stageResult, cause) -> {
+            completeDelivery(registration, event, deliveryTracker, stageResult, cause);
+            pendingDelivery.complete(null);
+        });
+        return pendingDelivery.isDone() ? null : pendingDelivery;
+    }
+
+    /**
+     * Private method used to complete the delivery of an event, logging the
+     * error of the listener method and reporting the delivery to the
+     * {@link DeliveryTracker}
+     *
+     * @param registration The registration that got the event
+     * @param event The delivered event
+     * @param deliveryTracker The tracker the delivery is reported to, or null
+     * if the event is not tracked
+     * @param result The value returned by the listener method, or null
+     * @param cause The error of the listener method, or null if it succeeded
+     */
+    private static void completeDelivery(Registration registration, Object event, DeliveryTracker deliveryTracker, Object result, Throwable cause) {
+        if (cause != null) {
+            Throwable error = cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause;
+            logger.error("Message " + event.getClass().getCanonicalName() + " cannot be delivered to Object " + registration.getListener().getClass().getCanonicalName() + ".", error);
+        }
+        if (deliveryTracker != null) {
+            if (result != null) {
+                deliveryTracker.resultReturned(result);
+            }
+            deliveryTracker.deliveryCompleted(cause == null);
+        }
     }
 
     /**
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A worker used by the bus to deliver an event with many registrations in
+ * parallel. The registrations, sorted by priority, are divided into bands of
+ * equal priority. Each band large enough is split into contiguous chunks,
+ * delivered in parallel by the workers, while the bands are delivered one
+ * after the other, so a registration is never notified before a registration
+ * with a higher priority.
+ *
+ * <p>
+ * No worker waits for the others: the worker that completes the last chunk of
+ * a band goes on with the next band.
+ * </p>
+ *
+ * @see EventBusBuilder#setParallelFanOut(Integer)
+ * @see EventExecutor
+ */
+public class FanOutEventExecutor implements Runnable {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FanOutEventExecutor.class);
+    /**
+     * The registrations that get the event, sorted by priority
+     */
+    private final Registration[] registrations;
+    /**
+     * The event to deliver
+     */
+    private final Object eventToPost;
+    /**
+     * The workers pool running the chunks
+     */
+    private final Executor workersPoolExecutor;
+    /**
+     * The minimum number of registrations of a chunk
+     */
+    private final int minChunkSize;
+    /**
+     * The maximum number of chunks a band is split into
+     */
+    private final int maxChunks;
+    /**
+     * The number of chunks of the current band not delivered yet
+     */
+    private final AtomicInteger pendingChunks = new AtomicInteger(0);
+    /**
+     * The index of the first registration of the band following the current
+     * one. Written before the chunks are submitted and read by the worker
+     * completing the last chunk.
+     */
+    private int nextBandStart;
+
+    /**
+     * The constructor used to build a FanOutEventExecutor
+     *
+     * @param registrations The registrations that get the event, sorted by
+     * priority
+     * @param eventToPost The event to deliver
+     * @param workersPoolExecutor The workers pool running the chunks
+     * @param minChunkSize The minimum number of registrations of a chunk
+     * @param maxChunks The maximum number of chunks a band is split into
+     */
+    public FanOutEventExecutor(Registration[] registrations, Object eventToPost, Executor workersPoolExecutor, int minChunkSize, int maxChunks) {
+        this.registrations = registrations;
+        this.eventToPost = eventToPost;
+        this.workersPoolExecutor = workersPoolExecutor;
+        this.minChunkSize = minChunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * This is the main method of the {@link FanOutEventExecutor}. It delivers
+     * the event band by band, starting from the highest priority.
+     */
+    @Override
+    public void run() {
+        logger.debug("Execute fan out event message");
+        deliverFrom(0);
+    }
+
+    /**
+     * Private method used to deliver the bands starting from the given
+     * registration. Small bands are delivered by the current worker, large
+     * bands are split into chunks and the current worker delivers the first
+     * one. If another worker completes the band after it, the current worker
+     * stops and that worker goes on.
+     *
+     * @param bandStart The index of the first registration of the band
+     */
+    private void deliverFrom(int bandStart) {
+        while (bandStart < registrations.length) {
+            int bandEnd = bandStart + 1;
+            int priority = registrations[bandStart].getPriority();
+            while (bandEnd < registrations.length && registrations[bandEnd].getPriority() == priority) {
+                bandEnd++;
+            }
+            int bandSize = bandEnd - bandStart;
+            int chunks = Math.min(maxChunks, bandSize / minChunkSize);
+            if (chunks <= 1) {
+                deliverRange(bandStart, bandEnd);
+            } else {
+                nextBandStart = bandEnd;
+                pendingChunks.set(chunks);
+                int chunkSize = bandSize / chunks;
+                int remainder = bandSize % chunks;
+                int firstChunkEnd = bandStart + chunkSize + (remainder > 0 ? 1 : 0);
+                int fromIndex = firstChunkEnd;
+                for (int chunk = 1; chunk < chunks; chunk++) {
+                    int toIndex = fromIndex + chunkSize + (chunk < remainder ? 1 : 0);
+                    try {
+                        workersPoolExecutor.execute(new Chunk(fromIndex, toIndex));
+                    } catch (RejectedExecutionException ex) {
+                        // The workers pool is shutting down, so this worker delivers the chunk
+                        deliverRange(fromIndex, toIndex);
+                        pendingChunks.decrementAndGet();
+                    }
+                    fromIndex = toIndex;
+                }
+                deliverRange(bandStart, firstChunkEnd);
+                if (pendingChunks.decrementAndGet() != 0) {
+                    return;
+                }
+            }
+            bandStart = bandEnd;
+        }
+        logger.debug("All fan out messages are been delivered");
+    }
+
+    /**
+     * Private method used to deliver the event to a contiguous range of
+     * registrations
+     *
+     * @param fromIndex The index of the first registration, inclusive
+     * @param toIndex The index of the last registration, exclusive
+     */
+    private void deliverRange(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            EventExecutor.deliver(registrations[i], eventToPost);
+        }
+    }
+
+    /**
+     * A chunk of a band delivered by another worker
+     */
+    private final class Chunk implements Runnable {
+
+        /**
+         * The index of the first registration of the chunk, inclusive
+         */
+        private final int fromIndex;
+        /**
+         * The index of the last registration of the chunk, exclusive
+         */
+        private final int toIndex;
+
+        /**
+         * The constructor used to build a {@link Chunk}
+         *
+         * @param fromIndex The index of the first registration, inclusive
+         * @param toIndex The index of the last registration, exclusive
+         */
+        private Chunk(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public void run() {
+            deliverRange(fromIndex, toIndex);
+            if (pendingChunks.decrementAndGet() == 0) {
+                deliverFrom(nextBandStart);
+            }
+        }
+    }
+}
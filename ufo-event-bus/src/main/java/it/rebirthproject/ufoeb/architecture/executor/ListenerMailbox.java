@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.executor.workerspool.PumpExecutor;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The mailbox of a registered listener. The deliveries to the listener are
+ * queued in the mailbox, in dispatch order, and the mailbox is drained by at
+ * most {@link #getMaxConcurrency()} workers at a time. With the default
+ * concurrency of one, a listener receives its events one at a time and in
+ * order, while different listeners are still delivered in parallel by the
+ * workers pool.
+ *
+ * <p>
+ * The same mailbox is used as an ordered lane by the {@link RoutingKeyLanes}
+ * and, by the {@link ThreadModeMailboxes}, to deliver the registrations with a
+ * dedicated thread.
+ * </p>
+ *
+ * <p>
+ * A worker draining a mailbox delivers at most
+ * {@link #MAX_DELIVERIES_PER_RUN} events, then gives the worker back to the
+ * pool, so a busy listener cannot starve the other ones. A mailbox drained by
+ * a main thread can deliver more events in each run, so the events reach the
+ * main thread with one runnable per frame.
+ * </p>
+ *
+ * <p>
+ * When a listener method returns a {@link java.util.concurrent.CompletionStage}
+ * not completed yet, the drainer gives its worker back to the pool but keeps
+ * its slot until the stage completes, so the events queued meanwhile are not
+ * delivered before the listener has completed the previous one.
+ * </p>
+ *
+ * @see EventBusBuilder#setListenerMailboxes()
+ * @see Listen#maxConcurrency()
+ */
+public class ListenerMailbox implements Runnable {
+
+    /**
+     * The maximum number of events delivered by a worker before it is given
+     * back to the pool
+     */
+    static final int MAX_DELIVERIES_PER_RUN = 64;
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ListenerMailbox.class);
+
+    /**
+     * The deliveries waiting in the mailbox
+     */
+    private final Queue<Delivery> deliveries = new ConcurrentLinkedQueue<>();
+    /**
+     * The number of workers draining the mailbox or scheduled to drain it
+     */
+    private final AtomicInteger activeDrainers = new AtomicInteger(0);
+    /**
+     * The maximum number of workers draining the mailbox at the same time
+     */
+    private final AtomicInteger maxConcurrency = new AtomicInteger(Integer.MAX_VALUE);
+    /**
+     * The workers pool the mailbox is drained by
+     */
+    private final Executor workersPoolExecutor;
+    /**
+     * The maximum number of events delivered in each run
+     */
+    private final int maxDeliveriesPerRun;
+
+    /**
+     * The constructor used to build a {@link ListenerMailbox}
+     *
+     * @param workersPoolExecutor The workers pool the mailbox is drained by
+     */
+    public ListenerMailbox(Executor workersPoolExecutor) {
+        // A pump counts the tasks it drains, so each of its runs is a single delivery
+        this(workersPoolExecutor, workersPoolExecutor instanceof PumpExecutor ? 1 : MAX_DELIVERIES_PER_RUN);
+    }
+
+    /**
+     * The constructor used to build a {@link ListenerMailbox} delivering a
+     * custom maximum number of events in each run
+     *
+     * @param workersPoolExecutor The executor the mailbox is drained by
+     * @param maxDeliveriesPerRun The maximum number of events delivered in
+     * each run
+     */
+    public ListenerMailbox(Executor workersPoolExecutor, int maxDeliveriesPerRun) {
+        this.workersPoolExecutor = workersPoolExecutor;
+        this.maxDeliveriesPerRun = maxDeliveriesPerRun;
+    }
+
+    /**
+     * Lowers the maximum number of workers draining the mailbox at the same
+     * time. Used while registering the listener, once for each listener
+     * method, so the most restrictive {@link Listen#maxConcurrency()} wins.
+     *
+     * @param methodMaxConcurrency The maximum concurrency of a listener method
+     */
+    public void restrictMaxConcurrency(int methodMaxConcurrency) {
+        maxConcurrency.accumulateAndGet(methodMaxConcurrency, Math::min);
+    }
+
+    /**
+     * Gets the maximum number of workers draining the mailbox at the same time
+     *
+     * @return The maximum concurrency of the listener
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency.get();
+    }
+
+    /**
+     * Queues the delivery of an event to a registration of the listener and
+     * schedules a worker to drain the mailbox if the concurrency limit allows
+     * it.
+     *
+     * @param registration The registration of the listener
+     * @param event The event to deliver
+     */
+    public void post(Registration registration, Object event) {
+        post(registration, event, null);
+    }
+
+    /**
+     * Queues the delivery of an event to a registration of the listener,
+     * reporting it to the {@link DeliveryTracker} of the event once it has
+     * run
+     *
+     * @param registration The registration of the listener
+     * @param event The event to deliver
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     */
+    public void post(Registration registration, Object event, DeliveryTracker deliveryTracker) {
+        deliveries.offer(new Delivery(registration, event, deliveryTracker));
+        scheduleDrainer();
+    }
+
+    /**
+     * Drains the mailbox, delivering at most {@link #maxDeliveriesPerRun}
+     * events
+     */
+    @Override
+    public void run() {
+        while (true) {
+            Delivery delivery;
+            int delivered = 0;
+            while (delivered < maxDeliveriesPerRun && (delivery = deliveries.poll()) != null) {
+                ListenerMailbox threadModeMailbox = delivery.registration.getThreadModeMailbox();
+                if (threadModeMailbox == null || threadModeMailbox == this) {
+                    CompletableFuture<Void> pendingDelivery = EventExecutor.process(delivery.registration, delivery.event, delivery.deliveryTracker);
+                    if (pendingDelivery != null) {
+                        // The drainer slot is kept until the listener completes, so the next deliveries wait for it
+                        pendingDelivery.whenComplete((ignored, cause) -> resumeDraining());
+                        return;
+                    }
+                } else {
+                    try {
+                        // The order of this mailbox is kept by the mailbox of the registration thread
+                        threadModeMailbox.post(delivery.registration, delivery.event, delivery.deliveryTracker);
+                    } catch (RejectedExecutionException ex) {
+                        // The thread of the registration is shut down, which must not stop draining this mailbox
+                        logger.error("Message " + delivery.event.getClass().getCanonicalName() + " cannot be handed to the thread of Object " + delivery.registration.getListener().getClass().getCanonicalName() + ".", ex);
+                    }
+                }
+                delivered++;
+            }
+            if (delivered < maxDeliveriesPerRun || deliveries.isEmpty()) {
+                break;
+            }
+            try {
+                // Keep the drainer slot and go back to the end of the workers queue
+                workersPoolExecutor.execute(this);
+                return;
+            } catch (RejectedExecutionException ex) {
+                // The workers pool is shutting down, so this worker drains the rest of the mailbox
+            }
+        }
+        activeDrainers.decrementAndGet();
+        // A delivery may have been queued after the last poll, while this drainer was still counted
+        if (!deliveries.isEmpty()) {
+            scheduleDrainer();
+        }
+    }
+
+    /**
+     * Private method used to go on draining the mailbox once an asynchronous
+     * listener method has completed, keeping the drainer slot
+     */
+    private void resumeDraining() {
+        try {
+            workersPoolExecutor.execute(this);
+        } catch (RejectedExecutionException ex) {
+            // The workers pool is shutting down, so the completing thread drains the rest of the mailbox
+            run();
+        }
+    }
+
+    /**
+     * Private method used to submit a drainer to the workers pool, unless the
+     * maximum concurrency is already reached. If the workers pool rejects the
+     * drainer its slot is freed, so the deliveries left in the mailbox can
+     * still be drained by a later drainer.
+     *
+     * @throws RejectedExecutionException if the workers pool rejects the
+     * drainer
+     */
+    private void scheduleDrainer() {
+        while (true) {
+            int drainers = activeDrainers.get();
+            if (drainers >= maxConcurrency.get()) {
+                return;
+            }
+            if (activeDrainers.compareAndSet(drainers, drainers + 1)) {
+                try {
+                    workersPoolExecutor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    activeDrainers.decrementAndGet();
+                    throw ex;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * A delivery of an event to a registration waiting in the mailbox
+     */
+    private static final class Delivery {
+
+        /**
+         * The registration receiving the event
+         */
+        private final Registration registration;
+        /**
+         * The event to deliver
+         */
+        private final Object event;
+        /**
+         * The tracker of the deliveries of the event, null if the event is
+         * not tracked
+         */
+        private final DeliveryTracker deliveryTracker;
+
+        /**
+         * The constructor used to build a {@link Delivery}
+         *
+         * @param registration The registration receiving the event
+         * @param event The event to deliver
+         * @param deliveryTracker The tracker of the deliveries of the event,
+         * or null if the event is not tracked
+         */
+        private Delivery(Registration registration, Object event, DeliveryTracker deliveryTracker) {
+            this.registration = registration;
+            this.event = event;
+            this.deliveryTracker = deliveryTracker;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The {@link DeliveryTracker} of an event posted with
+ * {@link EventBus#request(Object, Class, long, java.util.concurrent.TimeUnit)}
+ * or
+ * {@link EventBus#requestFirst(Object, Class, long, java.util.concurrent.TimeUnit)}.
+ * It collects the values of the requested type returned by the listener
+ * methods, in the order they are returned.
+ *
+ * <p>
+ * The future of the results is completed with all the collected results once
+ * every delivery has run, or with the first one as soon as it is returned if
+ * only the first result is requested. If the request expires before, the
+ * future is completed with the results collected so far.
+ * </p>
+ *
+ * @param <R> The type of the requested results
+ */
+public class RequestTracker<R> extends DeliveryTracker {
+
+    /**
+     * The type of the requested results. Returned values of other types are
+     * ignored.
+     */
+    private final Class<R> resultType;
+    /**
+     * If true the future of the results is completed with the first result
+     */
+    private final boolean firstResultOnly;
+    /**
+     * The results collected so far
+     */
+    private final ConcurrentLinkedQueue<R> results = new ConcurrentLinkedQueue<>();
+    /**
+     * The future completed with the collected results
+     */
+    private final CompletableFuture<List<R>> resultsFuture = new CompletableFuture<>();
+
+    /**
+     * The constructor used to build a {@link RequestTracker}
+     *
+     * @param resultType The type of the requested results
+     * @param firstResultOnly True to complete the future with the first
+     * result, false to wait for every delivery
+     */
+    public RequestTracker(Class<R> resultType, boolean firstResultOnly) {
+        this.resultType = resultType;
+        this.firstResultOnly = firstResultOnly;
+        getDeliveryReportFuture().whenComplete((deliveryReport, cause) -> {
+            if (cause != null) {
+                resultsFuture.completeExceptionally(cause);
+            } else {
+                expire();
+            }
+        });
+    }
+
+    /**
+     * Collects a value returned by a listener method if it has the requested
+     * type
+     *
+     * @param result The value returned by the listener method
+     */
+    @Override
+    protected void resultReturned(Object result) {
+        if (!resultType.isInstance(result)) {
+            return;
+        }
+        R typedResult = resultType.cast(result);
+        if (firstResultOnly) {
+            resultsFuture.complete(Collections.singletonList(typedResult));
+        } else {
+            results.add(typedResult);
+        }
+    }
+
+    /**
+     * Completes the future with the results collected so far. It does nothing
+     * if the future is already completed.
+     */
+    public void expire() {
+        resultsFuture.complete(new ArrayList<>(results));
+    }
+
+    /**
+     * Gets the future completed with the collected results. If only the first
+     * result is requested, the list holds at most one result.
+     *
+     * @return The future of the collected results
+     */
+    public CompletableFuture<List<R>> getResultsFuture() {
+        return resultsFuture;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.eventannotation.RoutedEvent;
+import it.rebirthproject.ufoeb.eventannotation.RoutingKey;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The fixed set of ordered lanes used to deliver the events having a routing
+ * key. The routing key of an event is hashed to a lane, and each lane is a
+ * {@link ListenerMailbox} drained by one worker at a time, so the events with
+ * the same key are delivered in dispatch order while different lanes run in
+ * parallel on the workers pool.
+ *
+ * <p>
+ * The routing key is read from {@link RoutedEvent#getRoutingKey()} or from
+ * the method annotated with {@link RoutingKey}. The annotated method of each
+ * event class is looked up once and cached.
+ * </p>
+ *
+ * @see EventBusBuilder#setRoutingKeyLanes()
+ */
+public class RoutingKeyLanes {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(RoutingKeyLanes.class);
+    /**
+     * The cached value of event classes without a {@link RoutingKey} method
+     */
+    private static final Method NO_ROUTING_KEY_METHOD;
+
+    static {
+        try {
+            NO_ROUTING_KEY_METHOD = Object.class.getMethod("hashCode");
+        } catch (NoSuchMethodException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * The ordered lanes
+     */
+    private final ListenerMailbox[] lanes;
+    /**
+     * A cache of the {@link RoutingKey} method of each event class, or
+     * {@link #NO_ROUTING_KEY_METHOD} for classes without it
+     */
+    private final ConcurrentHashMap<Class<?>, Method> routingKeyMethodsCache = new ConcurrentHashMap<>();
+
+    /**
+     * The constructor used to build the {@link RoutingKeyLanes}
+     *
+     * @param workersPoolExecutor The workers pool draining the lanes
+     * @param numberOfLanes The number of lanes
+     */
+    public RoutingKeyLanes(Executor workersPoolExecutor, int numberOfLanes) {
+        this.lanes = new ListenerMailbox[numberOfLanes];
+        for (int i = 0; i < numberOfLanes; i++) {
+            lanes[i] = new ListenerMailbox(workersPoolExecutor);
+            lanes[i].restrictMaxConcurrency(1);
+        }
+    }
+
+    /**
+     * Posts an event to the lane of its routing key, if it has one
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post
+     * @return True if the event was posted to a lane, false if it has no
+     * routing key and must be delivered in the usual way
+     */
+    public boolean post(Registration[] registrations, Object eventObjectToPost) {
+        return post(registrations, eventObjectToPost, null);
+    }
+
+    /**
+     * Posts an event to the lane of its routing key, if it has one, reporting
+     * each delivery to the {@link DeliveryTracker} of the event
+     *
+     * @param registrations The registrations that get the event
+     * @param eventObjectToPost The event to post
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     * @return True if the event was posted to a lane, false if it has no
+     * routing key and must be delivered in the usual way
+     */
+    public boolean post(Registration[] registrations, Object eventObjectToPost, DeliveryTracker deliveryTracker) {
+        Object routingKey = getRoutingKey(eventObjectToPost);
+        if (routingKey == null) {
+            return false;
+        }
+        int hash = routingKey.hashCode();
+        ListenerMailbox lane = lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+        for (Registration registration : registrations) {
+            lane.post(registration, eventObjectToPost, deliveryTracker);
+        }
+        return true;
+    }
+
+    /**
+     * Private method used to read the routing key of an event
+     *
+     * @param event The event
+     * @return The routing key, or null if the event has none
+     */
+    private Object getRoutingKey(Object event) {
+        if (event instanceof RoutedEvent) {
+            return ((RoutedEvent) event).getRoutingKey();
+        }
+        Method routingKeyMethod = routingKeyMethodsCache.computeIfAbsent(event.getClass(), RoutingKeyLanes::findRoutingKeyMethod);
+        if (routingKeyMethod == NO_ROUTING_KEY_METHOD) {
+            return null;
+        }
+        try {
+            return routingKeyMethod.invoke(event);
+        } catch (Exception ex) {
+            logger.error("Cannot read the routing key of " + event.getClass().getCanonicalName() + ", the event is delivered without ordering.", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Private method used to find the valid {@link RoutingKey} method of an
+     * event class
+     *
+     * @param eventClass The event class
+     * @return The routing key method, or {@link #NO_ROUTING_KEY_METHOD}
+     */
+    private static Method findRoutingKeyMethod(Class<?> eventClass) {
+        for (Method method : eventClass.getMethods()) {
+            if (method.isAnnotationPresent(RoutingKey.class)) {
+                if (method.getParameterCount() == 0 && method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+                logger.warn("The @RoutingKey method {}.{} is ignored: it must be public, non-static, without parameters and return the key.", eventClass.getName(), method.getName());
+            }
+        }
+        return NO_ROUTING_KEY_METHOD;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatcher;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.concurrent.Executor;
+
+/**
+ * The mailboxes of the threads delivering the registrations with a
+ * {@link ThreadMode} other than {@link ThreadMode#ASYNC}. Workers hand the
+ * events of these registrations to the mailbox of their thread, which
+ * delivers them one at a time and in dispatch order.
+ */
+public class ThreadModeMailboxes {
+
+    /**
+     * The maximum number of events delivered in a frame of the main thread.
+     * The events exceeding it are delivered in the next frame, so a burst of
+     * events cannot freeze the main thread.
+     */
+    static final int MAX_DELIVERIES_PER_FRAME = 1024;
+
+    /**
+     * The mailbox of the background thread
+     */
+    private final ListenerMailbox backgroundMailbox;
+    /**
+     * The mailbox of the main thread, null if no
+     * {@link MainThreadDispatcher} is set
+     */
+    private final ListenerMailbox mainThreadMailbox;
+
+    /**
+     * The constructor used to build the {@link ThreadModeMailboxes}
+     *
+     * @param backgroundExecutor The single thread executor of the background
+     * thread
+     * @param mainThreadDispatcher The {@link MainThreadDispatcher} running
+     * the frames of the main thread, or null if it is not set
+     */
+    public ThreadModeMailboxes(Executor backgroundExecutor, MainThreadDispatcher mainThreadDispatcher) {
+        this.backgroundMailbox = createMailbox(backgroundExecutor, ListenerMailbox.MAX_DELIVERIES_PER_RUN);
+        // Each run of the mailbox is a single frame delivering all the waiting events
+        this.mainThreadMailbox = mainThreadDispatcher == null ? null : createMailbox(mainThreadDispatcher::dispatch, MAX_DELIVERIES_PER_FRAME);
+    }
+
+    /**
+     * Gets the mailbox of the thread delivering the registrations with the
+     * given {@link ThreadMode}
+     *
+     * @param threadMode The {@link ThreadMode} of a registration
+     * @return The mailbox of the thread, or null if the registrations are
+     * delivered by the workers or by the posting threads, or if they have the
+     * {@link ThreadMode#MAIN} thread mode and no {@link MainThreadDispatcher}
+     * is set, in which case they cannot be registered
+     */
+    public ListenerMailbox getMailbox(ThreadMode threadMode) {
+        switch (threadMode) {
+            case BACKGROUND:
+                return backgroundMailbox;
+            case MAIN:
+                return mainThreadMailbox;
+            case POSTING:
+            case ASYNC:
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Private method used to create a mailbox drained by one thread at a time
+     *
+     * @param executor The executor of the thread
+     * @param maxDeliveriesPerRun The maximum number of events delivered in
+     * each run of the mailbox
+     * @return The created mailbox
+     */
+    private static ListenerMailbox createMailbox(Executor executor, int maxDeliveriesPerRun) {
+        ListenerMailbox mailbox = new ListenerMailbox(executor, maxDeliveriesPerRun);
+        mailbox.restrictMaxConcurrency(1);
+        return mailbox;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The factory of the workers pool running each task on a new virtual thread.
+ * Virtual threads are available only from Java 21, while the bus is built for
+ * Java 8, so the JDK factory method is looked up at runtime instead of being
+ * linked at compile time.
+ */
+public final class VirtualThreadExecutors {
+
+    /**
+     * The handle of {@code Executors.newVirtualThreadPerTaskExecutor()}, null
+     * if the running JVM has no virtual threads
+     */
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorFactory();
+
+    /**
+     * Private constructor, this class has only static methods
+     */
+    private VirtualThreadExecutors() {
+    }
+
+    /**
+     * Checks if the running JVM can create virtual threads
+     *
+     * @return True if virtual thread workers can be used
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an {@link ExecutorService} running each submitted task on a new
+     * virtual thread
+     *
+     * @return The virtual thread per task {@link ExecutorService}
+     * @throws UnsupportedOperationException if the running JVM has no virtual
+     * threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running on Java " + System.getProperty("java.specification.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Cannot create the virtual thread per task executor", ex);
+        }
+    }
+
+    /**
+     * Private method used to look up the JDK virtual thread executor factory.
+     * On Java 19 and 20 virtual threads are a preview feature, so they are
+     * used only if the JVM can actually start one.
+     *
+     * @return The handle of the factory method, or null if virtual threads are
+     * not available
+     */
+    private static MethodHandle findVirtualThreadPerTaskExecutorFactory() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            ((ExecutorService) factory.invokeExact()).shutdown();
+            return factory;
+        } catch (Throwable ex) {
+            return null;
+        }
+    }
+}
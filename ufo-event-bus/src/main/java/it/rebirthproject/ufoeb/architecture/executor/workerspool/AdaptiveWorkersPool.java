@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.WorkersPoolDecision;
+import it.rebirthproject.ufoeb.architecture.executor.BlockingRejectedExecutionHandler;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A workers pool whose number of workers follows the load, between a minimum
+ * and a maximum. Every {@link #SAMPLING_PERIOD_NANOS} a sampler thread
+ * observes the tasks waiting in the queue, the fraction of time the workers
+ * were busy, their average service time and the system load average.
+ *
+ * <p>
+ * The pool grows by half its workers after {@link #GROW_SAMPLES} samples in a
+ * row with waiting tasks and busy workers, unless the processors are
+ * saturated, since more threads would not run more listeners then. It
+ * shrinks by one worker only after {@link #SHRINK_SAMPLES} samples in a row
+ * with an empty queue and mostly idle workers. Growing fast and shrinking
+ * slowly keeps the pool from oscillating across load peaks. Every resize is
+ * recorded as a {@link WorkersPoolDecision}, keeping the last
+ * {@link #MAX_DECISIONS} ones.
+ * </p>
+ *
+ * <p>
+ * The load average is read from the {@code java.management} module, looked
+ * up at runtime since the bus only optionally depends on it: minimal runtime
+ * images and Android do not have it. Where it is missing, or the platform
+ * does not provide a load average, like Windows, the pool follows only the
+ * waiting tasks and the utilization of its workers, so its growth is bounded
+ * only by the maximum number of workers.
+ * </p>
+ *
+ * @see WorkersPoolType#ADAPTIVE
+ */
+public class AdaptiveWorkersPool extends ThreadPoolExecutor {
+
+    /**
+     * The period between two samples of the load, in nanoseconds
+     */
+    static final long SAMPLING_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    /**
+     * The number of overloaded samples in a row needed to grow the pool
+     */
+    static final int GROW_SAMPLES = 2;
+    /**
+     * The number of idle samples in a row needed to shrink the pool
+     */
+    static final int SHRINK_SAMPLES = 20;
+    /**
+     * The utilization of the workers above which the pool is overloaded, if
+     * some tasks are waiting
+     */
+    static final double HIGH_UTILIZATION = 0.8;
+    /**
+     * The utilization of the workers below which the pool is idle, if no task
+     * is waiting
+     */
+    static final double LOW_UTILIZATION = 0.3;
+    /**
+     * The maximum number of decisions kept
+     */
+    static final int MAX_DECISIONS = 64;
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveWorkersPool.class);
+    /**
+     * The handle reading the system load average, null if the
+     * {@code java.management} module is not available
+     */
+    private static final MethodHandle SYSTEM_LOAD_AVERAGE = findSystemLoadAverage();
+
+    /**
+     * The minimum number of workers
+     */
+    private final int minWorkers;
+    /**
+     * The maximum number of workers
+     */
+    private final int maxWorkers;
+    /**
+     * The supplier of the system load average divided by the number of
+     * processors, negative if not available
+     */
+    private final DoubleSupplier cpuLoadSupplier;
+    /**
+     * The time spent by the workers on the tasks completed since the last
+     * sample, in nanoseconds
+     */
+    private final LongAdder busyNanos = new LongAdder();
+    /**
+     * The number of tasks completed since the last sample
+     */
+    private final LongAdder completedTasks = new LongAdder();
+    /**
+     * The start time of the task run by each worker
+     */
+    private final ThreadLocal<long[]> taskStartNanos = ThreadLocal.withInitial(() -> new long[1]);
+    /**
+     * The last decisions, oldest first
+     */
+    private final Deque<WorkersPoolDecision> decisions = new ArrayDeque<>();
+    /**
+     * The scheduler running the samples, null if the samples are taken
+     * manually
+     */
+    private final ScheduledExecutorService sampler;
+    /**
+     * The time of the last sample. Used only by the sampler thread.
+     */
+    private long lastSampleNanos = System.nanoTime();
+    /**
+     * The number of overloaded samples in a row. Used only by the sampler
+     * thread.
+     */
+    private int overloadedSamples = 0;
+    /**
+     * The number of idle samples in a row. Used only by the sampler thread.
+     */
+    private int idleSamples = 0;
+
+    /**
+     * The constructor used to build an {@link AdaptiveWorkersPool} starting
+     * with its minimum number of workers
+     *
+     * @param minWorkers The minimum number of workers
+     * @param maxWorkers The maximum number of workers
+     * @param workersQueueLength The length of the workers queue, or zero for
+     * an unbounded queue
+     */
+    public AdaptiveWorkersPool(int minWorkers, int maxWorkers, int workersQueueLength) {
+        this(minWorkers, maxWorkers, workersQueueLength, SAMPLING_PERIOD_NANOS, AdaptiveWorkersPool::getSystemCpuLoad);
+    }
+
+    /**
+     * The constructor used to build an {@link AdaptiveWorkersPool} with a
+     * custom sampling period and load supplier
+     *
+     * @param minWorkers The minimum number of workers
+     * @param maxWorkers The maximum number of workers
+     * @param workersQueueLength The length of the workers queue, or zero for
+     * an unbounded queue
+     * @param samplingPeriodNanos The period between two samples, or zero to
+     * take the samples only with {@link #sample()}
+     * @param cpuLoadSupplier The supplier of the system load average divided
+     * by the number of processors
+     */
+    AdaptiveWorkersPool(int minWorkers, int maxWorkers, int workersQueueLength, long samplingPeriodNanos, DoubleSupplier cpuLoadSupplier) {
+        super(minWorkers, minWorkers, 0L, TimeUnit.MILLISECONDS, createWorkersQueue(workersQueueLength), new BlockingRejectedExecutionHandler());
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.cpuLoadSupplier = cpuLoadSupplier;
+        if (samplingPeriodNanos > 0L) {
+            ScheduledThreadPoolExecutor samplerExecutor = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread samplerThread = new Thread(task, "ufoeb-adaptive-workers-sampler");
+                samplerThread.setDaemon(true);
+                return samplerThread;
+            });
+            samplerExecutor.scheduleAtFixedRate(this::sampleSafely, samplingPeriodNanos, samplingPeriodNanos, TimeUnit.NANOSECONDS);
+            this.sampler = samplerExecutor;
+        } else {
+            this.sampler = null;
+        }
+    }
+
+    @Override
+    protected void beforeExecute(Thread worker, Runnable task) {
+        taskStartNanos.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable error) {
+        busyNanos.add(System.nanoTime() - taskStartNanos.get()[0]);
+        completedTasks.increment();
+    }
+
+    @Override
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        super.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        return super.shutdownNow();
+    }
+
+    /**
+     * Private method used by the sampler thread to take a sample. An error
+     * would cancel the next samples, so it is logged and the pool keeps
+     * adapting from the next sample.
+     */
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (RuntimeException ex) {
+            logger.error("Error sampling the load of the adaptive workers pool", ex);
+        }
+    }
+
+    /**
+     * Takes a sample of the load and resizes the pool if it has been
+     * overloaded or idle for enough samples in a row. Run by the sampler
+     * thread.
+     */
+    void sample() {
+        long now = System.nanoTime();
+        long elapsedNanos = Math.max(1L, now - lastSampleNanos);
+        lastSampleNanos = now;
+        long sampleBusyNanos = busyNanos.sumThenReset();
+        long sampleCompletedTasks = completedTasks.sumThenReset();
+        int workers = getCorePoolSize();
+        int queueDepth = getQueue().size();
+        // Tasks running across samples are not completed yet, so the workers running right now are counted too
+        double utilization = Math.min(1.0, Math.max((double) sampleBusyNanos / ((double) elapsedNanos * workers), (double) getActiveCount() / workers));
+        long averageServiceTimeNanos = sampleCompletedTasks > 0L ? sampleBusyNanos / sampleCompletedTasks : 0L;
+        double cpuLoad = cpuLoadSupplier.getAsDouble();
+        boolean cpuSaturated = cpuLoad >= 1.0;
+
+        if (queueDepth > 0 && utilization >= HIGH_UTILIZATION && workers < maxWorkers && !cpuSaturated) {
+            overloadedSamples++;
+            idleSamples = 0;
+        } else if (queueDepth == 0 && utilization <= LOW_UTILIZATION && workers > minWorkers) {
+            idleSamples++;
+            overloadedSamples = 0;
+        } else {
+            overloadedSamples = 0;
+            idleSamples = 0;
+        }
+
+        if (overloadedSamples >= GROW_SAMPLES) {
+            overloadedSamples = 0;
+            resize(workers, Math.min(maxWorkers, workers + Math.max(1, workers / 2)), queueDepth, averageServiceTimeNanos, utilization, cpuLoad);
+        } else if (idleSamples >= SHRINK_SAMPLES) {
+            idleSamples = 0;
+            resize(workers, workers - 1, queueDepth, averageServiceTimeNanos, utilization, cpuLoad);
+        }
+    }
+
+    /**
+     * Gets the last resize decisions of the pool
+     *
+     * @return The last decisions, oldest first
+     */
+    public List<WorkersPoolDecision> getDecisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+
+    /**
+     * Private method used to change the number of workers and record the
+     * decision
+     *
+     * @param workers The current number of workers
+     * @param newWorkers The new number of workers
+     * @param queueDepth The number of waiting tasks
+     * @param averageServiceTimeNanos The average service time of the sample
+     * @param utilization The utilization of the workers in the sample
+     * @param cpuLoad The load of the processors
+     */
+    private void resize(int workers, int newWorkers, int queueDepth, long averageServiceTimeNanos, double utilization, double cpuLoad) {
+        if (newWorkers > workers) {
+            // The maximum is raised first, so it is never below the core size
+            setMaximumPoolSize(newWorkers);
+            setCorePoolSize(newWorkers);
+        } else {
+            setCorePoolSize(newWorkers);
+            setMaximumPoolSize(newWorkers);
+        }
+        WorkersPoolDecision decision = new WorkersPoolDecision(System.currentTimeMillis(), workers, newWorkers, queueDepth, averageServiceTimeNanos, utilization, cpuLoad);
+        synchronized (decisions) {
+            if (decisions.size() == MAX_DECISIONS) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+        logger.debug("Workers pool resized: {}", decision);
+    }
+
+    /**
+     * Private method used to create the queue of the tasks waiting for a free
+     * worker
+     *
+     * @param workersQueueLength The length of the queue, or zero for an
+     * unbounded queue
+     * @return The workers queue
+     */
+    private static BlockingQueue<Runnable> createWorkersQueue(int workersQueueLength) {
+        if (workersQueueLength > 0) {
+            return new ArrayBlockingQueue<>(workersQueueLength);
+        }
+        return new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Private method used to get the system load average divided by the
+     * number of processors
+     *
+     * @return The load of the processors, or a negative value if the load
+     * average is not available on this platform
+     */
+    private static double getSystemCpuLoad() {
+        if (SYSTEM_LOAD_AVERAGE == null) {
+            return -1.0;
+        }
+        double loadAverage;
+        try {
+            loadAverage = (double) SYSTEM_LOAD_AVERAGE.invokeExact();
+        } catch (Throwable ex) {
+            return -1.0;
+        }
+        return loadAverage < 0.0 ? loadAverage : loadAverage / Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Private method used to look up the system load average of the
+     * {@code OperatingSystemMXBean}. The {@code java.management} module is an
+     * optional dependency, so it is looked up at runtime instead of being
+     * linked at compile time.
+     *
+     * @return The handle reading the load average, or null if the module is
+     * not available
+     */
+    private static MethodHandle findSystemLoadAverage() {
+        try {
+            Class<?> managementFactoryClass = Class.forName("java.lang.management.ManagementFactory");
+            Class<?> operatingSystemClass = Class.forName("java.lang.management.OperatingSystemMXBean");
+            Object operatingSystem = MethodHandles.publicLookup().findStatic(managementFactoryClass, "getOperatingSystemMXBean", MethodType.methodType(operatingSystemClass)).invoke();
+            MethodHandle loadAverage = MethodHandles.publicLookup().findVirtual(operatingSystemClass, "getSystemLoadAverage", MethodType.methodType(double.class)).bindTo(operatingSystem);
+            double ignored = (double) loadAverage.invokeExact();
+            return loadAverage;
+        } catch (Throwable ex) {
+            logger.debug("The system load average is not available, the adaptive workers pool will follow only its queue", ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.executor.BlockingRejectedExecutionHandler;
+import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
+import it.rebirthproject.ufoeb.architecture.executor.VirtualThreadExecutors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The factory used to create the workers pool running the
+ * {@link EventExecutor}s. There are several {@link WorkersPoolType} to
+ * choose.
+ *
+ * @see WorkersPoolType
+ * @see PerWorkerQueuesExecutor
+ * @see PumpExecutor
+ * @see InlineExecutor
+ * @see AdaptiveWorkersPool
+ * @see VirtualThreadExecutors
+ */
+public class FactoryWorkersPool {
+
+    /**
+     * The factory method used to create the workers pool
+     *
+     * @param workersPoolType The chosen {@link WorkersPoolType} to create
+     * @param numberOfWorkers The number of worker threads, ignored by
+     * {@link WorkersPoolType#VIRTUAL_THREADS}, {@link WorkersPoolType#PUMP}
+     * and {@link WorkersPoolType#INLINE}
+     * @param workersQueueLength The length of the workers queue of a
+     * {@link WorkersPoolType#FIXED_THREAD_POOL}, or zero for an unbounded
+     * queue
+     * @return The created workers pool corresponding to the specified
+     * {@link WorkersPoolType}
+     */
+    public static ExecutorService createWorkersPool(WorkersPoolType workersPoolType, int numberOfWorkers, int workersQueueLength) {
+        return createWorkersPool(workersPoolType, numberOfWorkers, numberOfWorkers, workersQueueLength);
+    }
+
+    /**
+     * The factory method used to create the workers pool, with the minimum
+     * number of workers of an {@link WorkersPoolType#ADAPTIVE} pool
+     *
+     * @param workersPoolType The chosen {@link WorkersPoolType} to create
+     * @param minNumberOfWorkers The minimum number of worker threads of an
+     * {@link WorkersPoolType#ADAPTIVE} pool, ignored by the other pools
+     * @param numberOfWorkers The number of worker threads, or the maximum
+     * number of an {@link WorkersPoolType#ADAPTIVE} pool, ignored by
+     * {@link WorkersPoolType#VIRTUAL_THREADS}, {@link WorkersPoolType#PUMP}
+     * and {@link WorkersPoolType#INLINE}
+     * @param workersQueueLength The length of the workers queue of a
+     * {@link WorkersPoolType#FIXED_THREAD_POOL} or
+     * {@link WorkersPoolType#ADAPTIVE} pool, or zero for an unbounded queue
+     * @return The created workers pool corresponding to the specified
+     * {@link WorkersPoolType}
+     */
+    public static ExecutorService createWorkersPool(WorkersPoolType workersPoolType, int minNumberOfWorkers, int numberOfWorkers, int workersQueueLength) {
+        switch (workersPoolType) {
+            case ADAPTIVE:
+                // Starts small and follows the load up to numberOfWorkers
+                return new AdaptiveWorkersPool(minNumberOfWorkers, numberOfWorkers, workersQueueLength);
+            case WORK_STEALING_POOL:
+                // Async mode: each worker runs its local tasks in FIFO order and steals from the others when idle
+                return new ForkJoinPool(numberOfWorkers, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            case PER_WORKER_QUEUES:
+                return new PerWorkerQueuesExecutor(numberOfWorkers);
+            case INLINE:
+                // No threads: the state manager invokes the registrations by itself
+                return new InlineExecutor();
+            case PUMP:
+                // No threads: the deliveries run when the owner of the bus pumps them
+                return new PumpExecutor();
+            case VIRTUAL_THREADS:
+                // Blocking listeners park their virtual thread, so in flight deliveries are not bounded by the workers
+                return VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+            case FIXED_THREAD_POOL:
+            default:
+                if (workersQueueLength > 0) {
+                    // A full workers queue makes the posting threads wait and the state manager run the task, so slow listeners push back up to the posting threads
+                    return new ThreadPoolExecutor(numberOfWorkers, numberOfWorkers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workersQueueLength), new BlockingRejectedExecutionHandler());
+                }
+                return Executors.newFixedThreadPool(numberOfWorkers);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
+import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A workers pool without threads running each submitted task on the
+ * submitting thread, which is the {@link BusMemoryStateManager} thread. The
+ * {@link EventDispatcher} recognizes it and invokes the registrations
+ * directly, without creating a task for each event, so only the other tasks,
+ * like the delivery of sticky events, are run through it.
+ *
+ * @see WorkersPoolType#INLINE
+ */
+public class InlineExecutor extends AbstractExecutorService {
+
+    /**
+     * True once the pool is shut down and does not accept tasks anymore
+     */
+    private volatile boolean shutdown = false;
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+        task.run();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        // The tasks run on the submitting threads, which are already stopped when the bus shuts down the pool
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A workers pool where each worker has its own lock free queue instead of
+ * sharing a single locked queue. Submitted tasks are spread over the worker
+ * queues in round robin. A worker drains all the tasks of its queue on each
+ * wake up, and parks only when all the queues are empty and no task came
+ * after yielding for a while, so at high event rates workers are rarely
+ * parked and unparked. Producers unpark the owner of the queue if it is
+ * parked, or another parked worker if the owner is busy, so a task queued
+ * behind a busy worker is always stolen.
+ *
+ * @see WorkersPoolType#PER_WORKER_QUEUES
+ */
+public class PerWorkerQueuesExecutor extends AbstractExecutorService {
+
+    /**
+     * The number of times an idle worker yields and looks for tasks again
+     * before parking
+     */
+    private static final int IDLE_YIELDS_BEFORE_PARKING = 64;
+
+    /**
+     * The workers of the pool
+     */
+    private final Worker[] workers;
+    /**
+     * The counter used to choose the worker queue of the next task
+     */
+    private final AtomicInteger nextWorker = new AtomicInteger(0);
+    /**
+     * The latch counted down by each worker when it terminates
+     */
+    private final CountDownLatch terminationLatch;
+    /**
+     * True once the pool is shut down and does not accept tasks anymore
+     */
+    private volatile boolean shutdown = false;
+
+    /**
+     * The constructor used to build a {@link PerWorkerQueuesExecutor} and
+     * start its workers
+     *
+     * @param numberOfWorkers The number of workers, each one with its own
+     * queue
+     */
+    public PerWorkerQueuesExecutor(int numberOfWorkers) {
+        this.workers = new Worker[numberOfWorkers];
+        this.terminationLatch = new CountDownLatch(numberOfWorkers);
+        ThreadFactory threadFactory = Executors.defaultThreadFactory();
+        for (int i = 0; i < numberOfWorkers; i++) {
+            workers[i] = new Worker(i);
+            workers[i].thread = threadFactory.newThread(workers[i]);
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+        Worker worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        worker.queue.offer(task);
+        // The pool may have been shut down while offering, and its worker may be already gone
+        if (shutdown && worker.queue.remove(task)) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+        if (worker.parked) {
+            LockSupport.unpark(worker.thread);
+        } else {
+            // The owner may be blocked by a task waiting for this one, so a parked worker has to steal it
+            unparkParkedWorker();
+        }
+    }
+
+    /**
+     * Private method used to unpark one of the parked workers, if any
+     */
+    private void unparkParkedWorker() {
+        for (Worker worker : workers) {
+            if (worker.parked) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        for (Worker worker : workers) {
+            Runnable task;
+            while ((task = worker.queue.poll()) != null) {
+                pendingTasks.add(task);
+            }
+            worker.thread.interrupt();
+        }
+        return pendingTasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminationLatch.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminationLatch.await(timeout, unit);
+    }
+
+    /**
+     * A worker of the pool, running the tasks of its own queue and stealing
+     * the tasks of the other queues when its queue is empty
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The queue of the tasks assigned to this worker
+         */
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        /**
+         * The index of this worker, used to start stealing from the next one
+         */
+        private final int index;
+        /**
+         * The thread running this worker
+         */
+        private Thread thread;
+        /**
+         * True while this worker is parked or about to park, so producers
+         * know they have to wake it up
+         */
+        private volatile boolean parked = false;
+
+        /**
+         * The constructor used to build a {@link Worker}
+         *
+         * @param index The index of this worker in the pool
+         */
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            try {
+                int idleYields = 0;
+                while (true) {
+                    // Read before polling, so the tasks accepted before the shutdown are always seen
+                    boolean stopping = shutdown;
+                    Runnable task = queue.poll();
+                    if (task == null) {
+                        task = steal();
+                    }
+                    if (task != null) {
+                        runTask(task);
+                        idleYields = 0;
+                        continue;
+                    }
+                    if (stopping) {
+                        return;
+                    }
+                    if (idleYields < IDLE_YIELDS_BEFORE_PARKING) {
+                        // New tasks usually come soon at high event rates, so parking and unparking is avoided
+                        idleYields++;
+                        Thread.yield();
+                        continue;
+                    }
+                    parked = true;
+                    // A producer which did not see the flag offered its task, to any queue, before this check
+                    if (allQueuesEmpty() && !shutdown) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    idleYields = 0;
+                }
+            } finally {
+                terminationLatch.countDown();
+            }
+        }
+
+        /**
+         * Private method used to take a task from the queue of another worker
+         *
+         * @return The stolen task, or null if all the other queues are empty
+         */
+        private Runnable steal() {
+            for (int i = 1; i < workers.length; i++) {
+                Runnable task = workers[(index + i) % workers.length].queue.poll();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Private method used to check if the queues of all the workers are
+         * empty
+         *
+         * @return True if no task is queued to any worker
+         */
+        private boolean allQueuesEmpty() {
+            for (Worker worker : workers) {
+                if (!worker.queue.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Private method used to run a task. Like the threads of the other
+         * pools, a worker survives the exceptions thrown by the tasks, even if
+         * {@link EventExecutor}s already catch the listeners exceptions.
+         *
+         * @param task The task to run
+         */
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                handler.uncaughtException(thread, ex);
+            }
+        }
+    }
+}
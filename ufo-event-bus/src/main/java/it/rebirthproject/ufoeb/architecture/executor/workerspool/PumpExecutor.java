@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A workers pool without threads. The submitted tasks, usually
+ * {@link EventExecutor}s, wait in a lock free queue until the owner of the bus pumps them with
+ * {@link #drain(int, long)}, running them on its own thread, for example at
+ * a known point of each frame of a game loop.
+ *
+ * <p>
+ * Nobody else runs the queued tasks, so the pool is terminated only when it
+ * is shut down and its queue has been drained.
+ * </p>
+ *
+ * @see WorkersPoolType#PUMP
+ */
+public class PumpExecutor extends AbstractExecutorService {
+
+    /**
+     * The logger used by this class
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PumpExecutor.class);
+
+    /**
+     * The tasks waiting to be pumped
+     */
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    /**
+     * True once the pool is shut down and does not accept tasks anymore
+     */
+    private volatile boolean shutdown = false;
+
+    /**
+     * Runs the waiting tasks on the calling thread, in submission order,
+     * until {@code maxTasks} tasks have run, the time budget is used up or no
+     * task is left. The time budget is checked after each task, so a slow
+     * task can exceed it, but no other task starts after it is used up. The
+     * bus submits a task for each event delivered to the listeners resolved
+     * for it, and for each delivery of a listener mailbox.
+     *
+     * @param maxTasks The maximum number of tasks to run
+     * @param timeBudgetNanos The time budget in nanoseconds
+     * @return The number of tasks run
+     */
+    public int drain(int maxTasks, long timeBudgetNanos) {
+        long start = System.nanoTime();
+        int tasksRun = 0;
+        Runnable task;
+        while (tasksRun < maxTasks && (task = pendingTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                // A failed task must not break the loop of the pumping thread
+                logger.error("Error running a pumped task", ex);
+            }
+            tasksRun++;
+            if (System.nanoTime() - start >= timeBudgetNanos) {
+                break;
+            }
+        }
+        return tasksRun;
+    }
+
+    /**
+     * Gets the number of tasks waiting to be pumped
+     *
+     * @return The number of waiting tasks
+     */
+    public int getPendingTasks() {
+        return pendingTasks.size();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+        pendingTasks.offer(task);
+        // The pool may have been shut down and drained for the last time while offering
+        if (shutdown && pendingTasks.remove(task)) {
+            throw new RejectedExecutionException("The workers pool is shut down");
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> tasks = new ArrayList<>();
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && pendingTasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        // Only the pumping thread runs the tasks, so waiting would not drain the queue
+        return isTerminated();
+    }
+}
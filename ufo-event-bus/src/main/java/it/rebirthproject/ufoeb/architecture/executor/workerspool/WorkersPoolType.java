@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+/**
+ * An enum with all the possible engines of the workers pool
+ *
+ * @see FactoryWorkersPool
+ */
+public enum WorkersPoolType {
+    FIXED_THREAD_POOL,
+    WORK_STEALING_POOL,
+    PER_WORKER_QUEUES,
+    VIRTUAL_THREADS,
+    PUMP,
+    /**
+     * No workers: the {@link InlineExecutor} runs the deliveries on the bus
+     * state manager thread. Listeners must not wait for the bus on that
+     * thread, so queries and tracked posts sent by a listener are handled at
+     * once, while messages sent when the bus queue is full are refused
+     * instead of waiting.
+     */
+    INLINE,
+    ADAPTIVE;
+}
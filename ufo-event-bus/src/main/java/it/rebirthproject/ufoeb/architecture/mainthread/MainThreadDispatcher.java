@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.mainthread;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+
+/**
+ * The service used by the bus to run a frame of events on the main thread of
+ * an application, like the event loop of a UI toolkit or the tick of a game
+ * loop. The events for the listener methods with the {@link ThreadMode#MAIN}
+ * thread mode are coalesced by the bus, so it asks for a new frame only when
+ * the previous one has already run, instead of once for each event.
+ *
+ * <p>
+ * Ready adapters are available in {@link MainThreadDispatchers}, while
+ * {@link TickMainThreadDispatcher} runs the frames when its owner asks for
+ * them, for game loops and headless tests.
+ * </p>
+ *
+ * @see EventBusBuilder#setMainThreadDispatcher(MainThreadDispatcher)
+ */
+@FunctionalInterface
+public interface MainThreadDispatcher {
+
+    /**
+     * Schedules a frame to be run by the main thread. The frame delivers the
+     * events waiting for the main thread listeners.
+     *
+     * @param frame The frame to run on the main thread
+     */
+    void dispatch(Runnable frame);
+}
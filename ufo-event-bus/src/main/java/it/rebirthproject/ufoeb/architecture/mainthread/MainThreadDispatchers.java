@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.mainthread;
+
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+
+/**
+ * The factory of the ready {@link MainThreadDispatcher} adapters. UI toolkits
+ * not listed here can be used with a method reference to their own main
+ * thread queue, like {@code Gdx.app::postRunnable} in libGDX or
+ * {@code new Handler(Looper.getMainLooper())::post} in Android.
+ */
+public final class MainThreadDispatchers {
+
+    /**
+     * The name of the JavaFX class running code on the application thread
+     */
+    private static final String JAVAFX_PLATFORM_CLASS = "javafx.application.Platform";
+
+    /**
+     * Private constructor, this class has only static methods
+     */
+    private MainThreadDispatchers() {
+    }
+
+    /**
+     * Creates a {@link MainThreadDispatcher} running the frames with the
+     * given executor, for example {@code SwingUtilities::invokeLater}
+     *
+     * @param executor The executor of the main thread
+     * @return The {@link MainThreadDispatcher} using the executor
+     * @throws EventBusException if {@code executor} is null
+     */
+    public static MainThreadDispatcher fromExecutor(Executor executor) {
+        if (executor == null) {
+            throw new EventBusException("Invalid main thread executor: the executor cannot be null.");
+        }
+        return executor::execute;
+    }
+
+    /**
+     * Creates a {@link MainThreadDispatcher} running the frames on the JavaFX
+     * application thread with {@code Platform.runLater}. The bus does not
+     * depend on JavaFX, so the method is looked up at runtime.
+     *
+     * @return The {@link MainThreadDispatcher} of the JavaFX application
+     * thread
+     * @throws EventBusException if JavaFX is not available
+     */
+    public static MainThreadDispatcher javaFx() {
+        MethodHandle runLater;
+        try {
+            Class<?> platformClass = Class.forName(JAVAFX_PLATFORM_CLASS, false, MainThreadDispatchers.class.getClassLoader());
+            runLater = MethodHandles.publicLookup().findStatic(platformClass, "runLater", MethodType.methodType(void.class, Runnable.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException ex) {
+            throw new EventBusException("JavaFX is not available, cannot find " + JAVAFX_PLATFORM_CLASS + ".runLater", ex);
+        }
+        return frame -> {
+            try {
+                runLater.invokeExact(frame);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException("Cannot run the frame on the JavaFX application thread", ex);
+            }
+        };
+    }
+}
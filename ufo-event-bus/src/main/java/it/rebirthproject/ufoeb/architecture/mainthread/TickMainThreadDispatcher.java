@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.mainthread;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link MainThreadDispatcher} whose frames are run only when its owner
+ * calls {@link #runFrames()}, for example once for each tick of a game loop.
+ * It is also a headless stand-in for a UI toolkit in tests, where the test
+ * thread plays the main thread.
+ */
+public class TickMainThreadDispatcher implements MainThreadDispatcher {
+
+    /**
+     * The frames waiting for the next tick
+     */
+    private final Queue<Runnable> pendingFrames = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void dispatch(Runnable frame) {
+        pendingFrames.offer(frame);
+    }
+
+    /**
+     * Runs the frames scheduled before this call, using the calling thread as
+     * the main thread. The frames scheduled while they run wait for the next
+     * call.
+     *
+     * @return The number of frames run
+     */
+    public int runFrames() {
+        int framesToRun = pendingFrames.size();
+        int framesRun = 0;
+        Runnable frame;
+        while (framesRun < framesToRun && (frame = pendingFrames.poll()) != null) {
+            frame.run();
+            framesRun++;
+        }
+        return framesRun;
+    }
+
+    /**
+     * Checks if some frames are waiting for the next tick
+     *
+     * @return True if {@link #runFrames()} would run at least one frame
+     */
+    public boolean hasPendingFrames() {
+        return !pendingFrames.isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.messages.commands;
+
+import it.rebirthproject.ufoeb.architecture.conflation.EventConflator;
+import it.rebirthproject.ufoeb.architecture.executor.ConflatedEventExecutor;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
+import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An internal message sent to the {@link BusMemoryStateManager} when an event
+ * of a conflating class is posted and no other event with the same class and
+ * key is pending. The message stays pending while it waits in the queue and
+ * then, as a {@link ConflatedEventExecutor}, until a worker runs it: meanwhile
+ * newer events with the same class and key replace the wrapped event, so only
+ * the newest one is delivered.
+ *
+ * @see EventConflator
+ * @see ConflatedEventExecutor
+ * @see BusMemoryStateManager
+ */
+public class ConflatedPostEventMessage extends AbstractCommandMessage {
+
+    /**
+     * The pending messages of the event class, by conflation key
+     */
+    private final ConcurrentMap<Object, ConflatedPostEventMessage> pendingMessages;
+    /**
+     * The conflation key of the wrapped event
+     */
+    private final Object conflationKey;
+    /**
+     * The newest event to post
+     */
+    private volatile Object eventToPost;
+
+    /**
+     * The constructor to build a {@link ConflatedPostEventMessage}
+     *
+     * @param pendingMessages The pending messages of the event class, by
+     * conflation key
+     * @param conflationKey The conflation key of the event
+     * @param eventToPost The event to post
+     */
+    public ConflatedPostEventMessage(ConcurrentMap<Object, ConflatedPostEventMessage> pendingMessages, Object conflationKey, Object eventToPost) {
+        this.pendingMessages = pendingMessages;
+        this.conflationKey = conflationKey;
+        this.eventToPost = eventToPost;
+    }
+
+    /**
+     * Getter for the message type
+     *
+     * @return The message type
+     */
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.POST_CONFLATED_EVENT_MESSAGE;
+    }
+
+    /**
+     * Replaces the wrapped event with a newer one. It must be called only while
+     * the message is still pending.
+     *
+     * @param newerEventToPost The newer event to post
+     */
+    public void replaceEventToPost(Object newerEventToPost) {
+        this.eventToPost = newerEventToPost;
+    }
+
+    /**
+     * Getter for the wrapped event, which can still be replaced
+     *
+     * @return The newest event to post
+     */
+    public Object getEventToPost() {
+        return eventToPost;
+    }
+
+    /**
+     * Removes the message from the pending ones and gets the newest wrapped
+     * event. Events posted after this call are wrapped in a new message.
+     *
+     * @return The newest event to post
+     */
+    public Object takeEventToPost() {
+        pendingMessages.remove(conflationKey, this);
+        return eventToPost;
+    }
+}
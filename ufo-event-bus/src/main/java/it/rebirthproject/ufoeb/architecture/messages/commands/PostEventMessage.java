@@ -17,8 +17,10 @@
 package it.rebirthproject.ufoeb.architecture.messages.commands;
 
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.executor.DeliveryTracker;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
+import it.rebirthproject.ufoeb.architecture.pool.ObjectPool;
 import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
 
@@ -29,6 +31,19 @@ import it.rebirthproject.ufoeb.architecture.state.MemoryState;
  * {@link BusMemoryStateManager} will consume each {@link PostEventMessage} and send it
  * to the workers queue to process the event.
  *
+ * <p>
+ * A {@link PostEventMessage} can be taken from an {@link ObjectPool}: in that
+ * case it is filled with {@link #setEventToPost(Object)} and given back to the
+ * pool with {@link #recycle()} once the event is dispatched, so posting does
+ * not allocate a new message each time.
+ * </p>
+ *
+ * <p>
+ * A {@link PostEventMessage} can also carry the {@link DeliveryTracker} of an
+ * event posted with {@link EventBus#postAndAwait(Object)}. Such a message is
+ * never pooled.
+ * </p>
+ *
  * @see EventBus
  * @see BusMemoryStateManager
  * @see MemoryState
@@ -38,7 +53,16 @@ public class PostEventMessage extends AbstractCommandMessage {
     /**
      * The event to post
      */
-    private final Object eventToPost;
+    private Object eventToPost;
+    /**
+     * The tracker of the deliveries of the event, null if the event is not
+     * tracked
+     */
+    private DeliveryTracker deliveryTracker;
+    /**
+     * The pool this message belongs to, null if the message is not pooled
+     */
+    private final ObjectPool<PostEventMessage> messagePool;
 
     /**
      * The constructor to build a {@link PostEventMessage}
@@ -47,7 +71,56 @@ public class PostEventMessage extends AbstractCommandMessage {
      * to listeners.
      */
     public PostEventMessage(Object eventToPost) {
+        this(eventToPost, null);
+    }
+
+    /**
+     * The constructor to build a {@link PostEventMessage} whose deliveries are
+     * reported to a {@link DeliveryTracker}
+     *
+     * @param eventToPost The event to post, which will be eventually notified
+     * to listeners.
+     * @param deliveryTracker The tracker of the deliveries of the event, or
+     * null if the event is not tracked
+     */
+    public PostEventMessage(Object eventToPost, DeliveryTracker deliveryTracker) {
         this.eventToPost = eventToPost;
+        this.deliveryTracker = deliveryTracker;
+        this.messagePool = null;
+    }
+
+    /**
+     * The constructor to build an empty {@link PostEventMessage} belonging to
+     * an {@link ObjectPool}
+     *
+     * @param messagePool The pool the message is given back to when recycled
+     */
+    public PostEventMessage(ObjectPool<PostEventMessage> messagePool) {
+        this.messagePool = messagePool;
+    }
+
+    /**
+     * Sets the event wrapped by a pooled message
+     *
+     * @param eventToPost The event to post, which will be eventually notified
+     * to listeners.
+     * @return This message
+     */
+    public PostEventMessage setEventToPost(Object eventToPost) {
+        this.eventToPost = eventToPost;
+        return this;
+    }
+
+    /**
+     * Gives the message back to its {@link ObjectPool}. The message must not
+     * be used anymore after this call. It does nothing if the message is not
+     * pooled.
+     */
+    public void recycle() {
+        if (messagePool != null) {
+            eventToPost = null;
+            messagePool.release(this);
+        }
     }
 
     /**
@@ -68,4 +141,18 @@ public class PostEventMessage extends AbstractCommandMessage {
     public Object getEventToPost() {
         return eventToPost;
     }
+
+    /**
+     * Takes the {@link DeliveryTracker} of the event, leaving the message
+     * without it, so the tracker is handled only once by whoever consumes or
+     * drops the message
+     *
+     * @return The tracker of the deliveries of the event, or null if the event
+     * is not tracked or the tracker was already taken
+     */
+    public DeliveryTracker takeDeliveryTracker() {
+        DeliveryTracker takenDeliveryTracker = deliveryTracker;
+        deliveryTracker = null;
+        return takenDeliveryTracker;
+    }
 }
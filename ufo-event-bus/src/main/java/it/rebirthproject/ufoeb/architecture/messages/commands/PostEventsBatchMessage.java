@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.messages.commands;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
+import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
+import it.rebirthproject.ufoeb.architecture.state.MemoryState;
+
+/**
+ * An internal message sent from the event bus infrastructure to the {@link EventBus}'
+ * {@link MemoryState} when a batch of events is posted to the bus with a
+ * single call. The {@link PostEventsBatchMessage} wraps the posted events in
+ * posting order. The {@link BusMemoryStateManager} will consume it, resolve
+ * all the events in one pass and send them to the workers in coalesced
+ * chunks, keeping the events of each listener in the same chunk.
+ *
+ * @see EventBus#postAll(java.util.Collection)
+ * @see BusMemoryStateManager
+ * @see MemoryState
+ */
+public class PostEventsBatchMessage extends AbstractCommandMessage {
+
+    /**
+     * The events to post, in posting order
+     */
+    private final Object[] eventsToPost;
+
+    /**
+     * The constructor to build a {@link PostEventsBatchMessage}
+     *
+     * @param eventsToPost The events to post, in posting order, which will be
+     * eventually notified to listeners.
+     */
+    public PostEventsBatchMessage(Object[] eventsToPost) {
+        this.eventsToPost = eventsToPost;
+    }
+
+    /**
+     * Getter for the message type
+     *
+     * @return The message type
+     */
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.POST_EVENTS_BATCH_MESSAGE;
+    }
+
+    /**
+     * Getter for the wrapped events to post
+     *
+     * @return The events to post wrapped in the PostEventsBatchMessage
+     */
+    public Object[] getEventsToPost() {
+        return eventsToPost;
+    }
+}
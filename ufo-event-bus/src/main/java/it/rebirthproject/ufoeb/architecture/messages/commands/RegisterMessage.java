@@ -17,7 +17,9 @@
 package it.rebirthproject.ufoeb.architecture.messages.commands;
 
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
-import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
+import it.rebirthproject.ufoeb.architecture.executor.ThreadModeMailboxes;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractAwaitableCommandMessage;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
 
@@ -31,12 +33,24 @@ import it.rebirthproject.ufoeb.architecture.state.MemoryState;
  * @see EventBus
  * @see MemoryState
  */
-public class RegisterMessage extends AbstractCommandMessage {
+public class RegisterMessage extends AbstractAwaitableCommandMessage {
 
     /**
      * The listener to register
      */
     private final Object listenerToRegister;
+    /**
+     * The mailbox of the listener to register, null if listener mailboxes are
+     * not enabled. It is created once for the message, so every state manager
+     * shard attaches the same mailbox to the listener registrations.
+     */
+    private final ListenerMailbox listenerMailbox;
+    /**
+     * The mailboxes of the threads delivering the registrations with a
+     * dedicated thread mode, null if every registration is delivered by the
+     * workers
+     */
+    private final ThreadModeMailboxes threadModeMailboxes;
 
     /**
      * The constructor to build a {@link RegisterMessage}
@@ -44,7 +58,35 @@ public class RegisterMessage extends AbstractCommandMessage {
      * @param listenerToRegister The listener to register
      */
     public RegisterMessage(Object listenerToRegister) {
+        this(listenerToRegister, null);
+    }
+
+    /**
+     * The constructor to build a {@link RegisterMessage} for a listener with a
+     * mailbox
+     *
+     * @param listenerToRegister The listener to register
+     * @param listenerMailbox The mailbox of the listener to register
+     */
+    public RegisterMessage(Object listenerToRegister, ListenerMailbox listenerMailbox) {
+        this(listenerToRegister, listenerMailbox, null);
+    }
+
+    /**
+     * The constructor to build a {@link RegisterMessage} for a listener with a
+     * mailbox and the mailboxes of the threads delivering the registrations
+     * with a dedicated thread mode
+     *
+     * @param listenerToRegister The listener to register
+     * @param listenerMailbox The mailbox of the listener to register, or null
+     * if listener mailboxes are not enabled
+     * @param threadModeMailboxes The mailboxes of the threads delivering the
+     * registrations with a dedicated thread mode
+     */
+    public RegisterMessage(Object listenerToRegister, ListenerMailbox listenerMailbox, ThreadModeMailboxes threadModeMailboxes) {
         this.listenerToRegister = listenerToRegister;
+        this.listenerMailbox = listenerMailbox;
+        this.threadModeMailboxes = threadModeMailboxes;
     }
 
     /**
@@ -65,4 +107,25 @@ public class RegisterMessage extends AbstractCommandMessage {
     public Object getListenerToRegister() {
         return listenerToRegister;
     }
+
+    /**
+     * Getter for the mailbox of the listener to register
+     *
+     * @return The mailbox of the listener, or null if listener mailboxes are
+     * not enabled
+     */
+    public ListenerMailbox getListenerMailbox() {
+        return listenerMailbox;
+    }
+
+    /**
+     * Getter for the mailboxes of the threads delivering the registrations
+     * with a dedicated thread mode
+     *
+     * @return The mailboxes of the threads, or null if every registration is
+     * delivered by the workers
+     */
+    public ThreadModeMailboxes getThreadModeMailboxes() {
+        return threadModeMailboxes;
+    }
 }
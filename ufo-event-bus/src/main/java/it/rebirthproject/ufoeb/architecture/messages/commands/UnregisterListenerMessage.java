@@ -17,7 +17,7 @@
 package it.rebirthproject.ufoeb.architecture.messages.commands;
 
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
-import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractAwaitableCommandMessage;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
 import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
@@ -33,7 +33,7 @@ import it.rebirthproject.ufoeb.architecture.state.MemoryState;
  * @see BusMemoryStateManager
  * @see MemoryState
  */
-public class UnregisterListenerMessage extends AbstractCommandMessage {
+public class UnregisterListenerMessage extends AbstractAwaitableCommandMessage {
 
     /**
      * The listener to unregister
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.messages.commands;
+
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.AbstractCommandMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.MessageType;
+import it.rebirthproject.ufoeb.architecture.state.BusMemoryStateManager;
+
+/**
+ * An internal message put in the posts queue of the
+ * {@link BusMemoryStateManager} after a message is sent to its control queue.
+ * It carries nothing: it just wakes up the {@link BusMemoryStateManager} if it
+ * is waiting for posts, so the control message is handled at once.
+ *
+ * @see BusMemoryStateManager
+ */
+public class WakeUpStateManagerMessage extends AbstractCommandMessage {
+
+    /**
+     * The constructor to build a {@link WakeUpStateManagerMessage}
+     */
+    public WakeUpStateManagerMessage() {
+    }
+
+    /**
+     * Getter for the message type
+     *
+     * @return The message type
+     */
+    @Override
+    public MessageType getMessageType() {
+        return MessageType.WAKE_UP_STATE_MANAGER;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.messages.interfaces;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The abstract class defining a command message whose sender can wait until
+ * the bus infrastructure has applied it. The command has no response value:
+ * the future is just completed when the command is applied by every state
+ * manager it is sent to, or completed exceptionally as soon as one of them
+ * fails to apply it.
+ */
+public abstract class AbstractAwaitableCommandMessage extends AbstractCommandMessage {
+
+    /**
+     * A completable future completed when the command has been applied
+     */
+    private final CompletableFuture<Void> appliedFuture = new CompletableFuture<>();
+    /**
+     * The number of state managers which still have to apply the command
+     */
+    private final AtomicInteger pendingAppliers = new AtomicInteger(1);
+
+    /**
+     * Getter for the future completed when the command has been applied
+     *
+     * @return The future completed when the command has been applied
+     */
+    public Future<Void> getAppliedFuture() {
+        return appliedFuture;
+    }
+
+    /**
+     * Sets the number of state managers which must apply the command before
+     * the future is completed. It must be called before sending the command.
+     *
+     * @param appliers The number of state managers the command is sent to
+     */
+    public void setAppliers(int appliers) {
+        pendingAppliers.set(appliers);
+    }
+
+    /**
+     * A method useful to notify that the command has been applied by a state
+     * manager
+     */
+    public void markApplied() {
+        if (pendingAppliers.decrementAndGet() == 0) {
+            appliedFuture.complete(null);
+        }
+    }
+
+    /**
+     * A method useful to notify that an error occurred applying the command
+     *
+     * @param throwable The error thrown while applying the command
+     */
+    public void markFailed(Throwable throwable) {
+        appliedFuture.completeExceptionally(throwable);
+    }
+}
@@ -23,7 +23,10 @@ public enum MessageType {
     UNREGISTER_LISTENER_MESSAGE,
     SHUTDOWN_EXECUTOR,
     SHUTDOWN_STATE_MANAGER,
+    WAKE_UP_STATE_MANAGER,
     POST_EVENT_MESSAGE,
+    POST_EVENTS_BATCH_MESSAGE,
+    POST_CONFLATED_EVENT_MESSAGE,
     POST_STICKY_EVENT_MESSAGE,
     EXECUTE_MESSAGE,
     PRINT_STATE,
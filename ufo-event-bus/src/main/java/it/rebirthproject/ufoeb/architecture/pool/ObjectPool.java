@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.pool;
+
+import it.rebirthproject.ufoeb.architecture.queue.RingBufferBlockingQueue;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import java.util.function.Function;
+
+/**
+ * A bounded thread safe pool of reusable objects. All the objects are created
+ * when the pool is built and kept in a preallocated
+ * {@link RingBufferBlockingQueue}, so acquiring and releasing an object
+ * allocates nothing.
+ *
+ * <p>
+ * The pool never blocks: if it is empty a new object is created, and if it is
+ * full a released object is just left to the garbage collector. So a pool too
+ * small for the bus pressure only loses its benefit, it never slows down the
+ * bus.
+ * </p>
+ *
+ * @param <T> The type of the pooled objects
+ */
+public class ObjectPool<T> {
+
+    /**
+     * The free objects ready to be acquired
+     */
+    private final RingBufferBlockingQueue<T> freeObjects;
+    /**
+     * The function used to create the pooled objects. It gets the pool, so
+     * each object knows where to be given back.
+     */
+    private final Function<ObjectPool<T>, T> objectFactory;
+
+    /**
+     * The constructor used to build an {@link ObjectPool} filled with new
+     * objects
+     *
+     * @param capacity The minimum number of objects kept by the pool. It will
+     * be rounded up to the next power of two
+     * @param objectFactory The function used to create the pooled objects. It
+     * gets the pool, so each object knows where to be given back
+     */
+    public ObjectPool(int capacity, Function<ObjectPool<T>, T> objectFactory) {
+        // The pool is never waited on, so the wait strategy never runs
+        this.freeObjects = new RingBufferBlockingQueue<>(capacity, WaitStrategyType.BUSY_SPIN_WAIT_STRATEGY);
+        this.objectFactory = objectFactory;
+        for (int i = 0; i < freeObjects.getCapacity(); i++) {
+            freeObjects.offer(objectFactory.apply(this));
+        }
+    }
+
+    /**
+     * Takes a free object from the pool, or creates a new one if the pool is
+     * empty
+     *
+     * @return An object ready to be used
+     */
+    public T acquire() {
+        T pooledObject = freeObjects.poll();
+        return pooledObject != null ? pooledObject : objectFactory.apply(this);
+    }
+
+    /**
+     * Gives an object back to the pool. The object must not be used anymore
+     * by the caller. If the pool is full the object is discarded.
+     *
+     * @param pooledObject The object to give back
+     */
+    public void release(T pooledObject) {
+        freeObjects.offer(pooledObject);
+    }
+
+    /**
+     * Gets the number of free objects in the pool
+     *
+     * @return The number of objects ready to be acquired
+     */
+    public int getFreeObjectsCount() {
+        return freeObjects.size();
+    }
+}
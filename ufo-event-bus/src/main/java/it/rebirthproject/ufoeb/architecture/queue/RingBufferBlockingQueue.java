@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.FactoryWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded lock-free multi-producer ring buffer exposed as a
+ * {@link BlockingQueue}. All the slots are preallocated when the queue is
+ * created, so enqueuing an element does not allocate any node, and producers
+ * claim slots with a compare-and-set instead of taking a shared lock.
+ *
+ * <p>
+ * Each slot has a sequence number telling if it is free for the producer of a
+ * given lap or filled for the consumer of the same lap. The queue is designed
+ * for a single consumer (the bus state manager), but the consumer side also
+ * claims slots with a compare-and-set, so it stays correct if another thread
+ * polls the queue too.
+ * </p>
+ *
+ * <p>
+ * When the queue is full (producers) or empty (consumer), the waiting thread
+ * uses the configured {@link WaitStrategy}. The capacity is always rounded up
+ * to the next power of two, with a minimum of two slots. Iterators are weakly
+ * consistent: they walk a snapshot of the elements waiting when the iterator
+ * is created, so operations like {@link #contains(Object)} or
+ * {@link #toString()} work, but an element can be taken by the consumer
+ * while the snapshot is walked. Elements can be removed only from the head,
+ * so {@link #remove(Object)} and {@link Iterator#remove()} throw
+ * {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @param <E> The type of the elements held in the queue
+ * @see WaitStrategy
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The number of slots of the ring buffer. Always a power of two.
+     */
+    private final int capacity;
+    /**
+     * The mask used to compute the slot index of a sequence
+     */
+    private final int mask;
+    /**
+     * The preallocated slots of the ring buffer
+     */
+    private final AtomicReferenceArray<E> slots;
+    /**
+     * The sequence of each slot, used to know if a slot is free or filled
+     */
+    private final AtomicLongArray slotsSequences;
+    /**
+     * The sequence of the next slot to fill
+     */
+    private final AtomicLong producerSequence = new AtomicLong(0L);
+    /**
+     * The sequence of the next slot to consume
+     */
+    private final AtomicLong consumerSequence = new AtomicLong(0L);
+    /**
+     * The {@link WaitStrategy} used by threads waiting for an element
+     */
+    private final WaitStrategy notEmptyWaitStrategy;
+    /**
+     * The {@link WaitStrategy} used by threads waiting for a free slot
+     */
+    private final WaitStrategy notFullWaitStrategy;
+    /**
+     * Preallocated condition checked by threads waiting for an element
+     */
+    private final BooleanSupplier notEmptyCondition = () -> !isEmpty();
+    /**
+     * Preallocated condition checked by threads waiting for a free slot
+     */
+    private final BooleanSupplier notFullCondition = () -> remainingCapacity() > 0;
+
+    /**
+     * The constructor used to build a {@link RingBufferBlockingQueue}
+     *
+     * @param requestedCapacity The minimum capacity of the queue. It will be
+     * rounded up to the next power of two (at least two)
+     * @param waitStrategyType The {@link WaitStrategyType} used by threads
+     * waiting on this queue
+     */
+    public RingBufferBlockingQueue(int requestedCapacity, WaitStrategyType waitStrategyType) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        // A single slot cannot tell a filled slot from a free one of the next lap
+        this.capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.slotsSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotsSequences.set(i, i);
+        }
+        this.notEmptyWaitStrategy = FactoryWaitStrategy.createWaitStrategy(waitStrategyType);
+        this.notFullWaitStrategy = FactoryWaitStrategy.createWaitStrategy(waitStrategyType);
+    }
+
+    @Override
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long sequence = producerSequence.get();
+        while (true) {
+            int index = (int) sequence & mask;
+            long difference = slotsSequences.get(index) - sequence;
+            if (difference == 0L) {
+                if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    slots.lazySet(index, element);
+                    slotsSequences.set(index, sequence + 1);
+                    notEmptyWaitStrategy.signalAll();
+                    return true;
+                }
+                sequence = producerSequence.get();
+            } else if (difference < 0L) {
+                // The slot still belongs to the previous lap: the queue is full
+                return false;
+            } else {
+                sequence = producerSequence.get();
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        long sequence = consumerSequence.get();
+        while (true) {
+            int index = (int) sequence & mask;
+            long difference = slotsSequences.get(index) - (sequence + 1);
+            if (difference == 0L) {
+                if (consumerSequence.compareAndSet(sequence, sequence + 1)) {
+                    E element = slots.get(index);
+                    slots.lazySet(index, null);
+                    slotsSequences.set(index, sequence + capacity);
+                    notFullWaitStrategy.signalAll();
+                    return element;
+                }
+                sequence = consumerSequence.get();
+            } else if (difference < 0L) {
+                // The slot is not filled yet: the queue is empty
+                return null;
+            } else {
+                sequence = consumerSequence.get();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        long sequence = consumerSequence.get();
+        int index = (int) sequence & mask;
+        if (slotsSequences.get(index) - (sequence + 1) == 0L) {
+            return slots.get(index);
+        }
+        return null;
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        while (!offer(element)) {
+            notFullWaitStrategy.waitFor(notFullCondition, Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long start = System.nanoTime();
+        while (!offer(element)) {
+            long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+            if (remainingNanos <= 0L || !notFullWaitStrategy.waitFor(notFullCondition, remainingNanos)) {
+                return offer(element);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E element;
+        while ((element = poll()) == null) {
+            notEmptyWaitStrategy.waitFor(notEmptyCondition, Long.MAX_VALUE);
+        }
+        return element;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long start = System.nanoTime();
+        E element;
+        while ((element = poll()) == null) {
+            long remainingNanos = timeoutNanos - (System.nanoTime() - start);
+            if (remainingNanos <= 0L || !notEmptyWaitStrategy.waitFor(notEmptyCondition, remainingNanos)) {
+                return poll();
+            }
+        }
+        return element;
+    }
+
+    @Override
+    public int size() {
+        long consumed = consumerSequence.get();
+        long produced = producerSequence.get();
+        long size = produced - consumed;
+        if (size < 0L) {
+            return 0;
+        }
+        return size > capacity ? capacity : (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException();
+        }
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            collection.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Gets a weakly consistent iterator over a snapshot of the elements
+     * waiting in the ring buffer, from the oldest to the newest. The snapshot
+     * does not change when elements are added or taken later, and it does not
+     * support {@link Iterator#remove()}.
+     *
+     * @return An iterator over the elements waiting when it is created
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>(size());
+        long sequence = consumerSequence.get();
+        long lastSequence = producerSequence.get();
+        while (sequence < lastSequence) {
+            int index = (int) sequence & mask;
+            if (slotsSequences.get(index) != sequence + 1) {
+                if (sequence < consumerSequence.get()) {
+                    // The element was taken meanwhile: restart from the new head
+                    sequence = consumerSequence.get();
+                    continue;
+                }
+                // The slot is claimed but not filled yet, so the following ones are not visible either
+                break;
+            }
+            E element = slots.get(index);
+            // The slot could have been consumed and refilled while reading it
+            if (element != null && slotsSequences.get(index) == sequence + 1) {
+                snapshot.add(element);
+            }
+            sequence++;
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    /**
+     * Elements can be removed only from the head of the ring buffer, so
+     * removing an arbitrary element is not supported.
+     *
+     * @param element The element to remove
+     * @return Nothing, it always throws an exception
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public boolean remove(Object element) {
+        throw new UnsupportedOperationException("Removing an arbitrary element is not supported by the ring buffer queue");
+    }
+
+    /**
+     * Gets the real capacity of the ring buffer
+     *
+     * @return The capacity of the ring buffer, which is a power of two
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
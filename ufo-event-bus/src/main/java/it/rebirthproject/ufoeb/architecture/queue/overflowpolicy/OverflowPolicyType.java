@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.overflowpolicy;
+
+/**
+ * An enum with all the possible policies applied when an event is posted and
+ * the bus message queue is full. The policies apply only to posted events:
+ * registrations, sticky events and the other internal messages always wait
+ * for a free slot.
+ */
+public enum OverflowPolicyType {
+    /**
+     * The posting thread waits until the queue has a free slot
+     */
+    BLOCK,
+    /**
+     * The posting thread waits for a free slot up to a timeout, then the event
+     * is rejected with an exception
+     */
+    TIMED_BLOCK,
+    /**
+     * The event is immediately rejected with an exception
+     */
+    FAIL_FAST,
+    /**
+     * The posted event is silently dropped
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest event waiting in the queue is dropped to make room for the
+     * posted one
+     */
+    DROP_OLDEST,
+    /**
+     * The posting thread delivers the event to the listeners by itself
+     */
+    CALLER_RUNS;
+}
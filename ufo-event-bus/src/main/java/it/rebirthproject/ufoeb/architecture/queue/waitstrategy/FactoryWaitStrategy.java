@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BlockingWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BusySpinWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.SpinThenParkWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.YieldingWaitStrategy;
+
+/**
+ * The factory used to create a {@link WaitStrategy}. There are several
+ * {@link WaitStrategyType} to choose.
+ *
+ * @see WaitStrategy
+ * @see WaitStrategyType
+ * @see BlockingWaitStrategy
+ * @see YieldingWaitStrategy
+ * @see SpinThenParkWaitStrategy
+ * @see BusySpinWaitStrategy
+ */
+public class FactoryWaitStrategy {
+
+    /**
+     * The factory method used to create a {@link WaitStrategy}
+     *
+     * @param waitStrategyType The chosen {@link WaitStrategyType} to create
+     * @return The created {@link WaitStrategy} corresponding to the specified
+     * {@link WaitStrategyType}
+     */
+    public static WaitStrategy createWaitStrategy(WaitStrategyType waitStrategyType) {
+        switch (waitStrategyType) {
+            case YIELDING_WAIT_STRATEGY:
+                return new YieldingWaitStrategy();
+            case SPIN_THEN_PARK_WAIT_STRATEGY:
+                return new SpinThenParkWaitStrategy();
+            case BUSY_SPIN_WAIT_STRATEGY:
+                return new BusySpinWaitStrategy();
+            case BLOCKING_WAIT_STRATEGY:
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+}
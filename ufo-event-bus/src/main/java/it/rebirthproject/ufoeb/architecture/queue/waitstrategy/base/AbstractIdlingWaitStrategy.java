@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * The abstract class of the wait strategies that never block on a lock. The
+ * waiting thread polls the condition and, between two checks, calls the
+ * {@link #idle(int)} method that each concrete strategy defines. Those
+ * strategies don't need to be signalled.
+ */
+public abstract class AbstractIdlingWaitStrategy implements WaitStrategy {
+
+    @Override
+    public boolean waitFor(BooleanSupplier condition, long timeoutNanos) throws InterruptedException {
+        final boolean timed = timeoutNanos != Long.MAX_VALUE;
+        final long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+        int idleCounter = 0;
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (timed && System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idle(idleCounter);
+            if (idleCounter < Integer.MAX_VALUE) {
+                idleCounter++;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void signalAll() {
+    }
+
+    /**
+     * The method called between two checks of the awaited condition.
+     *
+     * @param idleCounter The number of times the condition was already checked
+     * without success
+     */
+    protected abstract void idle(int idleCounter);
+}
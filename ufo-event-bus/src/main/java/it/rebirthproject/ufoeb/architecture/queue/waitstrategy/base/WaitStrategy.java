@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base;
+
+import it.rebirthproject.ufoeb.architecture.queue.RingBufferBlockingQueue;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BlockingWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.BusySpinWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.SpinThenParkWaitStrategy;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies.YieldingWaitStrategy;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The interface that defines how a thread waits on a {@link RingBufferBlockingQueue}
+ * until a condition (for example "the queue is not empty") becomes true. A wait
+ * strategy trades cpu usage for latency: blocking strategies leave the cpu
+ * free but need a signal to wake up, while spinning strategies react faster
+ * but keep a core busy while they wait.
+ *
+ * @see BlockingWaitStrategy
+ * @see YieldingWaitStrategy
+ * @see SpinThenParkWaitStrategy
+ * @see BusySpinWaitStrategy
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until the given condition is true or the timeout elapses.
+     *
+     * @param condition The condition to wait for
+     * @param timeoutNanos The maximum time to wait in nanoseconds. Use
+     * {@link Long#MAX_VALUE} to wait without timeout
+     * @return True if the condition is satisfied, false if the timeout elapsed
+     * @throws InterruptedException If the waiting thread is interrupted
+     */
+    public boolean waitFor(BooleanSupplier condition, long timeoutNanos) throws InterruptedException;
+
+    /**
+     * Wakes up the threads waiting on this strategy, if the strategy needs it.
+     * It must be called every time the awaited condition could have changed.
+     */
+    public void signalAll();
+}
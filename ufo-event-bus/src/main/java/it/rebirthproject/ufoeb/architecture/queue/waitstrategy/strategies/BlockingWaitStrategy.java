@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * This implementation of the {@link WaitStrategy} interface parks the waiting
+ * thread on a lock condition. It is the strategy that uses less cpu, and it is
+ * the default one. The lock is taken by the signalling thread only when
+ * somebody is actually waiting, so producers don't contend on it while the
+ * consumer keeps up with them.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    /**
+     * The lock used to park the waiting threads
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * The condition signalled when the awaited condition could have changed
+     */
+    private final Condition condition = lock.newCondition();
+    /**
+     * The number of threads currently waiting on the {@link #condition}
+     */
+    private final AtomicInteger waitingThreads = new AtomicInteger(0);
+
+    @Override
+    public boolean waitFor(BooleanSupplier awaitedCondition, long timeoutNanos) throws InterruptedException {
+        if (awaitedCondition.getAsBoolean()) {
+            return true;
+        }
+        long remainingNanos = timeoutNanos;
+        lock.lockInterruptibly();
+        try {
+            waitingThreads.incrementAndGet();
+            try {
+                // The waiting counter is incremented before checking the condition again, so a signalling thread
+                // that changes the condition after this check will always see somebody waiting and take the lock.
+                while (!awaitedCondition.getAsBoolean()) {
+                    if (remainingNanos <= 0L) {
+                        return false;
+                    }
+                    remainingNanos = condition.awaitNanos(remainingNanos);
+                }
+                return true;
+            } finally {
+                waitingThreads.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        if (waitingThreads.get() > 0) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
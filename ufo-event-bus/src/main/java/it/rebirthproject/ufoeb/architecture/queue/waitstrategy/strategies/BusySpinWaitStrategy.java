@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.AbstractIdlingWaitStrategy;
+
+/**
+ * This implementation of the {@link AbstractIdlingWaitStrategy} never gives
+ * up the cpu: the waiting thread checks the condition in a tight loop. It has
+ * the lowest latency, but it keeps a whole core busy for each waiting thread,
+ * so use it only when the bus threads can be pinned on dedicated cores.
+ */
+public class BusySpinWaitStrategy extends AbstractIdlingWaitStrategy {
+
+    @Override
+    protected void idle(int idleCounter) {
+    }
+}
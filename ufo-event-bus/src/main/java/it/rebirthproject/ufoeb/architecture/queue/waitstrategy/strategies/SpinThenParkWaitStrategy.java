@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.AbstractIdlingWaitStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This implementation of the {@link AbstractIdlingWaitStrategy} spins, then
+ * yields and finally parks the waiting thread for a short time between two
+ * checks. It is a good compromise between latency and cpu usage when the bus
+ * alternates bursts and idle periods.
+ */
+public class SpinThenParkWaitStrategy extends AbstractIdlingWaitStrategy {
+
+    /**
+     * The number of checks done spinning before starting to yield
+     */
+    private static final int SPIN_TRIES = 100;
+    /**
+     * The number of checks done yielding before starting to park
+     */
+    private static final int YIELD_TRIES = 200;
+    /**
+     * The time in nanoseconds the waiting thread is parked between two checks
+     */
+    private static final long PARK_NANOS = 50_000L;
+
+    @Override
+    protected void idle(int idleCounter) {
+        if (idleCounter >= YIELD_TRIES) {
+            LockSupport.parkNanos(PARK_NANOS);
+        } else if (idleCounter >= SPIN_TRIES) {
+            Thread.yield();
+        }
+    }
+}
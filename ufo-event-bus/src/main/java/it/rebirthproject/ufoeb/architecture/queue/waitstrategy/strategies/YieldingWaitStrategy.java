@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue.waitstrategy.strategies;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.AbstractIdlingWaitStrategy;
+
+/**
+ * This implementation of the {@link AbstractIdlingWaitStrategy} spins for a
+ * short while and then calls {@link Thread#yield()} between two checks. It
+ * gives good latency while letting other threads use the core, but the
+ * waiting thread is never really idle.
+ */
+public class YieldingWaitStrategy extends AbstractIdlingWaitStrategy {
+
+    /**
+     * The number of checks done spinning before starting to yield
+     */
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    protected void idle(int idleCounter) {
+        if (idleCounter >= SPIN_TRIES) {
+            Thread.yield();
+        }
+    }
+}
@@ -16,12 +16,16 @@
  */
 package it.rebirthproject.ufoeb.architecture.state;
 
+import it.rebirthproject.ufoeb.architecture.messages.commands.ConflatedPostEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventsBatchMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RemoveStickyEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostStickyEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.UnregisterListenerMessage;
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.executor.DeliveryTracker;
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
 import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.Message;
 import it.rebirthproject.ufoeb.architecture.messages.query.IsListenerRegisteredMessage;
@@ -29,12 +33,15 @@ import it.rebirthproject.ufoeb.dto.BusEventKey;
 import it.rebirthproject.ufoeb.dto.EventMethodKey;
 import it.rebirthproject.ufoeb.dto.registrations.Registration;
 import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 import it.rebirthproject.ufoeb.services.ListenerMethodFinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The bus memory state manager which stores and manages events and listeners
@@ -53,6 +60,14 @@ public class BusMemoryStateManager implements Runnable {
      * Once one of those messages is received, it will be handled accordingly.
      */
     private final BlockingQueue<Message> commandQueryMessageQueue;
+    /**
+     * The optional control queue, drained before the
+     * {@link #commandQueryMessageQueue}. When it is used, registrations,
+     * sticky events, queries and the shutdown are received on this queue,
+     * while the {@link #commandQueryMessageQueue} only gets posts. It is null
+     * if every message is received on the {@link #commandQueryMessageQueue}.
+     */
+    private final BlockingQueue<Message> controlMessageQueue;
     /**
      * This is the thread pool cache that handles thread
      * parallelism to obtain bus scalability.
@@ -71,12 +86,24 @@ public class BusMemoryStateManager implements Runnable {
     private final ListenerMethodFinder listenerMethodFinder;
 
     /**
-     * A boolean flag used to determine if a throwNoRegistrationsWarning should
-     * be raised or not. If the flag is false no warning be will be thrown when
-     * an event is posted and no listeners are registered to listen to that
-     * precise event.
+     * The {@link EventDispatcher} used to send posted events to the workers
+     */
+    private final EventDispatcher eventDispatcher;
+
+    /**
+     * The reference where the immutable {@link RegistrySnapshot} is published
+     * after each register or unregister. It is null if direct dispatch is not
+     * enabled.
      */
-    private final boolean throwNoRegistrationsWarning;
+    private final AtomicReference<RegistrySnapshot> registrySnapshot;
+
+    /**
+     * The reference where the immutable {@link RegistrySnapshot} of the
+     * registrations with the {@link ThreadMode#POSTING} thread mode is
+     * published after each register or unregister. It is null if this manager
+     * does not publish the posting registrations.
+     */
+    private final AtomicReference<RegistrySnapshot> postingRegistrySnapshot;
 
     /**
      * The constructor used to build the {@link BusMemoryStateManager}
@@ -84,24 +111,38 @@ public class BusMemoryStateManager implements Runnable {
      * @param commandQueryMessageQueue The message queue is used by the
      * {@link BusMemoryStateManager} to receive internal system messages.
      * <pre>example: (REGISTER_MESSAGE, UNREGISTER_MESSAGE, SHUTDOWN_STATE_MANAGER, etc... )</pre>
-     * Once one of those messages is received, it will be handled accordingly.          
-     * @param workersPoolExecutor This is the thread pool cache that handles thread
-     * parallelism to obtain bus scalability.    
+     * Once one of those messages is received, it will be handled accordingly.
+     * If the control lane is enabled, it receives only the posts.
+     * @param controlMessageQueue The message queue used to receive
+     * registrations, sticky events, queries and the shutdown, handled before
+     * the posts waiting in the {@link #commandQueryMessageQueue}, or null if
+     * the control lane is not enabled
+     * @param workersPoolExecutor This is the thread pool cache that handles
+     * thread parallelism to obtain bus scalability.
      * @param memoryState The {@link MemoryState} of the {@link EventBus}
      * @param listenerMethodFinder The {@link ListenerMethodFinder} is a service
      * used to retrieve registered listeners methods annotated with
      * {@link Listen} and to store them inside the {@link MemoryState}
-     * @param throwNoRegistrationsWarning A boolean flag used to determine if a
-     * throwNoRegistrationsWarning should be raised or not. If the flag is false
-     * no warning be will be thrown when an event is posted and no listeners are
-     * registered to listen to that precise event.
+     * @param eventDispatcher The {@link EventDispatcher} used to send posted
+     * events to the workers
+     * @param registrySnapshot The reference where the {@link RegistrySnapshot}
+     * is published after each register or unregister, or null if posting
+     * threads never dispatch events by themselves
+     * @param postingRegistrySnapshot The reference where the
+     * {@link RegistrySnapshot} of the registrations with the
+     * {@link ThreadMode#POSTING} thread mode is published, or null if this
+     * manager does not publish them
      */
-    public BusMemoryStateManager(BlockingQueue<Message> commandQueryMessageQueue, ExecutorService workersPoolExecutor, MemoryState memoryState, ListenerMethodFinder listenerMethodFinder, boolean throwNoRegistrationsWarning) {
-        this.commandQueryMessageQueue = commandQueryMessageQueue;       
+    public BusMemoryStateManager(BlockingQueue<Message> commandQueryMessageQueue, BlockingQueue<Message> controlMessageQueue, ExecutorService workersPoolExecutor, MemoryState memoryState, ListenerMethodFinder listenerMethodFinder, EventDispatcher eventDispatcher, AtomicReference<RegistrySnapshot> registrySnapshot, AtomicReference<RegistrySnapshot> postingRegistrySnapshot) {
+        this.commandQueryMessageQueue = commandQueryMessageQueue;
+        this.controlMessageQueue = controlMessageQueue;
         this.workersPoolExecutor = workersPoolExecutor;        
         this.memoryState = memoryState;
         this.listenerMethodFinder = listenerMethodFinder;
-        this.throwNoRegistrationsWarning = throwNoRegistrationsWarning;
+        this.eventDispatcher = eventDispatcher;
+        this.registrySnapshot = registrySnapshot;
+        this.postingRegistrySnapshot = postingRegistrySnapshot;
+        publishRegistrySnapshot();
     }
 
     /**
@@ -113,124 +154,238 @@ public class BusMemoryStateManager implements Runnable {
     public void run() {
         while (true) {
             try {
-                Message message = commandQueryMessageQueue.take();
-                switch (message.getMessageType()) {
-                    case SHUTDOWN_STATE_MANAGER: {
-                        logger.debug("Shutdown bus memory state manager");
-                        return;
+                Message message = takeMessage();
+                if (!processMessageSafely(message)) {
+                    if (controlMessageQueue != null) {
+                        // Posts sent before the shutdown are still waiting in their own queue
+                        Message postMessage;
+                        while ((postMessage = commandQueryMessageQueue.poll()) != null) {
+                            processMessageSafely(postMessage);
+                        }
                     }
-                    case REGISTER_LISTENER_MESSAGE: {
-                        logger.debug("A new Registration arrived!!");
-                        RegisterMessage registerMessage = (RegisterMessage) message;
-                        try {
-                            listenerMethodFinder.findListenerMethods(registerMessage.getListenerToRegister(), memoryState);
-
-                            Set<EventMethodKey> lastRegisteredEventMethodKeys = memoryState.getLastRegisteredEventMethodKeys();
-                            for (BusEventKey stickyEventKey : memoryState.getStickyEventsKeys()) {
-                                Object stickyEvent = memoryState.getStickyEvent(stickyEventKey);
-                                Set<Class<?>> stickyInheritanceObjects = memoryState.getEventSuperClassesAndInterfaces(stickyEvent);
-                                if (stickyInheritanceObjects != null) {
-                                    for (EventMethodKey eventMethodKey : lastRegisteredEventMethodKeys) {
-                                        if (stickyInheritanceObjects.contains(eventMethodKey.getEventClass())) {
-                                            BusEventKey listenerEventKey = new BusEventKey(eventMethodKey.getEventClass());
-                                            Registration[] registrations = memoryState.getRegistrationsSnapshot(listenerEventKey);
-                                            for (Registration registration : registrations) {
-                                                if (registerMessage.getListenerToRegister().equals(registration.getListener()) && eventMethodKey.getMethod().equals(registration.getMethod())) {
-                                                    workersPoolExecutor.execute(new EventExecutor(new Registration[]{registration}, stickyEvent));
-                                                }
-                                            }
-                                        }
-                                    }
+                    logger.debug("Shutdown bus memory state manager");
+                    return;
+                }
+            } catch ( InterruptedException ex) {
+                logger.error("I got an InterruptedException but I managed it: something went wrong while reading bus messages from the queue.", ex);
+            }
+        }
+    }
+
+    /**
+     * Private method used to take the next message to handle. Messages waiting
+     * in the {@link #controlMessageQueue} always come first.
+     *
+     * @return The next message to handle
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * for a message
+     */
+    private Message takeMessage() throws InterruptedException {
+        if (controlMessageQueue != null) {
+            Message controlMessage = controlMessageQueue.poll();
+            if (controlMessage != null) {
+                return controlMessage;
+            }
+        }
+        return commandQueryMessageQueue.take();
+    }
+
+    /**
+     * Handles a query or a post message at once, on the current thread, which
+     * must be the thread of this manager. It is used by the listeners invoked
+     * inline by this thread for the messages they wait for, since the thread
+     * could never take them from the queue while the listener is waiting.
+     *
+     * @param message The query or post message to handle
+     */
+    public void processMessageInPlace(Message message) {
+        processMessage(message);
+    }
+
+    /**
+     * Private method used to handle a message taken from the queues. An event
+     * rejected by the workers pool is logged, so that it can't stop the
+     * manager thread: the dispatcher has already discarded its conflated
+     * message or its delivery tracker.
+     *
+     * @param message The message to handle
+     * @return False if the message asks to shut down the
+     * {@link BusMemoryStateManager}, true otherwise
+     */
+    private boolean processMessageSafely(Message message) {
+        try {
+            return processMessage(message);
+        } catch (RejectedExecutionException ex) {
+            logger.error("The workers pool rejected the events of the bus message {}", message.getMessageType(), ex);
+            return true;
+        }
+    }
+
+    /**
+     * Private method used to handle a message
+     *
+     * @param message The message to handle
+     * @return False if the message asks to shut down the
+     * {@link BusMemoryStateManager}, true otherwise
+     */
+    private boolean processMessage(Message message) {
+        switch (message.getMessageType()) {
+            case SHUTDOWN_STATE_MANAGER: {
+                return false;
+            }
+            case REGISTER_LISTENER_MESSAGE: {
+                logger.debug("A new Registration arrived!!");
+                RegisterMessage registerMessage = (RegisterMessage) message;
+                RuntimeException registrationError = null;
+                try {
+                    listenerMethodFinder.findListenerMethods(registerMessage.getListenerToRegister(), memoryState, registerMessage.getListenerMailbox(), registerMessage.getThreadModeMailboxes());
+
+                    Set<EventMethodKey> lastRegisteredEventMethodKeys = memoryState.getLastRegisteredEventMethodKeys();
+                    for (BusEventKey stickyEventKey : memoryState.getStickyEventsKeys()) {
+                        Object stickyEvent = memoryState.getStickyEvent(stickyEventKey);
+                        Set<Class<?>> stickyInheritanceObjects = memoryState.getEventSuperClassesAndInterfaces(stickyEvent);
+                        if (stickyInheritanceObjects != null) {
+                            for (EventMethodKey eventMethodKey : lastRegisteredEventMethodKeys) {
+                                if (stickyInheritanceObjects.contains(eventMethodKey.getEventClass())) {
+                                    BusEventKey listenerEventKey = new BusEventKey(eventMethodKey.getEventClass());
+                                    deliverStickyEvent(registerMessage.getListenerToRegister(), eventMethodKey, memoryState.getRegistrationsSnapshot(listenerEventKey), stickyEvent);
+                                    deliverStickyEvent(registerMessage.getListenerToRegister(), eventMethodKey, memoryState.getPostingRegistrationsSnapshot(listenerEventKey), stickyEvent);
                                 }
                             }
-                        } finally {
-                            memoryState.clearLastRegisteredEventMethodKeys();
-                        }
-                        break;
-                    }
-                    case UNREGISTER_LISTENER_MESSAGE: {
-                        UnregisterListenerMessage unregisterListenerMessage = (UnregisterListenerMessage) message;
-                        memoryState.unregisterListener(unregisterListenerMessage.getListenerToUnregister());
-                        break;
-                    }
-                    case POST_EVENT_MESSAGE: {
-                        logger.debug("A new Post Arrived!!");
-                        manageEventToPost(((PostEventMessage) message).getEventToPost());
-                        break;
-                    }
-                    case POST_STICKY_EVENT_MESSAGE: {
-                        Object eventObjectToPost = ((PostStickyEventMessage) message).getEventToPost();
-                        memoryState.registerStickyEvent(new BusEventKey(eventObjectToPost.getClass()), eventObjectToPost);
-                        manageEventToPost(eventObjectToPost);
-                        break;
-                    }
-                    case REMOVE_STICKY_EVENT_MESSAGE: {
-                        RemoveStickyEventMessage removeStickyMessage = (RemoveStickyEventMessage) message;
-                        BusEventKey eventToRemove = new BusEventKey(removeStickyMessage.getEventClass());
-                        memoryState.unregisterStickyEvent(eventToRemove);
-                        logger.debug("Removed Sticky Event {}", eventToRemove.getEventClass());
-                        break;
-                    }
-                    case CLEAR_ALL_STICKY_EVENTS_MESSAGE: {
-                        memoryState.removeAllStickyEvents();
-                        break;
-                    }
-                    case IS_LISTENER_REGISTERED_MESSAGE: {
-                        IsListenerRegisteredMessage isListenerRegisteredMessage = (IsListenerRegisteredMessage) message;
-                        if (memoryState.isListenerRegistered(isListenerRegisteredMessage.getListenerToCheck())) {
-                            isListenerRegisteredMessage.complete(true);
-                        } else {
-                            isListenerRegisteredMessage.complete(false);
                         }
-                        break;                       
                     }
-                    case PRINT_STATE: {
-                        memoryState.printState();
-                        break;
+                } catch (RuntimeException ex) {
+                    registrationError = ex;
+                } finally {
+                    memoryState.clearLastRegisteredEventMethodKeys();
+                    publishRegistrySnapshot();
+                }
+                if (registrationError == null) {
+                    registerMessage.markApplied();
+                } else {
+                    // The listener is checked by the registering thread, a failure here must not stop the manager
+                    logger.error("Error registering the listener {}", registerMessage.getListenerToRegister().getClass().getName(), registrationError);
+                    registerMessage.markFailed(registrationError);
+                }
+                break;
+            }
+            case UNREGISTER_LISTENER_MESSAGE: {
+                UnregisterListenerMessage unregisterListenerMessage = (UnregisterListenerMessage) message;
+                memoryState.unregisterListener(unregisterListenerMessage.getListenerToUnregister());
+                publishRegistrySnapshot();
+                unregisterListenerMessage.markApplied();
+                break;
+            }
+            case POST_EVENT_MESSAGE: {
+                logger.debug("A new Post Arrived!!");
+                PostEventMessage postEventMessage = (PostEventMessage) message;
+                DeliveryTracker deliveryTracker = postEventMessage.takeDeliveryTracker();
+                try {
+                    if (deliveryTracker != null) {
+                        eventDispatcher.dispatchTracked(memoryState, postEventMessage.getEventToPost(), deliveryTracker);
+                    } else {
+                        manageEventToPost(postEventMessage.getEventToPost());
                     }
-                    default: {                        
-                        break;
+                } finally {
+                    if (deliveryTracker != null) {
+                        // Releases the hold taken by the posting thread when the message was sent
+                        deliveryTracker.release();
                     }
+                    postEventMessage.recycle();
                 }
-            } catch ( InterruptedException ex) {
-                logger.error("I got an InterruptedException but I managed it: something went wrong while reading bus messages from the queue.", ex);
+                break;
+            }
+            case POST_CONFLATED_EVENT_MESSAGE: {
+                logger.debug("A new conflated Post Arrived!!");
+                eventDispatcher.dispatchConflated(memoryState, (ConflatedPostEventMessage) message);
+                break;
+            }
+            case POST_EVENTS_BATCH_MESSAGE: {
+                logger.debug("A new batch of posts arrived!!");
+                eventDispatcher.dispatchBatch(memoryState, ((PostEventsBatchMessage) message).getEventsToPost());
+                break;
+            }
+            case POST_STICKY_EVENT_MESSAGE: {
+                Object eventObjectToPost = ((PostStickyEventMessage) message).getEventToPost();
+                memoryState.registerStickyEvent(new BusEventKey(eventObjectToPost.getClass()), eventObjectToPost);
+                manageEventToPost(eventObjectToPost);
+                break;
+            }
+            case REMOVE_STICKY_EVENT_MESSAGE: {
+                RemoveStickyEventMessage removeStickyMessage = (RemoveStickyEventMessage) message;
+                BusEventKey eventToRemove = new BusEventKey(removeStickyMessage.getEventClass());
+                memoryState.unregisterStickyEvent(eventToRemove);
+                logger.debug("Removed Sticky Event {}", eventToRemove.getEventClass());
+                break;
+            }
+            case CLEAR_ALL_STICKY_EVENTS_MESSAGE: {
+                memoryState.removeAllStickyEvents();
+                break;
+            }
+            case IS_LISTENER_REGISTERED_MESSAGE: {
+                IsListenerRegisteredMessage isListenerRegisteredMessage = (IsListenerRegisteredMessage) message;
+                if (memoryState.isListenerRegistered(isListenerRegisteredMessage.getListenerToCheck())) {
+                    isListenerRegisteredMessage.complete(true);
+                } else {
+                    isListenerRegisteredMessage.complete(false);
+                }
+                break;                       
+            }
+            case PRINT_STATE: {
+                memoryState.printState();
+                break;
+            }
+            default: {                        
+                break;
             }
         }
+        return true;
     }
 
     /**
      * Private method used to handle a message to post to {@link EventExecutor}s
-     * workers. This method will save data into {@link #memoryState} if needed
-     * and then call the {@link #postEvent(Object, Class)} method to notify an
-     * event to {@link EventExecutor}s
+     * workers. The {@link EventDispatcher} resolves the registrations using the
+     * {@link #memoryState} and notifies the event to {@link EventExecutor}s
      *
      * @param eventObjectToPost The event to post {@link EventExecutor}s     
      */
     private void manageEventToPost(Object eventObjectToPost) {
-        Set<Class<?>> eventSuperClassesAndInterfacesList = memoryState.getEventSuperClassesAndInterfaces(eventObjectToPost);
-        if (eventSuperClassesAndInterfacesList != null) {
-            for (Class<?> eventClass : eventSuperClassesAndInterfacesList) {
-                postEvent(eventObjectToPost, eventClass);
-            }
-        }
+        eventDispatcher.dispatch(memoryState, eventObjectToPost);
     }
 
     /**
-     * Private method used to send an event to {@link EventExecutor}s workers
+     * Private method used to deliver a sticky event to the registration of the
+     * just registered listener's method. Registrations delivered by the
+     * posting threads get the sticky event from a worker.
      *
-     * @param eventObjectToPost The event to post to {@link EventExecutor}s
-     * @param eventClass The event class   
-     */
-    private void postEvent(Object eventObjectToPost, Class<?> eventClass) {
-        BusEventKey busEventKey = new BusEventKey(eventClass);
-        if (memoryState.registrationMapContainsKey(busEventKey)) {
-            workersPoolExecutor.execute(new EventExecutor(memoryState.getRegistrationsSnapshot(busEventKey), eventObjectToPost));
-        } else {
-            //we are in the case of a sticky event so if a sticky event is posted before any registrations we do nothing.
-            //We can also be in the case of inheritance where superclasses or interfaces are not listened by anyone
-            if (throwNoRegistrationsWarning) {
-                logger.warn("No registrations found for this event: {}. Perhaps a sticky event was posted before a registration or event inheritance is active?", eventClass.getName());
+     * @param registeredListener The just registered listener
+     * @param eventMethodKey The key of the listener's method
+     * @param registrations The registrations of the listened event
+     * @param stickyEvent The sticky event to deliver
+     */
+    private void deliverStickyEvent(Object registeredListener, EventMethodKey eventMethodKey, Registration[] registrations, Object stickyEvent) {
+        for (Registration registration : registrations) {
+            if (registeredListener.equals(registration.getListener()) && eventMethodKey.getMethod().equals(registration.getMethod())) {
+                if (registration.getMailbox() != null) {
+                    registration.getMailbox().post(registration, stickyEvent);
+                } else {
+                    workersPoolExecutor.execute(new EventExecutor(new Registration[]{registration}, stickyEvent, workersPoolExecutor));
+                }
             }
         }
     }
+
+    /**
+     * Private method used to publish a new {@link RegistrySnapshot} of the
+     * {@link #memoryState} registrations, if direct dispatch is enabled, and
+     * of the posting registrations, if this manager publishes them
+     */
+    private void publishRegistrySnapshot() {
+        if (registrySnapshot != null) {
+            registrySnapshot.set(memoryState.createRegistrySnapshot());
+        }
+        if (postingRegistrySnapshot != null) {
+            postingRegistrySnapshot.set(memoryState.createPostingRegistrySnapshot());
+        }
+    }
 }
@@ -21,9 +21,11 @@ import it.rebirthproject.ufoeb.dto.BusEventKey;
 import it.rebirthproject.ufoeb.dto.EventMethodKey;
 import it.rebirthproject.ufoeb.dto.registrations.Registration;
 import it.rebirthproject.ufoeb.dto.registrations.maps.PriorityEventsRegistrationsMap;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolicy;
 
 /**
@@ -32,17 +34,33 @@ import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolic
  *
  * @see BusMemoryStateManager
  */
-public class MemoryState {
+public class MemoryState implements RegistrationsLookup {
 
     /**
      * The logger used by this class
      */
     private static final Logger logger = LoggerFactory.getLogger(MemoryState.class);
+    /**
+     * The dispatch plan of the events having no registrations
+     */
+    private static final Registration[] EMPTY_REGISTRATIONS = new Registration[0];
+    /**
+     * The order of a dispatch plan: higher priorities first. Sorting is
+     * stable, so registrations with the same priority keep the order of the
+     * event hierarchy.
+     */
+    private static final Comparator<Registration> DISPATCH_PLAN_ORDER = Comparator.comparingInt(Registration::getPriority).reversed();
     /**
      * Data structure used to map each listener's registration metadata stored
      * into the memory state
      */
     private final PriorityEventsRegistrationsMap eventsRegistrations = new PriorityEventsRegistrationsMap();
+    /**
+     * Data structure used to map the registrations with the
+     * {@link ThreadMode#POSTING} thread mode, which are delivered by the
+     * posting threads instead of the workers
+     */
+    private final PriorityEventsRegistrationsMap postingEventsRegistrations = new PriorityEventsRegistrationsMap();
     /**
      * This map data structure contains all the registered listeners and their
      * corresponding listened events keys A listener can listen to different
@@ -57,6 +75,38 @@ public class MemoryState {
      * A map used to cache superclasses and interfaces related to an event class
      */
     private final Map<Class<?>, Set<Class<?>>> eventSuperClassesAndInterfacesCache = new HashMap<>();
+    /**
+     * A map used to cache the {@link BusEventKey}s of the superclasses and
+     * interfaces related to an event class
+     */
+    private final Map<Class<?>, BusEventKey[]> eventKeysCache = new HashMap<>();
+    /**
+     * A map used to cache the dispatch plan of an event class, that is the
+     * registrations of its whole hierarchy sorted by priority
+     */
+    private final Map<Class<?>, Registration[]> dispatchPlansCache = new HashMap<>();
+    /**
+     * The thread safe cache of superclasses and interfaces shared by all the
+     * {@link RegistrySnapshot}s created by this memory state. It is created
+     * only if a snapshot is requested.
+     */
+    private ConcurrentHashMap<Class<?>, Set<Class<?>>> snapshotsSuperClassesAndInterfacesCache;
+    /**
+     * The thread safe cache of event keys shared by all the
+     * {@link RegistrySnapshot}s created by this memory state. It is created
+     * only if a snapshot is requested.
+     */
+    private ConcurrentHashMap<Class<?>, BusEventKey[]> snapshotsEventKeysCache;
+    /**
+     * The last {@link RegistrySnapshot} created by this memory state, whose
+     * still valid dispatch plans are copied into the next snapshot
+     */
+    private RegistrySnapshot lastRegistrySnapshot;
+    /**
+     * The event keys whose registrations changed since the
+     * {@link #lastRegistrySnapshot} was created
+     */
+    private final Set<BusEventKey> changedEventKeysSinceLastSnapshot = new HashSet<>();
     /**
      * Event method keys added during the current listener registration flow.
      */
@@ -83,14 +133,20 @@ public class MemoryState {
         this.verboseLogging = verboseLogging;
     }
 
+    @Override
+    public Registration[] getRegistrationsSnapshot(BusEventKey busEventKey) {
+        return eventsRegistrations.get(busEventKey);
+    }
+
     /**
-     * Gets registrations immutable snapshot for a particular event.
+     * Gets the registrations with the {@link ThreadMode#POSTING} thread mode
+     * of an event key
      *
-     * @param busEventKey The event key used to retrieve registrations
-     * @return registrations immutable snapshot
+     * @param busEventKey The {@link BusEventKey} of the event
+     * @return The registrations delivered by the posting threads
      */
-    public Registration[] getRegistrationsSnapshot(BusEventKey busEventKey) {
-        return eventsRegistrations.get(busEventKey);
+    public Registration[] getPostingRegistrationsSnapshot(BusEventKey busEventKey) {
+        return postingEventsRegistrations.get(busEventKey);
     }
 
     /**
@@ -139,7 +195,12 @@ public class MemoryState {
         if (!eventKeys.contains(eventMethodKey)) {                        
             eventKeys.add(eventMethodKey);
             listenerToEventsMap.put(listener, eventKeys);
-            eventsRegistrations.addRegistration(eventKey, registration);
+            if (registration.getThreadMode() == ThreadMode.POSTING) {
+                postingEventsRegistrations.addRegistration(eventKey, registration);
+            } else {
+                eventsRegistrations.addRegistration(eventKey, registration);
+                invalidateDispatchPlans(eventKey);
+            }
             lastRegisteredEventMethodKeys.add(eventMethodKey);
             logger.debug("Registered new event {}", eventKey.getEventClass());
             if (verboseLogging) {
@@ -233,6 +294,8 @@ public class MemoryState {
             for (EventMethodKey eventMethodKey : eventsListenedByListener) {
                 BusEventKey eventKey = new BusEventKey(eventMethodKey.getEventClass());
                 eventsRegistrations.removeRegistrationsForListener(eventKey, listenerToUnregister);
+                postingEventsRegistrations.removeRegistrationsForListener(eventKey, listenerToUnregister);
+                invalidateDispatchPlans(eventKey);
             }
 
             listenerToEventsMap.remove(listenerToUnregister);
@@ -242,17 +305,149 @@ public class MemoryState {
         }
     }
 
+    @Override
+    public Set<Class<?>> getEventSuperClassesAndInterfaces(Object eventObjectToPost) {
+        return inheritancePolicy.getAllEventInheritanceObjects(eventObjectToPost, eventSuperClassesAndInterfacesCache);
+    }
+
+    @Override
+    public BusEventKey[] getEventKeys(Object eventObjectToPost) {
+        BusEventKey[] eventKeys = eventKeysCache.get(eventObjectToPost.getClass());
+        if (eventKeys == null) {
+            eventKeys = toEventKeys(getEventSuperClassesAndInterfaces(eventObjectToPost));
+            eventKeysCache.put(eventObjectToPost.getClass(), eventKeys);
+        }
+        return eventKeys;
+    }
+
+    @Override
+    public Registration[] getDispatchPlan(Object eventObjectToPost) {
+        Registration[] dispatchPlan = dispatchPlansCache.get(eventObjectToPost.getClass());
+        if (dispatchPlan == null) {
+            dispatchPlan = createDispatchPlan(this, getEventKeys(eventObjectToPost));
+            dispatchPlansCache.put(eventObjectToPost.getClass(), dispatchPlan);
+        }
+        return dispatchPlan;
+    }
+
     /**
-     * Gets all the superclasses and interfaces for the event to post regarding
-     * the current {@link EventInheritancePolicy}
+     * Creates the dispatch plan of an event class merging the registrations
+     * of all its event keys by priority. If only one key has registrations its
+     * array is shared, since registration arrays are never modified.
      *
-     * @param eventObjectToPost The event to post
-     * @return all the superclasses and interfaces for the event to post
-     * regarding the current {@link EventInheritancePolicy}
-     * @see EventInheritancePolicy
+     * @param registrationsLookup The {@link RegistrationsLookup} used to
+     * resolve the registrations
+     * @param eventKeys The {@link BusEventKey}s of the event hierarchy
+     * @return The registrations of all the event keys sorted by priority
      */
-    public Set<Class<?>> getEventSuperClassesAndInterfaces(Object eventObjectToPost) {
-        return inheritancePolicy.getAllEventInheritanceObjects(eventObjectToPost, eventSuperClassesAndInterfacesCache);
+    static Registration[] createDispatchPlan(RegistrationsLookup registrationsLookup, BusEventKey[] eventKeys) {
+        Registration[] dispatchPlan = EMPTY_REGISTRATIONS;
+        boolean merged = false;
+        for (BusEventKey eventKey : eventKeys) {
+            Registration[] registrations = registrationsLookup.getRegistrationsSnapshot(eventKey);
+            if (registrations.length == 0) {
+                continue;
+            }
+            if (dispatchPlan.length == 0) {
+                dispatchPlan = registrations;
+            } else {
+                Registration[] mergedPlan = Arrays.copyOf(dispatchPlan, dispatchPlan.length + registrations.length);
+                System.arraycopy(registrations, 0, mergedPlan, dispatchPlan.length, registrations.length);
+                dispatchPlan = mergedPlan;
+                merged = true;
+            }
+        }
+        if (merged) {
+            Arrays.sort(dispatchPlan, DISPATCH_PLAN_ORDER);
+        }
+        return dispatchPlan;
+    }
+
+    /**
+     * Checks if an event key belongs to the event keys of an event class
+     *
+     * @param eventKeys The event keys of an event class, can be null
+     * @param eventKey The event key to look for
+     * @return True if the event key is one of the event keys
+     */
+    static boolean containsEventKey(BusEventKey[] eventKeys, BusEventKey eventKey) {
+        if (eventKeys != null) {
+            for (BusEventKey key : eventKeys) {
+                if (key.equals(eventKey)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Private method used to remove the cached dispatch plans of the event
+     * classes having the changed event key in their hierarchy
+     *
+     * @param eventKey The event key whose registrations changed
+     */
+    private void invalidateDispatchPlans(BusEventKey eventKey) {
+        dispatchPlansCache.keySet().removeIf(eventClass -> containsEventKey(eventKeysCache.get(eventClass), eventKey));
+        if (lastRegistrySnapshot != null) {
+            changedEventKeysSinceLastSnapshot.add(eventKey);
+        }
+    }
+
+    /**
+     * Converts a set of event classes into an array of {@link BusEventKey}s,
+     * keeping the set order
+     *
+     * @param eventClasses The event classes to convert
+     * @return The {@link BusEventKey}s of the event classes
+     */
+    static BusEventKey[] toEventKeys(Set<Class<?>> eventClasses) {
+        if (eventClasses == null) {
+            return new BusEventKey[0];
+        }
+        BusEventKey[] eventKeys = new BusEventKey[eventClasses.size()];
+        int index = 0;
+        for (Class<?> eventClass : eventClasses) {
+            eventKeys[index++] = new BusEventKey(eventClass);
+        }
+        return eventKeys;
+    }
+
+    /**
+     * Creates an immutable {@link RegistrySnapshot} of the current
+     * registrations, that can be safely read by other threads.
+     *
+     * @return The immutable {@link RegistrySnapshot} of the current
+     * registrations
+     */
+    public RegistrySnapshot createRegistrySnapshot() {
+        if (snapshotsSuperClassesAndInterfacesCache == null) {
+            snapshotsSuperClassesAndInterfacesCache = new ConcurrentHashMap<>();
+            snapshotsEventKeysCache = new ConcurrentHashMap<>();
+        }
+        ConcurrentHashMap<Class<?>, Registration[]> dispatchPlans = lastRegistrySnapshot == null ? new ConcurrentHashMap<>() : lastRegistrySnapshot.copyValidDispatchPlans(changedEventKeysSinceLastSnapshot);
+        changedEventKeysSinceLastSnapshot.clear();
+        lastRegistrySnapshot = new RegistrySnapshot(eventsRegistrations.copyRegistrations(), inheritancePolicy, snapshotsSuperClassesAndInterfacesCache, snapshotsEventKeysCache, dispatchPlans);
+        return lastRegistrySnapshot;
+    }
+
+    /**
+     * Creates an immutable {@link RegistrySnapshot} of the current
+     * registrations with the {@link ThreadMode#POSTING} thread mode, that can
+     * be safely read by the posting threads.
+     *
+     * @return The immutable {@link RegistrySnapshot} of the posting
+     * registrations, or null if there are no posting registrations
+     */
+    public RegistrySnapshot createPostingRegistrySnapshot() {
+        if (postingEventsRegistrations.isEmpty()) {
+            return null;
+        }
+        if (snapshotsSuperClassesAndInterfacesCache == null) {
+            snapshotsSuperClassesAndInterfacesCache = new ConcurrentHashMap<>();
+            snapshotsEventKeysCache = new ConcurrentHashMap<>();
+        }
+        return new RegistrySnapshot(postingEventsRegistrations.copyRegistrations(), inheritancePolicy, snapshotsSuperClassesAndInterfacesCache, snapshotsEventKeysCache, new ConcurrentHashMap<>());
     }
 
     /**
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.state;
+
+import it.rebirthproject.ufoeb.dto.BusEventKey;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolicy;
+import java.util.Set;
+
+/**
+ * The read only view of the bus registrations needed to deliver a posted
+ * event. It is implemented by the {@link MemoryState}, used by the
+ * {@link BusMemoryStateManager} thread, and by the immutable
+ * {@link RegistrySnapshot}, used by posting threads when direct dispatch is
+ * enabled.
+ *
+ * @see MemoryState
+ * @see RegistrySnapshot
+ */
+public interface RegistrationsLookup {
+
+    /**
+     * Gets registrations immutable snapshot for a particular event.
+     *
+     * @param busEventKey The event key used to retrieve registrations
+     * @return registrations immutable snapshot
+     */
+    public Registration[] getRegistrationsSnapshot(BusEventKey busEventKey);
+
+    /**
+     * Gets all the superclasses and interfaces for the event to post regarding
+     * the current {@link EventInheritancePolicy}
+     *
+     * @param eventObjectToPost The event to post
+     * @return all the superclasses and interfaces for the event to post
+     * regarding the current {@link EventInheritancePolicy}
+     */
+    public Set<Class<?>> getEventSuperClassesAndInterfaces(Object eventObjectToPost);
+
+    /**
+     * Gets the {@link BusEventKey}s of all the superclasses and interfaces for
+     * the event to post regarding the current {@link EventInheritancePolicy}.
+     * Keys are cached for each event class, so no key is created while
+     * posting an already known event class.
+     *
+     * @param eventObjectToPost The event to post
+     * @return the {@link BusEventKey}s of all the superclasses and interfaces
+     * for the event to post. The returned array must not be modified.
+     */
+    public BusEventKey[] getEventKeys(Object eventObjectToPost);
+
+    /**
+     * Gets the dispatch plan of the event to post: the registrations of all
+     * the superclasses and interfaces of the event, merged into a single
+     * array sorted by priority. Registrations with the same priority keep the
+     * order of the event hierarchy. Plans are cached for each event class and
+     * rebuilt only when a registration of a class of its hierarchy changes.
+     *
+     * @param eventObjectToPost The event to post
+     * @return the registrations of the whole event hierarchy sorted by
+     * priority. The returned array must not be modified.
+     */
+    public Registration[] getDispatchPlan(Object eventObjectToPost);
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.state;
+
+import it.rebirthproject.ufoeb.dto.BusEventKey;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolicy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable copy of the bus registrations, published by the
+ * {@link BusMemoryStateManager} after each register or unregister when direct
+ * dispatch is enabled. Posting threads use it to resolve the registrations of
+ * an event without passing through the {@link BusMemoryStateManager} thread.
+ *
+ * <p>
+ * The registrations map is never modified after construction. Only the
+ * superclasses and interfaces caches are filled while posting, so they are
+ * concurrent maps shared between all the snapshots of the same bus (they only
+ * depend on the events type hierarchy).
+ * </p>
+ *
+ * @see MemoryState#createRegistrySnapshot()
+ */
+public final class RegistrySnapshot implements RegistrationsLookup {
+
+    private static final Registration[] EMPTY_REGISTRATIONS = new Registration[0];
+
+    /**
+     * The copy of the registrations map. Registration arrays are copy-on-write,
+     * so they can be shared with the {@link MemoryState}
+     */
+    private final Map<BusEventKey, Registration[]> registrations;
+    /**
+     * The chosen system inheritancePolicy
+     */
+    private final EventInheritancePolicy inheritancePolicy;
+    /**
+     * A thread safe cache of superclasses and interfaces related to an event
+     * class
+     */
+    private final ConcurrentHashMap<Class<?>, Set<Class<?>>> eventSuperClassesAndInterfacesCache;
+    /**
+     * A thread safe cache of the {@link BusEventKey}s of the superclasses and
+     * interfaces related to an event class
+     */
+    private final ConcurrentHashMap<Class<?>, BusEventKey[]> eventKeysCache;
+    /**
+     * A thread safe cache of the dispatch plans built on the registrations of
+     * this snapshot
+     */
+    private final ConcurrentHashMap<Class<?>, Registration[]> dispatchPlansCache;
+
+    /**
+     * The constructor used to build a {@link RegistrySnapshot}
+     *
+     * @param registrations The copy of the registrations map
+     * @param inheritancePolicy The chosen system inheritancePolicy
+     * @param eventSuperClassesAndInterfacesCache The shared thread safe cache
+     * of superclasses and interfaces related to an event class
+     * @param eventKeysCache The shared thread safe cache of the
+     * {@link BusEventKey}s related to an event class
+     * @param dispatchPlansCache The thread safe cache of the dispatch plans,
+     * holding only plans still valid for the copied registrations
+     */
+    RegistrySnapshot(Map<BusEventKey, Registration[]> registrations, EventInheritancePolicy inheritancePolicy, ConcurrentHashMap<Class<?>, Set<Class<?>>> eventSuperClassesAndInterfacesCache, ConcurrentHashMap<Class<?>, BusEventKey[]> eventKeysCache, ConcurrentHashMap<Class<?>, Registration[]> dispatchPlansCache) {
+        this.registrations = registrations;
+        this.inheritancePolicy = inheritancePolicy;
+        this.eventSuperClassesAndInterfacesCache = eventSuperClassesAndInterfacesCache;
+        this.eventKeysCache = eventKeysCache;
+        this.dispatchPlansCache = dispatchPlansCache;
+    }
+
+    @Override
+    public Registration[] getRegistrationsSnapshot(BusEventKey busEventKey) {
+        Registration[] snapshot = registrations.get(busEventKey);
+        return snapshot == null ? EMPTY_REGISTRATIONS : snapshot;
+    }
+
+    @Override
+    public Set<Class<?>> getEventSuperClassesAndInterfaces(Object eventObjectToPost) {
+        return inheritancePolicy.getAllEventInheritanceObjects(eventObjectToPost, eventSuperClassesAndInterfacesCache);
+    }
+
+    @Override
+    public BusEventKey[] getEventKeys(Object eventObjectToPost) {
+        BusEventKey[] eventKeys = eventKeysCache.get(eventObjectToPost.getClass());
+        if (eventKeys == null) {
+            eventKeys = MemoryState.toEventKeys(getEventSuperClassesAndInterfaces(eventObjectToPost));
+            eventKeysCache.put(eventObjectToPost.getClass(), eventKeys);
+        }
+        return eventKeys;
+    }
+
+    @Override
+    public Registration[] getDispatchPlan(Object eventObjectToPost) {
+        Registration[] dispatchPlan = dispatchPlansCache.get(eventObjectToPost.getClass());
+        if (dispatchPlan == null) {
+            dispatchPlan = MemoryState.createDispatchPlan(this, getEventKeys(eventObjectToPost));
+            dispatchPlansCache.put(eventObjectToPost.getClass(), dispatchPlan);
+        }
+        return dispatchPlan;
+    }
+
+    /**
+     * Copies the dispatch plans of this snapshot which are not affected by
+     * the changed event keys, so the next snapshot does not rebuild them.
+     *
+     * @param changedEventKeys The event keys whose registrations changed
+     * after this snapshot was created
+     * @return A new thread safe cache with the still valid dispatch plans
+     */
+    ConcurrentHashMap<Class<?>, Registration[]> copyValidDispatchPlans(Set<BusEventKey> changedEventKeys) {
+        ConcurrentHashMap<Class<?>, Registration[]> validDispatchPlans = new ConcurrentHashMap<>();
+        for (Map.Entry<Class<?>, Registration[]> dispatchPlan : dispatchPlansCache.entrySet()) {
+            BusEventKey[] eventKeys = eventKeysCache.get(dispatchPlan.getKey());
+            boolean valid = true;
+            for (BusEventKey changedEventKey : changedEventKeys) {
+                if (MemoryState.containsEventKey(eventKeys, changedEventKey)) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (valid) {
+                validDispatchPlans.put(dispatchPlan.getKey(), dispatchPlan.getValue());
+            }
+        }
+        return validDispatchPlans;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package it.rebirthproject.ufoeb.dto.registrations;
 
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
 import java.lang.reflect.Method;
 
 /**
@@ -36,14 +38,30 @@ public abstract class Registration {
      * needs to be delivered
      */
     protected Method method;
+    /**
+     * The mailbox of the listener, shared by all its registrations, or null if
+     * listener mailboxes are not enabled
+     */
+    protected ListenerMailbox mailbox;
+    /**
+     * The {@link ThreadMode} of the {@link Registration}
+     */
+    protected ThreadMode threadMode = ThreadMode.ASYNC;
+    /**
+     * The mailbox shared by the registrations delivered on the same thread,
+     * or null if the registration is delivered by the workers
+     */
+    protected ListenerMailbox threadModeMailbox;
 
     /**
      * Method to process a registration
      *
      * @param event the event to process
+     * @return The value returned by the listener method, or null if the
+     * method is void
      * @throws java.lang.Exception
      */
-    public abstract void process(Object event) throws Exception;
+    public abstract Object process(Object event) throws Exception;
 
     /**
      * Getter for the listener of the {@link Registration}
@@ -73,4 +91,63 @@ public abstract class Registration {
     public Method getMethod() {
         return method;
     }
+
+    /**
+     * Getter for the mailbox of the listener of the {@link Registration}
+     *
+     * @return The mailbox of the listener, or null if listener mailboxes are
+     * not enabled
+     */
+    public ListenerMailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Setter for the mailbox of the listener of the {@link Registration}
+     *
+     * @param mailbox The mailbox of the listener
+     */
+    public void setMailbox(ListenerMailbox mailbox) {
+        this.mailbox = mailbox;
+    }
+
+    /**
+     * Getter for the {@link ThreadMode} of the {@link Registration}
+     *
+     * @return The {@link ThreadMode} of the {@link Registration}
+     */
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    /**
+     * Setter for the {@link ThreadMode} of the {@link Registration}
+     *
+     * @param threadMode The {@link ThreadMode} of the {@link Registration}
+     */
+    public void setThreadMode(ThreadMode threadMode) {
+        this.threadMode = threadMode;
+    }
+
+    /**
+     * Getter for the mailbox of the thread delivering the
+     * {@link Registration}
+     *
+     * @return The mailbox of the thread delivering the registration, or null
+     * if the registration is delivered by the workers
+     */
+    public ListenerMailbox getThreadModeMailbox() {
+        return threadModeMailbox;
+    }
+
+    /**
+     * Setter for the mailbox of the thread delivering the
+     * {@link Registration}
+     *
+     * @param threadModeMailbox The mailbox of the thread delivering the
+     * registration
+     */
+    public void setThreadModeMailbox(ListenerMailbox threadModeMailbox) {
+        this.threadModeMailbox = threadModeMailbox;
+    }
 }
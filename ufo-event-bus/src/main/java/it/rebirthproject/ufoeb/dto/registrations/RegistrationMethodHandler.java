@@ -17,6 +17,7 @@ package it.rebirthproject.ufoeb.dto.registrations;
 
 import it.rebirthproject.ufoeb.services.lambdafactory.Handler;
 import it.rebirthproject.ufoeb.services.lambdafactory.LambdaFactory;
+import it.rebirthproject.ufoeb.services.lambdafactory.ResultHandler;
 import java.lang.reflect.Method;
 
 /**
@@ -29,6 +30,11 @@ public class RegistrationMethodHandler extends Registration {
      * needs to be delivered. This should be faster.
      */
     private final Handler methodHandler;
+    /**
+     * The handler used instead of {@link #methodHandler} when the method
+     * returns a value, so the value is given back to the caller
+     */
+    private final ResultHandler<Object, Object> resultHandler;
 
     /**
      * @param listener The listener of the {@link Registration}
@@ -40,7 +46,13 @@ public class RegistrationMethodHandler extends Registration {
     public RegistrationMethodHandler(Object listener, Method method, int priority) throws Throwable {
         this.listener = listener;
         this.method = method;    
-        this.methodHandler = LambdaFactory.create(method);
+        if (method.getReturnType() == void.class) {
+            this.methodHandler = LambdaFactory.create(method);
+            this.resultHandler = null;
+        } else {
+            this.methodHandler = null;
+            this.resultHandler = LambdaFactory.createResultHandler(method);
+        }
         this.priority = priority;
     }
     
@@ -49,14 +61,18 @@ public class RegistrationMethodHandler extends Registration {
      * listener needs to be delivered
      *
      * @return The methodHandler to invoke when a new notification for the
-     * listener needs to be delivered
+     * listener needs to be delivered, or null if the method returns a value
      */
     public Handler getMethodHandler() {
         return methodHandler;
     }
 
     @Override
-    public void process(Object event) throws Exception {
+    public Object process(Object event) throws Exception {
+        if (resultHandler != null) {
+            return resultHandler.invokeMethod(listener, event);
+        }
         methodHandler.invokeMethod(listener, event);
+        return null;
     }
 }
@@ -34,7 +34,7 @@ public class RegistrationStandardReflection extends Registration {
     }
     
     @Override
-    public void process(Object event) throws Exception {
-        method.invoke(listener, event);
+    public Object process(Object event) throws Exception {
+        return method.invoke(listener, event);
     }
 }
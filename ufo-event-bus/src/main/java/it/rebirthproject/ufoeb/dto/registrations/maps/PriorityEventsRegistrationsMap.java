@@ -114,6 +114,17 @@ public class PriorityEventsRegistrationsMap {
         return registrations.keySet();
     }
 
+    /**
+     * Creates a shallow copy of the registrations map. Registration arrays are
+     * never modified once stored (copy-on-write), so they are shared with the
+     * copy.
+     *
+     * @return A new map containing all the current registrations
+     */
+    public Map<BusEventKey, Registration[]> copyRegistrations() {
+        return new HashMap<>(registrations);
+    }
+
     /**
      * Clears all registrations.
      */
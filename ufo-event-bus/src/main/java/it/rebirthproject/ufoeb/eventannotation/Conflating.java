@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.eventannotation;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be applied to event classes whose newest value is the
+ * only one that matters, like price ticks or UI state updates. When an event of
+ * a {@link Conflating} class is posted to the {@link EventBus} and an event of
+ * the same class is still waiting in the bus queue or for a free worker, the
+ * waiting event is replaced by the new one instead of queuing the new one
+ * behind it.
+ * <p>
+ * Only the exact annotated class is conflating, its subclasses are not. To
+ * conflate the events by a key (for example one pending price for each
+ * instrument) use
+ * {@link EventBusBuilder#setConflatingEvent(Class, java.util.function.Function)}
+ * instead.
+ * <pre>
+ * {@literal @}Conflating
+ * public class MousePositionEvent {
+ *      ...
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see EventBus
+ * @see EventBusBuilder#setConflatingEvent(Class)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Conflating {
+}
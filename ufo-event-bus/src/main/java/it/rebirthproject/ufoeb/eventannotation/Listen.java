@@ -27,7 +27,11 @@ import java.lang.annotation.Target;
 /**
  * This annotation must be applied to methods of registered listeners to {@link EventBus}. Those methods will be used by
  * the bus system as callbacks to notify listeners about new events of the requested type.
- * Method annotated with {@link Listen} must be public, return nothing (void), and have exactly one parameter (the event).
+ * Method annotated with {@link Listen} must be public and have exactly one parameter (the event). It usually returns nothing (void):
+ * a returned value is ignored, unless the event is posted as a request with {@link EventBus#request(Object, Class, long, java.util.concurrent.TimeUnit)}.
+ * A method calling an asynchronous client can return a {@link java.util.concurrent.CompletionStage} instead of waiting for it: the worker
+ * is released at once, and the delivery completes, or fails, when the stage completes. Meanwhile the listener methods with a lower
+ * priority don't get the event, and a listener mailbox doesn't deliver the next events to the listener.
  * <p>
  * Example:
  * <pre>
@@ -82,4 +86,29 @@ public @interface Listen {
      * @return the listener priority.
      */
     public int priority() default 0;
+
+    /**
+     * The maximum number of workers delivering events to the listener at the
+     * same time, used only when listener mailboxes are enabled. A listener
+     * mailbox uses the lowest value among the listener methods. The default
+     * value is 1: events are delivered to the listener one at a time and in
+     * posting order. Higher values let a thread safe listener receive events
+     * in parallel, without ordering guarantees.
+     *
+     * @return the listener maximum concurrency.
+     * @see it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder#setListenerMailboxes()
+     */
+    public int maxConcurrency() default 1;
+
+    /**
+     * The thread used to deliver the events to the listener method. The
+     * default value is {@link ThreadMode#ASYNC}: events are delivered by the
+     * bus workers. {@link ThreadMode#POSTING} delivers them synchronously on
+     * the posting thread, {@link ThreadMode#BACKGROUND} on a single background
+     * thread and {@link ThreadMode#MAIN} with the main thread dispatcher.
+     *
+     * @return the listener thread mode.
+     * @see it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder#setMainThreadDispatcher(it.rebirthproject.ufoeb.architecture.mainthread.MainThreadDispatcher)
+     */
+    public ThreadMode threadMode() default ThreadMode.ASYNC;
 }
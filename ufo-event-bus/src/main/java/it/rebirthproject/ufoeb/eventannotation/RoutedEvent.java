@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.eventannotation;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+
+/**
+ * An interface which can be implemented by event classes to declare their
+ * routing key, as an alternative to the {@link RoutingKey} annotation. When
+ * routing key lanes are enabled, the events with the same routing key are
+ * delivered in posting order, one at a time, while events with different keys
+ * are delivered in parallel.
+ *
+ * @see RoutingKey
+ * @see EventBusBuilder#setRoutingKeyLanes()
+ */
+public interface RoutedEvent {
+
+    /**
+     * Gets the routing key of the event, compared with equals
+     *
+     * @return The routing key of the event, or null if the event has no
+     * routing key
+     */
+    public Object getRoutingKey();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.eventannotation;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation can be applied to a getter of an event class to declare the
+ * routing key of the event. When routing key lanes are enabled, the events
+ * with the same routing key are delivered in posting order, one at a time,
+ * while events with different keys are delivered in parallel. The annotated
+ * method must be public, have no parameters and return the key, which is
+ * compared with equals. A null key means the event has no routing key.
+ * <p>
+ * Example:
+ * <pre>
+ * public class OrderUpdatedEvent {
+ *
+ *      private final long orderId;
+ *      ...
+ *
+ *      {@literal @}RoutingKey
+ *      public long getOrderId() {
+ *          return orderId;
+ *      }
+ * }
+ * </pre>
+ * </p>
+ *
+ * @see RoutedEvent
+ * @see EventBusBuilder#setRoutingKeyLanes()
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface RoutingKey {
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.eventannotation;
+
+/**
+ * The thread used to deliver the events to a {@link Listen} annotated method
+ *
+ * @see Listen#threadMode()
+ */
+public enum ThreadMode {
+    /**
+     * The event is delivered synchronously by the thread posting it, before
+     * the post method returns, without any queueing. The listener must be
+     * fast and must not block, since it delays the posting thread. An event
+     * dropped or rejected by the overflow policy is not delivered, while an
+     * event already delivered is not taken back if it is dropped later in
+     * favour of a newer one. Sticky events are delivered to a new
+     * registration by a worker.
+     */
+    POSTING,
+    /**
+     * The event is delivered by one of the bus workers. This is the default
+     * thread mode.
+     */
+    ASYNC,
+    /**
+     * The event is delivered by a single background thread of the bus, shared
+     * by all the background listeners, which gets the events one at a time
+     * and in dispatch order.
+     */
+    BACKGROUND,
+    /**
+     * The event is delivered by the main thread dispatcher set in the bus
+     * builder, for example the UI thread of the application, in a frame
+     * coalescing all the waiting events. Listeners with these methods cannot be
+     * registered to a bus without a main thread dispatcher.
+     */
+    MAIN;
+}
@@ -24,14 +24,20 @@ import it.rebirthproject.ufoeb.eventinheritancepolicy.base.EventInheritancePolic
 /**
  * The simpler implementation of the {@link EventInheritancePolicy} interface. With
  * this policy we dont' want to use event inheritance. So only the given class is added to
- * the eventSuperClassesAndInterfacesCache set.
+ * the eventSuperClassesAndInterfacesCache set, which is cached to avoid
+ * creating a new set on each post.
  */
 public class NoEventInheritancePolicy implements EventInheritancePolicy {
     
     @Override
     public Set<Class<?>> getAllEventInheritanceObjects(Object eventObjectToPost, Map<Class<?>, Set<Class<?>>> eventSuperClassesAndInterfacesCache) {
-        Set<Class<?>> eventInheritanceObjects = new LinkedHashSet<>();
-        eventInheritanceObjects.add(eventObjectToPost.getClass());
+        Class<?> eventClassToPost = eventObjectToPost.getClass();
+        Set<Class<?>> eventInheritanceObjects = eventSuperClassesAndInterfacesCache.get(eventClassToPost);
+        if (eventInheritanceObjects == null) {
+            eventInheritanceObjects = new LinkedHashSet<>();
+            eventInheritanceObjects.add(eventClassToPost);
+            eventSuperClassesAndInterfacesCache.put(eventClassToPost, eventInheritanceObjects);
+        }
         return eventInheritanceObjects;
     }
 }
@@ -18,6 +18,8 @@
 package it.rebirthproject.ufoeb.services;
 
 import it.rebirthproject.ufoeb.architecture.eventbus.EventBusBuilder;
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
+import it.rebirthproject.ufoeb.architecture.executor.ThreadModeMailboxes;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
 import it.rebirthproject.ufoeb.dto.BusEventKey;
 import it.rebirthproject.ufoeb.dto.registrations.Registration;
@@ -136,9 +138,107 @@ public class ListenerMethodFinder {
      * execution of this method
      */
     public void findListenerMethods(final Object listenerToRegister, final MemoryState memoryState) throws EventBusException {
-        final Map<BusEventKey, Set<Method>> eventsMethodsMap = new HashMap<>();
+        findListenerMethods(listenerToRegister, memoryState, null);
+    }
 
-        Class<?> clazz = listenerToRegister.getClass();
+    /**
+     * Method used to retrieve all the listener's methods annotated with the
+     * {@link Listen} annotation and to update the {@link MemoryState}
+     * accordingly, attaching the listener mailbox to every registration.
+     *
+     * @param listenerToRegister The {@link Listen} annotated methods' listener.
+     * @param memoryState The eventbus {@link MemoryState}
+     * @param listenerMailbox The mailbox of the listener, or null if listener
+     * mailboxes are not enabled
+     * @throws EventBusException is thrown if some exception occurs during the
+     * execution of this method
+     */
+    public void findListenerMethods(final Object listenerToRegister, final MemoryState memoryState, final ListenerMailbox listenerMailbox) throws EventBusException {
+        findListenerMethods(listenerToRegister, memoryState, listenerMailbox, null);
+    }
+
+    /**
+     * Method used to retrieve all the listener's methods annotated with the
+     * {@link Listen} annotation and to update the {@link MemoryState}
+     * accordingly, attaching the listener mailbox and the mailbox of the
+     * thread mode to every registration.
+     *
+     * @param listenerToRegister The {@link Listen} annotated methods' listener.
+     * @param memoryState The eventbus {@link MemoryState}
+     * @param listenerMailbox The mailbox of the listener, or null if listener
+     * mailboxes are not enabled
+     * @param threadModeMailboxes The mailboxes of the threads delivering the
+     * registrations with a dedicated thread mode, or null if every registration
+     * is delivered by the workers
+     * @throws EventBusException is thrown if some exception occurs during the
+     * execution of this method
+     */
+    public void findListenerMethods(final Object listenerToRegister, final MemoryState memoryState, final ListenerMailbox listenerMailbox, final ThreadModeMailboxes threadModeMailboxes) throws EventBusException {
+        for (final Method method : findValidListenerMethods(listenerToRegister.getClass())) {
+            Listen listenerAnnotation = method.getAnnotation(Listen.class);
+            // The maximum concurrency is used only by the listener mailboxes
+            if (listenerMailbox != null && listenerAnnotation.maxConcurrency() <= 0) {
+                String methodName = method.getDeclaringClass().getName() + "." + method.getName();
+                throw new EventBusException(methodName + " (@Listen) annotated method must have maxConcurrency > 0 but has " + listenerAnnotation.maxConcurrency() + ".");
+            }
+            BusEventKey eventKey = new BusEventKey(method.getParameterTypes()[0]);
+
+            Registration registration;
+            try {
+                if (useLambdaFactoryInsteadOfStandardReflection) {
+                    registration = new RegistrationMethodHandler(listenerToRegister, method, listenerAnnotation.priority());
+                } else {
+                    registration = new RegistrationStandardReflection(listenerToRegister, method, listenerAnnotation.priority());
+                }
+            } catch (Throwable ex) {
+                String methodName = method.getDeclaringClass().getName() + "." + method.getName();
+                throw new EventBusException("Could not create method handler for public method " + methodName + ".", ex);
+            }
+            if (listenerMailbox != null) {
+                listenerMailbox.restrictMaxConcurrency(listenerAnnotation.maxConcurrency());
+                registration.setMailbox(listenerMailbox);
+            }
+            registration.setThreadMode(listenerAnnotation.threadMode());
+            if (threadModeMailboxes != null) {
+                registration.setThreadModeMailbox(threadModeMailboxes.getMailbox(listenerAnnotation.threadMode()));
+            }
+            memoryState.registerListener(eventKey, registration);
+        }
+    }
+
+    /**
+     * Method used to retrieve the listener's {@link Listen} annotated methods
+     * that {@link #findListenerMethods(Object, MemoryState)} would register,
+     * applying the same rules. It lets the bus check a listener on the
+     * registering thread, before the registration is sent to the
+     * {@link MemoryState}.
+     *
+     * @param listenerClass The class of the listener to register
+     * @return The listener's methods to register
+     * @throws EventBusException is thrown if the listener is not valid or some
+     * exception occurs during the execution of this method
+     */
+    public List<Method> findMethodsToRegister(final Class<?> listenerClass) throws EventBusException {
+        return findValidListenerMethods(listenerClass);
+    }
+
+    /**
+     * Private method used to retrieve the {@link Listen} annotated methods of a
+     * listener class which are valid to register. The superclasses are looked
+     * up only if listener superclass inheritance is enabled, up to the
+     * package frontier.
+     *
+     * @param listenerClass The class of the listener to register
+     * @return The valid {@link Listen} annotated methods
+     * @throws EventBusException is thrown if a not valid method is found and
+     * {@link #throwNotValidMethodException} is set, if no valid method is found
+     * and {@link #throwNoListenerAnnotationException} is set, or if the
+     * reflection raises an exception
+     */
+    private List<Method> findValidListenerMethods(final Class<?> listenerClass) throws EventBusException {
+        final List<Method> listenerMethods = new ArrayList<>();
+
+        Class<?> clazz = listenerClass;
         String clazzName = clazz.getName();
 
         // need to iterate through hierarchy in order to retrieve methods from above the current instance
@@ -148,29 +248,13 @@ public class ListenerMethodFinder {
                 int modifiers = method.getModifiers();
                 if (method.isAnnotationPresent(Listen.class)) {
                     if ((modifiers & Modifier.PUBLIC) != 0 && (modifiers & MODIFIERS_IGNORE) == 0) {
-                        Class<?>[] parameterTypes = method.getParameterTypes();
-                        if (parameterTypes.length == 1) {
+                        int parametersCount = method.getParameterTypes().length;
+                        if (parametersCount == 1) {
                             //this is a valid method to scan
-                            Listen listenerAnnotation = method.getAnnotation(Listen.class);
-                            BusEventKey eventKey = new BusEventKey(parameterTypes[0]);
-
-                            eventsMethodsMap.computeIfAbsent(eventKey, evtKey -> new HashSet<>());
-
-                            Registration registration;
-                            try {
-                                if (useLambdaFactoryInsteadOfStandardReflection) {
-                                    registration = new RegistrationMethodHandler(listenerToRegister, method, listenerAnnotation.priority());
-                                } else {
-                                    registration = new RegistrationStandardReflection(listenerToRegister, method, listenerAnnotation.priority());
-                                }
-                            } catch (Throwable ex) {
-                                String methodName = method.getDeclaringClass().getName() + "." + method.getName();
-                                throw new EventBusException("Could not create method handler for public method " + methodName + ".", ex);
-                            }
-                            memoryState.registerListener(eventKey, registration);
+                            listenerMethods.add(method);
                         } else if (throwNotValidMethodException) {
                             String methodName = method.getDeclaringClass().getName() + "." + method.getName();
-                            throw new EventBusException(methodName + " (@Listen) annotated method must have exactly 1 parameter but has " + parameterTypes.length + ".");
+                            throw new EventBusException(methodName + " (@Listen) annotated method must have exactly 1 parameter but has " + parametersCount + ".");
                         }
                     } else if (throwNotValidMethodException) {
                         String methodName = method.getDeclaringClass().getName() + "." + method.getName();
@@ -188,13 +272,12 @@ public class ListenerMethodFinder {
             }
         }
 
-        if (throwNoListenerAnnotationException && eventsMethodsMap.isEmpty()) {
-            throw new EventBusException("Listener " + listenerToRegister.getClass().getName() + " and its super classes have no public methods with the @Listen annotation.");
+        if (throwNoListenerAnnotationException && listenerMethods.isEmpty()) {
+            throw new EventBusException("Listener " + listenerClass.getName() + " and its super classes have no public methods with the @Listen annotation.");
         }
+        return listenerMethods;
     }
 
-   
-
     /**
      * This method finds all methods defined in a given class.
      *
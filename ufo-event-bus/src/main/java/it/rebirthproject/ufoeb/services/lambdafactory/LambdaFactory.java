@@ -39,4 +39,21 @@ public class LambdaFactory {
 
         return (Handler<T, V>) site.getTarget().invokeExact();
     }
+
+    public static <T, V> ResultHandler<T, V> createResultHandler(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle passedMethodHandle = lookup.unreflect(method);
+        MethodType functionMethodType = MethodType.methodType(Object.class, Object.class, Object.class);
+
+        // primitive return values are boxed by the metafactory
+        final CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "invokeMethod",
+                MethodType.methodType(ResultHandler.class),
+                functionMethodType,
+                passedMethodHandle,
+                passedMethodHandle.type());
+
+        return (ResultHandler<T, V>) site.getTarget().invokeExact();
+    }
 }
@@ -19,7 +19,9 @@
  */
 module it.rebirthproject.ufoeb {
     requires org.slf4j;
+    requires static java.management;
     exports it.rebirthproject.ufoeb.architecture.eventbus;
+    exports it.rebirthproject.ufoeb.architecture.mainthread;
     exports it.rebirthproject.ufoeb.exceptions;
     exports it.rebirthproject.ufoeb.eventannotation;
 }
\ No newline at end of file
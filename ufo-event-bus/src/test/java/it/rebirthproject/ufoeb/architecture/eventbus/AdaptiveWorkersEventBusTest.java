@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveWorkersEventBusTest {
+
+    private static final int EVENTS = 1000;
+
+    @Test
+    public void events_are_delivered_by_the_adaptive_workers() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setAdaptiveWorkers(1, 4)
+                .setWorkersQueueLength(64)
+                .build();
+        CountingListener listener = new CountingListener(EVENTS);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < EVENTS; i++) {
+            bus.post(new TestEvent1());
+        }
+
+        assertTrue(listener.awaitEvents(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        for (WorkersPoolDecision decision : bus.getWorkersPoolDecisions()) {
+            assertTrue(decision.getWorkers() >= 1 && decision.getWorkers() <= 4, "The pool was resized out of its bounds.");
+        }
+        bus.shutdownBus();
+        assertEquals(EVENTS, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void fixed_workers_have_no_decisions() {
+        EventBus bus = new EventBusBuilder().build();
+        assertTrue(bus.getWorkersPoolDecisions().isEmpty());
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void invalid_adaptive_workers_bounds_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setAdaptiveWorkers(null, 4));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setAdaptiveWorkers(0, 4));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setAdaptiveWorkers(4, 2));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setAdaptiveWorkers(4, 8).setNumberOfWorkers(2).build());
+    }
+}
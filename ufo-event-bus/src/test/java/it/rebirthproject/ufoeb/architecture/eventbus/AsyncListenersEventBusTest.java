@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.AsyncQuoteListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncListenersEventBusTest {
+
+    private void registerAndWait(EventBus bus, Object listener) throws Exception {
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @Test
+    public void worker_is_released_while_the_listener_is_pending() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(1).build();
+        AsyncQuoteListener asyncListener = new AsyncQuoteListener();
+        CountingListener countingListener = new CountingListener(1);
+        registerAndWait(bus, asyncListener);
+        registerAndWait(bus, countingListener);
+
+        bus.post(new SequenceEvent(1));
+        assertTrue(waitUntil(() -> asyncListener.getPendingQuote(1) != null), "The asynchronous listener was not invoked.");
+        bus.post(new TestEvent1());
+
+        assertTrue(countingListener.awaitEvents(5, TimeUnit.SECONDS), "The only worker was kept busy by the pending listener.");
+        assertTrue(asyncListener.getLowPrioritySequences().isEmpty(), "The lower priority band did not wait for the pending listener.");
+        asyncListener.getPendingQuote(1).complete(42);
+        assertTrue(waitUntil(() -> asyncListener.getLowPrioritySequences().size() == 1), "The lower priority band was not delivered.");
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void lower_priority_band_is_resumed_by_the_workers() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(1).build();
+        AsyncQuoteListener listener = new AsyncQuoteListener();
+        registerAndWait(bus, listener);
+
+        bus.post(new SequenceEvent(1));
+        assertTrue(waitUntil(() -> listener.getPendingQuote(1) != null), "The asynchronous listener was not invoked.");
+        listener.getPendingQuote(1).complete(42);
+
+        assertTrue(waitUntil(() -> listener.getLowPrioritySequences().size() == 1), "The lower priority band was not delivered.");
+        bus.shutdownBus();
+        assertNotSame(Thread.currentThread(), listener.getLowPriorityThreads().get(0), "The lower priority band was delivered by the thread completing the stage.");
+    }
+
+    @Test
+    public void delivery_report_waits_for_the_completion_of_the_stage() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        AsyncQuoteListener listener = new AsyncQuoteListener();
+        registerAndWait(bus, listener);
+
+        CompletableFuture<DeliveryReport> succeededReport = bus.postAndAwait(new SequenceEvent(1));
+        assertTrue(waitUntil(() -> listener.getPendingQuote(1) != null), "The asynchronous listener was not invoked.");
+        assertFalse(succeededReport.isDone(), "The report was completed before the stage.");
+        listener.getPendingQuote(1).complete(42);
+        assertEquals(2, succeededReport.get(5, TimeUnit.SECONDS).getSucceededDeliveries());
+
+        CompletableFuture<DeliveryReport> failedReport = bus.postAndAwait(new SequenceEvent(2));
+        assertTrue(waitUntil(() -> listener.getPendingQuote(2) != null), "The asynchronous listener was not invoked.");
+        listener.getPendingQuote(2).completeExceptionally(new IllegalStateException("Quote service unavailable"));
+        DeliveryReport report = failedReport.get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertEquals(1, report.getFailedDeliveries());
+        assertEquals(1, report.getSucceededDeliveries());
+    }
+
+    @Test
+    public void request_collects_the_values_of_the_stages() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        AsyncQuoteListener listener = new AsyncQuoteListener();
+        registerAndWait(bus, listener);
+
+        CompletableFuture<List<Integer>> results = bus.request(new SequenceEvent(1), Integer.class, 5, TimeUnit.SECONDS);
+        assertTrue(waitUntil(() -> listener.getPendingQuote(1) != null), "The asynchronous listener was not invoked.");
+        listener.getPendingQuote(1).complete(42);
+        assertEquals(Collections.singletonList(42), results.get(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void pending_requests_and_reports_fail_when_the_bus_shuts_down() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        AsyncQuoteListener listener = new AsyncQuoteListener();
+        registerAndWait(bus, listener);
+
+        CompletableFuture<List<Integer>> results = bus.request(new SequenceEvent(1), Integer.class, 1, TimeUnit.MINUTES);
+        CompletableFuture<DeliveryReport> report = bus.postAndAwait(new SequenceEvent(2));
+        assertTrue(waitUntil(() -> listener.getPendingQuote(1) != null && listener.getPendingQuote(2) != null), "The asynchronous listener was not invoked.");
+        // The stages are never completed, so the deliveries never run
+        bus.shutdownBus();
+
+        ExecutionException requestError = assertThrows(ExecutionException.class, () -> results.get(5, TimeUnit.SECONDS));
+        assertTrue(requestError.getCause() instanceof EventBusException);
+        ExecutionException reportError = assertThrows(ExecutionException.class, () -> report.get(5, TimeUnit.SECONDS));
+        assertTrue(reportError.getCause() instanceof EventBusException);
+    }
+
+    @Test
+    public void listener_mailbox_waits_for_the_completion_of_the_stage() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).setListenerMailboxes().build();
+        AsyncQuoteListener listener = new AsyncQuoteListener();
+        registerAndWait(bus, listener);
+
+        bus.post(new SequenceEvent(1));
+        bus.post(new SequenceEvent(2));
+        assertTrue(waitUntil(() -> listener.getPendingQuote(1) != null), "The asynchronous listener was not invoked.");
+        Thread.sleep(50);
+        assertEquals(Collections.singletonList(1), listener.getInvokedSequences(), "The next event was delivered before the stage completed.");
+
+        listener.getPendingQuote(1).complete(1);
+        assertTrue(waitUntil(() -> listener.getPendingQuote(2) != null), "The next event was not delivered.");
+        listener.getPendingQuote(2).complete(2);
+        assertTrue(waitUntil(() -> listener.getLowPrioritySequences().size() == 2), "Not all the events were delivered.");
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(1, 2), listener.getInvokedSequences());
+        assertEquals(Arrays.asList(1, 2), listener.getLowPrioritySequences());
+    }
+}
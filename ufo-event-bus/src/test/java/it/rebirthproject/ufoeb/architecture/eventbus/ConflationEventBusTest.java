@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ConflatingStatusEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.PriceUpdateEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SlowConflationListener;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConflationEventBusTest {
+
+    private SlowConflationListener registerAndBlockWorker(EventBus bus, int expectedEvents, Object firstEvent) throws Exception {
+        SlowConflationListener listener = new SlowConflationListener(expectedEvents);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        bus.post(firstEvent);
+        assertTrue(listener.awaitFirstEvent(5, TimeUnit.SECONDS), "The worker was not blocked by the slow listener.");
+        return listener;
+    }
+
+    private void awaitDispatched(EventBus bus, Object listener) throws Exception {
+        // The state manager handles the messages in order, so the posts sent before are dispatched to the workers
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void only_latest_event_waiting_for_a_slow_listener_is_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setConflatingEvent(PriceUpdateEvent.class)
+                .build();
+        PriceUpdateEvent first = new PriceUpdateEvent("EURUSD", 1.0);
+        PriceUpdateEvent latest = new PriceUpdateEvent("EURUSD", 1.3);
+        SlowConflationListener listener = registerAndBlockWorker(bus, 2, first);
+        try {
+            bus.post(new PriceUpdateEvent("EURUSD", 1.1));
+            awaitDispatched(bus, listener);
+            bus.post(new PriceUpdateEvent("GBPUSD", 1.2));
+            bus.post(latest);
+        } finally {
+            listener.release();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertEquals(Arrays.asList(first, latest), listener.getReceivedEvents());
+        assertEquals(2, bus.getConflatedEventsCount());
+    }
+
+    @Test
+    public void events_are_conflated_by_key_keeping_the_first_queue_position() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setConflatingEvent(PriceUpdateEvent.class, PriceUpdateEvent::getInstrument)
+                .build();
+        PriceUpdateEvent first = new PriceUpdateEvent("EURUSD", 1.0);
+        PriceUpdateEvent latestEur = new PriceUpdateEvent("EURUSD", 1.3);
+        PriceUpdateEvent latestGbp = new PriceUpdateEvent("GBPUSD", 1.4);
+        SlowConflationListener listener = registerAndBlockWorker(bus, 3, first);
+        try {
+            bus.post(new PriceUpdateEvent("EURUSD", 1.1));
+            bus.post(new PriceUpdateEvent("GBPUSD", 1.2));
+            awaitDispatched(bus, listener);
+            bus.post(latestGbp);
+            bus.post(latestEur);
+        } finally {
+            listener.release();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertEquals(Arrays.asList(first, latestEur, latestGbp), listener.getReceivedEvents());
+        assertEquals(2, bus.getConflatedEventsCount());
+    }
+
+    @Test
+    public void annotated_events_are_conflated_and_posted_again_once_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        ConflatingStatusEvent first = new ConflatingStatusEvent();
+        ConflatingStatusEvent latest = new ConflatingStatusEvent();
+        SlowConflationListener listener = registerAndBlockWorker(bus, 3, first);
+        try {
+            bus.post(new ConflatingStatusEvent());
+            awaitDispatched(bus, listener);
+            bus.post(latest);
+        } finally {
+            listener.release();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (listener.getReceivedEvents().size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        ConflatingStatusEvent next = new ConflatingStatusEvent();
+        bus.post(next);
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertEquals(Arrays.asList(first, latest, next), listener.getReceivedEvents());
+        assertEquals(1, bus.getConflatedEventsCount());
+    }
+
+    @Test
+    public void events_dispatched_directly_are_conflated_while_waiting_for_a_worker() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setConflatingEvent(PriceUpdateEvent.class)
+                .setDirectDispatch()
+                .build();
+        PriceUpdateEvent first = new PriceUpdateEvent("EURUSD", 1.0);
+        PriceUpdateEvent latest = new PriceUpdateEvent("EURUSD", 1.2);
+        SlowConflationListener listener = registerAndBlockWorker(bus, 2, first);
+        try {
+            bus.post(new PriceUpdateEvent("EURUSD", 1.1));
+            bus.post(latest);
+        } finally {
+            listener.release();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertEquals(Arrays.asList(first, latest), listener.getReceivedEvents());
+        assertEquals(1, bus.getConflatedEventsCount());
+    }
+
+    @Test
+    public void conflating_event_with_null_arguments_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setConflatingEvent(null));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setConflatingEvent(null, event -> event));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setConflatingEvent(PriceUpdateEvent.class, null));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderRecordingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.StateManagerBlockingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ControlLaneEventBusTest {
+
+    private static final int QUEUED_EVENTS = 50;
+
+    private StateManagerBlockingListener blockStateManager(EventBus bus) throws Exception {
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener();
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(5, TimeUnit.SECONDS), "The state manager was not blocked.");
+        return blockingListener;
+    }
+
+    @Test
+    public void registration_and_query_overtake_queued_posts() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setControlLane()
+                .setQueuesLength(QUEUED_EVENTS * 2)
+                .build();
+        CountingListener listener = new CountingListener(QUEUED_EVENTS);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            for (int i = 0; i < QUEUED_EVENTS; i++) {
+                bus.post(new TestEvent1());
+            }
+            bus.register(listener);
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "The registration did not overtake the queued posts.");
+        assertEquals(QUEUED_EVENTS, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void posts_queued_before_shutdown_are_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setControlLane()
+                .setQueuesLength(QUEUED_EVENTS * 2)
+                .build();
+        CountingListener listener = new CountingListener(QUEUED_EVENTS);
+        bus.register(listener);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            for (int i = 0; i < QUEUED_EVENTS; i++) {
+                bus.post(new TestEvent1());
+            }
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        bus.shutdownBus();
+
+        assertEquals(QUEUED_EVENTS, listener.getReceivedEvents(), "The posts queued before the shutdown were not delivered.");
+    }
+
+    @Test
+    public void drop_oldest_policy_can_be_used_with_ring_buffer_queue() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setControlLane()
+                .setRingBufferQueue()
+                .setQueuesLength(2)
+                .setDropOldestOverflowPolicy()
+                .build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        TestEvent1 second = new TestEvent1();
+        TestEvent1 third = new TestEvent1();
+        try {
+            bus.post(new TestEvent1());
+            bus.post(second);
+            bus.post(third);
+            assertEquals(1, bus.getDroppedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(second, third), listener.getReceivedEvents());
+    }
+
+    @Test
+    public void control_messages_do_not_take_the_slots_of_queued_posts() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setControlLane()
+                .setQueuesLength(3)
+                .setFailFastOverflowPolicy()
+                .build();
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            bus.post(new TestEvent1());
+            bus.register(new CountingListener(1));
+            bus.register(new CountingListener(1));
+            bus.post(new TestEvent1());
+            assertEquals(0, bus.getRejectedEventsCount(), "A post was rejected to make room for the control messages.");
+        } finally {
+            blockingListener.releaseStateManager();
+            bus.shutdownBus();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.DeliveryReportListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.StateManagerBlockingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeliveryReportEventBusTest {
+
+    private static final int REGISTRATIONS = 3;
+
+    private void registerAndWait(EventBus bus, Object listener) throws Exception {
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+    }
+
+    private void assertReportAfterEveryDelivery(EventBus bus) throws Exception {
+        DeliveryReportListener listener = new DeliveryReportListener();
+        registerAndWait(bus, listener);
+
+        DeliveryReport report = bus.postAndAwait(new SequenceEvent(1)).get(5, TimeUnit.SECONDS);
+        assertEquals(REGISTRATIONS, listener.getDeliveries(), "The report was completed before every delivery had run.");
+        bus.shutdownBus();
+        assertEquals(REGISTRATIONS, report.getSucceededDeliveries());
+        assertEquals(0, report.getFailedDeliveries());
+        assertTrue(report.isSuccessful());
+    }
+
+    @Test
+    public void report_is_completed_after_every_delivery() throws Exception {
+        assertReportAfterEveryDelivery(new EventBusBuilder().setNumberOfWorkers(4).build());
+    }
+
+    @Test
+    public void report_is_completed_after_every_delivery_with_listener_mailboxes() throws Exception {
+        assertReportAfterEveryDelivery(new EventBusBuilder().setNumberOfWorkers(4).setListenerMailboxes().build());
+    }
+
+    @Test
+    public void report_is_completed_after_every_delivery_with_direct_dispatch() throws Exception {
+        assertReportAfterEveryDelivery(new EventBusBuilder().setNumberOfWorkers(4).setDirectDispatch().build());
+    }
+
+    @Test
+    public void report_is_completed_after_every_delivery_with_inline_dispatch() throws Exception {
+        assertReportAfterEveryDelivery(new EventBusBuilder().setInlineDispatch().build());
+    }
+
+    @Test
+    public void failing_listener_is_counted_as_failed_delivery() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        registerAndWait(bus, new DeliveryReportListener());
+
+        DeliveryReport report = bus.postAndAwait(new SequenceEvent(-1)).get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertEquals(REGISTRATIONS - 1, report.getSucceededDeliveries());
+        assertEquals(1, report.getFailedDeliveries());
+        assertEquals(REGISTRATIONS, report.getTotalDeliveries());
+        assertFalse(report.isSuccessful());
+    }
+
+    @Test
+    public void event_without_registrations_gets_an_empty_report() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+
+        DeliveryReport report = bus.postAndAwait(new TestEvent1()).get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertEquals(0, report.getTotalDeliveries());
+        assertTrue(report.isSuccessful());
+    }
+
+    @Test
+    public void callback_gets_the_report() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        registerAndWait(bus, new DeliveryReportListener());
+        AtomicReference<DeliveryReport> reportReference = new AtomicReference<>();
+        CountDownLatch callbackLatch = new CountDownLatch(1);
+
+        bus.post(new SequenceEvent(-1), report -> {
+            reportReference.set(report);
+            callbackLatch.countDown();
+        });
+
+        assertTrue(callbackLatch.await(5, TimeUnit.SECONDS), "The callback was not called.");
+        bus.shutdownBus();
+        assertEquals(1, reportReference.get().getFailedDeliveries());
+        assertEquals(REGISTRATIONS, reportReference.get().getTotalDeliveries());
+        assertFalse(reportReference.get().isDiscarded());
+    }
+
+    @Test
+    public void dropped_event_completes_the_report_exceptionally() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(2).setDropNewestOverflowPolicy().build();
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener();
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(5, TimeUnit.SECONDS), "The state manager was not blocked.");
+        CompletableFuture<DeliveryReport> droppedReport;
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            droppedReport = bus.postAndAwait(new TestEvent1());
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> droppedReport.get(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertTrue(ex.getCause() instanceof EventBusException, "The report was not completed with an EventBusException.");
+        assertEquals(1, bus.getDroppedEventsCount());
+    }
+
+    @Test
+    public void callback_gets_the_report_of_a_dropped_event() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(2).setDropNewestOverflowPolicy().build();
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener();
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(5, TimeUnit.SECONDS), "The state manager was not blocked.");
+        AtomicReference<DeliveryReport> reportReference = new AtomicReference<>();
+        CountDownLatch callbackLatch = new CountDownLatch(1);
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1(), report -> {
+                reportReference.set(report);
+                callbackLatch.countDown();
+            });
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+
+        assertTrue(callbackLatch.await(5, TimeUnit.SECONDS), "The callback was not called for the dropped event.");
+        bus.shutdownBus();
+        DeliveryReport report = reportReference.get();
+        assertTrue(report.isDiscarded(), "The report does not tell that the event was dropped.");
+        assertNotNull(report.getDiscardCause());
+        assertFalse(report.isSuccessful());
+        assertEquals(0, report.getTotalDeliveries());
+        assertEquals(1, bus.getDroppedEventsCount());
+    }
+
+    @Test
+    public void null_event_or_callback_throws() {
+        EventBus bus = new EventBusBuilder().build();
+        assertThrows(EventBusException.class, () -> bus.postAndAwait(null));
+        assertThrows(EventBusException.class, () -> bus.post(new TestEvent1(), null));
+        assertThrows(EventBusException.class, () -> bus.post(null, report -> {
+        }));
+        bus.shutdownBus();
+    }
+}
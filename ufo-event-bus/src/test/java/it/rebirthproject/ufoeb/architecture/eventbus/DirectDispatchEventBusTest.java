@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectDispatchEventBusTest {
+
+    private static final int POSTING_THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 2000;
+
+    @Test
+    public void event_posted_right_after_register_is_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setDirectDispatch()
+                .build();
+        CountingListener listener = new CountingListener(1);
+
+        bus.register(listener);
+        bus.post(new TestEvent1());
+
+        boolean delivered = listener.awaitEvents(2, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(delivered, "The event posted right after the registration was not delivered.");
+    }
+
+    @Test
+    public void event_posted_after_unregister_is_not_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setDirectDispatch()
+                .build();
+        CountingListener listener = new CountingListener(1);
+
+        bus.register(listener);
+        bus.unregister(listener);
+        bus.post(new TestEvent1());
+        bus.shutdownBus();
+
+        assertEquals(0, listener.getReceivedEvents(), "The event was delivered to an unregistered listener.");
+    }
+
+    @Test
+    public void sticky_event_is_delivered_to_listener_registered_later() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setDirectDispatch()
+                .build();
+        CountingListener listener = new CountingListener(1);
+
+        bus.postSticky(new TestEvent1());
+        bus.register(listener);
+
+        boolean delivered = listener.awaitEvents(2, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(delivered, "The sticky event was not delivered.");
+    }
+
+    @Test
+    public void all_events_posted_by_many_threads_are_delivered() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setDirectDispatch()
+                .setNumberOfWorkers(2)
+                .build();
+        int expectedEvents = POSTING_THREADS * EVENTS_PER_THREAD;
+        CountingListener listener = new CountingListener(expectedEvents);
+        bus.register(listener);
+
+        List<Thread> posters = new ArrayList<>();
+        for (int i = 0; i < POSTING_THREADS; i++) {
+            Thread poster = new Thread(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    bus.post(new TestEvent1());
+                }
+            });
+            posters.add(poster);
+            poster.start();
+        }
+        for (Thread poster : posters) {
+            poster.join();
+        }
+
+        boolean allDelivered = listener.awaitEvents(10, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered.");
+        assertEquals(expectedEvents, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void post_after_shutdown_throws_exception() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setDirectDispatch()
+                .build();
+        bus.register(new CountingListener(1));
+        bus.shutdownBus();
+
+        assertThrows(EventBusException.class, () -> bus.post(new TestEvent1()));
+    }
+}
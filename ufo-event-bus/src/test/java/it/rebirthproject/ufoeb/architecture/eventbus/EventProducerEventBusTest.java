@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderRecordingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.StateManagerBlockingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventProducerEventBusTest {
+
+    private static final int PRODUCED_EVENTS = 500;
+
+    @Test
+    public void buffered_events_are_delivered_in_posting_order() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(1).build();
+        OrderRecordingListener listener = new OrderRecordingListener(PRODUCED_EVENTS);
+        bus.register(listener);
+
+        List<TestEvent1> events = new ArrayList<>();
+        try (EventProducer producer = bus.newProducer()) {
+            for (int i = 0; i < PRODUCED_EVENTS; i++) {
+                TestEvent1 event = new TestEvent1();
+                events.add(event);
+                producer.post(event);
+            }
+        }
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the produced events were delivered.");
+        assertEquals(events, listener.getReceivedEvents(), "The produced events were not delivered in posting order.");
+    }
+
+    @Test
+    public void events_are_flushed_when_size_threshold_is_reached() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        OrderRecordingListener listener = new OrderRecordingListener(3);
+        bus.register(listener);
+        EventProducer producer = bus.newProducer(3, 1, TimeUnit.HOURS);
+
+        producer.post(new TestEvent1());
+        producer.post(new TestEvent1());
+        assertEquals(2, producer.getBufferedEventsCount());
+        producer.post(new TestEvent1());
+        assertEquals(0, producer.getBufferedEventsCount());
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertTrue(allDelivered, "The events were not flushed on the size threshold.");
+    }
+
+    @Test
+    public void events_are_flushed_when_time_threshold_is_elapsed() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        bus.register(listener);
+        EventProducer producer = bus.newProducer(100, 1, TimeUnit.MILLISECONDS);
+
+        producer.post(new TestEvent1());
+        Thread.sleep(5);
+        producer.post(new TestEvent1());
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertTrue(allDelivered, "The events were not flushed on the time threshold.");
+        assertEquals(0, producer.getBufferedEventsCount());
+    }
+
+    @Test
+    public void trailing_events_are_flushed_without_further_posts() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        bus.register(listener);
+        EventProducer producer = bus.newProducer(100, 10, TimeUnit.MILLISECONDS);
+
+        producer.post(new TestEvent1());
+        producer.post(new TestEvent1());
+        assertEquals(2, producer.getBufferedEventsCount());
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertTrue(allDelivered, "The last buffered events were not flushed after the maximum delay.");
+        assertEquals(0, producer.getBufferedEventsCount());
+    }
+
+    @Test
+    public void explicit_flush_sends_buffered_events() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        bus.register(listener);
+        EventProducer producer = bus.newProducer(100, 1, TimeUnit.HOURS);
+
+        producer.post(new TestEvent1());
+        producer.post(new TestEvent1());
+        producer.flush();
+        assertEquals(0, producer.getBufferedEventsCount());
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertTrue(allDelivered, "The buffered events were not flushed.");
+    }
+
+    @Test
+    public void buffered_events_of_a_producer_not_closed_are_flushed_on_shutdown() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        bus.register(listener);
+        EventProducer producer = bus.newProducer(100, 1, TimeUnit.HOURS);
+
+        producer.post(new TestEvent1());
+        producer.post(new TestEvent1());
+        bus.shutdownBus();
+
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS), "The buffered events were lost on shutdown.");
+        assertEquals(0, producer.getBufferedEventsCount());
+        assertThrows(EventBusException.class, () -> producer.post(new TestEvent1()));
+    }
+
+    @Test
+    public void expired_batch_is_rejected_instead_of_waiting_for_a_full_queue() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(2).build();
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener();
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(5, TimeUnit.SECONDS), "The state manager was not blocked.");
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            EventProducer producer = bus.newProducer(100, 10, TimeUnit.MILLISECONDS);
+            producer.post(new TestEvent1());
+
+            // The scheduler thread would wait for a free slot with the blocking overflow policy
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bus.getRejectedEventsCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, bus.getRejectedEventsCount(), "The expired batch was not rejected.");
+            assertEquals(0, producer.getBufferedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void post_on_closed_producer_throws() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        EventProducer producer = bus.newProducer();
+        producer.close();
+
+        assertThrows(EventBusException.class, () -> producer.post(new TestEvent1()));
+        assertThrows(EventBusException.class, () -> bus.newProducer().post(null));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void invalid_producer_thresholds_throw() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+
+        assertThrows(EventBusException.class, () -> bus.newProducer(0, 1, TimeUnit.MILLISECONDS));
+        assertThrows(EventBusException.class, () -> bus.newProducer(10, 0, TimeUnit.MILLISECONDS));
+        assertThrows(EventBusException.class, () -> bus.newProducer(10, 1, null));
+        bus.shutdownBus();
+    }
+}
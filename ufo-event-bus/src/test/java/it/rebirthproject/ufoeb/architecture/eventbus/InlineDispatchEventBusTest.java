@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.AsyncQuoteListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.InlineReentrantListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ThreadRecordingListener;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InlineDispatchEventBusTest {
+
+    private static final int EVENTS = 1000;
+
+    @Test
+    public void events_are_delivered_in_order_by_the_state_manager_thread() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setInlineDispatch()
+                .build();
+        ThreadRecordingListener listener = new ThreadRecordingListener(EVENTS + 2);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        List<Integer> expectedSequences = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            bus.post(new SequenceEvent(i));
+            expectedSequences.add(i);
+        }
+        bus.postAll(new SequenceEvent(EVENTS), new SequenceEvent(EVENTS + 1));
+        expectedSequences.add(EVENTS);
+        expectedSequences.add(EVENTS + 1);
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        bus.shutdownBus();
+        assertEquals(expectedSequences, listener.getSequences(), "The events were not delivered in posting order.");
+        assertEquals(1, listener.getThreads().size(), "The events were delivered by more than one thread.");
+        assertFalse(listener.getThreads().contains(Thread.currentThread()), "The events were delivered by the posting thread.");
+    }
+
+    @Test
+    public void sticky_events_are_delivered_inline_on_registration() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setInlineDispatch()
+                .build();
+        bus.postSticky(new SequenceEvent(7));
+        ThreadRecordingListener listener = new ThreadRecordingListener(1);
+        bus.register(listener);
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "The sticky event was not delivered.");
+        bus.shutdownBus();
+        assertEquals(1, listener.getSequences().size());
+        assertEquals(7, listener.getSequences().get(0));
+    }
+
+    @Test
+    public void listeners_running_inline_do_not_deadlock_calling_the_bus() throws Exception {
+        final int queueLength = 4;
+        EventBus bus = new EventBusBuilder()
+                .setInlineDispatch()
+                .setQueuesLength(queueLength)
+                .build();
+        InlineReentrantListener listener = new InlineReentrantListener(bus, queueLength * 2);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        bus.post(new SequenceEvent(0));
+
+        assertTrue(listener.awaitDone(10, TimeUnit.SECONDS), "The listener is stuck calling the bus.");
+        assertNull(listener.getUnexpectedError());
+        assertTrue(listener.getRegistered(), "The registration query was not answered.");
+        assertEquals(1, listener.getDeliveryReport().getTotalDeliveries(), "The awaited event was not delivered at once.");
+        assertNotNull(listener.getPostException(), "A blocking post to the full queue did not throw.");
+        assertEquals(queueLength, listener.getAcceptedPosts());
+        assertEquals(1, bus.getRejectedEventsCount());
+
+        // The state manager is still running and delivers the queued events
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(1 + queueLength, listener.getNestedEvents());
+    }
+
+    @Test
+    public void listeners_returning_a_completion_stage_are_rejected_with_inline_dispatch() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setInlineDispatch()
+                .build();
+        // The lower priorities would be delivered by the thread completing the stage
+        AsyncQuoteListener asyncListener = new AsyncQuoteListener();
+        assertThrows(EventBusException.class, () -> bus.register(asyncListener));
+
+        ThreadRecordingListener listener = new ThreadRecordingListener(1);
+        bus.register(listener);
+        bus.post(new SequenceEvent(1));
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "The event was not delivered.");
+        assertFalse(bus.isRegistered(asyncListener).get(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertTrue(asyncListener.getInvokedSequences().isEmpty());
+    }
+
+    @Test
+    public void inline_dispatch_with_incompatible_options_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setInlineDispatch().setNumberOfWorkers(2).build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setInlineDispatch().setListenerMailboxes().build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setInlineDispatch().setDirectDispatch().build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setInlineDispatch().setCallerRunsOverflowPolicy().build());
+    }
+
+    @Test
+    public void inline_dispatch_with_another_workers_pool_throws() throws Exception {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setInlineDispatch().setAdaptiveWorkers(1, 1).build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setPerWorkerQueuesWorkers().setInlineDispatch().build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setFixedThreadPoolWorkers().setPumpMode().build());
+        EventBus bus = new EventBusBuilder().setInlineDispatch().setInlineDispatch().build();
+        bus.shutdownBus();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ConcurrentPairListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequentialCheckingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.WorkerBlockingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.objectstoregister.services.TestClassToRegisterWithInvalidMaxConcurrency;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListenerMailboxesEventBusTest {
+
+    private static final int POSTED_EVENTS = 1000;
+    private static final int NUMBER_OF_WORKERS = 4;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void listener_receives_events_in_order_one_at_a_time(boolean postAll) throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(NUMBER_OF_WORKERS)
+                .setListenerMailboxes()
+                .build();
+        SequentialCheckingListener listener = new SequentialCheckingListener(POSTED_EVENTS);
+        bus.register(listener);
+
+        List<TestEvent1> events = new ArrayList<>();
+        for (int i = 0; i < POSTED_EVENTS; i++) {
+            events.add(new TestEvent1());
+        }
+        if (postAll) {
+            bus.postAll(events);
+        } else {
+            for (TestEvent1 event : events) {
+                bus.post(event);
+            }
+        }
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered.");
+        assertEquals(1, listener.getMaxConcurrentDeliveries(), "The listener received events concurrently.");
+        assertEquals(events, listener.getReceivedEvents(), "The events were not delivered in order.");
+    }
+
+    @Test
+    public void slow_listener_does_not_block_other_listeners() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(2)
+                .setListenerMailboxes()
+                .build();
+        WorkerBlockingListener blockedListener = new WorkerBlockingListener();
+        CountingListener listener = new CountingListener(10);
+        bus.register(blockedListener);
+        bus.register(listener);
+        try {
+            for (int i = 0; i < 10; i++) {
+                bus.post(new TestEvent1());
+            }
+            assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS), "The blocked listener stopped the other listener.");
+        } finally {
+            blockedListener.releaseWorkers();
+        }
+        assertTrue(blockedListener.awaitEvents(10, 5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void max_concurrency_lets_more_workers_deliver_to_a_listener() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(NUMBER_OF_WORKERS)
+                .setListenerMailboxes()
+                .build();
+        ConcurrentPairListener listener = new ConcurrentPairListener();
+        bus.register(listener);
+        bus.postAll(Arrays.asList(new TestEvent1(), new TestEvent1()));
+        bus.shutdownBus();
+
+        assertEquals(2, listener.getPairedDeliveries(), "The two events were not delivered concurrently.");
+    }
+
+    @Test
+    public void listener_mailboxes_with_unbounded_options_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setListenerMailboxes().setWorkersQueueLength(10).build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setListenerMailboxes().setCallerRunsOverflowPolicy().build());
+    }
+
+    @Test
+    public void listener_without_positive_max_concurrency_is_rejected_by_the_registering_thread() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setListenerMailboxes()
+                .build();
+        TestClassToRegisterWithInvalidMaxConcurrency invalidListener = new TestClassToRegisterWithInvalidMaxConcurrency();
+        CountingListener listener = new CountingListener(1);
+        try {
+            assertThrows(EventBusException.class, () -> bus.register(invalidListener));
+            assertFalse(bus.isRegistered(invalidListener).get(5, TimeUnit.SECONDS));
+            bus.register(listener);
+            bus.post(new TestEvent1());
+            assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS), "The bus stopped working after the rejected registration.");
+        } finally {
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void max_concurrency_is_not_checked_without_listener_mailboxes() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        TestClassToRegisterWithInvalidMaxConcurrency listener = new TestClassToRegisterWithInvalidMaxConcurrency();
+        try {
+            bus.register(listener);
+            assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        } finally {
+            bus.shutdownBus();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.MainThreadListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.WorkerSubclassOfMainThreadListener;
+import it.rebirthproject.ufoeb.architecture.mainthread.TickMainThreadDispatcher;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MainThreadDispatcherEventBusTest {
+
+    @Test
+    public void waiting_main_thread_events_are_delivered_in_a_single_frame() throws Exception {
+        TickMainThreadDispatcher dispatcher = new TickMainThreadDispatcher();
+        MainThreadListener listener = new MainThreadListener();
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(1)
+                .setMainThreadDispatcher(dispatcher)
+                .build();
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        List<Integer> expectedSequences = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            bus.post(new SequenceEvent(i));
+            expectedSequences.add(i);
+        }
+        // Once the workers are terminated every event is waiting for the main thread
+        bus.shutdownBus();
+
+        assertTrue(listener.getSequences().isEmpty(), "An event was delivered before the frame ran.");
+        assertEquals(1, dispatcher.runFrames(), "The waiting events were not coalesced in a single frame.");
+        assertFalse(dispatcher.hasPendingFrames());
+        assertEquals(expectedSequences, listener.getSequences());
+        assertEquals(Collections.singleton(Thread.currentThread()), listener.getThreads(), "The events were not delivered by the main thread.");
+    }
+
+    @Test
+    public void main_thread_events_exceeding_a_frame_are_delivered_in_the_next_frame() throws Exception {
+        TickMainThreadDispatcher dispatcher = new TickMainThreadDispatcher();
+        MainThreadListener listener = new MainThreadListener();
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(2)
+                .setMainThreadDispatcher(dispatcher)
+                .build();
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 1500; i++) {
+            bus.post(new SequenceEvent(i));
+        }
+        // Once the workers are terminated every event is waiting for the main thread
+        bus.shutdownBus();
+
+        assertEquals(1, dispatcher.runFrames());
+        assertEquals(1024, listener.getSequences().size(), "The first frame did not deliver a full frame of events.");
+        assertEquals(1, dispatcher.runFrames());
+        assertFalse(dispatcher.hasPendingFrames());
+        assertEquals(1500, listener.getSequences().size());
+        assertEquals(Collections.singleton(Thread.currentThread()), listener.getThreads(), "The events were not delivered by the main thread.");
+    }
+
+    @Test
+    public void null_main_thread_dispatcher_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setMainThreadDispatcher(null));
+    }
+
+    @Test
+    public void main_thread_listener_without_dispatcher_is_rejected() throws Exception {
+        MainThreadListener listener = new MainThreadListener();
+        EventBus bus = new EventBusBuilder().build();
+        try {
+            assertThrows(EventBusException.class, () -> bus.register(listener));
+            assertFalse(bus.isRegistered(listener).get(5, TimeUnit.SECONDS), "The listener was registered without a main thread dispatcher.");
+        } finally {
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void main_thread_methods_which_are_not_registered_do_not_need_a_dispatcher() throws Exception {
+        WorkerSubclassOfMainThreadListener listener = new WorkerSubclassOfMainThreadListener();
+        EventBus bus = new EventBusBuilder().build();
+        try {
+            bus.register(listener);
+            assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+            bus.post(new SequenceEvent(0));
+            assertTrue(listener.awaitWorkerEvent(5, TimeUnit.SECONDS), "The worker method was not delivered.");
+        } finally {
+            bus.shutdownBus();
+        }
+        assertTrue(listener.getSequences().isEmpty(), "The superclass MAIN method was registered without listener superclass inheritance.");
+    }
+
+    @Test
+    public void inherited_main_thread_listener_without_dispatcher_is_rejected() throws Exception {
+        WorkerSubclassOfMainThreadListener listener = new WorkerSubclassOfMainThreadListener();
+        EventBus bus = new EventBusBuilder().setListenerSuperclassInheritance().build();
+        try {
+            assertThrows(EventBusException.class, () -> bus.register(listener));
+            assertFalse(bus.isRegistered(listener).get(5, TimeUnit.SECONDS), "The listener was registered without a main thread dispatcher.");
+        } finally {
+            bus.shutdownBus();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderRecordingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.StateManagerBlockingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ThreadModesListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OverflowPolicyEventBusTest {
+
+    private static final int QUEUE_LENGTH = 2;
+
+    private StateManagerBlockingListener blockStateManager(EventBus bus) throws Exception {
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener();
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(5, TimeUnit.SECONDS), "The state manager was not blocked.");
+        return blockingListener;
+    }
+
+    private void registerAndWait(EventBus bus, Object listener) throws Exception {
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fail_fast_policy_rejects_event_when_queue_is_full() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setFailFastOverflowPolicy().build();
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            assertThrows(EventBusException.class, () -> bus.post(new TestEvent1()));
+            assertEquals(1, bus.getRejectedEventsCount());
+            assertEquals(0, bus.getDroppedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void timed_block_policy_rejects_event_after_timeout() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setTimedBlockOverflowPolicy(50, TimeUnit.MILLISECONDS).build();
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            long start = System.nanoTime();
+            assertThrows(EventBusException.class, () -> bus.post(new TestEvent1()));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50), "The post did not wait for the timeout.");
+            assertEquals(1, bus.getRejectedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void drop_newest_policy_drops_posted_event_when_queue_is_full() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setDropNewestOverflowPolicy().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        registerAndWait(bus, listener);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        TestEvent1 first = new TestEvent1();
+        TestEvent1 second = new TestEvent1();
+        try {
+            bus.post(first);
+            bus.post(second);
+            bus.post(new TestEvent1());
+            assertEquals(1, bus.getDroppedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(first, second), listener.getReceivedEvents());
+    }
+
+    @Test
+    public void drop_newest_policy_does_not_deliver_dropped_events_to_posting_listeners() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setDropNewestOverflowPolicy().setMainThreadExecutor(Runnable::run).build();
+        ThreadModesListener listener = new ThreadModesListener(2);
+        registerAndWait(bus, listener);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            bus.post(new SequenceEvent(1));
+            bus.post(new SequenceEvent(2));
+            bus.post(new SequenceEvent(3));
+            bus.postAll(new SequenceEvent(4), new SequenceEvent(5));
+            assertEquals(3, bus.getDroppedEventsCount());
+            assertEquals(Arrays.asList(1, 2), listener.getPostingSequences());
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        assertTrue(listener.awaitDeliveries(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(1, 2), listener.getBackgroundSequences());
+    }
+
+    @Test
+    public void drop_oldest_policy_drops_oldest_queued_event_when_queue_is_full() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setDropOldestOverflowPolicy().build();
+        OrderRecordingListener listener = new OrderRecordingListener(2);
+        registerAndWait(bus, listener);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        TestEvent1 second = new TestEvent1();
+        TestEvent1 third = new TestEvent1();
+        try {
+            bus.post(new TestEvent1());
+            bus.post(second);
+            bus.post(third);
+            assertEquals(1, bus.getDroppedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(second, third), listener.getReceivedEvents());
+    }
+
+    @Test
+    public void drop_oldest_policy_with_pooling_counts_only_the_events_really_dropped() throws Exception {
+        final int posters = 4;
+        final int eventsPerPoster = 20000;
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setDropOldestOverflowPolicy().setPostObjectsPooling().build();
+        CountingListener listener = new CountingListener(0);
+        registerAndWait(bus, listener);
+
+        Thread[] threads = new Thread[posters];
+        for (int i = 0; i < posters; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < eventsPerPoster; j++) {
+                    bus.post(new TestEvent1());
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (listener.getReceivedEvents() + bus.getDroppedEventsCount() < posters * eventsPerPoster && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(posters * eventsPerPoster, listener.getReceivedEvents() + bus.getDroppedEventsCount(), "Each posted event must be either delivered or dropped.");
+        // The state manager is still running
+        registerAndWait(bus, new CountingListener(0));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void caller_runs_policy_delivers_event_in_posting_thread_when_queue_is_full() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).setCallerRunsOverflowPolicy().build();
+        CountingListener listener = new CountingListener(3);
+        registerAndWait(bus, listener);
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            bus.post(new TestEvent1());
+            assertEquals(1, listener.getReceivedEvents(), "The event was not delivered by the posting thread.");
+        } finally {
+            blockingListener.releaseStateManager();
+        }
+        assertTrue(listener.awaitEvents(5, TimeUnit.SECONDS));
+        bus.shutdownBus();
+        assertEquals(0, bus.getRejectedEventsCount());
+        assertEquals(0, bus.getDroppedEventsCount());
+    }
+
+    @Test
+    public void try_post_returns_false_when_queue_is_full() throws Exception {
+        EventBus bus = new EventBusBuilder().setQueuesLength(QUEUE_LENGTH).build();
+        StateManagerBlockingListener blockingListener = blockStateManager(bus);
+        try {
+            assertTrue(bus.tryPost(new TestEvent1()));
+            assertTrue(bus.tryPost(new TestEvent1(), 10, TimeUnit.MILLISECONDS));
+            assertFalse(bus.tryPost(new TestEvent1()));
+            assertFalse(bus.tryPost(new TestEvent1(), 10, TimeUnit.MILLISECONDS));
+            assertEquals(2, bus.getRejectedEventsCount());
+        } finally {
+            blockingListener.releaseStateManager();
+            bus.shutdownBus();
+        }
+    }
+
+    @Test
+    public void drop_oldest_policy_cannot_be_used_with_ring_buffer_queue() {
+        EventBusBuilder builder = new EventBusBuilder().setRingBufferQueue().setDropOldestOverflowPolicy();
+        assertThrows(EventBusException.class, builder::build);
+    }
+
+    @Test
+    public void timed_block_policy_with_invalid_timeout_is_rejected() {
+        EventBusBuilder builder = new EventBusBuilder();
+        assertThrows(EventBusException.class, () -> builder.setTimedBlockOverflowPolicy(0, TimeUnit.SECONDS));
+        assertThrows(EventBusException.class, () -> builder.setTimedBlockOverflowPolicy(1, null));
+    }
+}
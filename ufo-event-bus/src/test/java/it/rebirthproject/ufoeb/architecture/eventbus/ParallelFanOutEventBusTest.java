@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.FanOutRecorder;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.HighPriorityFanOutListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.LowPriorityFanOutListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelFanOutEventBusTest {
+
+    private static final int NUMBER_OF_WORKERS = 4;
+    private static final int REGISTRATIONS_PER_CHUNK = 5;
+    private static final int LISTENERS_PER_BAND = NUMBER_OF_WORKERS * REGISTRATIONS_PER_CHUNK;
+
+    @Test
+    public void priority_bands_are_fanned_out_in_order() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(NUMBER_OF_WORKERS)
+                .setParallelFanOut(REGISTRATIONS_PER_CHUNK)
+                .build();
+        FanOutRecorder recorder = new FanOutRecorder(NUMBER_OF_WORKERS, LISTENERS_PER_BAND * 2);
+        for (int i = 0; i < LISTENERS_PER_BAND; i++) {
+            bus.register(new LowPriorityFanOutListener(recorder));
+            bus.register(new HighPriorityFanOutListener(recorder));
+        }
+
+        bus.post(new TestEvent1());
+
+        boolean allDelivered = recorder.awaitDeliveries(10, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the registrations got the event.");
+        assertEquals(LISTENERS_PER_BAND, recorder.getParallelDeliveries(), "The high priority band was not delivered in parallel.");
+        assertTrue(recorder.isPriorityOrderRespected(), "A low priority registration got the event before a high priority one.");
+    }
+
+    @Test
+    public void invalid_parallel_fan_out_configurations_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setParallelFanOut(null));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setParallelFanOut(0));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setParallelFanOut(1).setListenerMailboxes().build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setParallelFanOut(1).setWorkersQueueLength(10).build());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerWorkerQueuesEventBusTest {
+
+    private static final int NUMBER_OF_EVENTS = 10000;
+
+    @Test
+    public void events_are_delivered_by_per_worker_queues() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(4)
+                .setPerWorkerQueuesWorkers()
+                .build();
+        CountingListener listener = new CountingListener(NUMBER_OF_EVENTS);
+        bus.register(listener);
+
+        for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+            bus.post(new TestEvent1());
+        }
+
+        assertTrue(listener.awaitEvents(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        bus.shutdownBus();
+        assertEquals(NUMBER_OF_EVENTS, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void per_worker_queues_with_bounded_workers_queue_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setPerWorkerQueuesWorkers().setWorkersQueueLength(10).build());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderRecordingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostAllEventBusTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void batch_is_delivered_in_posting_order_with_one_worker(boolean directDispatch) throws Exception {
+        EventBusBuilder builder = new EventBusBuilder().setNumberOfWorkers(1);
+        if (directDispatch) {
+            builder.setDirectDispatch();
+        }
+        EventBus bus = builder.build();
+        OrderRecordingListener listener = new OrderRecordingListener(BATCH_SIZE);
+        bus.register(listener);
+
+        List<TestEvent1> events = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            events.add(new TestEvent1());
+        }
+        bus.postAll(events);
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the batch events were delivered.");
+        assertEquals(events, listener.getReceivedEvents(), "The batch events were not delivered in posting order.");
+    }
+
+    @Test
+    public void all_batch_events_are_delivered_with_many_workers() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).build();
+        OrderRecordingListener listener = new OrderRecordingListener(3);
+        bus.register(listener);
+
+        TestEvent1 first = new TestEvent1();
+        TestEvent1 second = new TestEvent1();
+        TestEvent1 third = new TestEvent1();
+        bus.postAll(first, second, third);
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the batch events were delivered.");
+        assertTrue(listener.getReceivedEvents().containsAll(Arrays.asList(first, second, third)));
+    }
+
+    @Test
+    public void each_listener_gets_the_batch_in_posting_order_with_many_workers() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).build();
+        OrderRecordingListener firstListener = new OrderRecordingListener(BATCH_SIZE);
+        OrderRecordingListener secondListener = new OrderRecordingListener(BATCH_SIZE);
+        bus.register(firstListener);
+        bus.register(secondListener);
+
+        List<TestEvent1> events = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            events.add(new TestEvent1());
+        }
+        bus.postAll(events);
+
+        boolean allDelivered = firstListener.awaitEvents(5, TimeUnit.SECONDS) && secondListener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the batch events were delivered.");
+        assertEquals(events, firstListener.getReceivedEvents(), "The batch events were not delivered in posting order.");
+        assertEquals(events, secondListener.getReceivedEvents(), "The batch events were not delivered in posting order.");
+    }
+
+    @Test
+    public void batch_containing_null_event_is_rejected() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+        try {
+            assertThrows(EventBusException.class, () -> bus.postAll(new TestEvent1(), null));
+            assertThrows(EventBusException.class, () -> bus.postAll((List<Object>) null));
+        } finally {
+            bus.shutdownBus();
+        }
+    }
+}
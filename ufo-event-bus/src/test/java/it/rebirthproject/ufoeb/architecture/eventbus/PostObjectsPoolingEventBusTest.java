@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostObjectsPoolingEventBusTest {
+
+    private static final int POSTING_THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 5000;
+
+    @Test
+    public void all_events_are_delivered_reusing_pooled_objects() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPostObjectsPooling()
+                .setRingBufferQueue()
+                .setQueuesLength(16)
+                .setNumberOfWorkers(2)
+                .build();
+        assertAllEventsDelivered(bus);
+    }
+
+    @Test
+    public void all_events_are_delivered_reusing_pooled_objects_with_direct_dispatch() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPostObjectsPooling()
+                .setDirectDispatch()
+                .setQueuesLength(16)
+                .setNumberOfWorkers(2)
+                .build();
+        assertAllEventsDelivered(bus);
+    }
+
+    @Test
+    public void dropped_events_do_not_break_pooling() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPostObjectsPooling()
+                .setDropNewestOverflowPolicy()
+                .setQueuesLength(2)
+                .build();
+        CountingListener listener = new CountingListener(1);
+        bus.register(listener);
+        for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+            bus.tryPost(new TestEvent1());
+            bus.post(new TestEvent1());
+        }
+        bus.shutdownBus();
+
+        assertEquals(2L * EVENTS_PER_THREAD, listener.getReceivedEvents() + bus.getRejectedEventsCount() + bus.getDroppedEventsCount(), "Every posted event should be delivered, rejected or dropped.");
+    }
+
+    private void assertAllEventsDelivered(EventBus bus) throws Exception {
+        int expectedEvents = POSTING_THREADS * EVENTS_PER_THREAD;
+        CountingListener listener = new CountingListener(expectedEvents);
+        bus.register(listener);
+
+        List<Thread> posters = new ArrayList<>();
+        for (int i = 0; i < POSTING_THREADS; i++) {
+            Thread poster = new Thread(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    bus.post(new TestEvent1());
+                }
+            });
+            posters.add(poster);
+            poster.start();
+        }
+        for (Thread poster : posters) {
+            poster.join();
+        }
+
+        boolean allDelivered = listener.awaitEvents(10, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered.");
+        assertEquals(expectedEvents, listener.getReceivedEvents());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.PumpedListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PumpModeEventBusTest {
+
+    private static final long NO_TIME_LIMIT = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void queued_events_are_delivered_only_by_the_pumping_thread() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPumpMode()
+                .setDirectDispatch()
+                .build();
+        PumpedListener listener = new PumpedListener(0);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        List<Integer> expectedSequences = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bus.post(new SequenceEvent(i));
+            expectedSequences.add(i);
+        }
+        assertTrue(listener.getSequences().isEmpty(), "An event was delivered before the bus was pumped.");
+
+        assertEquals(40, bus.drain(40, NO_TIME_LIMIT));
+        assertEquals(expectedSequences.subList(0, 40), listener.getSequences());
+        assertEquals(60, bus.drain(100, NO_TIME_LIMIT));
+        assertEquals(0, bus.drain(100, NO_TIME_LIMIT));
+        bus.shutdownBus();
+
+        assertEquals(expectedSequences, listener.getSequences());
+        assertEquals(Collections.singleton(Thread.currentThread()), listener.getThreads(), "The events were not delivered by the pumping thread.");
+    }
+
+    @Test
+    public void drain_stops_when_the_time_budget_is_used_up() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPumpMode()
+                .setDirectDispatch()
+                .build();
+        PumpedListener listener = new PumpedListener(5);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            bus.post(new SequenceEvent(i));
+        }
+
+        assertEquals(1, bus.drain(10, TimeUnit.MILLISECONDS.toNanos(1)), "More deliveries started after the time budget was used up.");
+        assertEquals(1, listener.getSequences().size());
+        bus.shutdownBus();
+        assertEquals(10, listener.getSequences().size(), "The deliveries left were not run at shutdown.");
+    }
+
+    @Test
+    public void events_dispatched_by_the_state_manager_wait_for_the_pump() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPumpMode()
+                .build();
+        PumpedListener listener = new PumpedListener(0);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            bus.post(new SequenceEvent(i));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int delivered = 0;
+        while (delivered < 100 && System.nanoTime() < deadline) {
+            delivered += bus.drain(16, NO_TIME_LIMIT);
+        }
+        bus.shutdownBus();
+        assertEquals(100, delivered);
+        assertEquals(Collections.singleton(Thread.currentThread()), listener.getThreads(), "The events were not delivered by the pumping thread.");
+    }
+
+    @Test
+    public void drain_counts_each_event_of_a_batch() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPumpMode()
+                .build();
+        PumpedListener listener = new PumpedListener(0);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        List<SequenceEvent> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(new SequenceEvent(i));
+        }
+        bus.postAll(batch);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int delivered = 0;
+        while (delivered == 0 && System.nanoTime() < deadline) {
+            delivered = bus.drain(1, NO_TIME_LIMIT);
+        }
+        assertEquals(1, delivered);
+        assertEquals(1, listener.getSequences().size(), "The drain ran more events of the batch than requested.");
+        assertEquals(9, bus.drain(100, NO_TIME_LIMIT));
+        bus.shutdownBus();
+        assertEquals(10, listener.getSequences().size());
+    }
+
+    @Test
+    public void drain_counts_each_delivery_of_a_listener_mailbox() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setPumpMode()
+                .setDirectDispatch()
+                .setListenerMailboxes()
+                .build();
+        PumpedListener listener = new PumpedListener(0);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            bus.post(new SequenceEvent(i));
+        }
+
+        assertEquals(3, bus.drain(3, NO_TIME_LIMIT));
+        assertEquals(3, listener.getSequences().size(), "The mailbox delivered more events than requested.");
+        assertEquals(7, bus.drain(100, NO_TIME_LIMIT));
+        bus.shutdownBus();
+        assertEquals(10, listener.getSequences().size());
+    }
+
+    @Test
+    public void drain_without_pump_mode_throws() {
+        EventBus bus = new EventBusBuilder().build();
+        assertThrows(EventBusException.class, () -> bus.drain(10, NO_TIME_LIMIT));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void drain_with_invalid_limits_throws() {
+        EventBus bus = new EventBusBuilder().setPumpMode().build();
+        assertThrows(EventBusException.class, () -> bus.drain(0, NO_TIME_LIMIT));
+        assertThrows(EventBusException.class, () -> bus.drain(10, 0L));
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void pump_mode_with_more_workers_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setPumpMode().setNumberOfWorkers(2).build());
+    }
+}
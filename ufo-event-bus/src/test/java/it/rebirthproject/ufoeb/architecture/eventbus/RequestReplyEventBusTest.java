@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.GatedQuoteResponder;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.MixedResultsResponder;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.QuoteResponder;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestReplyEventBusTest {
+
+    private void registerAndWait(EventBus bus, Object listener) throws Exception {
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+    }
+
+    private static List<Integer> sorted(List<Integer> results) {
+        List<Integer> sortedResults = new ArrayList<>(results);
+        Collections.sort(sortedResults);
+        return sortedResults;
+    }
+
+    @Test
+    public void request_collects_the_results_of_every_listener() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).build();
+        registerAndWait(bus, new QuoteResponder(10));
+        registerAndWait(bus, new QuoteResponder(20));
+        registerAndWait(bus, new QuoteResponder(30));
+
+        List<Integer> results = bus.request(new SequenceEvent(1), Integer.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertEquals(Arrays.asList(11, 21, 31), sorted(results));
+    }
+
+    @Test
+    public void request_collects_only_the_results_of_the_requested_type() throws Exception {
+        EventBus bus = new EventBusBuilder().setUseLambdaFactoryInsteadOfStandardReflection().build();
+        registerAndWait(bus, new MixedResultsResponder());
+
+        List<Integer> quotes = bus.request(new SequenceEvent(2), Integer.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        List<String> descriptions = bus.request(new SequenceEvent(3), String.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertEquals(Collections.singletonList(200), quotes);
+        assertEquals(Collections.singletonList("sequence 3"), descriptions);
+    }
+
+    @Test
+    public void request_first_completes_without_waiting_for_the_other_listeners() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).build();
+        CountDownLatch gate = new CountDownLatch(1);
+        registerAndWait(bus, new GatedQuoteResponder(10, gate));
+        registerAndWait(bus, new QuoteResponder(20));
+        try {
+            Integer result = bus.requestFirst(new SequenceEvent(1), Integer.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+            assertEquals(21, result);
+        } finally {
+            gate.countDown();
+        }
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void expired_request_completes_with_the_results_collected_so_far() throws Exception {
+        EventBus bus = new EventBusBuilder().setNumberOfWorkers(4).build();
+        CountDownLatch gate = new CountDownLatch(1);
+        registerAndWait(bus, new GatedQuoteResponder(10, gate));
+        registerAndWait(bus, new QuoteResponder(20));
+        try {
+            List<Integer> results = bus.request(new SequenceEvent(1), Integer.class, 200, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+            assertEquals(Collections.singletonList(21), results);
+        } finally {
+            gate.countDown();
+        }
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void request_without_results_completes_empty() throws Exception {
+        EventBus bus = new EventBusBuilder().build();
+
+        List<Integer> results = bus.request(new SequenceEvent(1), Integer.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        Integer firstResult = bus.requestFirst(new SequenceEvent(1), Integer.class, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+        assertTrue(results.isEmpty());
+        assertNull(firstResult);
+    }
+
+    @Test
+    public void request_with_invalid_parameters_throws() {
+        EventBus bus = new EventBusBuilder().build();
+        assertThrows(EventBusException.class, () -> bus.request(null, Integer.class, 1, TimeUnit.SECONDS));
+        assertThrows(EventBusException.class, () -> bus.request(new SequenceEvent(1), null, 1, TimeUnit.SECONDS));
+        assertThrows(EventBusException.class, () -> bus.request(new SequenceEvent(1), int.class, 1, TimeUnit.SECONDS));
+        assertThrows(EventBusException.class, () -> bus.request(new SequenceEvent(1), Integer.class, 0, TimeUnit.SECONDS));
+        assertThrows(EventBusException.class, () -> bus.requestFirst(new SequenceEvent(1), Integer.class, 1, null));
+        bus.shutdownBus();
+    }
+}
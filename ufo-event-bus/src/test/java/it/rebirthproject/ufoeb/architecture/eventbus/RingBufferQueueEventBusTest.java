@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferQueueEventBusTest {
+
+    private static final int POSTING_THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 2000;
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void all_events_posted_by_many_threads_are_delivered_with_ring_buffer_queue(WaitStrategyType waitStrategyType) throws Exception {
+        EventBus bus = withWaitStrategy(new EventBusBuilder().setRingBufferQueue().setQueuesLength(16), waitStrategyType)
+                .setNumberOfWorkers(2)
+                .build();
+        int expectedEvents = POSTING_THREADS * EVENTS_PER_THREAD;
+        CountingListener listener = new CountingListener(expectedEvents);
+        bus.register(listener);
+
+        List<Thread> posters = new ArrayList<>();
+        for (int i = 0; i < POSTING_THREADS; i++) {
+            Thread poster = new Thread(() -> {
+                for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                    bus.post(new TestEvent1());
+                }
+            });
+            posters.add(poster);
+            poster.start();
+        }
+        for (Thread poster : posters) {
+            poster.join();
+        }
+
+        boolean allDelivered = listener.awaitEvents(10, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered using the " + waitStrategyType);
+        assertEquals(expectedEvents, listener.getReceivedEvents(), "Wrong number of delivered events using the " + waitStrategyType);
+    }
+
+    private EventBusBuilder withWaitStrategy(EventBusBuilder builder, WaitStrategyType waitStrategyType) throws EventBusException {
+        switch (waitStrategyType) {
+            case YIELDING_WAIT_STRATEGY:
+                return builder.setYieldingWaitStrategy();
+            case SPIN_THEN_PARK_WAIT_STRATEGY:
+                return builder.setSpinThenParkWaitStrategy();
+            case BUSY_SPIN_WAIT_STRATEGY:
+                return builder.setBusySpinWaitStrategy();
+            case BLOCKING_WAIT_STRATEGY:
+            default:
+                return builder.setBlockingWaitStrategy();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderBlockingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderSequenceListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderShippedEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderUpdatedEvent;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutingKeyLanesEventBusTest {
+
+    private static final int NUMBER_OF_ORDERS = 8;
+    private static final int EVENTS_PER_ORDER = 200;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void events_with_same_key_are_delivered_in_order(boolean postAll) throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(4)
+                .setRoutingKeyLanes()
+                .build();
+        OrderSequenceListener listener = new OrderSequenceListener(NUMBER_OF_ORDERS * EVENTS_PER_ORDER);
+        bus.register(listener);
+
+        List<Object> events = new ArrayList<>();
+        for (int sequence = 0; sequence < EVENTS_PER_ORDER; sequence++) {
+            for (int orderId = 0; orderId < NUMBER_OF_ORDERS; orderId++) {
+                // The annotated getter and the interface route the same key to the same lane
+                events.add(sequence % 2 == 0 ? new OrderUpdatedEvent(orderId, sequence) : new OrderShippedEvent(orderId, sequence));
+            }
+        }
+        if (postAll) {
+            bus.postAll(events);
+        } else {
+            for (Object event : events) {
+                bus.post(event);
+            }
+        }
+
+        boolean allDelivered = listener.awaitEvents(5, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered.");
+        assertFalse(listener.isConcurrentDeliveryFound(), "Events with the same key were delivered concurrently.");
+        for (int orderId = 0; orderId < NUMBER_OF_ORDERS; orderId++) {
+            List<Integer> sequences = listener.getSequences(orderId);
+            for (int sequence = 0; sequence < EVENTS_PER_ORDER; sequence++) {
+                assertEquals(sequence, sequences.get(sequence), "The events of order " + orderId + " were not delivered in order.");
+            }
+        }
+    }
+
+    @Test
+    public void blocked_key_does_not_block_other_lanes() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(2)
+                .setRoutingKeyLanes()
+                .build();
+        OrderBlockingListener listener = new OrderBlockingListener(0, 10);
+        bus.register(listener);
+        try {
+            bus.post(new OrderUpdatedEvent(0, 0));
+            for (int sequence = 0; sequence < 10; sequence++) {
+                bus.post(new OrderUpdatedEvent(1, sequence));
+            }
+            assertTrue(listener.awaitOtherOrdersEvents(5, TimeUnit.SECONDS), "The blocked key stopped the other lane.");
+        } finally {
+            listener.release();
+        }
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void routing_key_lanes_with_incompatible_options_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setRoutingKeyLanes().setListenerMailboxes().build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setRoutingKeyLanes().setWorkersQueueLength(10).build());
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setRoutingKeyLanes().setCallerRunsOverflowPolicy().build());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.OrderRecordingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ParentEventCountingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.StateManagerBlockingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ThreadModesListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.events.TestEvent2;
+import it.rebirthproject.ufoeb.dto.events.TestEventParent;
+import it.rebirthproject.ufoeb.dto.events.TestEventWithParentClass;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedStateManagerEventBusTest {
+
+    private static final int SHARDS = 4;
+    private static final int EVENTS = 5000;
+
+    @Test
+    public void events_of_the_same_class_keep_their_order() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(SHARDS)
+                .build();
+        OrderRecordingListener listener = new OrderRecordingListener(EVENTS);
+        bus.register(listener);
+
+        List<TestEvent1> postedEvents = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            TestEvent1 event = new TestEvent1();
+            postedEvents.add(event);
+            if (i % 2 == 0) {
+                bus.post(event);
+            } else {
+                bus.postAll(new TestEvent2(), event);
+            }
+        }
+
+        boolean allDelivered = listener.awaitEvents(10, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(allDelivered, "Not all the events were delivered.");
+        assertEquals(postedEvents, listener.getReceivedEvents(), "The events of the same class were not delivered in posting order.");
+    }
+
+    @Test
+    public void events_routed_to_any_shard_reach_listeners_of_their_superclasses() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(SHARDS)
+                .setEventSuperclassInheritance()
+                .build();
+        ParentEventCountingListener listener = new ParentEventCountingListener(2);
+        bus.register(listener);
+
+        bus.post(new TestEventParent());
+        bus.post(new TestEventWithParentClass());
+
+        boolean delivered = listener.awaitEvents(2, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(delivered, "The events were not delivered to the listener of their superclass.");
+        assertEquals(2, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void sticky_event_is_delivered_to_listener_registered_later_and_removed() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(SHARDS)
+                .build();
+        CountingListener firstListener = new CountingListener(1);
+        CountingListener secondListener = new CountingListener(1);
+
+        bus.postSticky(new TestEvent1());
+        bus.register(firstListener);
+        bus.removeSticky(TestEvent1.class);
+        bus.register(secondListener);
+
+        boolean delivered = firstListener.awaitEvents(2, TimeUnit.SECONDS);
+        assertTrue(bus.isRegistered(secondListener).get(2, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertTrue(delivered, "The sticky event was not delivered.");
+        assertEquals(0, secondListener.getReceivedEvents(), "The removed sticky event was delivered.");
+    }
+
+    @Test
+    public void unregistered_listener_gets_no_events() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(SHARDS)
+                .build();
+        CountingListener listener = new CountingListener(1);
+
+        bus.register(listener);
+        bus.unregister(listener);
+        bus.post(new TestEvent1());
+        assertFalse(bus.isRegistered(listener).get(2, TimeUnit.SECONDS));
+        bus.shutdownBus();
+
+        assertEquals(0, listener.getReceivedEvents(), "The event was delivered to an unregistered listener.");
+    }
+
+    @Test
+    public void invalid_shards_configurations_are_rejected() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setNumberOfStateManagerShards(null));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setNumberOfStateManagerShards(0));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setNumberOfStateManagerShards(SHARDS).setDirectDispatch().build());
+    }
+
+    @Test
+    public void posting_methods_get_the_events_posted_right_after_register_on_every_shard() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(SHARDS)
+                .setMainThreadExecutor(Runnable::run)
+                .build();
+        for (int i = 0; i < 200; i++) {
+            ThreadModesListener listener = new ThreadModesListener(1);
+            bus.register(listener);
+            bus.post(new SequenceEvent(i));
+            assertEquals(Collections.singletonList(i), listener.getPostingSequences(), "The posting method missed the event posted right after its registration.");
+            bus.unregister(listener);
+        }
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void interrupted_register_still_reaches_every_shard() throws Exception {
+        int shards = 2;
+        while (EventBusInfrastructure.getShardIndex(TestEvent1.class, shards) == 0) {
+            shards++;
+        }
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfStateManagerShards(shards)
+                .setQueuesLength(1)
+                .build();
+        StateManagerBlockingListener blockingListener = new StateManagerBlockingListener(shards);
+        bus.register(blockingListener);
+        assertTrue(blockingListener.awaitStateManagerBlocked(2, TimeUnit.SECONDS), "The state managers were not blocked.");
+        // Fills the queue of the shard owning the events, which is not the first one
+        bus.post(new TestEvent1());
+
+        CountingListener listener = new CountingListener(1);
+        Thread registeringThread = new Thread(() -> bus.register(listener));
+        registeringThread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (registeringThread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        registeringThread.interrupt();
+        blockingListener.releaseStateManager();
+        registeringThread.join(2000);
+
+        bus.post(new TestEvent1());
+        boolean delivered = listener.awaitEvents(2, TimeUnit.SECONDS);
+        bus.shutdownBus();
+
+        assertTrue(delivered, "The listener was not registered on the shard owning the event.");
+    }
+}
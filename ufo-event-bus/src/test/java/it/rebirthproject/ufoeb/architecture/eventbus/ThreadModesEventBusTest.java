@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.SequenceEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.ThreadModesListener;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadModesEventBusTest {
+
+    private static final int EVENTS = 200;
+
+    @Test
+    public void listener_methods_are_delivered_on_the_thread_of_their_mode() throws Exception {
+        ExecutorService mainThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-main-thread"));
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(4)
+                .setMainThreadExecutor(mainThread)
+                .build();
+        ThreadModesListener listener = new ThreadModesListener(EVENTS);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        List<Integer> expectedSequences = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            bus.post(new SequenceEvent(i));
+            expectedSequences.add(i);
+            assertEquals(i + 1, listener.getPostingSequences().size(), "The posting method was not delivered before post returned.");
+        }
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        bus.shutdownBus();
+        mainThread.shutdown();
+
+        assertEquals(Collections.singleton(Thread.currentThread()), listener.getPostingThreads(), "The posting method was not delivered by the posting thread.");
+        assertEquals(expectedSequences, listener.getPostingSequences());
+        assertEquals(1, listener.getBackgroundThreads().size(), "The background method was delivered by more than one thread.");
+        assertFalse(listener.getBackgroundThreads().contains(Thread.currentThread()), "The background method was delivered by the posting thread.");
+        assertEquals(EVENTS, listener.getBackgroundSequences().size());
+        assertEquals(1, listener.getMainThreads().size());
+        assertEquals("test-main-thread", listener.getMainThreads().iterator().next().getName(), "The main method was not delivered by the main thread executor.");
+        assertEquals(EVENTS, listener.getMainSequences().size());
+    }
+
+    @Test
+    public void background_methods_get_the_events_in_posting_order_with_a_single_state_manager() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(1)
+                .setMainThreadExecutor(Runnable::run)
+                .build();
+        ThreadModesListener listener = new ThreadModesListener(EVENTS);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        List<Integer> expectedSequences = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            bus.post(new SequenceEvent(i));
+            expectedSequences.add(i);
+        }
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        bus.shutdownBus();
+        assertEquals(expectedSequences, listener.getBackgroundSequences(), "The background method got the events out of order.");
+    }
+
+    @Test
+    public void posting_methods_are_not_delivered_after_unregister() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setMainThreadExecutor(Runnable::run)
+                .build();
+        ThreadModesListener listener = new ThreadModesListener(1);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        bus.post(new SequenceEvent(0));
+        bus.unregister(listener);
+        assertFalse(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+        bus.post(new SequenceEvent(1));
+        bus.shutdownBus();
+        assertEquals(Collections.singletonList(0), listener.getPostingSequences());
+    }
+
+    @Test
+    public void posting_methods_get_the_events_posted_right_after_register() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setMainThreadExecutor(Runnable::run)
+                .build();
+        for (int i = 0; i < EVENTS; i++) {
+            ThreadModesListener listener = new ThreadModesListener(1);
+            bus.register(listener);
+            bus.post(new SequenceEvent(i));
+            assertEquals(Collections.singletonList(i), listener.getPostingSequences(), "The posting method missed the event posted right after its registration.");
+            bus.unregister(listener);
+            bus.post(new SequenceEvent(-i));
+            assertEquals(Collections.singletonList(i), listener.getPostingSequences(), "The posting method got an event posted after its deregistration.");
+        }
+        bus.shutdownBus();
+    }
+
+    @Test
+    public void null_main_thread_executor_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setMainThreadExecutor(null));
+    }
+}
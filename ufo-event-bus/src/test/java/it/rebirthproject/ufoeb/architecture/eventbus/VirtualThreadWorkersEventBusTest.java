@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.RendezvousListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadWorkersEventBusTest {
+
+    private static final int BLOCKED_EVENTS = 1000;
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void blocking_listeners_are_not_bounded_by_the_number_of_workers() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(1)
+                .setVirtualThreadWorkers()
+                .build();
+        RendezvousListener listener = new RendezvousListener(BLOCKED_EVENTS);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < BLOCKED_EVENTS; i++) {
+            bus.post(new TestEvent1());
+        }
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "Not all the events were delivered.");
+        bus.shutdownBus();
+        assertEquals(BLOCKED_EVENTS, listener.getMetEvents(), "The blocked deliveries did not run all together.");
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    public void virtual_thread_workers_throw_before_java_21() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setVirtualThreadWorkers().build());
+    }
+
+    @Test
+    public void virtual_thread_workers_with_bounded_workers_queue_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setVirtualThreadWorkers().setWorkersQueueLength(10).build());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.HopEvent;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.RepostingListener;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkStealingWorkersEventBusTest {
+
+    private static final int CHAINS = 8;
+    private static final int HOPS = 100;
+    private static final int EXPECTED_DELIVERIES = CHAINS * (HOPS + 1);
+
+    @Test
+    public void events_reposted_by_listeners_run_on_the_work_stealing_pool() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(4)
+                .setWorkStealingWorkers()
+                .build();
+        RepostingListener listener = new RepostingListener(bus, EXPECTED_DELIVERIES);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < CHAINS; i++) {
+            bus.post(new HopEvent(HOPS));
+        }
+
+        assertTrue(listener.awaitDeliveries(10, TimeUnit.SECONDS), "Not all the reposted events were delivered.");
+        bus.shutdownBus();
+        assertEquals(EXPECTED_DELIVERIES, listener.getForkJoinDeliveries(), "Some events were not delivered by the work stealing pool.");
+    }
+
+    @Test
+    public void work_stealing_workers_with_bounded_workers_queue_throw() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setWorkStealingWorkers().setWorkersQueueLength(10).build());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.WorkerBlockingListener;
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.WorkerRepostingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkersQueueEventBusTest {
+
+    private static final int QUEUE_LENGTH = 4;
+    private static final int WORKERS_QUEUE_LENGTH = 8;
+    // One running task, the workers queue, one task run by the state manager and the message queue
+    private static final int MAX_IN_FLIGHT_EVENTS = 1 + WORKERS_QUEUE_LENGTH + 1 + QUEUE_LENGTH;
+
+    @Test
+    public void slow_listeners_push_back_to_posting_threads() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(1)
+                .setWorkersQueueLength(WORKERS_QUEUE_LENGTH)
+                .setQueuesLength(QUEUE_LENGTH)
+                .build();
+        WorkerBlockingListener listener = new WorkerBlockingListener();
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        int acceptedEvents = 0;
+        try {
+            while (acceptedEvents <= MAX_IN_FLIGHT_EVENTS && bus.tryPost(new TestEvent1(), 100, TimeUnit.MILLISECONDS)) {
+                acceptedEvents++;
+            }
+        } finally {
+            listener.releaseWorkers();
+        }
+
+        assertTrue(acceptedEvents <= MAX_IN_FLIGHT_EVENTS, "The in flight events were not bounded: " + acceptedEvents);
+        assertTrue(listener.awaitEvents(acceptedEvents, 5, TimeUnit.SECONDS), "Not all the accepted events were delivered.");
+        bus.shutdownBus();
+        assertEquals(acceptedEvents, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void listeners_posting_from_the_workers_do_not_stop_the_bus() throws Exception {
+        EventBus bus = new EventBusBuilder()
+                .setNumberOfWorkers(1)
+                .setWorkersQueueLength(1)
+                .setQueuesLength(2)
+                .build();
+        int events = 5;
+        int repostsPerEvent = 10;
+        WorkerRepostingListener listener = new WorkerRepostingListener(bus, repostsPerEvent);
+        bus.register(listener);
+        assertTrue(bus.isRegistered(listener).get(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < events; i++) {
+            bus.post(new TestEvent1());
+        }
+
+        assertTrue(listener.awaitReposts(events * repostsPerEvent, 10, TimeUnit.SECONDS), "The workers and the state manager are waiting for each other.");
+        bus.shutdownBus();
+        assertEquals(events, listener.getReceivedEvents());
+    }
+
+    @Test
+    public void invalid_workers_queue_length_throws() {
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setWorkersQueueLength(null));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setWorkersQueueLength(0));
+        assertThrows(EventBusException.class, () -> new EventBusBuilder().setWorkersQueueLength(-1));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A listener answering with a stage completed later by the test, recording
+ * the events it has been invoked with. A low priority method records the
+ * events it gets after the asynchronous one.
+ */
+public class AsyncQuoteListener {
+
+    private final Map<Integer, CompletableFuture<Integer>> pendingQuotes = new ConcurrentHashMap<>();
+    private final List<Integer> invokedSequences = new CopyOnWriteArrayList<>();
+    private final List<Integer> lowPrioritySequences = new CopyOnWriteArrayList<>();
+    private final List<Thread> lowPriorityThreads = new CopyOnWriteArrayList<>();
+
+    @Listen(priority = 10)
+    public CompletableFuture<Integer> quote(SequenceEvent event) {
+        CompletableFuture<Integer> pendingQuote = new CompletableFuture<>();
+        pendingQuotes.put(event.getSequence(), pendingQuote);
+        invokedSequences.add(event.getSequence());
+        return pendingQuote;
+    }
+
+    @Listen
+    public void afterQuote(SequenceEvent event) {
+        lowPriorityThreads.add(Thread.currentThread());
+        lowPrioritySequences.add(event.getSequence());
+    }
+
+    public CompletableFuture<Integer> getPendingQuote(int sequence) {
+        return pendingQuotes.get(sequence);
+    }
+
+    public List<Integer> getInvokedSequences() {
+        return invokedSequences;
+    }
+
+    public List<Integer> getLowPrioritySequences() {
+        return lowPrioritySequences;
+    }
+
+    public List<Thread> getLowPriorityThreads() {
+        return lowPriorityThreads;
+    }
+}
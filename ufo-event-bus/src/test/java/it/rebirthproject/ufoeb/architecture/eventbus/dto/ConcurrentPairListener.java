@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener allowing two workers at a time, which counts the deliveries met
+ * by another concurrent delivery.
+ */
+public class ConcurrentPairListener {
+
+    private final CyclicBarrier pairBarrier = new CyclicBarrier(2);
+    private final AtomicInteger pairedDeliveries = new AtomicInteger(0);
+
+    @Listen(maxConcurrency = 2)
+    public void onEvent(TestEvent1 event) {
+        try {
+            pairBarrier.await(5, TimeUnit.SECONDS);
+            pairedDeliveries.incrementAndGet();
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int getPairedDeliveries() {
+        return pairedDeliveries.get();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener with three methods for the same event, one of them delivered on
+ * the background thread and one failing for negative sequences, counting the
+ * deliveries that have run.
+ */
+public class DeliveryReportListener {
+
+    private final AtomicInteger deliveries = new AtomicInteger(0);
+
+    @Listen
+    public void onEvent(SequenceEvent event) {
+        deliveries.incrementAndGet();
+    }
+
+    @Listen(threadMode = ThreadMode.BACKGROUND)
+    public void onBackgroundEvent(SequenceEvent event) throws InterruptedException {
+        Thread.sleep(20);
+        deliveries.incrementAndGet();
+    }
+
+    @Listen
+    public void onFailingEvent(SequenceEvent event) {
+        deliveries.incrementAndGet();
+        if (event.getSequence() < 0) {
+            throw new IllegalStateException("Negative sequence " + event.getSequence());
+        }
+    }
+
+    public int getDeliveries() {
+        return deliveries.get();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the deliveries of a fanned out event to many listeners: the order
+ * of the priority bands and the deliveries met by the other chunks.
+ */
+public class FanOutRecorder {
+
+    private final AtomicInteger deliveriesCounter = new AtomicInteger(0);
+    private final AtomicInteger lastHighPriorityDelivery = new AtomicInteger(-1);
+    private final AtomicInteger firstLowPriorityDelivery = new AtomicInteger(Integer.MAX_VALUE);
+    private final AtomicInteger parallelDeliveries = new AtomicInteger(0);
+    private final CyclicBarrier chunksBarrier;
+    private final CountDownLatch deliveriesLatch;
+
+    public FanOutRecorder(int parallelChunks, int expectedDeliveries) {
+        this.chunksBarrier = new CyclicBarrier(parallelChunks);
+        this.deliveriesLatch = new CountDownLatch(expectedDeliveries);
+    }
+
+    public void recordHighPriorityDelivery() {
+        try {
+            chunksBarrier.await(5, TimeUnit.SECONDS);
+            parallelDeliveries.incrementAndGet();
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lastHighPriorityDelivery.accumulateAndGet(deliveriesCounter.getAndIncrement(), Math::max);
+        deliveriesLatch.countDown();
+    }
+
+    public void recordLowPriorityDelivery() {
+        firstLowPriorityDelivery.accumulateAndGet(deliveriesCounter.getAndIncrement(), Math::min);
+        deliveriesLatch.countDown();
+    }
+
+    public boolean awaitDeliveries(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return deliveriesLatch.await(timeout, timeUnit);
+    }
+
+    public boolean isPriorityOrderRespected() {
+        return lastHighPriorityDelivery.get() < firstLowPriorityDelivery.get();
+    }
+
+    public int getParallelDeliveries() {
+        return parallelDeliveries.get();
+    }
+}
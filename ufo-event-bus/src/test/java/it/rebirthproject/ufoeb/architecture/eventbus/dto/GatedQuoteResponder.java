@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A listener answering requests on the background thread, waiting for a gate
+ * to open before answering with its base quote plus the sequence of the event.
+ */
+public class GatedQuoteResponder {
+
+    private final int baseQuote;
+    private final CountDownLatch gate;
+
+    public GatedQuoteResponder(int baseQuote, CountDownLatch gate) {
+        this.baseQuote = baseQuote;
+        this.gate = gate;
+    }
+
+    @Listen(threadMode = ThreadMode.BACKGROUND)
+    public Integer quote(SequenceEvent event) throws InterruptedException {
+        gate.await();
+        return baseQuote + event.getSequence();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.DeliveryReport;
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener calling back the bus while it runs on the state manager thread
+ * of a bus with inline dispatch. Each call is waited for with a timeout, so a
+ * deadlock shows up as a failure instead of hanging the test.
+ */
+public class InlineReentrantListener {
+
+    private final EventBus bus;
+    private final int maxPosts;
+    private final AtomicInteger nestedEvents = new AtomicInteger(0);
+    private final CountDownLatch doneLatch = new CountDownLatch(1);
+    private volatile Boolean registered;
+    private volatile DeliveryReport deliveryReport;
+    private volatile int acceptedPosts;
+    private volatile EventBusException postException;
+    private volatile Throwable unexpectedError;
+
+    public InlineReentrantListener(EventBus bus, int maxPosts) {
+        this.bus = bus;
+        this.maxPosts = maxPosts;
+    }
+
+    @Listen
+    public void onSequence(SequenceEvent event) {
+        try {
+            registered = bus.isRegistered(this).get(1, TimeUnit.SECONDS);
+            deliveryReport = bus.postAndAwait(new TestEvent1()).get(1, TimeUnit.SECONDS);
+            for (int i = 0; i < maxPosts; i++) {
+                bus.post(new TestEvent1());
+                acceptedPosts++;
+            }
+        } catch (EventBusException ex) {
+            postException = ex;
+        } catch (Throwable ex) {
+            unexpectedError = ex;
+        } finally {
+            doneLatch.countDown();
+        }
+    }
+
+    @Listen
+    public void onNestedEvent(TestEvent1 event) {
+        nestedEvents.incrementAndGet();
+    }
+
+    public boolean awaitDone(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return doneLatch.await(timeout, timeUnit);
+    }
+
+    public Boolean getRegistered() {
+        return registered;
+    }
+
+    public DeliveryReport getDeliveryReport() {
+        return deliveryReport;
+    }
+
+    public int getAcceptedPosts() {
+        return acceptedPosts;
+    }
+
+    public EventBusException getPostException() {
+        return postException;
+    }
+
+    public Throwable getUnexpectedError() {
+        return unexpectedError;
+    }
+
+    public int getNestedEvents() {
+        return nestedEvents.get();
+    }
+}
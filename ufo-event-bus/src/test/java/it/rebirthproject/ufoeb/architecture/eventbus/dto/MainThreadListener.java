@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A listener delivered on the main thread, recording the delivered sequences
+ * and the threads delivering them.
+ */
+public class MainThreadListener {
+
+    private final List<Integer> sequences = new CopyOnWriteArrayList<>();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    @Listen(threadMode = ThreadMode.MAIN)
+    public void onEvent(SequenceEvent event) {
+        threads.add(Thread.currentThread());
+        sequences.add(event.getSequence());
+    }
+
+    public List<Integer> getSequences() {
+        return sequences;
+    }
+
+    public Set<Thread> getThreads() {
+        return threads;
+    }
+}
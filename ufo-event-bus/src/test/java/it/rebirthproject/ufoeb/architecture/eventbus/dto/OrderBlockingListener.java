@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listener that blocks the delivery of the events of the given order until
+ * it is released, and counts down a latch for the events of the other orders.
+ */
+public class OrderBlockingListener {
+
+    private final int blockedOrderId;
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+    private final CountDownLatch otherOrdersLatch;
+
+    public OrderBlockingListener(int blockedOrderId, int expectedOtherOrdersEvents) {
+        this.blockedOrderId = blockedOrderId;
+        this.otherOrdersLatch = new CountDownLatch(expectedOtherOrdersEvents);
+    }
+
+    @Listen
+    public void onOrderUpdated(OrderUpdatedEvent event) throws InterruptedException {
+        if (event.getOrderId() == blockedOrderId) {
+            releaseLatch.await();
+        } else {
+            otherOrdersLatch.countDown();
+        }
+    }
+
+    public void release() {
+        releaseLatch.countDown();
+    }
+
+    public boolean awaitOtherOrdersEvents(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return otherOrdersLatch.await(timeout, timeUnit);
+    }
+}
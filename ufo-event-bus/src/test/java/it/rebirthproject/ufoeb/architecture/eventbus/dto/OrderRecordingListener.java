@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class OrderRecordingListener {
+
+    private final List<TestEvent1> receivedEvents = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch eventsReceivedLatch;
+
+    public OrderRecordingListener(int expectedEvents) {
+        this.eventsReceivedLatch = new CountDownLatch(expectedEvents);
+    }
+
+    @Listen
+    public void onEvent(TestEvent1 event) {
+        receivedEvents.add(event);
+        eventsReceivedLatch.countDown();
+    }
+
+    public boolean awaitEvents(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return eventsReceivedLatch.await(timeout, timeUnit);
+    }
+
+    public List<TestEvent1> getReceivedEvents() {
+        synchronized (receivedEvents) {
+            return new ArrayList<>(receivedEvents);
+        }
+    }
+}
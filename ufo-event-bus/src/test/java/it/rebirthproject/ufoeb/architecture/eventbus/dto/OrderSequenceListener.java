@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener that records the sequences received for each order and checks
+ * that the events of the same order are never delivered concurrently.
+ */
+public class OrderSequenceListener {
+
+    private final Map<Integer, List<Integer>> sequencesByOrder = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> deliveriesInProgressByOrder = new ConcurrentHashMap<>();
+    private final AtomicBoolean concurrentDeliveryFound = new AtomicBoolean(false);
+    private final CountDownLatch eventsReceivedLatch;
+
+    public OrderSequenceListener(int expectedEvents) {
+        this.eventsReceivedLatch = new CountDownLatch(expectedEvents);
+    }
+
+    @Listen
+    public void onOrderUpdated(OrderUpdatedEvent event) {
+        record(event.getOrderId(), event.getSequence());
+    }
+
+    @Listen
+    public void onOrderShipped(OrderShippedEvent event) {
+        record(event.getOrderId(), event.getSequence());
+    }
+
+    private void record(int orderId, int sequence) {
+        AtomicInteger deliveriesInProgress = deliveriesInProgressByOrder.computeIfAbsent(orderId, key -> new AtomicInteger(0));
+        if (deliveriesInProgress.incrementAndGet() > 1) {
+            concurrentDeliveryFound.set(true);
+        }
+        sequencesByOrder.computeIfAbsent(orderId, key -> new ArrayList<>()).add(sequence);
+        Thread.yield();
+        deliveriesInProgress.decrementAndGet();
+        eventsReceivedLatch.countDown();
+    }
+
+    public boolean awaitEvents(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return eventsReceivedLatch.await(timeout, timeUnit);
+    }
+
+    public List<Integer> getSequences(int orderId) {
+        return sequencesByOrder.get(orderId);
+    }
+
+    public boolean isConcurrentDeliveryFound() {
+        return concurrentDeliveryFound.get();
+    }
+}
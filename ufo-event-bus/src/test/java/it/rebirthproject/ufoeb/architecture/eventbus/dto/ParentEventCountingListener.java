@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEventParent;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParentEventCountingListener {
+
+    private final AtomicInteger receivedEvents = new AtomicInteger(0);
+    private final CountDownLatch eventsReceivedLatch;
+
+    public ParentEventCountingListener(int expectedEvents) {
+        this.eventsReceivedLatch = new CountDownLatch(expectedEvents);
+    }
+
+    @Listen
+    public void onEvent(TestEventParent event) {
+        receivedEvents.incrementAndGet();
+        eventsReceivedLatch.countDown();
+    }
+
+    public boolean awaitEvents(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return eventsReceivedLatch.await(timeout, timeUnit);
+    }
+
+    public int getReceivedEvents() {
+        return receivedEvents.get();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+public class PriceUpdateEvent {
+
+    private final String instrument;
+    private final double price;
+
+    public PriceUpdateEvent(String instrument, double price) {
+        this.instrument = instrument;
+        this.price = price;
+    }
+
+    public String getInstrument() {
+        return instrument;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A listener recording the delivered sequences and the threads delivering
+ * them, taking a fixed time for each event.
+ */
+public class PumpedListener {
+
+    private final long deliveryMillis;
+    private final List<Integer> sequences = new CopyOnWriteArrayList<>();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    public PumpedListener(long deliveryMillis) {
+        this.deliveryMillis = deliveryMillis;
+    }
+
+    @Listen
+    public void onEvent(SequenceEvent event) throws InterruptedException {
+        threads.add(Thread.currentThread());
+        sequences.add(event.getSequence());
+        if (deliveryMillis > 0) {
+            Thread.sleep(deliveryMillis);
+        }
+    }
+
+    public List<Integer> getSequences() {
+        return sequences;
+    }
+
+    public Set<Thread> getThreads() {
+        return threads;
+    }
+}
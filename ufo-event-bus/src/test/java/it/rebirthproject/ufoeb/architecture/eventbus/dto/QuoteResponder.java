@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+
+/**
+ * A listener answering requests with its base quote plus the sequence of the
+ * event.
+ */
+public class QuoteResponder {
+
+    private final int baseQuote;
+
+    public QuoteResponder(int baseQuote) {
+        this.baseQuote = baseQuote;
+    }
+
+    @Listen
+    public Integer quote(SequenceEvent event) {
+        return baseQuote + event.getSequence();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener whose deliveries block until all the expected events are being
+ * delivered at the same time. Every delivery succeeds only if the bus runs
+ * all of them concurrently.
+ */
+public class RendezvousListener {
+
+    private final CountDownLatch rendezvousLatch;
+    private final AtomicInteger metEvents = new AtomicInteger(0);
+    private final CountDownLatch deliveriesLatch;
+
+    public RendezvousListener(int expectedEvents) {
+        this.rendezvousLatch = new CountDownLatch(expectedEvents);
+        this.deliveriesLatch = new CountDownLatch(expectedEvents);
+    }
+
+    @Listen
+    public void onEvent(TestEvent1 event) {
+        rendezvousLatch.countDown();
+        try {
+            if (rendezvousLatch.await(5, TimeUnit.SECONDS)) {
+                metEvents.incrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        deliveriesLatch.countDown();
+    }
+
+    public boolean awaitDeliveries(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return deliveriesLatch.await(timeout, timeUnit);
+    }
+
+    public int getMetEvents() {
+        return metEvents.get();
+    }
+}
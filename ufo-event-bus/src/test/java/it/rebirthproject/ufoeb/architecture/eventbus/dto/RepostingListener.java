@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener that posts again each received {@link HopEvent} from inside the
+ * worker until it has no hops left, recording the kind of worker threads.
+ */
+public class RepostingListener {
+
+    private final EventBus bus;
+    private final CountDownLatch deliveriesLatch;
+    private final AtomicInteger forkJoinDeliveries = new AtomicInteger(0);
+
+    public RepostingListener(EventBus bus, int expectedDeliveries) {
+        this.bus = bus;
+        this.deliveriesLatch = new CountDownLatch(expectedDeliveries);
+    }
+
+    @Listen
+    public void onEvent(HopEvent event) {
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+            forkJoinDeliveries.incrementAndGet();
+        }
+        if (event.getRemainingHops() > 0) {
+            bus.post(new HopEvent(event.getRemainingHops() - 1));
+        }
+        deliveriesLatch.countDown();
+    }
+
+    public boolean awaitDeliveries(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return deliveriesLatch.await(timeout, timeUnit);
+    }
+
+    public int getForkJoinDeliveries() {
+        return forkJoinDeliveries.get();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A slow listener of conflating events: the first delivered event blocks its
+ * worker until the listener is released, so the following events wait in the
+ * workers queue.
+ */
+public class SlowConflationListener {
+
+    private final List<Object> receivedEvents = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstEventLatch = new CountDownLatch(1);
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+    private final CountDownLatch eventsReceivedLatch;
+
+    public SlowConflationListener(int expectedEvents) {
+        this.eventsReceivedLatch = new CountDownLatch(expectedEvents);
+    }
+
+    @Listen
+    public void onPriceUpdate(PriceUpdateEvent event) {
+        receive(event);
+    }
+
+    @Listen
+    public void onStatus(ConflatingStatusEvent event) {
+        receive(event);
+    }
+
+    private void receive(Object event) {
+        receivedEvents.add(event);
+        firstEventLatch.countDown();
+        try {
+            releaseLatch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        eventsReceivedLatch.countDown();
+    }
+
+    public boolean awaitFirstEvent(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return firstEventLatch.await(timeout, timeUnit);
+    }
+
+    public void release() {
+        releaseLatch.countDown();
+    }
+
+    public boolean awaitEvents(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return eventsReceivedLatch.await(timeout, timeUnit);
+    }
+
+    public List<Object> getReceivedEvents() {
+        synchronized (receivedEvents) {
+            return new ArrayList<>(receivedEvents);
+        }
+    }
+}
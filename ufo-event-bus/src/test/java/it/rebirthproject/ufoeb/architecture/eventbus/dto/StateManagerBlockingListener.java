@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEvent2;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listener that blocks the bus state manager thread while it is being
+ * registered, since the state manager calls its hashCode method. Useful to
+ * fill the bus message queue in a deterministic way.
+ */
+public class StateManagerBlockingListener {
+
+    private final CountDownLatch blockingStartedLatch;
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+    public StateManagerBlockingListener() {
+        this(1);
+    }
+
+    public StateManagerBlockingListener(int stateManagersToBlock) {
+        this.blockingStartedLatch = new CountDownLatch(stateManagersToBlock);
+    }
+
+    @Listen
+    public void onEvent(TestEvent2 event) {
+    }
+
+    public boolean awaitStateManagerBlocked(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return blockingStartedLatch.await(timeout, timeUnit);
+    }
+
+    public void releaseStateManager() {
+        releaseLatch.countDown();
+    }
+
+    @Override
+    public int hashCode() {
+        blockingStartedLatch.countDown();
+        try {
+            releaseLatch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj;
+    }
+}
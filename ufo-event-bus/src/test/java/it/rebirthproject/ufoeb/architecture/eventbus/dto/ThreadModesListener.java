@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listener with a method for each dedicated thread mode, recording the
+ * delivered sequences and the threads delivering them.
+ */
+public class ThreadModesListener {
+
+    private final CountDownLatch backgroundLatch;
+    private final CountDownLatch mainLatch;
+    private final List<Integer> postingSequences = new CopyOnWriteArrayList<>();
+    private final List<Integer> backgroundSequences = new CopyOnWriteArrayList<>();
+    private final List<Integer> mainSequences = new CopyOnWriteArrayList<>();
+    private final Set<Thread> postingThreads = ConcurrentHashMap.newKeySet();
+    private final Set<Thread> backgroundThreads = ConcurrentHashMap.newKeySet();
+    private final Set<Thread> mainThreads = ConcurrentHashMap.newKeySet();
+
+    public ThreadModesListener(int expectedDeliveries) {
+        this.backgroundLatch = new CountDownLatch(expectedDeliveries);
+        this.mainLatch = new CountDownLatch(expectedDeliveries);
+    }
+
+    @Listen(threadMode = ThreadMode.POSTING)
+    public void onPosting(SequenceEvent event) {
+        postingThreads.add(Thread.currentThread());
+        postingSequences.add(event.getSequence());
+    }
+
+    @Listen(threadMode = ThreadMode.BACKGROUND)
+    public void onBackground(SequenceEvent event) {
+        backgroundThreads.add(Thread.currentThread());
+        backgroundSequences.add(event.getSequence());
+        backgroundLatch.countDown();
+    }
+
+    @Listen(threadMode = ThreadMode.MAIN)
+    public void onMain(SequenceEvent event) {
+        mainThreads.add(Thread.currentThread());
+        mainSequences.add(event.getSequence());
+        mainLatch.countDown();
+    }
+
+    public boolean awaitDeliveries(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return backgroundLatch.await(timeout, timeUnit) && mainLatch.await(timeout, timeUnit);
+    }
+
+    public List<Integer> getPostingSequences() {
+        return postingSequences;
+    }
+
+    public List<Integer> getBackgroundSequences() {
+        return backgroundSequences;
+    }
+
+    public List<Integer> getMainSequences() {
+        return mainSequences;
+    }
+
+    public Set<Thread> getPostingThreads() {
+        return postingThreads;
+    }
+
+    public Set<Thread> getBackgroundThreads() {
+        return backgroundThreads;
+    }
+
+    public Set<Thread> getMainThreads() {
+        return mainThreads;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener that blocks the workers delivering its events until it is
+ * released. Useful to fill the workers queue in a deterministic way.
+ */
+public class WorkerBlockingListener {
+
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+    private final AtomicInteger receivedEvents = new AtomicInteger(0);
+
+    @Listen
+    public void onEvent(TestEvent1 event) {
+        try {
+            releaseLatch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        receivedEvents.incrementAndGet();
+    }
+
+    public void releaseWorkers() {
+        releaseLatch.countDown();
+    }
+
+    public boolean awaitEvents(int expectedEvents, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        while (receivedEvents.get() < expectedEvents) {
+            if (System.nanoTime() - deadline >= 0L) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    public int getReceivedEvents() {
+        return receivedEvents.get();
+    }
+}
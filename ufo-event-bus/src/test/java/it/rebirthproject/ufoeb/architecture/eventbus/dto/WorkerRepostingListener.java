@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.EventBus;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.events.TestEvent2;
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A listener posting some events each time it gets one, counting the posts
+ * rejected by the bus. The reposted events are delivered slowly, so the
+ * workers queue fills up while the reposting workers wait for the bus queue.
+ */
+public class WorkerRepostingListener {
+
+    private final EventBus eventBus;
+    private final int repostsPerEvent;
+    private final AtomicInteger receivedEvents = new AtomicInteger(0);
+    private final AtomicInteger receivedReposts = new AtomicInteger(0);
+    private final AtomicInteger rejectedReposts = new AtomicInteger(0);
+
+    public WorkerRepostingListener(EventBus eventBus, int repostsPerEvent) {
+        this.eventBus = eventBus;
+        this.repostsPerEvent = repostsPerEvent;
+    }
+
+    @Listen
+    public void onEvent(TestEvent1 event) {
+        receivedEvents.incrementAndGet();
+        for (int i = 0; i < repostsPerEvent; i++) {
+            try {
+                eventBus.post(new TestEvent2());
+            } catch (EventBusException ex) {
+                rejectedReposts.incrementAndGet();
+            }
+        }
+    }
+
+    @Listen
+    public void onRepost(TestEvent2 event) throws InterruptedException {
+        Thread.sleep(2);
+        receivedReposts.incrementAndGet();
+    }
+
+    public boolean awaitReposts(int expectedReposts, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        while (receivedReposts.get() + rejectedReposts.get() < expectedReposts) {
+            if (System.nanoTime() - deadline >= 0L) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    public int getReceivedEvents() {
+        return receivedEvents.get();
+    }
+}
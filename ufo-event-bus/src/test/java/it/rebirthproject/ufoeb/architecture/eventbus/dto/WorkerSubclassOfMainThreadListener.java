@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.eventbus.dto;
+
+import it.rebirthproject.ufoeb.eventannotation.Listen;
+import it.rebirthproject.ufoeb.eventannotation.ThreadMode;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listener delivered by the workers, whose MAIN methods are either inherited
+ * from its superclass or not valid to register.
+ */
+public class WorkerSubclassOfMainThreadListener extends MainThreadListener {
+
+    private final CountDownLatch workerLatch = new CountDownLatch(1);
+
+    @Listen
+    public void onWorkerEvent(SequenceEvent event) {
+        workerLatch.countDown();
+    }
+
+    @Listen(threadMode = ThreadMode.MAIN)
+    private void onPrivateEvent(SequenceEvent event) {
+    }
+
+    public boolean awaitWorkerEvent(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return workerLatch.await(timeout, timeUnit);
+    }
+}
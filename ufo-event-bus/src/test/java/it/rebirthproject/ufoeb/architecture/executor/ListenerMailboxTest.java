@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.dto.CountingListener;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.dto.registrations.RegistrationStandardReflection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListenerMailboxTest {
+
+    @Test
+    public void rejected_drainer_does_not_keep_its_slot() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        Executor rejectingExecutor = task -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("The workers pool is shut down");
+            }
+            task.run();
+        };
+        ListenerMailbox mailbox = new ListenerMailbox(rejectingExecutor);
+        mailbox.restrictMaxConcurrency(1);
+        CountingListener listener = new CountingListener(2);
+        Registration registration = new RegistrationStandardReflection(listener, CountingListener.class.getMethod("onEvent", TestEvent1.class), 0);
+
+        assertThrows(RejectedExecutionException.class, () -> mailbox.post(registration, new TestEvent1()));
+        rejecting.set(false);
+        mailbox.post(registration, new TestEvent1());
+
+        assertEquals(2, listener.getReceivedEvents(), "The mailbox was not drained after a rejected drainer.");
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import it.rebirthproject.ufoeb.architecture.eventbus.WorkersPoolDecision;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveWorkersPoolTest {
+
+    private static void submitBlockingTasks(AdaptiveWorkersPool pool, int tasks, CountDownLatch gate) {
+        for (int i = 0; i < tasks; i++) {
+            pool.execute(() -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    private static void awaitIdle(AdaptiveWorkersPool pool) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((pool.getActiveCount() > 0 || !pool.getQueue().isEmpty()) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void pool_grows_when_tasks_wait_for_busy_workers() throws Exception {
+        AdaptiveWorkersPool pool = new AdaptiveWorkersPool(2, 8, 0, 0L, () -> 0.5);
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            submitBlockingTasks(pool, 10, gate);
+            for (int i = 0; i < AdaptiveWorkersPool.GROW_SAMPLES; i++) {
+                pool.sample();
+            }
+            assertEquals(3, pool.getCorePoolSize());
+            for (int i = 0; i < AdaptiveWorkersPool.GROW_SAMPLES * 10; i++) {
+                pool.sample();
+            }
+            assertEquals(8, pool.getCorePoolSize(), "The pool did not grow up to its maximum.");
+
+            List<WorkersPoolDecision> decisions = pool.getDecisions();
+            assertFalse(decisions.isEmpty());
+            WorkersPoolDecision firstDecision = decisions.get(0);
+            assertTrue(firstDecision.isGrowth());
+            assertEquals(2, firstDecision.getPreviousWorkers());
+            assertEquals(3, firstDecision.getWorkers());
+            assertTrue(firstDecision.getQueueDepth() > 0);
+            assertEquals(8, decisions.get(decisions.size() - 1).getWorkers());
+        } finally {
+            gate.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void pool_does_not_grow_when_the_processors_are_saturated() {
+        AdaptiveWorkersPool pool = new AdaptiveWorkersPool(1, 4, 0, 0L, () -> 1.5);
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            submitBlockingTasks(pool, 5, gate);
+            for (int i = 0; i < AdaptiveWorkersPool.GROW_SAMPLES * 5; i++) {
+                pool.sample();
+            }
+            assertEquals(1, pool.getCorePoolSize());
+            assertTrue(pool.getDecisions().isEmpty());
+        } finally {
+            gate.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void pool_follows_only_its_queue_when_the_load_average_is_not_available() {
+        AdaptiveWorkersPool pool = new AdaptiveWorkersPool(1, 4, 0, 0L, () -> -1.0);
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            submitBlockingTasks(pool, 5, gate);
+            for (int i = 0; i < AdaptiveWorkersPool.GROW_SAMPLES; i++) {
+                pool.sample();
+            }
+            assertEquals(2, pool.getCorePoolSize());
+            assertTrue(pool.getDecisions().get(0).getCpuLoad() < 0.0);
+        } finally {
+            gate.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void sampler_keeps_adapting_after_an_error() throws Exception {
+        AtomicBoolean firstSample = new AtomicBoolean(true);
+        AdaptiveWorkersPool pool = new AdaptiveWorkersPool(1, 4, 0, TimeUnit.MILLISECONDS.toNanos(5), () -> {
+            if (firstSample.getAndSet(false)) {
+                throw new IllegalStateException("Load not available");
+            }
+            return -1.0;
+        });
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            submitBlockingTasks(pool, 5, gate);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pool.getCorePoolSize() == 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertFalse(firstSample.get());
+            assertTrue(pool.getCorePoolSize() > 1, "The sampler stopped after the error.");
+        } finally {
+            gate.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void pool_shrinks_slowly_down_to_its_minimum_once_idle() throws Exception {
+        AdaptiveWorkersPool pool = new AdaptiveWorkersPool(1, 4, 0, 0L, () -> 0.5);
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            submitBlockingTasks(pool, 5, gate);
+            for (int i = 0; i < AdaptiveWorkersPool.GROW_SAMPLES; i++) {
+                pool.sample();
+            }
+            assertEquals(2, pool.getCorePoolSize());
+            gate.countDown();
+            awaitIdle(pool);
+
+            int idleSamples = 0;
+            while (pool.getCorePoolSize() > 1 && idleSamples <= AdaptiveWorkersPool.SHRINK_SAMPLES * 2) {
+                pool.sample();
+                idleSamples++;
+            }
+            assertEquals(1, pool.getCorePoolSize());
+            assertTrue(idleSamples >= AdaptiveWorkersPool.SHRINK_SAMPLES, "The pool shrank before enough idle samples.");
+            for (int i = 0; i < AdaptiveWorkersPool.SHRINK_SAMPLES * 2; i++) {
+                pool.sample();
+            }
+            assertEquals(1, pool.getCorePoolSize(), "The pool shrank below its minimum.");
+            List<WorkersPoolDecision> decisions = pool.getDecisions();
+            assertFalse(decisions.get(decisions.size() - 1).isGrowth());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerWorkerQueuesExecutorTest {
+
+    private static final int NUMBER_OF_WORKERS = 4;
+    private static final int NUMBER_OF_PRODUCERS = 4;
+    private static final int TASKS_PER_PRODUCER = 50000;
+
+    @Test
+    public void tasks_submitted_by_many_producers_are_all_run() throws Exception {
+        PerWorkerQueuesExecutor executor = new PerWorkerQueuesExecutor(NUMBER_OF_WORKERS);
+        AtomicInteger runTasks = new AtomicInteger(0);
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_PRODUCERS; i++) {
+            Thread producer = new Thread(() -> {
+                for (int task = 0; task < TASKS_PER_PRODUCER; task++) {
+                    executor.execute(runTasks::incrementAndGet);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "The workers did not terminate.");
+        assertEquals(NUMBER_OF_PRODUCERS * TASKS_PER_PRODUCER, runTasks.get());
+    }
+
+    @Test
+    public void idle_workers_steal_the_tasks_of_a_busy_one() throws Exception {
+        PerWorkerQueuesExecutor executor = new PerWorkerQueuesExecutor(2);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CountDownLatch stolenLatch = new CountDownLatch(1);
+        // The first task blocks its worker, the third one is queued behind it
+        executor.execute(() -> awaitQuietly(releaseLatch));
+        executor.execute(() -> {
+        });
+        executor.execute(stolenLatch::countDown);
+
+        boolean stolen = stolenLatch.await(5, TimeUnit.SECONDS);
+        releaseLatch.countDown();
+        executor.shutdown();
+
+        assertTrue(stolen, "The task queued behind a blocked worker was not stolen.");
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void task_queued_behind_a_busy_worker_wakes_a_parked_one() throws Exception {
+        PerWorkerQueuesExecutor executor = new PerWorkerQueuesExecutor(2);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        executor.execute(() -> {
+            startedLatch.countDown();
+            awaitQuietly(releaseLatch);
+        });
+        assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+        // Gives the other worker the time to run its task and park
+        Thread.sleep(200);
+        // The third task is queued to the busy worker, only the parked one can run it
+        CountDownLatch ranLatch = new CountDownLatch(1);
+        executor.execute(ranLatch::countDown);
+
+        boolean ran = ranLatch.await(2, TimeUnit.SECONDS);
+        releaseLatch.countDown();
+        executor.shutdown();
+
+        assertTrue(ran, "The task queued behind a busy worker was not run by the parked one.");
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void tasks_submitted_after_shutdown_are_rejected() throws Exception {
+        PerWorkerQueuesExecutor executor = new PerWorkerQueuesExecutor(NUMBER_OF_WORKERS);
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void shutdown_now_returns_the_pending_tasks() throws Exception {
+        PerWorkerQueuesExecutor executor = new PerWorkerQueuesExecutor(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        executor.execute(() -> {
+            startedLatch.countDown();
+            awaitQuietly(releaseLatch);
+        });
+        assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+
+        List<Runnable> pendingTasks = executor.shutdownNow();
+
+        assertEquals(1, pendingTasks.size());
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
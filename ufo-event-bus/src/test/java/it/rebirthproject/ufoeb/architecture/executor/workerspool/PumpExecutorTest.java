@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.executor.workerspool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PumpExecutorTest {
+
+    @Test
+    public void tasks_run_only_when_drained_in_submission_order() {
+        PumpExecutor executor = new PumpExecutor();
+        List<Integer> runTasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            executor.execute(() -> runTasks.add(task));
+        }
+        assertTrue(runTasks.isEmpty());
+        assertEquals(5, executor.getPendingTasks());
+
+        assertEquals(3, executor.drain(3, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(0, 1, 2), runTasks);
+        assertEquals(2, executor.drain(10, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), runTasks);
+    }
+
+    @Test
+    public void a_failing_task_does_not_stop_the_drain() {
+        PumpExecutor executor = new PumpExecutor();
+        List<Integer> runTasks = new ArrayList<>();
+        executor.execute(() -> {
+            throw new IllegalStateException("Failing task");
+        });
+        executor.execute(() -> runTasks.add(1));
+        assertEquals(2, executor.drain(10, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(1), runTasks);
+    }
+
+    @Test
+    public void executor_is_terminated_once_shut_down_and_drained() throws Exception {
+        PumpExecutor executor = new PumpExecutor();
+        executor.execute(() -> {
+        });
+        executor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        assertFalse(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.drain(10, Long.MAX_VALUE));
+        assertTrue(executor.isTerminated());
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
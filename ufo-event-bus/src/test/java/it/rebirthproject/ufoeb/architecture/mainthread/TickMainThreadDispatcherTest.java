@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.mainthread;
+
+import it.rebirthproject.ufoeb.exceptions.EventBusException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickMainThreadDispatcherTest {
+
+    @Test
+    public void frames_scheduled_while_running_wait_for_the_next_tick() {
+        TickMainThreadDispatcher dispatcher = new TickMainThreadDispatcher();
+        List<Integer> runFrames = new ArrayList<>();
+        dispatcher.dispatch(() -> {
+            runFrames.add(1);
+            dispatcher.dispatch(() -> runFrames.add(3));
+        });
+        dispatcher.dispatch(() -> runFrames.add(2));
+
+        assertEquals(2, dispatcher.runFrames());
+        assertEquals(Arrays.asList(1, 2), runFrames);
+        assertTrue(dispatcher.hasPendingFrames());
+
+        assertEquals(1, dispatcher.runFrames());
+        assertEquals(Arrays.asList(1, 2, 3), runFrames);
+        assertFalse(dispatcher.hasPendingFrames());
+        assertEquals(0, dispatcher.runFrames());
+    }
+
+    @Test
+    public void executor_dispatcher_runs_frames_with_the_executor() {
+        List<Runnable> executedFrames = new ArrayList<>();
+        Runnable frame = () -> {
+        };
+        MainThreadDispatchers.fromExecutor(executedFrames::add).dispatch(frame);
+        assertEquals(1, executedFrames.size());
+        assertSame(frame, executedFrames.get(0));
+    }
+
+    @Test
+    public void null_executor_throws() {
+        assertThrows(EventBusException.class, () -> MainThreadDispatchers.fromExecutor(null));
+    }
+
+    @Test
+    public void javafx_dispatcher_without_javafx_throws() {
+        assertThrows(EventBusException.class, MainThreadDispatchers::javaFx);
+    }
+}
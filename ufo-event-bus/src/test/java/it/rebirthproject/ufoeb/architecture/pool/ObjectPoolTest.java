@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.pool;
+
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectPoolTest {
+
+    @Test
+    public void pool_is_filled_when_created() {
+        ObjectPool<PostEventMessage> pool = new ObjectPool<>(5, PostEventMessage::new);
+
+        assertEquals(8, pool.getFreeObjectsCount());
+    }
+
+    @Test
+    public void recycled_message_is_acquired_again_empty() {
+        ObjectPool<PostEventMessage> pool = new ObjectPool<>(2, PostEventMessage::new);
+        PostEventMessage message = pool.acquire().setEventToPost(new TestEvent1());
+        assertEquals(1, pool.getFreeObjectsCount());
+
+        message.recycle();
+
+        assertEquals(2, pool.getFreeObjectsCount());
+        assertNull(message.getEventToPost(), "A recycled message must not keep the posted event.");
+        pool.acquire();
+        assertSame(message, pool.acquire(), "The recycled message should be acquired again.");
+    }
+
+    @Test
+    public void empty_pool_creates_new_objects_and_full_pool_discards_them() {
+        ObjectPool<PostEventMessage> pool = new ObjectPool<>(2, PostEventMessage::new);
+        PostEventMessage first = pool.acquire();
+        PostEventMessage second = pool.acquire();
+        PostEventMessage created = pool.acquire();
+        assertNotNull(created, "An empty pool should create a new object.");
+        assertEquals(0, pool.getFreeObjectsCount());
+
+        first.recycle();
+        second.recycle();
+        created.recycle();
+
+        assertEquals(2, pool.getFreeObjectsCount(), "A full pool should discard the released object.");
+    }
+
+    @Test
+    public void unpooled_message_is_not_recycled() {
+        PostEventMessage message = new PostEventMessage(new TestEvent1());
+
+        message.recycle();
+
+        assertNotNull(message.getEventToPost());
+    }
+}
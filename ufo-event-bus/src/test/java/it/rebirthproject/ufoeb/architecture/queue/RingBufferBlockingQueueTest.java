@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.queue;
+
+import it.rebirthproject.ufoeb.architecture.queue.waitstrategy.base.WaitStrategyType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferBlockingQueueTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ELEMENTS_PER_PRODUCER = 10000;
+
+    @Test
+    public void capacity_is_rounded_up_to_next_power_of_two() {
+        assertEquals(2, new RingBufferBlockingQueue<Integer>(1, WaitStrategyType.BLOCKING_WAIT_STRATEGY).getCapacity());
+        assertEquals(8, new RingBufferBlockingQueue<Integer>(5, WaitStrategyType.BLOCKING_WAIT_STRATEGY).getCapacity());
+        assertEquals(128, new RingBufferBlockingQueue<Integer>(100, WaitStrategyType.BLOCKING_WAIT_STRATEGY).getCapacity());
+        assertEquals(128, new RingBufferBlockingQueue<Integer>(128, WaitStrategyType.BLOCKING_WAIT_STRATEGY).getCapacity());
+    }
+
+    @Test
+    public void invalid_capacity_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<Integer>(0, WaitStrategyType.BLOCKING_WAIT_STRATEGY));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<Integer>(-1, WaitStrategyType.BLOCKING_WAIT_STRATEGY));
+    }
+
+    @Test
+    public void offer_fails_when_full_and_poll_returns_elements_in_fifo_order() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4, WaitStrategyType.BLOCKING_WAIT_STRATEGY);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4), "Offer on a full ring buffer should fail.");
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(0, queue.peek());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void iterator_walks_a_snapshot_of_the_waiting_elements() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4, WaitStrategyType.BLOCKING_WAIT_STRATEGY);
+        assertFalse(queue.iterator().hasNext());
+        assertEquals("[]", queue.toString());
+        // Fill more than one lap so the elements wrap around the slots
+        for (int i = 0; i < 6; i++) {
+            assertTrue(queue.offer(i));
+            if (i < 3) {
+                assertEquals(i, queue.poll());
+            }
+        }
+        Iterator<Integer> iterator = queue.iterator();
+        assertEquals(3, queue.poll());
+        assertTrue(queue.offer(6));
+
+        List<Integer> iterated = new ArrayList<>();
+        iterator.forEachRemaining(iterated::add);
+        assertEquals(Arrays.asList(3, 4, 5), iterated, "The iterator should not see changes made after its creation.");
+        assertEquals("[4, 5, 6]", queue.toString());
+        assertTrue(queue.contains(5));
+        assertFalse(queue.contains(3));
+    }
+
+    @Test
+    public void arbitrary_elements_cannot_be_removed() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4, WaitStrategyType.BLOCKING_WAIT_STRATEGY);
+        queue.offer(1);
+        queue.offer(2);
+        assertThrows(UnsupportedOperationException.class, () -> queue.remove(2));
+        Iterator<Integer> iterator = queue.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void null_elements_are_rejected() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4, WaitStrategyType.BLOCKING_WAIT_STRATEGY);
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void timed_poll_and_offer_return_when_timeout_expires(WaitStrategyType waitStrategyType) throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(2, waitStrategyType);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(1, 10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer(3, 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategyType.class)
+    public void many_producers_and_one_consumer_exchange_all_elements_keeping_per_producer_order(WaitStrategyType waitStrategyType) throws Exception {
+        RingBufferBlockingQueue<long[]> queue = new RingBufferBlockingQueue<>(8, waitStrategyType);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int producerId = p;
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++) {
+                        queue.put(new long[]{producerId, i});
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        long[] lastSeen = new long[PRODUCERS];
+        Arrays.fill(lastSeen, -1L);
+        for (int i = 0; i < PRODUCERS * ELEMENTS_PER_PRODUCER; i++) {
+            long[] element = queue.poll(10, TimeUnit.SECONDS);
+            assertNotNull(element, "Consumer timed out waiting for an element using the " + waitStrategyType);
+            int producerId = (int) element[0];
+            assertEquals(lastSeen[producerId] + 1, element[1], "Elements of the same producer were reordered.");
+            lastSeen[producerId] = element[1];
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
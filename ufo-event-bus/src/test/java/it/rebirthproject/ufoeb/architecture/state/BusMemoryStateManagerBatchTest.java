@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.state;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventsBatchMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ShutdownStateManagerMessage;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessageEmitter;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakePoolExecutor;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.FactoryInheritancePolicy;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.base.InheritancePolicyType;
+import it.rebirthproject.ufoeb.testutils.BaseTest;
+import it.rebirthproject.ufoeb.testutils.validators.ExpectedMessage;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BusMemoryStateManagerBatchTest extends BaseTest {
+
+    private FakePoolExecutor startStateManager(int numberOfWorkers) {
+        executorService = Executors.newSingleThreadExecutor();
+        FakePoolExecutor fakePoolExecutor = new FakePoolExecutor();
+        MemoryState memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.NO_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
+        executorService.submit(new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, numberOfWorkers, THROW_NO_REGISTRATIONS_WARNING), null, null));
+        return fakePoolExecutor;
+    }
+
+    @Test
+    public void batch_is_delivered_in_posting_order_with_one_task_per_worker() throws Exception {
+        FakePoolExecutor fakePoolExecutor = startStateManager(1);
+        new FakeMessageEmitter(messageQueue)
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent1))
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent2))
+                .sendMessage(new PostEventsBatchMessage(new Object[]{event1, event2, secondEvent1, secondEvent2}))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, fakePoolExecutor.getExecutedTasksCounter(), "The batch was not coalesced in a single task.");
+        messageListVerifier.assertAsExpected(fakePoolExecutor.getReceivedMessageList(),
+                Arrays.asList(new ExpectedMessage(event1), new ExpectedMessage(event2), new ExpectedMessage(secondEvent1), new ExpectedMessage(secondEvent2))
+        );
+    }
+
+    @Test
+    public void batch_is_split_between_workers_by_listener() throws Exception {
+        FakePoolExecutor fakePoolExecutor = startStateManager(2);
+        new FakeMessageEmitter(messageQueue)
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent1))
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent2))
+                .sendMessage(new PostEventsBatchMessage(new Object[]{event1, event2, secondEvent1, secondEvent2}))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(2, fakePoolExecutor.getExecutedTasksCounter(), "The batch was not split between the workers.");
+        messageListVerifier.assertAsExpected(fakePoolExecutor.getReceivedMessageList(),
+                Arrays.asList(new ExpectedMessage(event1), new ExpectedMessage(secondEvent1), new ExpectedMessage(event2), new ExpectedMessage(secondEvent2))
+        );
+    }
+
+    @Test
+    public void events_of_the_same_listener_are_kept_in_one_chunk() throws Exception {
+        FakePoolExecutor fakePoolExecutor = startStateManager(2);
+        new FakeMessageEmitter(messageQueue)
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent1))
+                .sendMessage(new PostEventsBatchMessage(new Object[]{event1, secondEvent1, event1}))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, fakePoolExecutor.getExecutedTasksCounter(), "The events of a listener were split between the workers.");
+        messageListVerifier.assertAsExpected(fakePoolExecutor.getReceivedMessageList(),
+                Arrays.asList(new ExpectedMessage(event1), new ExpectedMessage(secondEvent1), new ExpectedMessage(event1))
+        );
+    }
+
+    @Test
+    public void events_without_registrations_are_skipped_in_batch() throws Exception {
+        FakePoolExecutor fakePoolExecutor = startStateManager(4);
+        new FakeMessageEmitter(messageQueue)
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent1))
+                .sendMessage(new PostEventsBatchMessage(new Object[]{event2, event1}))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, fakePoolExecutor.getExecutedTasksCounter());
+        messageListVerifier.assertAsExpected(fakePoolExecutor.getReceivedMessageList(),
+                Arrays.asList(new ExpectedMessage(event1))
+        );
+    }
+}
@@ -16,6 +16,7 @@
  */
 package it.rebirthproject.ufoeb.architecture.state;
 
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.ShutdownStateManagerMessage;
@@ -57,7 +58,7 @@ public class BusMemoryStateManagerCompleteInheritanceTest extends BaseTest {
         fakePoolExecutor = new FakePoolExecutor();
 
         memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
-        busMemoryStateManager = new BusMemoryStateManager(messageQueue, fakePoolExecutor, memoryState, listenerMethodFinder, THROW_NO_REGISTRATIONS_WARNING);
+        busMemoryStateManager = new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING), null, null);
         executorService.submit(busMemoryStateManager);
     }
 
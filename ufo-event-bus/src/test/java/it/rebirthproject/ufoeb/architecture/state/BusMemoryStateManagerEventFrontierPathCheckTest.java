@@ -15,6 +15,7 @@
  */
 package it.rebirthproject.ufoeb.architecture.state;
 
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
 import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessageEmitter;
@@ -46,7 +47,7 @@ public class BusMemoryStateManagerEventFrontierPathCheckTest extends BaseTest {
         fakePoolExecutor = new FakePoolExecutor();
 
         memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
-        busMemoryStateManager = new BusMemoryStateManager(messageQueue, fakePoolExecutor, memoryState, listenerMethodFinder, THROW_NO_REGISTRATIONS_WARNING);
+        busMemoryStateManager = new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING), null, null);
     }
 
     @Test
@@ -83,7 +84,7 @@ public class BusMemoryStateManagerEventFrontierPathCheckTest extends BaseTest {
     public void finder_stop_reflection_if_event_listened_class_hierachy_does_not_belong_to_the_correct_frontier_path() throws Exception {
         ClassProcessableService customClassProcessableService = new ClassProcessableService("it.rebirthproject.ufoeb.architecture.state.dto.inheritancetest.objectstoregister");
         memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, customClassProcessableService), VERBOSE_LOGGING);
-        busMemoryStateManager = new BusMemoryStateManager(messageQueue, fakePoolExecutor, memoryState, listenerMethodFinder, THROW_NO_REGISTRATIONS_WARNING);
+        busMemoryStateManager = new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING), null, null);
        
         EventExtendingJavaLibClass eventExtendingJavaLibClass = new EventExtendingJavaLibClass();
         ListenerForForbiddenEvent1 listener = new ListenerForForbiddenEvent1();
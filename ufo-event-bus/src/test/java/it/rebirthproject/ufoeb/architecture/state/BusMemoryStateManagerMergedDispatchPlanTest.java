@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.state;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
+import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ShutdownStateManagerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.UnregisterListenerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.Message;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.events.BlackColorInterface;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.events.BlackPen;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.events.BlackSquaredPen;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.objectstoregister.ListenerToRegisterOnAllEvents;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.objectstoregister.ListenerToRegisterOnBlackPenWithHighPriority;
+import it.rebirthproject.ufoeb.architecture.state.dto.complextest.objectstoregister.ListenerToRegisterOnSquaredBlackPen;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessage;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessageEmitter;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakePoolExecutor;
+import it.rebirthproject.ufoeb.dto.enums.EventPriority;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.FactoryInheritancePolicy;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.base.InheritancePolicyType;
+import it.rebirthproject.ufoeb.testutils.BaseTest;
+import it.rebirthproject.ufoeb.testutils.validators.ExpectedMessage;
+import it.rebirthproject.ufoeb.testutils.validators.ExpectedRegistration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+public class BusMemoryStateManagerMergedDispatchPlanTest extends BaseTest {
+
+    private static FakeMessageEmitter fakeMessageEmitter;
+    private static FakePoolExecutor fakePoolExecutor;
+
+    @BeforeEach
+    public void beforeEach() {
+        executorService = Executors.newSingleThreadExecutor();
+        fakeMessageEmitter = new FakeMessageEmitter(messageQueue);
+        fakePoolExecutor = new FakePoolExecutor();
+
+        MemoryState memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
+        EventDispatcher eventDispatcher = new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING, null, false, null, 0, true);
+        executorService.submit(new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, eventDispatcher, null, null));
+    }
+
+    @Test
+    public void whole_hierarchy_is_delivered_with_a_single_task_sorted_by_priority() throws Exception {
+        BlackSquaredPen blackSquaredPen = new BlackSquaredPen();
+        ListenerToRegisterOnSquaredBlackPen listenerSquared = new ListenerToRegisterOnSquaredBlackPen();
+        ListenerToRegisterOnAllEvents listenerAll = new ListenerToRegisterOnAllEvents();
+        ListenerToRegisterOnBlackPenWithHighPriority listenerHighPriority = new ListenerToRegisterOnBlackPenWithHighPriority();
+
+        fakeMessageEmitter
+                .sendMessage(new RegisterMessage(listenerSquared))
+                .sendMessage(new RegisterMessage(listenerAll))
+                .sendMessage(new RegisterMessage(listenerHighPriority))
+                .sendMessage(new PostEventMessage(blackSquaredPen))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        List<Message> returnMessageList = fakePoolExecutor.getReceivedMessageList();
+        messageListVerifier.assertAsExpected(returnMessageList,
+                Arrays.asList(new ExpectedMessage(blackSquaredPen))
+        );
+
+        FakeMessage message = (FakeMessage) returnMessageList.get(0);
+        registrationListVerifier.assertAsExpected(
+                message.getRegistrationsList(),
+                Arrays.asList(
+                        new ExpectedRegistration(listenerHighPriority, EventPriority.HIGH, "method", BlackPen.class),
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method2", BlackSquaredPen.class),
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method1", BlackPen.class),
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method4", BlackPen.class),
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method1", BlackColorInterface.class))
+        );
+    }
+
+    @Test
+    public void dispatch_plan_is_rebuilt_when_a_registration_of_the_hierarchy_changes() throws Exception {
+        BlackSquaredPen blackSquaredPen = new BlackSquaredPen();
+        ListenerToRegisterOnSquaredBlackPen listenerSquared = new ListenerToRegisterOnSquaredBlackPen();
+        ListenerToRegisterOnAllEvents listenerAll = new ListenerToRegisterOnAllEvents();
+
+        fakeMessageEmitter
+                .sendMessage(new RegisterMessage(listenerSquared))
+                .sendMessage(new PostEventMessage(blackSquaredPen))
+                .sendMessage(new RegisterMessage(listenerAll))
+                .sendMessage(new PostEventMessage(blackSquaredPen))
+                .sendMessage(new UnregisterListenerMessage(listenerSquared))
+                .sendMessage(new PostEventMessage(blackSquaredPen))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        List<Message> returnMessageList = fakePoolExecutor.getReceivedMessageList();
+        messageListVerifier.assertAsExpected(returnMessageList,
+                Arrays.asList(new ExpectedMessage(blackSquaredPen),
+                        new ExpectedMessage(blackSquaredPen),
+                        new ExpectedMessage(blackSquaredPen))
+        );
+
+        registrationListVerifier.assertAsExpected(
+                ((FakeMessage) returnMessageList.get(0)).getRegistrationsList(),
+                Arrays.asList(
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method2", BlackSquaredPen.class),
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method1", BlackPen.class))
+        );
+        registrationListVerifier.assertAsExpected(
+                ((FakeMessage) returnMessageList.get(1)).getRegistrationsList(),
+                Arrays.asList(
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method2", BlackSquaredPen.class),
+                        new ExpectedRegistration(listenerSquared, EventPriority.NONE, "method1", BlackPen.class),
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method4", BlackPen.class),
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method1", BlackColorInterface.class))
+        );
+        registrationListVerifier.assertAsExpected(
+                ((FakeMessage) returnMessageList.get(2)).getRegistrationsList(),
+                Arrays.asList(
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method4", BlackPen.class),
+                        new ExpectedRegistration(listenerAll, EventPriority.NONE, "method1", BlackColorInterface.class))
+        );
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2021/2026 Andrea Paternesi Rebirth project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package it.rebirthproject.ufoeb.architecture.state;
+
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
+import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.ShutdownStateManagerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.commands.UnregisterListenerMessage;
+import it.rebirthproject.ufoeb.architecture.messages.interfaces.Message;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessage;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakeMessageEmitter;
+import it.rebirthproject.ufoeb.architecture.state.mock.FakePoolExecutor;
+import it.rebirthproject.ufoeb.dto.BusEventKey;
+import it.rebirthproject.ufoeb.dto.enums.EventPriority;
+import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.objectstoregister.services.TestClassToRegisterWithInvalidMaxConcurrency;
+import it.rebirthproject.ufoeb.dto.registrations.Registration;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.FactoryInheritancePolicy;
+import it.rebirthproject.ufoeb.eventinheritancepolicy.base.InheritancePolicyType;
+import it.rebirthproject.ufoeb.testutils.BaseTest;
+import it.rebirthproject.ufoeb.testutils.validators.ExpectedMessage;
+import it.rebirthproject.ufoeb.testutils.validators.ExpectedRegistration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusMemoryStateManagerRegistrySnapshotTest extends BaseTest {
+
+    private static FakeMessageEmitter fakeMessageEmitter;
+    private static FakePoolExecutor fakePoolExecutor;
+    private static AtomicReference<RegistrySnapshot> registrySnapshot;
+
+    @BeforeEach
+    public void beforeEach() {
+        executorService = Executors.newSingleThreadExecutor();
+        fakeMessageEmitter = new FakeMessageEmitter(messageQueue);
+        fakePoolExecutor = new FakePoolExecutor();
+        registrySnapshot = new AtomicReference<>();
+
+        MemoryState memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
+        BusMemoryStateManager busMemoryStateManager = new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING), registrySnapshot, null);
+        executorService.submit(busMemoryStateManager);
+    }
+
+    @Test
+    public void an_empty_snapshot_is_published_before_any_registration() throws Exception {
+        fakeMessageEmitter.sendMessage(new ShutdownStateManagerMessage());
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertNotNull(registrySnapshot.get(), "No registry snapshot was published.");
+        assertEquals(0, registrySnapshot.get().getRegistrationsSnapshot(new BusEventKey(TestEvent1.class)).length);
+    }
+
+    @Test
+    public void register_message_is_marked_applied_after_the_snapshot_is_published() throws Exception {
+        RegisterMessage registerMessage = new RegisterMessage(registeredObject1ToEvent1);
+        fakeMessageEmitter.sendMessage(registerMessage);
+
+        registerMessage.getAppliedFuture().get(10, TimeUnit.SECONDS);
+        Registration[] registrations = registrySnapshot.get().getRegistrationsSnapshot(new BusEventKey(TestEvent1.class));
+
+        fakeMessageEmitter.sendMessage(new ShutdownStateManagerMessage());
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, registrations.length, "The registration was not visible in the published snapshot.");
+    }
+
+    @Test
+    public void published_snapshot_is_not_modified_by_later_registrations() throws Exception {
+        RegisterMessage registerMessage = new RegisterMessage(registeredObject1ToEvent1);
+        fakeMessageEmitter.sendMessage(registerMessage);
+        registerMessage.getAppliedFuture().get(10, TimeUnit.SECONDS);
+        RegistrySnapshot firstSnapshot = registrySnapshot.get();
+
+        UnregisterListenerMessage unregisterMessage = new UnregisterListenerMessage(registeredObject1ToEvent1);
+        fakeMessageEmitter.sendMessage(unregisterMessage);
+        unregisterMessage.getAppliedFuture().get(10, TimeUnit.SECONDS);
+
+        fakeMessageEmitter.sendMessage(new ShutdownStateManagerMessage());
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, firstSnapshot.getRegistrationsSnapshot(new BusEventKey(TestEvent1.class)).length, "An old snapshot was modified.");
+        assertEquals(0, registrySnapshot.get().getRegistrationsSnapshot(new BusEventKey(TestEvent1.class)).length, "The unregistration was not published.");
+    }
+
+    @Test
+    public void event_dispatched_using_the_snapshot_reaches_the_registered_object() throws Exception {
+        RegisterMessage registerMessage = new RegisterMessage(registeredObject1ToEvent1);
+        fakeMessageEmitter.sendMessage(registerMessage);
+        registerMessage.getAppliedFuture().get(10, TimeUnit.SECONDS);
+
+        fakeMessageEmitter.sendMessage(new ShutdownStateManagerMessage());
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        FakePoolExecutor directPoolExecutor = new FakePoolExecutor();
+        new EventDispatcher(directPoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING).dispatch(registrySnapshot.get(), event1);
+
+        List<Message> returnMessageList = directPoolExecutor.getReceivedMessageList();
+        messageListVerifier.assertAsExpected(returnMessageList,
+                Arrays.asList(new ExpectedMessage(event1))
+        );
+        FakeMessage message = (FakeMessage) returnMessageList.get(0);
+        registrationListVerifier.assertAsExpected(
+                message.getRegistrationsList(),
+                Arrays.asList(new ExpectedRegistration(registeredObject1ToEvent1, EventPriority.NONE, "onEvent1", TestEvent1.class))
+        );
+    }
+
+    @Test
+    public void failed_registration_is_reported_and_does_not_stop_the_manager() throws Exception {
+        RegisterMessage failingRegisterMessage = new RegisterMessage(new TestClassToRegisterWithInvalidMaxConcurrency(), new ListenerMailbox(fakePoolExecutor));
+        fakeMessageEmitter.sendMessage(failingRegisterMessage);
+        assertThrows(ExecutionException.class, () -> failingRegisterMessage.getAppliedFuture().get(10, TimeUnit.SECONDS));
+
+        RegisterMessage registerMessage = new RegisterMessage(registeredObject1ToEvent1);
+        fakeMessageEmitter.sendMessage(registerMessage);
+        registerMessage.getAppliedFuture().get(10, TimeUnit.SECONDS);
+        Registration[] registrations = registrySnapshot.get().getRegistrationsSnapshot(new BusEventKey(TestEvent1.class));
+
+        fakeMessageEmitter.sendMessage(new ShutdownStateManagerMessage());
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        assertEquals(1, registrations.length, "The manager did not apply the registration sent after a failed one.");
+    }
+}
@@ -16,6 +16,7 @@
  */
 package it.rebirthproject.ufoeb.architecture.state;
 
+import it.rebirthproject.ufoeb.architecture.executor.EventDispatcher;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.PostStickyEventMessage;
 import it.rebirthproject.ufoeb.architecture.messages.commands.RegisterMessage;
@@ -62,7 +63,7 @@ public class BusMemoryStateManagerTest extends BaseTest {
         fakePoolExecutor = new FakePoolExecutor();
 
         memoryState = new MemoryState(FactoryInheritancePolicy.createInheritancePolicy(InheritancePolicyType.COMPLETE_EVENT_INHERITANCE, classProcessableService), VERBOSE_LOGGING);
-        busMemoryStateManager = new BusMemoryStateManager(messageQueue, fakePoolExecutor, memoryState, listenerMethodFinder, THROW_NO_REGISTRATIONS_WARNING);
+        busMemoryStateManager = new BusMemoryStateManager(messageQueue, null, fakePoolExecutor, memoryState, listenerMethodFinder, new EventDispatcher(fakePoolExecutor, 1, THROW_NO_REGISTRATIONS_WARNING), null, null);
         executorService.submit(busMemoryStateManager);
     }
 
@@ -731,4 +732,20 @@ public class BusMemoryStateManagerTest extends BaseTest {
 
         assertEquals(0, memoryState.getEventEventsRegistrationsSize(), "Event key should be removed when no registrations remain.");
     }
+
+    @Test
+    public void rejected_event_does_not_stop_the_state_manager() throws Exception {
+        fakePoolExecutor.rejectNextTasks(1);
+        fakeMessageEmitter
+                .sendMessage(new RegisterMessage(registeredObject1ToEvent1))
+                .sendMessage(new PostEventMessage(event1))
+                .sendMessage(new PostEventMessage(event1))
+                .sendMessage(new ShutdownStateManagerMessage());
+
+        awaitUntilExecutorFinishToWorkAndDie();
+
+        messageListVerifier.assertAsExpected(fakePoolExecutor.getReceivedMessageList(),
+                Arrays.asList(new ExpectedMessage(event1))
+        );
+    }
 }
@@ -15,17 +15,21 @@
  */
 package it.rebirthproject.ufoeb.architecture.state.mock;
 
+import it.rebirthproject.ufoeb.architecture.executor.BatchEventExecutor;
 import it.rebirthproject.ufoeb.architecture.executor.EventExecutor;
 import it.rebirthproject.ufoeb.architecture.messages.interfaces.Message;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class FakePoolExecutor extends ThreadPoolExecutor {
     
     private final List<Message> messagesList = new ArrayList<>();
+    private int executedTasksCounter = 0;
+    private int tasksToReject = 0;
 
     public FakePoolExecutor() {
         super(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
@@ -35,8 +39,29 @@ public class FakePoolExecutor extends ThreadPoolExecutor {
         return messagesList;
     }
 
+    public int getExecutedTasksCounter() {
+        return executedTasksCounter;
+    }
+
+    public void rejectNextTasks(int tasksToReject) {
+        this.tasksToReject = tasksToReject;
+    }
+
     @Override
     public void execute(Runnable runnable) {
+        if (tasksToReject > 0) {
+            tasksToReject--;
+            throw new RejectedExecutionException("Fake rejection");
+        }
+        executedTasksCounter++;
+        if (runnable instanceof BatchEventExecutor) {
+            BatchEventExecutor batchExecutor = (BatchEventExecutor) runnable;
+            List<Object> eventsToPost = batchExecutor.getEventsToPost();
+            for (int i = 0; i < eventsToPost.size(); i++) {
+                messagesList.add(new FakeMessage(batchExecutor.getRegistrationLists().get(i), eventsToPost.get(i)));
+            }
+            return;
+        }
         EventExecutor executor = ((EventExecutor)runnable);
         messagesList.add(new FakeMessage(executor.getRegistrationList(),executor.getEventToPost()));
     }
@@ -33,7 +33,8 @@ public class TestRegistration extends Registration {
     }
 
     @Override
-    public void process(Object event) {
+    public Object process(Object event) {
         // no-op for map ordering tests
+        return null;
     }
 }
@@ -16,10 +16,12 @@
  */
 package it.rebirthproject.ufoeb.services;
 
+import it.rebirthproject.ufoeb.architecture.executor.ListenerMailbox;
 import it.rebirthproject.ufoeb.architecture.state.MemoryState;
 import it.rebirthproject.ufoeb.dto.BusEventKey;
 import it.rebirthproject.ufoeb.dto.enums.EventPriority;
 import it.rebirthproject.ufoeb.dto.events.TestEvent1;
+import it.rebirthproject.ufoeb.dto.events.TestEvent2;
 import it.rebirthproject.ufoeb.dto.events.TestEventWithParentClass;
 import it.rebirthproject.ufoeb.dto.objectstoregister.services.ClassWithValidListenerMethodAnnotation;
 import it.rebirthproject.ufoeb.dto.objectstoregister.services.*;
@@ -36,6 +38,7 @@ import it.rebirthproject.ufoeb.testutils.verifiers.UnorderedListVerifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
+import java.util.concurrent.Executors;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ListenerMethodFinderTest extends BaseTest {
@@ -225,4 +228,47 @@ public class ListenerMethodFinderTest extends BaseTest {
         );
     }
 
+
+    @Test
+    public void finder_attaches_mailbox_with_lowest_max_concurrency() throws Exception {
+        listenerMethodFinder = new ListenerMethodFinder(LISTENER_SUPERCLASS_INHERITANCE, THROW_NOT_VALID_METHOD_EXCEPTION, THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        ListenerMailbox listenerMailbox = new ListenerMailbox(Executors.newSingleThreadExecutor());
+        listenerMethodFinder.findListenerMethods(new TestClassToRegisterWithMaxConcurrency(), memoryState, listenerMailbox);
+
+        assertSame(listenerMailbox, memoryState.getRegistrationsSnapshot(new BusEventKey(TestEvent1.class))[0].getMailbox());
+        assertSame(listenerMailbox, memoryState.getRegistrationsSnapshot(new BusEventKey(TestEvent2.class))[0].getMailbox());
+        assertEquals(2, listenerMailbox.getMaxConcurrency());
+    }
+
+    @Test
+    public void finder_throws_exception_on_not_positive_max_concurrency() {
+        listenerMethodFinder = new ListenerMethodFinder(LISTENER_SUPERCLASS_INHERITANCE, THROW_NOT_VALID_METHOD_EXCEPTION, !THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        TestClassToRegisterWithInvalidMaxConcurrency listenerObjectToRegister = new TestClassToRegisterWithInvalidMaxConcurrency();
+        ListenerMailbox listenerMailbox = new ListenerMailbox(Executors.newSingleThreadExecutor());
+        EventBusException exception = assertThrows(EventBusException.class, ()
+                -> listenerMethodFinder.findListenerMethods(listenerObjectToRegister, memoryState, listenerMailbox)
+        );
+        assertEquals(listenerObjectToRegister.getClass().getName() + ".methodToRegister (@Listen) annotated method must have maxConcurrency > 0 but has 0.", exception.getMessage());
+    }
+
+    @Test
+    public void finder_ignores_max_concurrency_without_mailbox() {
+        listenerMethodFinder = new ListenerMethodFinder(LISTENER_SUPERCLASS_INHERITANCE, THROW_NOT_VALID_METHOD_EXCEPTION, !THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        assertDoesNotThrow(() -> {
+            listenerMethodFinder.findListenerMethods(new TestClassToRegisterWithInvalidMaxConcurrency(), memoryState);
+            assertEquals(1, memoryState.getEventEventsRegistrationsSize());
+        });
+    }
+
+    @Test
+    public void finder_finds_the_methods_to_register() {
+        listenerMethodFinder = new ListenerMethodFinder(LISTENER_SUPERCLASS_INHERITANCE, THROW_NOT_VALID_METHOD_EXCEPTION, !THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        assertEquals(2, listenerMethodFinder.findMethodsToRegister(TestClassSonToRegister.class).size());
+
+        listenerMethodFinder = new ListenerMethodFinder(!LISTENER_SUPERCLASS_INHERITANCE, THROW_NOT_VALID_METHOD_EXCEPTION, !THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        assertEquals(1, listenerMethodFinder.findMethodsToRegister(TestClassSonToRegister.class).size());
+
+        listenerMethodFinder = new ListenerMethodFinder(LISTENER_SUPERCLASS_INHERITANCE, !THROW_NOT_VALID_METHOD_EXCEPTION, !THROW_NO_LISTENER_ANNOTATION_EXCEPTION, USE_LAMBDAFACTORY_INSTEAD_OF_STANDARD_REFLECTION, classProcessableService);
+        assertTrue(listenerMethodFinder.findMethodsToRegister(TestClassToRegisterWithPrivateMethod.class).isEmpty());
+    }
 }
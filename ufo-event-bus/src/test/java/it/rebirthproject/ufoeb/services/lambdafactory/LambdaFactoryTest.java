@@ -17,6 +17,7 @@ package it.rebirthproject.ufoeb.services.lambdafactory;
 
 import java.lang.reflect.Method;
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class LambdaFactoryTest {    
     
@@ -26,4 +27,11 @@ public class LambdaFactoryTest {
         Handler f = LambdaFactory.create(reflectionMethod);       
         f.invokeMethod(new TestClassForLambdaFactory(),5);
     }
+
+    @Test
+    public void testLambdaFactoryResultHandlerCall() throws Throwable {
+        Method reflectionMethod = TestClassForLambdaFactory.class.getMethod("yy", Object.class);
+        ResultHandler<TestClassForLambdaFactory, Object> f = LambdaFactory.createResultHandler(reflectionMethod);
+        assertEquals(5, f.invokeMethod(new TestClassForLambdaFactory(), 5));
+    }
 }
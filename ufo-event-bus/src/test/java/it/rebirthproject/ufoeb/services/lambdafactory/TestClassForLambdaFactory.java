@@ -19,4 +19,8 @@ public class TestClassForLambdaFactory {
     public void xx(Object event) {
         System.out.println("I have been called! --> "+event.toString());
     }
+
+    public int yy(Object event) {
+        return event.hashCode();
+    }
 }